@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.sql;
+
+import java.util.List;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.benchmarks.jmh.JmhAbstractBenchmark;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_COMPILE_MAP_EXPRESSIONS;
+
+/**
+ * Compares interpreted and compiled evaluation of predicates and projections of map queries.
+ */
+@State(Scope.Benchmark)
+public class JmhSqlCompiledExpressionsBenchmark extends JmhAbstractBenchmark {
+    /** Rows count. */
+    private static final int CNT = 200_000;
+
+    /** Whether expressions of map queries are compiled. */
+    @Param({"false", "true"})
+    boolean compile;
+
+    /** Node. */
+    private IgniteEx node;
+
+    /**
+     * Starts the node and fills the table.
+     */
+    @Setup
+    public void setup() {
+        System.setProperty(IGNITE_SQL_COMPILE_MAP_EXPRESSIONS, String.valueOf(compile));
+
+        try {
+            IgniteConfiguration cfg = new IgniteConfiguration()
+                .setIgniteInstanceName("node0")
+                .setLocalHost("127.0.0.1")
+                .setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(new TcpDiscoveryVmIpFinder(true)));
+
+            node = (IgniteEx)Ignition.start(cfg);
+        }
+        finally {
+            System.clearProperty(IGNITE_SQL_COMPILE_MAP_EXPRESSIONS);
+        }
+
+        query("CREATE TABLE PERSON (ID INT PRIMARY KEY, AGE INT, DEPT INT, SALARY DOUBLE)");
+
+        for (int i = 0; i < CNT; i++) {
+            query("INSERT INTO PERSON (ID, AGE, DEPT, SALARY) VALUES (?, ?, ?, ?)", i, 18 + i % 50, i % 10,
+                1000.0 + i % 9000);
+        }
+    }
+
+    /**
+     * Stops the node.
+     */
+    @TearDown
+    public void tearDown() {
+        Ignition.stopAll(true);
+    }
+
+    /**
+     * Comparisons of columns with constants.
+     */
+    @Benchmark
+    public List<List<?>> comparison() {
+        return query("SELECT COUNT(*) FROM PERSON WHERE AGE > 30 AND SALARY < 5000.0E0 AND DEPT <> 3");
+    }
+
+    /**
+     * Arithmetic in predicates.
+     */
+    @Benchmark
+    public List<List<?>> arithmetic() {
+        return query("SELECT COUNT(*) FROM PERSON WHERE AGE * 2 + DEPT >= 100 OR SALARY / 2 > 4000.0E0");
+    }
+
+    /**
+     * {@code CASE} and arithmetic in projections.
+     */
+    @Benchmark
+    public List<List<?>> projection() {
+        return query("SELECT ID, CASE WHEN AGE < 30 THEN SALARY * 1.1E0 ELSE SALARY - DEPT END, ABS(AGE - 40) " +
+            "FROM PERSON WHERE DEPT = 5");
+    }
+
+    /**
+     * @param sql Query.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> query(String sql, Object... args) {
+        return node.context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(1)
+            .warmupIterations(5)
+            .measurementIterations(10)
+            .benchmarks(JmhSqlCompiledExpressionsBenchmark.class.getSimpleName())
+            .jvmArguments("-Xms4g", "-Xmx4g")
+            .run();
+    }
+}
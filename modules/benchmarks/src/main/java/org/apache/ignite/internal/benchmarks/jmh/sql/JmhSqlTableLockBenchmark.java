@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.sql;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.internal.benchmarks.jmh.JmhAbstractBenchmark;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.util.StripedCompositeReadWriteLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Concurrent acquisition of SQL table lock in shared mode, as done by every query session.
+ */
+@State(Scope.Benchmark)
+public class JmhSqlTableLockBenchmark extends JmhAbstractBenchmark {
+    /** Whether the lock is striped. */
+    @Param({"false", "true"})
+    boolean striped;
+
+    /** Lock. */
+    private ReadWriteLock lock;
+
+    /**
+     * Creates the lock.
+     */
+    @Setup
+    public void setup() {
+        lock = striped ? new StripedCompositeReadWriteLock(Runtime.getRuntime().availableProcessors()) :
+            new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Acquire and release shared lock.
+     *
+     * @return Dummy value.
+     */
+    @Benchmark
+    public int readLock() {
+        Lock l = lock.readLock();
+
+        l.lock();
+
+        try {
+            return randomInt();
+        }
+        finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        run(1);
+        run(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Run benchmark.
+     *
+     * @param threads Amount of threads.
+     * @throws Exception If failed.
+     */
+    private static void run(int threads) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(threads)
+            .warmupIterations(10)
+            .measurementIterations(10)
+            .benchmarks(JmhSqlTableLockBenchmark.class.getSimpleName())
+            .jvmArguments("-Xms1g", "-Xmx1g")
+            .run();
+    }
+}
@@ -16,10 +16,14 @@
 
 package org.apache.ignite.jdbc.thin;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -39,6 +43,8 @@ import org.apache.ignite.internal.IgniteEx;
 import org.apache.ignite.internal.processors.bulkload.BulkLoadCsvFormat;
 import org.apache.ignite.internal.processors.bulkload.BulkLoadCsvParser;
 import org.apache.ignite.internal.processors.query.QueryUtils;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteClosure;
 import org.apache.ignite.testframework.GridTestUtils;
 import org.junit.ComparisonFailure;
@@ -894,6 +900,134 @@ public class JdbcThinBulkLoadSelfTest extends JdbcThinAbstractDmlStatementSelfTe
         }, SQLException.class, "Value conversion failed [column=AGE, from=java.lang.String, to=java.lang.Integer]");
     }
 
+    /**
+     * Checks that the records of the packets are converted and streamed by several threads.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testParallel() throws Exception {
+        int cnt = 5000;
+
+        File file = writeGeneratedCsv(cnt, -1);
+
+        try {
+            int updatesCnt = stmt.executeUpdate(
+                "copy from '" + file.getAbsolutePath() + "' into " + TBL_NAME +
+                    " (_key, age, firstName, lastName)" +
+                    " format csv packet_size 65536 parallel 4");
+
+            assertEquals(cnt, updatesCnt);
+
+            ResultSet rs = stmt.executeQuery("select _key, age, firstName, lastName from " + TBL_NAME);
+
+            int rows = 0;
+
+            while (rs.next()) {
+                int id = Integer.parseInt(rs.getString(1));
+
+                assertEquals(id % 100, rs.getInt(2));
+                assertEquals("FirstName" + id, rs.getString(3));
+                assertEquals("LastName" + id, rs.getString(4));
+
+                rows++;
+            }
+
+            assertEquals(cnt, rows);
+        }
+        finally {
+            U.delete(file);
+        }
+    }
+
+    /**
+     * Checks that the parallelism of the command is capped by the number of available processors.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testParallelCapped() throws Exception {
+        int cnt = 5000;
+
+        File file = writeGeneratedCsv(cnt, -1);
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                int updatesCnt = stmt.executeUpdate(
+                    "copy from '" + file.getAbsolutePath() + "' into " + TBL_NAME +
+                        " (_key, age, firstName, lastName)" +
+                        " format csv packet_size 65536 parallel 100000");
+
+                assertEquals(cnt, updatesCnt);
+            }
+
+            int bulkLoadThreads = 0;
+
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.getName().startsWith("bulk-load"))
+                    bulkLoadThreads++;
+            }
+
+            // Executor is shared by the commands of all nodes started in this JVM.
+            assertTrue("Too many threads: " + bulkLoadThreads,
+                bulkLoadThreads <= Runtime.getRuntime().availableProcessors() * G.allGrids().size());
+        }
+        finally {
+            U.delete(file);
+        }
+    }
+
+    /**
+     * Checks that a conversion error of a record processed by a parallel thread is reported.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testParallelWrongColumnType() throws Exception {
+        File file = writeGeneratedCsv(5000, 4000);
+
+        try {
+            GridTestUtils.assertThrows(log, new Callable<Object>() {
+                @Override public Object call() throws Exception {
+                    stmt.executeUpdate(
+                        "copy from '" + file.getAbsolutePath() + "' into " + TBL_NAME +
+                            " (_key, age, firstName, lastName)" +
+                            " format csv packet_size 65536 parallel 4");
+
+                    return null;
+                }
+            }, SQLException.class, "Value conversion failed [column=AGE, from=java.lang.String, to=java.lang.Integer]");
+        }
+        finally {
+            U.delete(file);
+        }
+    }
+
+    /**
+     * Writes a CSV file with generated records.
+     *
+     * @param cnt Number of records.
+     * @param wrongAgeIdx Index of the record with a non-numeric age or {@code -1}.
+     * @return The file.
+     * @throws IOException If failed.
+     */
+    private File writeGeneratedCsv(int cnt, int wrongAgeIdx) throws IOException {
+        File file = File.createTempFile("bulkload-parallel", ".csv");
+
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < cnt; i++) {
+            sb.append(i).append(',')
+                .append(i == wrongAgeIdx ? "age" : String.valueOf(i % 100)).append(',')
+                .append("FirstName").append(i).append(',')
+                .append("LastName").append(i).append('\n');
+        }
+
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        return file;
+    }
+
     /**
      * Checks that if even a subset of fields is imported, the imported fields are set correctly.
      *
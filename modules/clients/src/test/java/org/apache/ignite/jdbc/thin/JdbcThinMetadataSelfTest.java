@@ -432,6 +432,7 @@ public class JdbcThinMetadataSelfTest extends JdbcThinAbstractSelfTest {
                 "IGNITE.VIEWS",
                 "IGNITE.TABLE_COLUMNS",
                 "IGNITE.VIEW_COLUMNS",
+                "IGNITE.COLUMN_STATISTICS",
                 "IGNITE.CONTINUOUS_QUERIES",
                 "IGNITE.STRIPED_THREADPOOL_QUEUE",
                 "IGNITE.DATASTREAM_THREADPOOL_QUEUE",
@@ -761,6 +762,7 @@ public class JdbcThinMetadataSelfTest extends JdbcThinAbstractSelfTest {
                 "IGNITE.SQL_QUERIES.DISK_ALLOCATION_CURRENT.null.19",
                 "IGNITE.SQL_QUERIES.DISK_ALLOCATION_MAX.null.19",
                 "IGNITE.SQL_QUERIES.DISK_ALLOCATION_TOTAL.null.19",
+                "IGNITE.SQL_QUERIES.CPU_TIME.null.19",
                 "IGNITE.SQL_QUERIES.INITIATOR_ID.null.2147483647",
                 "IGNITE.SCAN_QUERIES.START_TIME.null.19",
                 "IGNITE.SCAN_QUERIES.TRANSFORMER.null.2147483647",
@@ -948,6 +950,16 @@ public class JdbcThinMetadataSelfTest extends JdbcThinAbstractSelfTest {
                 "IGNITE.VIEW_COLUMNS.DEFAULT_VALUE.null.2147483647",
                 "IGNITE.VIEW_COLUMNS.SCALE.null.10",
                 "IGNITE.VIEW_COLUMNS.VIEW_NAME.null.2147483647",
+                "IGNITE.COLUMN_STATISTICS.SCHEMA_NAME.null.2147483647",
+                "IGNITE.COLUMN_STATISTICS.TABLE_NAME.null.2147483647",
+                "IGNITE.COLUMN_STATISTICS.COLUMN_NAME.null.2147483647",
+                "IGNITE.COLUMN_STATISTICS.ROW_COUNT.null.19",
+                "IGNITE.COLUMN_STATISTICS.NULL_COUNT.null.19",
+                "IGNITE.COLUMN_STATISTICS.DISTINCT_COUNT.null.19",
+                "IGNITE.COLUMN_STATISTICS.SELECTIVITY.null.10",
+                "IGNITE.COLUMN_STATISTICS.MIN.null.2147483647",
+                "IGNITE.COLUMN_STATISTICS.MAX.null.2147483647",
+                "IGNITE.COLUMN_STATISTICS.HISTOGRAM.null.2147483647",
                 "IGNITE.CONTINUOUS_QUERIES.NOTIFY_EXISTING.null.1",
                 "IGNITE.CONTINUOUS_QUERIES.OLD_VALUE_REQUIRED.null.1",
                 "IGNITE.CONTINUOUS_QUERIES.KEEP_BINARY.null.1",
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.jdbc.thin;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Checks result pages prefetched ahead and the columnar encoding of the fetched pages.
+ */
+public class JdbcThinResultPrefetchSelfTest extends JdbcThinAbstractSelfTest {
+    /** Rows count. */
+    private static final int CNT = 1000;
+
+    /** Fetch size. */
+    private static final int FETCH_SIZE = 50;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        try (Connection conn = connect(grid(0), null)) {
+            execute(conn, "CREATE TABLE T (ID INT PRIMARY KEY, L BIGINT, D DOUBLE, B BOOLEAN, S SMALLINT, " +
+                "STR VARCHAR, TS TIMESTAMP)");
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO T (ID, L, D, B, S, STR, TS) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < CNT; i++) {
+                    boolean nulls = i % 7 == 0;
+
+                    stmt.setInt(1, i);
+                    stmt.setObject(2, nulls ? null : i * 1_000_000_000L);
+                    stmt.setObject(3, nulls ? null : i / 4d);
+                    stmt.setObject(4, nulls ? null : i % 2 == 0);
+                    stmt.setObject(5, nulls ? null : (short)i);
+                    stmt.setObject(6, nulls ? null : "str" + i);
+                    stmt.setObject(7, nulls ? null : new Timestamp(i * 1000L));
+
+                    stmt.addBatch();
+                }
+
+                stmt.executeBatch();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPrefetch() throws Exception {
+        checkResults("prefetchPages=4");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPrefetchBytesLimit() throws Exception {
+        checkResults("prefetchPages=4&prefetchBytes=1");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testNoPrefetch() throws Exception {
+        checkResults(null);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFeaturesDisabled() throws Exception {
+        checkResults("prefetchPages=4&disabledFeatures=RESULT_PREFETCH,COLUMNAR_FETCH_RESULT");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInterleavedRequests() throws Exception {
+        try (Connection conn = connect(grid(0), "prefetchPages=2")) {
+            try (Statement stmt = conn.createStatement(); Statement stmt2 = conn.createStatement()) {
+                stmt.setFetchSize(FETCH_SIZE);
+                stmt2.setFetchSize(FETCH_SIZE);
+
+                try (ResultSet rs = stmt.executeQuery("SELECT ID FROM T ORDER BY ID")) {
+                    for (int i = 0; i < CNT; i++) {
+                        assertTrue(rs.next());
+                        assertEquals(i, rs.getInt(1));
+
+                        // Other requests are sent while the fetch requests sent ahead are pending.
+                        if (i % 170 == 0) {
+                            List<List<?>> res = execute(conn, "SELECT COUNT(*) FROM T WHERE ID < ?", i);
+
+                            assertEquals((long)i, res.get(0).get(0));
+
+                            try (ResultSet rs2 = stmt2.executeQuery("SELECT ID FROM T WHERE ID >= 500 ORDER BY ID")) {
+                                for (int j = 0; j < FETCH_SIZE + 1; j++) {
+                                    assertTrue(rs2.next());
+                                    assertEquals(500 + j, rs2.getInt(1));
+                                }
+                            }
+                        }
+                    }
+
+                    assertFalse(rs.next());
+                }
+
+                // Closing the result set with the fetch request sent ahead.
+                try (ResultSet rs = stmt.executeQuery("SELECT ID FROM T ORDER BY ID")) {
+                    for (int i = 0; i < FETCH_SIZE + 1; i++)
+                        assertTrue(rs.next());
+                }
+
+                assertEquals(CNT, execute(conn, "SELECT ID FROM T").size());
+            }
+        }
+    }
+
+    /**
+     * Reads the whole table and checks the values.
+     *
+     * @param params Connection parameters.
+     * @throws SQLException If failed.
+     */
+    private void checkResults(String params) throws SQLException {
+        try (Connection conn = connect(grid(0), params); Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(FETCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery("SELECT ID, L, D, B, S, STR, TS FROM T ORDER BY ID")) {
+                for (int i = 0; i < CNT; i++) {
+                    assertTrue(rs.next());
+
+                    assertEquals(i, rs.getInt(1));
+
+                    if (i % 7 == 0) {
+                        for (int col = 2; col <= 7; col++)
+                            assertNull(rs.getObject(col));
+                    }
+                    else {
+                        assertEquals(i * 1_000_000_000L, rs.getObject(2));
+                        assertEquals(i / 4d, rs.getObject(3));
+                        assertEquals(i % 2 == 0, rs.getObject(4));
+                        assertEquals((short)i, rs.getObject(5));
+                        assertEquals("str" + i, rs.getObject(6));
+                        assertEquals(new Timestamp(i * 1000L), rs.getObject(7));
+                    }
+                }
+
+                assertFalse(rs.next());
+            }
+        }
+    }
+}
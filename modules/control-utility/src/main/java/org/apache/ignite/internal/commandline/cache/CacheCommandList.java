@@ -58,6 +58,11 @@ public enum CacheCommandList {
      */
     CHECK_INDEX_INLINE_SIZES("check_index_inline_sizes", new CheckIndexInlineSizes()),
 
+    /**
+     * Inlining statistics of secondary indexes and recreation with the recommended inline size.
+     */
+    TUNE_INDEX_INLINE_SIZES("tune_index_inline_sizes", new TuneIndexInlineSizes()),
+
     /**
      * Prints info about contended keys (the keys concurrently locked from multiple transactions).
      */
@@ -26,6 +26,7 @@ import org.apache.ignite.internal.commandline.cache.argument.IndexForceRebuildCo
 import org.apache.ignite.internal.commandline.cache.argument.IndexListCommandArg;
 import org.apache.ignite.internal.commandline.cache.argument.IndexRebuildStatusArg;
 import org.apache.ignite.internal.commandline.cache.argument.ListCommandArg;
+import org.apache.ignite.internal.commandline.cache.argument.TuneIndexInlineSizesCommandArg;
 import org.apache.ignite.internal.commandline.cache.argument.ValidateIndexesCommandArg;
 import org.jetbrains.annotations.Nullable;
 
@@ -101,7 +102,12 @@ public enum CacheSubcommands {
     /**
      * Check secondary indexes inline size.
      */
-    CHECK_INDEX_INLINE_SIZES("check_index_inline_sizes", null, new CheckIndexInlineSizes());
+    CHECK_INDEX_INLINE_SIZES("check_index_inline_sizes", null, new CheckIndexInlineSizes()),
+
+    /**
+     * Inlining statistics of secondary indexes and recreation with the recommended inline size.
+     */
+    TUNE_INDEX_INLINE_SIZES("tune_index_inline_sizes", TuneIndexInlineSizesCommandArg.class, new TuneIndexInlineSizes());
 
     /** Enumerated values. */
     private static final CacheSubcommands[] VALS = values();
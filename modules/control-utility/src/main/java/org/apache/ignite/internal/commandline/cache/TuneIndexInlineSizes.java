@@ -0,0 +1,230 @@
+/*
+ * Copyright 2020 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.commandline.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import org.apache.ignite.internal.client.GridClient;
+import org.apache.ignite.internal.client.GridClientConfiguration;
+import org.apache.ignite.internal.client.GridClientNode;
+import org.apache.ignite.internal.commandline.Command;
+import org.apache.ignite.internal.commandline.CommandArgIterator;
+import org.apache.ignite.internal.commandline.TaskExecutor;
+import org.apache.ignite.internal.commandline.argument.CommandArgUtils;
+import org.apache.ignite.internal.commandline.cache.argument.TuneIndexInlineSizesCommandArg;
+import org.apache.ignite.internal.commandline.cache.check_indexes_inline_size.IndexInlineSizeRebuildTask;
+import org.apache.ignite.internal.commandline.cache.check_indexes_inline_size.IndexInlineSizeRebuildTaskArg;
+import org.apache.ignite.internal.commandline.cache.check_indexes_inline_size.IndexInlineStatistics;
+import org.apache.ignite.internal.commandline.cache.check_indexes_inline_size.IndexInlineStatisticsResult;
+import org.apache.ignite.internal.commandline.cache.check_indexes_inline_size.IndexInlineStatisticsTask;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.visor.VisorTaskArgument;
+
+import static java.util.stream.Collectors.toSet;
+import static org.apache.ignite.internal.IgniteFeatures.TUNE_INDEX_INLINE_SIZES;
+import static org.apache.ignite.internal.commandline.CommandLogger.INDENT;
+import static org.apache.ignite.internal.commandline.CommandLogger.optional;
+import static org.apache.ignite.internal.commandline.cache.CacheCommands.usageCache;
+import static org.apache.ignite.internal.commandline.cache.argument.TuneIndexInlineSizesCommandArg.REBUILD;
+
+/**
+ * Command that prints inlining statistics of secondary indexes collected on the cluster nodes and optionally
+ * recreates the indexes which keys don't fit into the inline size with the recommended inline size.
+ */
+public class TuneIndexInlineSizes implements Command<Boolean> {
+    /** Message printed when no index needs a larger inline size. */
+    public static final String ALL_INDEXES_FULLY_INLINED =
+        "All sampled keys of secondary indexes fit into the inline size.";
+
+    /** Predicate to filter server nodes. */
+    private static final Predicate<GridClientNode> SRV_NODES = node -> !node.isClient() && !node.isDaemon();
+
+    /** Whether indexes should be recreated with the recommended inline size. */
+    private boolean rebuild;
+
+    /** {@inheritDoc} */
+    @Override public Object execute(GridClientConfiguration clientCfg, Logger log) throws Exception {
+        try (GridClient client = Command.startClient(clientCfg)) {
+            Collection<GridClientNode> nodes = client.compute().nodes().stream()
+                .filter(SRV_NODES)
+                .filter(n -> n.supports(TUNE_INDEX_INLINE_SIZES))
+                .collect(toSet());
+
+            if (F.isEmpty(nodes)) {
+                log.info("Inlining statistics of indexes are not supported by server nodes.");
+
+                return null;
+            }
+
+            Collection<UUID> nodeIds = F.transform(nodes, GridClientNode::nodeId);
+
+            IndexInlineStatisticsResult res = client.compute().projection(nodes).execute(
+                IndexInlineStatisticsTask.class.getName(),
+                new VisorTaskArgument<>(nodeIds, false)
+            );
+
+            Map<String, IndexInlineStatistics> recommended = printStatistics(log, res);
+
+            if (rebuild && !recommended.isEmpty()) {
+                Map<String, String> errors = TaskExecutor.executeTaskByNameOnNode(
+                    client,
+                    IndexInlineSizeRebuildTask.class.getName(),
+                    new IndexInlineSizeRebuildTaskArg(new ArrayList<>(recommended.values())),
+                    F.first(nodeIds),
+                    clientCfg
+                );
+
+                printRebuildResult(log, recommended, errors);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Prints statistics of the indexes merged from all nodes.
+     *
+     * @param log Logger.
+     * @param res Statistics from the nodes.
+     * @return Merged statistics of the indexes which sampled keys don't fit into the inline size.
+     */
+    private Map<String, IndexInlineStatistics> printStatistics(Logger log, IndexInlineStatisticsResult res) {
+        Map<String, IndexInlineStatistics> merged = new TreeMap<>();
+
+        for (Map<String, IndexInlineStatistics> nodeStats : res.statistics().values()) {
+            for (Map.Entry<String, IndexInlineStatistics> e : nodeStats.entrySet()) {
+                IndexInlineStatistics s = e.getValue();
+
+                merged.merge(e.getKey(), s, (s1, s2) -> new IndexInlineStatistics(
+                    s1.schemaName(),
+                    s1.tableName(),
+                    s1.indexName(),
+                    Math.max(s1.inlineSize(), s2.inlineSize()),
+                    Math.max(s1.recommendedInlineSize(), s2.recommendedInlineSize()),
+                    s1.comparisons() + s2.comparisons(),
+                    s1.rowLookupComparisons() + s2.rowLookupComparisons()
+                ));
+            }
+        }
+
+        log.info("Found " + merged.size() + " secondary indexes.");
+
+        Map<String, IndexInlineStatistics> recommended = new TreeMap<>();
+
+        for (Map.Entry<String, IndexInlineStatistics> e : merged.entrySet()) {
+            IndexInlineStatistics s = e.getValue();
+
+            log.info(INDENT + "Full index name: " + e.getKey() +
+                " inline size: " + s.inlineSize() +
+                ", recommended inline size: " + s.recommendedInlineSize() +
+                ", comparisons: " + s.comparisons() +
+                ", row lookup comparisons: " + s.rowLookupComparisons() +
+                String.format(" (%.2f%%)", s.rowLookupComparisonsPercent()));
+
+            if (s.recommendedInlineSize() > s.inlineSize())
+                recommended.put(e.getKey(), s);
+        }
+
+        log.info("");
+
+        if (recommended.isEmpty())
+            log.info(ALL_INDEXES_FULLY_INLINED);
+        else {
+            log.info(recommended.size() + " index(es) have keys that don't fit into the inline size. " +
+                "It can lead to performance degradation in SQL queries.");
+
+            if (!rebuild) {
+                log.info("Recommendations:");
+                log.info(INDENT + "Recreate indexes with the recommended inline size (execute the command with " +
+                    REBUILD + " option, or DROP INDEX, CREATE INDEX commands with INLINE_SIZE).");
+            }
+        }
+
+        return recommended;
+    }
+
+    /**
+     * @param log Logger.
+     * @param idxs Recreated indexes.
+     * @param errors Errors of the indexes that were not recreated.
+     */
+    private void printRebuildResult(Logger log, Map<String, IndexInlineStatistics> idxs, Map<String, String> errors) {
+        log.info("");
+
+        for (Map.Entry<String, IndexInlineStatistics> e : idxs.entrySet()) {
+            String err = errors.get(e.getKey());
+
+            if (err == null) {
+                log.info("Index " + e.getKey() + " was recreated with inline size " +
+                    e.getValue().recommendedInlineSize() + ".");
+            }
+            else
+                log.info("Failed to recreate index " + e.getKey() + ": " + err);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public Boolean arg() {
+        return rebuild;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void parseArguments(CommandArgIterator argIter) {
+        boolean rebuild = false;
+
+        while (argIter.hasNextSubArg()) {
+            String nextArg = argIter.nextArg("");
+
+            TuneIndexInlineSizesCommandArg arg = CommandArgUtils.of(nextArg, TuneIndexInlineSizesCommandArg.class);
+
+            if (arg != REBUILD)
+                throw new IllegalArgumentException("Unknown argument: " + nextArg);
+
+            rebuild = true;
+        }
+
+        this.rebuild = rebuild;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void printUsage(Logger logger) {
+        Map<String, String> map = U.newLinkedHashMap(1);
+
+        map.put(REBUILD.argName(), "recreate indexes which sampled keys don't fit into the inline size with the " +
+            "recommended inline size.");
+
+        usageCache(
+            logger,
+            CacheSubcommands.TUNE_INDEX_INLINE_SIZES,
+            "Prints inline size recommended for secondary indexes by sampled key lengths and the percentage of " +
+                "comparisons that required a data page read.",
+            map,
+            optional(REBUILD)
+        );
+    }
+
+    /** {@inheritDoc} */
+    @Override public String name() {
+        return CacheSubcommands.TUNE_INDEX_INLINE_SIZES.text().toUpperCase();
+    }
+}
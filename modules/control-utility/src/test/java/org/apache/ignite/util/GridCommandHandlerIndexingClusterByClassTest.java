@@ -63,6 +63,22 @@ public class GridCommandHandlerIndexingClusterByClassTest extends GridCommandHan
         assertContains(log, output, INDEXES_INLINE_SIZE_ARE_THE_SAME);
     }
 
+    /**
+     * Tests --cache tune_index_inline_sizes prints inlining statistics of the secondary indexes.
+     */
+    @Test
+    public void testTuneIndexInlineSizes() {
+        injectTestSystemOut();
+
+        assertEquals(EXIT_CODE_OK, execute("--cache", "tune_index_inline_sizes"));
+
+        String output = testOut.toString();
+
+        assertContains(log, output, "Found 2 secondary indexes.");
+        assertContains(log, output, "recommended inline size: ");
+        assertContains(log, output, "row lookup comparisons: ");
+    }
+
     /**
      * Tests that validation doesn't fail if nothing is broken.
      */
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Properties;
 import javax.net.ssl.HostnameVerifier;
 import org.apache.ignite.cache.CacheEntryProcessor;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
 import org.apache.ignite.cluster.ClusterGroup;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.configuration.CheckpointWriteOrder;
@@ -408,6 +409,21 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_ATOMIC_DEFERRED_ACK_TIMEOUT = "IGNITE_ATOMIC_DEFERRED_ACK_TIMEOUT";
 
+    /**
+     * Time window in microseconds during which concurrent single-key puts and gets of an atomic cache
+     * are coalesced into one {@code putAll} or {@code getAll} operation. Per-key ordering of batched
+     * operations is preserved. Default is {@code 0} which disables auto-batching.
+     */
+    public static final String IGNITE_ATOMIC_AUTO_BATCHING_WINDOW = "IGNITE_ATOMIC_AUTO_BATCHING_WINDOW";
+
+    /**
+     * Maximum number of keys in auto-batch of atomic cache operations, batch is flushed immediately when this
+     * size is reached. Default is {@code 256}.
+     *
+     * @see #IGNITE_ATOMIC_AUTO_BATCHING_WINDOW
+     */
+    public static final String IGNITE_ATOMIC_AUTO_BATCHING_MAX_SIZE = "IGNITE_ATOMIC_AUTO_BATCHING_MAX_SIZE";
+
     /**
      * Atomic cache deferred update timeout.
      */
@@ -539,6 +555,71 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_SQL_MERGE_TABLE_PREFETCH_SIZE = "IGNITE_SQL_MERGE_TABLE_PREFETCH_SIZE";
 
+    /**
+     * Whether result pages of map queries are decoded by the query pool threads receiving them, in parallel, instead
+     * of by the thread merging them on the reduce node. Default is {@code true}.
+     */
+    public static final String IGNITE_SQL_REDUCE_DECODE_PAGES_ON_RECEIVE = "IGNITE_SQL_REDUCE_DECODE_PAGES_ON_RECEIVE";
+
+    /**
+     * Whether WHERE conditions and select expressions of map queries are compiled into specialized evaluators
+     * instead of being interpreted row by row. Unsupported expressions are still interpreted.
+     * Default is {@code false}.
+     */
+    public static final String IGNITE_SQL_COMPILE_MAP_EXPRESSIONS = "IGNITE_SQL_COMPILE_MAP_EXPRESSIONS";
+
+    /**
+     * Maximum number of remote index lookup results cached by a non-collocated join for repeated lookup keys
+     * during a single query. {@code 0} disables the cache. Default is {@code 1024}.
+     */
+    public static final String IGNITE_SQL_DISTRIBUTED_JOIN_LOOKUP_CACHE_SIZE =
+        "IGNITE_SQL_DISTRIBUTED_JOIN_LOOKUP_CACHE_SIZE";
+
+    /**
+     * Whether the number of index lookups batched into a single request of a non-collocated join is adjusted
+     * to the remote response latency. Otherwise batches are limited by the query page size.
+     * Default is {@code true}.
+     */
+    public static final String IGNITE_SQL_DISTRIBUTED_JOIN_ADAPTIVE_BATCH =
+        "IGNITE_SQL_DISTRIBUTED_JOIN_ADAPTIVE_BATCH";
+
+    /**
+     * Whether a non-collocated GROUP BY or DISTINCT map query, which reads its rows from an index sorted by
+     * the grouping columns, returns the groups in the index order, so the map nodes aggregate them one by one and
+     * the reducer merges the sorted streams instead of collecting all the groups in memory. Default is {@code true}.
+     */
+    public static final String IGNITE_SQL_STREAMING_GROUP_BY = "IGNITE_SQL_STREAMING_GROUP_BY";
+
+    /**
+     * Default number of threads converting the parsed records of a COPY command into cache entries and passing them
+     * to the data streamer, used when the command has no {@code PARALLEL} option. Default is {@code 1}.
+     */
+    public static final String IGNITE_SQL_BULK_LOAD_PARALLELISM = "IGNITE_SQL_BULK_LOAD_PARALLELISM";
+
+    /**
+     * Whether full-text (Lucene) indexes are stored in files instead of off-heap memory, so that they are not
+     * limited by RAM. Indexes of persistent caches are kept in the {@code lucene} folder of the cache directory
+     * and are reused after restart if they are consistent with the recovered data, otherwise they are rebuilt.
+     * Indexes of in-memory caches are kept in the {@code lucene} folder of the work directory and are not reused.
+     * Default is {@code false}.
+     */
+    public static final String IGNITE_LUCENE_INDEX_ON_DISK = "IGNITE_LUCENE_INDEX_ON_DISK";
+
+    /**
+     * Maximum number of sessions running user SELECT and DML queries started on a node concurrently. All queries of a
+     * session (a client connection or a thread using the embedded API) share one slot. Queries of the embedded API
+     * over the limit wait in a FIFO queue for {@link #IGNITE_SQL_QUERY_QUEUE_TIMEOUT} milliseconds and fail if no slot
+     * is released, queries of client connections fail at once. DDL and other commands are never queued.
+     * Default is {@code 0} (unlimited).
+     */
+    public static final String IGNITE_SQL_MAX_CONCURRENT_QUERIES = "IGNITE_SQL_MAX_CONCURRENT_QUERIES";
+
+    /**
+     * Time in milliseconds a query of the embedded API waits for admission when all
+     * {@link #IGNITE_SQL_MAX_CONCURRENT_QUERIES} slots are taken. Default is {@code 30000}.
+     */
+    public static final String IGNITE_SQL_QUERY_QUEUE_TIMEOUT = "IGNITE_SQL_QUERY_QUEUE_TIMEOUT";
+
     /** Disable fallback to H2 SQL parser if the internal SQL parser fails to parse the statement. */
     public static final String IGNITE_SQL_PARSER_DISABLE_H2_FALLBACK = "IGNITE_SQL_PARSER_DISABLE_H2_FALLBACK";
 
@@ -1340,11 +1421,12 @@ public final class IgniteSystemProperties {
 
     /**
      * Enable hash join (create hash index on the fly) for query optimizer.
+     * When enabled, the optimizer chooses hash join by cost, e.g. when there is no index on the join columns.
      * When disabled hash join may be enabled only by index hint.
      * e.g.: SELECT * from A, B USE INDEX (HASH_JOIN_IDX) WHERE A.jid = B.jid
      * hash index will be created for B.jid on the fly.
      *
-     * Default: false.
+     * Default: true.
      */
     public static final String IGNITE_ENABLE_HASH_JOIN = "IGNITE_ENABLE_HASH_JOIN";
 
@@ -1430,6 +1512,26 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_INDEX_COST_FUNCTION = "IGNITE_INDEX_COST_FUNCTION";
 
+    /**
+     * Size of the random sample of table rows taken by {@code ANALYZE} command on every server node to collect
+     * column statistics. Samples of all nodes are merged into a sample of the same size. Default is {@code 10000}.
+     */
+    public static final String IGNITE_SQL_STATISTICS_SAMPLE_SIZE = "IGNITE_SQL_STATISTICS_SAMPLE_SIZE";
+
+    /**
+     * Maximum number of SELECT results kept in the node-local SQL query result cache. Results are cached only
+     * for deterministic queries over non-MVCC caches, and are invalidated by partition update counters. Results
+     * of distributed queries are cached on the reducer node only if the cache is enabled on all data nodes.
+     * Default is {@code 0} (result cache is disabled).
+     */
+    public static final String IGNITE_SQL_RESULT_CACHE_SIZE = "IGNITE_SQL_RESULT_CACHE_SIZE";
+
+    /**
+     * Maximum number of rows of a SELECT result which can be put to the SQL query result cache.
+     * Default is {@code 1000}.
+     */
+    public static final String IGNITE_SQL_RESULT_CACHE_MAX_ROWS = "IGNITE_SQL_RESULT_CACHE_MAX_ROWS";
+
     /**
      * Enables setting attribute value of {@link
      * TcpCommunicationSpi#ATTR_HOST_NAMES ATTR_HOST_NAMES} when value {@link
@@ -1459,6 +1561,44 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_DFLT_ALLOW_EMPTY_SYS_PERMISSIONS = "IGNITE_DFLT_ALLOW_EMPTY_SYS_PERMISSIONS";
 
+    /**
+     * Enables adaptive rebalance batching: supplier grows supply batch size and number of in-flight batches
+     * while measured rebalance throughput grows and shrinks batch size if demander applies batches too slowly.
+     * Configured {@link CacheConfiguration#getRebalanceBatchSize()} and
+     * {@link CacheConfiguration#getRebalanceBatchesPrefetchCount()} are used as lower bounds.
+     * Default is {@code false}.
+     */
+    public static final String IGNITE_REBALANCE_ADAPTIVE_BATCHING = "IGNITE_REBALANCE_ADAPTIVE_BATCHING";
+
+    /**
+     * Maximum factor by which adaptive rebalance batching may increase configured batch size and number of
+     * in-flight batches. Default is {@code 8}.
+     */
+    public static final String IGNITE_REBALANCE_ADAPTIVE_BATCHING_MAX_FACTOR =
+        "IGNITE_REBALANCE_ADAPTIVE_BATCHING_MAX_FACTOR";
+
+    /**
+     * Maximum time in milliseconds between sending a supply batch and receiving its acknowledgement from demander
+     * after which adaptive rebalance batching halves the batch size to protect latency of user operations on
+     * the demander node. {@code 0} disables the limit. Default is {@code 200}.
+     */
+    public static final String IGNITE_REBALANCE_ADAPTIVE_BATCHING_MAX_ACK_TIME =
+        "IGNITE_REBALANCE_ADAPTIVE_BATCHING_MAX_ACK_TIME";
+
+    /**
+     * Enables incremental recalculation of {@link RendezvousAffinityFunction} assignment when a single node joins
+     * or leaves the topology: only partitions affected by that node are reassigned, the rest of the previous
+     * assignment is reused. Default is {@code true}.
+     */
+    public static final String IGNITE_AFFINITY_INCREMENTAL_CALCULATION = "IGNITE_AFFINITY_INCREMENTAL_CALCULATION";
+
+    /**
+     * Enables sharing of ideal affinity assignment between cache groups with identical affinity configuration
+     * on the same topology version, so that assignment is calculated once instead of once per group.
+     * Default is {@code true}.
+     */
+    public static final String IGNITE_AFFINITY_SHARED_CALCULATION = "IGNITE_AFFINITY_SHARED_CALCULATION";
+
     /**
      * Enforces singleton.
      */
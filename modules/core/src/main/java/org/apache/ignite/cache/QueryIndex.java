@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
@@ -55,6 +56,10 @@ public class QueryIndex implements Serializable {
     /** */
     private int inlineSize = DFLT_INLINE_SIZE;
 
+    /** Index fields that are SQL expressions over the table columns. */
+    @GridToStringInclude
+    private Set<String> exprFields;
+
     /**
      * Creates an empty index. Should be populated via setters.
      */
@@ -295,6 +300,29 @@ public class QueryIndex implements Serializable {
         return this;
     }
 
+    /**
+     * Gets index fields that are SQL expressions over the table columns, e.g. {@code LOWER("EMAIL")}, rather than
+     * field names.
+     *
+     * @return Expression fields, {@code null} if all index fields are field names.
+     */
+    public Set<String> getExpressionFields() {
+        return exprFields;
+    }
+
+    /**
+     * Sets index fields that are SQL expressions over the table columns, e.g. {@code LOWER("EMAIL")}, rather than
+     * field names. Each of them must be one of the {@link #getFields() index fields}.
+     *
+     * @param exprFields Expression fields.
+     * @return {@code this} for chaining.
+     */
+    public QueryIndex setExpressionFields(Set<String> exprFields) {
+        this.exprFields = exprFields;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean equals(Object o) {
         if (this == o)
@@ -308,12 +336,13 @@ public class QueryIndex implements Serializable {
         return inlineSize == index.inlineSize &&
             F.eq(name, index.name) &&
             F.eq(fields, index.fields) &&
-            type == index.type;
+            type == index.type &&
+            F.eq(exprFields, index.exprFields);
     }
 
     /** {@inheritDoc} */
     @Override public int hashCode() {
-        return Objects.hash(name, fields, type, inlineSize);
+        return Objects.hash(name, fields, type, inlineSize, exprFields);
     }
 
     /** {@inheritDoc} */
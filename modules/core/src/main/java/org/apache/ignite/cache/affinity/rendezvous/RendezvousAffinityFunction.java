@@ -26,12 +26,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.affinity.AffinityFunction;
 import org.apache.ignite.cache.affinity.AffinityFunctionContext;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.events.DiscoveryEvent;
 import org.apache.ignite.internal.processors.cache.GridCacheUtils;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.A;
@@ -41,6 +44,12 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteBiPredicate;
 import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.resources.LoggerResource;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_AFFINITY_INCREMENTAL_CALCULATION;
+import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
+import static org.apache.ignite.events.EventType.EVT_NODE_JOINED;
+import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
 
 /**
  * Affinity function for partitioned cache based on Highest Random Weight algorithm.
@@ -71,6 +80,10 @@ public class RendezvousAffinityFunction implements AffinityFunction, Serializabl
     /** Default number of partitions. */
     public static final int DFLT_PARTITION_COUNT = 1024;
 
+    /** Incremental assignment recalculation flag. */
+    private static final boolean INCREMENTAL_CALCULATION =
+        IgniteSystemProperties.getBoolean(IGNITE_AFFINITY_INCREMENTAL_CALCULATION, true);
+
     /** Comparator. */
     private static final Comparator<IgniteBiTuple<Long, ClusterNode>> COMPARATOR = new HashComparator();
 
@@ -496,6 +509,13 @@ public class RendezvousAffinityFunction implements AffinityFunction, Serializabl
 
     /** {@inheritDoc} */
     @Override public List<List<ClusterNode>> assignPartitions(AffinityFunctionContext affCtx) {
+        if (INCREMENTAL_CALCULATION) {
+            List<List<ClusterNode>> assignments = assignPartitionsIncremental(affCtx);
+
+            if (assignments != null)
+                return assignments;
+        }
+
         List<List<ClusterNode>> assignments = new ArrayList<>(parts);
 
         Map<UUID, Collection<ClusterNode>> neighborhoodCache = exclNeighbors ?
@@ -512,6 +532,172 @@ public class RendezvousAffinityFunction implements AffinityFunction, Serializabl
         return assignments;
     }
 
+    /**
+     * Recalculates previous assignment after a single node joined or left topology. Partition is assigned to
+     * the first {@code backups + 1} nodes ordered by partition-node hash, so joined node can only displace the last
+     * node of a partition, and left node has to be replaced only in partitions it belonged to. Applicable only if
+     * assignment does not depend on backup filters and neighborhood.
+     *
+     * @param affCtx Affinity function context.
+     * @return Assignment or {@code null} if full calculation is required.
+     */
+    @Nullable private List<List<ClusterNode>> assignPartitionsIncremental(AffinityFunctionContext affCtx) {
+        int backups = affCtx.backups();
+
+        if (exclNeighbors || backupFilter != null || affinityBackupFilter != null || backups == Integer.MAX_VALUE)
+            return null;
+
+        DiscoveryEvent evt = affCtx.discoveryEvent();
+
+        List<ClusterNode> nodes = affCtx.currentTopologySnapshot();
+
+        if (evt == null || nodes.size() <= 1 || affCtx.previousAssignment(0) == null)
+            return null;
+
+        boolean join;
+
+        if (evt.type() == EVT_NODE_JOINED)
+            join = true;
+        else if (evt.type() == EVT_NODE_LEFT || evt.type() == EVT_NODE_FAILED)
+            join = false;
+        else
+            return null;
+
+        UUID evtNodeId = evt.eventNode().id();
+
+        Map<UUID, ClusterNode> curNodes = U.newHashMap(nodes.size());
+
+        for (ClusterNode node : nodes)
+            curNodes.put(node.id(), node);
+
+        if (curNodes.containsKey(evtNodeId) != join)
+            return null;
+
+        int prevTopSize = join ? nodes.size() - 1 : nodes.size() + 1;
+        int prevCnt = Math.min(backups + 1, prevTopSize);
+        int cnt = Math.min(backups + 1, nodes.size());
+
+        // Previous assignment must be the assignment of exactly the previous topology, it is not the case
+        // for merged exchanges or baseline assignments with offline nodes.
+        Set<UUID> prevNodes = U.newHashSet(prevTopSize);
+
+        for (int part = 0; part < parts; part++) {
+            List<ClusterNode> prev = affCtx.previousAssignment(part);
+
+            if (prev == null || prev.size() != prevCnt)
+                return null;
+
+            ClusterNode prevNode = null;
+            long prevHash = 0;
+
+            for (ClusterNode node : prev) {
+                long hash = nodeHash(node, part);
+
+                if (prevNode != null && compare(prevHash, prevNode, hash, node) >= 0)
+                    return null;
+
+                if (join ? node.id().equals(evtNodeId) || !curNodes.containsKey(node.id()) :
+                    !node.id().equals(evtNodeId) && !curNodes.containsKey(node.id()))
+                    return null;
+
+                prevNodes.add(node.id());
+
+                prevNode = node;
+                prevHash = hash;
+            }
+        }
+
+        if (prevNodes.size() != prevTopSize)
+            return null;
+
+        ClusterNode evtNode = join ? curNodes.get(evtNodeId) : null;
+
+        List<List<ClusterNode>> assignments = new ArrayList<>(parts);
+
+        for (int part = 0; part < parts; part++) {
+            List<ClusterNode> prev = affCtx.previousAssignment(part);
+
+            List<ClusterNode> res;
+
+            if (join) {
+                long evtHash = nodeHash(evtNode, part);
+
+                boolean added = false;
+
+                res = new ArrayList<>(cnt);
+
+                for (ClusterNode node : prev) {
+                    if (!added && compare(evtHash, evtNode, nodeHash(node, part), node) < 0) {
+                        res.add(evtNode);
+
+                        added = true;
+                    }
+
+                    if (res.size() == cnt)
+                        break;
+
+                    res.add(curNodes.get(node.id()));
+                }
+
+                if (!added && res.size() < cnt)
+                    res.add(evtNode);
+            }
+            else if (prevCnt == prevTopSize || !containsNode(prev, evtNodeId)) {
+                res = new ArrayList<>(cnt);
+
+                for (ClusterNode node : prev) {
+                    if (!node.id().equals(evtNodeId))
+                        res.add(curNodes.get(node.id()));
+                }
+            }
+            else
+                res = assignPartition(part, nodes, backups, null);
+
+            assert res.size() == cnt : "Unexpected assignment size [part=" + part + ", size=" + res.size() +
+                ", expected=" + cnt + ']';
+
+            assignments.add(res);
+        }
+
+        return assignments;
+    }
+
+    /**
+     * @param node Node.
+     * @param part Partition.
+     * @return Partition-node hash.
+     */
+    private long nodeHash(ClusterNode node, int part) {
+        return hash(resolveNodeHash(node).hashCode(), part);
+    }
+
+    /**
+     * Compares nodes the same way as {@link HashComparator}.
+     *
+     * @param hash1 Hash of the first node.
+     * @param node1 First node.
+     * @param hash2 Hash of the second node.
+     * @param node2 Second node.
+     * @return Comparison result.
+     */
+    private static int compare(long hash1, ClusterNode node1, long hash2, ClusterNode node2) {
+        return hash1 < hash2 ? -1 : hash1 > hash2 ? 1 : node1.id().compareTo(node2.id());
+    }
+
+    /**
+     * @param nodes Nodes.
+     * @param nodeId Node ID.
+     * @return {@code True} if nodes contain node with given ID.
+     */
+    private static boolean containsNode(List<ClusterNode> nodes, UUID nodeId) {
+        for (ClusterNode node : nodes) {
+            if (node.id().equals(nodeId))
+                return true;
+        }
+
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override public void removeNode(UUID nodeId) {
         // No-op.
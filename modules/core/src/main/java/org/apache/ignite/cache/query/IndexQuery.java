@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.internal.processors.query.QueryUtils;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <h1 class="header">Index Queries</h1>
+ * Index query scans a range of a secondary index directly, without SQL parsing and planning.
+ * Criteria must be set for a prefix of the index fields. Entries are returned in the index order.
+ * <p>
+ * As an example, suppose we have an index on {@code 'Person.age'} field:
+ * <pre name="code" class="java">
+ * IndexQuery&lt;Long, Person&gt; qry = new IndexQuery&lt;Long, Person&gt;(Person.class, "PERSON_AGE_IDX")
+ *     .setCriteria(IndexQueryCriteriaBuilder.between("age", 18, 30));
+ *
+ * // Persons sorted by age.
+ * cache.query(qry).getAll();
+ * </pre>
+ *
+ * @see IgniteCache#query(Query)
+ * @see IndexQueryCriteriaBuilder
+ */
+public final class IndexQuery<K, V> extends Query<Cache.Entry<K, V>> {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Value type. */
+    private final String valType;
+
+    /** Index name. */
+    private final String idxName;
+
+    /** Criteria. */
+    private List<IndexQueryCriterion> criteria = Collections.emptyList();
+
+    /** Filter. */
+    private IgniteBiPredicate<K, V> filter;
+
+    /**
+     * Constructs query for the index which leading fields are the fields of the criteria.
+     *
+     * @param valType Value type.
+     */
+    public IndexQuery(Class<?> valType) {
+        this(valType, null);
+    }
+
+    /**
+     * Constructs query for the given index.
+     *
+     * @param valType Value type.
+     * @param idxName Index name.
+     */
+    public IndexQuery(Class<?> valType, @Nullable String idxName) {
+        this(QueryUtils.typeName(valType), idxName);
+    }
+
+    /**
+     * Constructs query for the given index.
+     *
+     * @param valType Value type name.
+     * @param idxName Index name, {@code null} to choose the index by the fields of the criteria.
+     */
+    public IndexQuery(String valType, @Nullable String idxName) {
+        A.notNullOrEmpty(valType, "valType");
+
+        this.valType = valType;
+        this.idxName = idxName;
+    }
+
+    /**
+     * @return Value type name.
+     */
+    public String getValueType() {
+        return valType;
+    }
+
+    /**
+     * @return Index name or {@code null} if the index is chosen by the fields of the criteria.
+     */
+    @Nullable public String getIndexName() {
+        return idxName;
+    }
+
+    /**
+     * @return Criteria.
+     */
+    public List<IndexQueryCriterion> getCriteria() {
+        return criteria;
+    }
+
+    /**
+     * Sets criteria. Criteria must be set for a prefix of the index fields, in the index order.
+     *
+     * @param criteria Criteria.
+     * @return {@code this} For chaining.
+     */
+    public IndexQuery<K, V> setCriteria(IndexQueryCriterion... criteria) {
+        return setCriteria(Arrays.asList(criteria));
+    }
+
+    /**
+     * Sets criteria. Criteria must be set for a prefix of the index fields, in the index order.
+     *
+     * @param criteria Criteria.
+     * @return {@code this} For chaining.
+     */
+    public IndexQuery<K, V> setCriteria(List<IndexQueryCriterion> criteria) {
+        A.notNull(criteria, "criteria");
+
+        this.criteria = criteria;
+
+        return this;
+    }
+
+    /**
+     * @return Filter applied to the entries matching the criteria.
+     */
+    @Nullable public IgniteBiPredicate<K, V> getFilter() {
+        return filter;
+    }
+
+    /**
+     * Sets filter applied to the entries matching the criteria.
+     *
+     * @param filter Filter.
+     * @return {@code this} For chaining.
+     */
+    public IndexQuery<K, V> setFilter(@Nullable IgniteBiPredicate<K, V> filter) {
+        this.filter = filter;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public IndexQuery<K, V> setPageSize(int pageSize) {
+        return (IndexQuery<K, V>)super.setPageSize(pageSize);
+    }
+
+    /** {@inheritDoc} */
+    @Override public IndexQuery<K, V> setLocal(boolean loc) {
+        return (IndexQuery<K, V>)super.setLocal(loc);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(IndexQuery.class, this);
+    }
+}
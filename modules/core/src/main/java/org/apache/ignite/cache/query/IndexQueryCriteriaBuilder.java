@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.query;
+
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Factory of {@link IndexQueryCriterion}.
+ */
+public final class IndexQueryCriteriaBuilder {
+    /** */
+    private IndexQueryCriteriaBuilder() {
+        // No-op.
+    }
+
+    /**
+     * Creates criterion {@code field = val}.
+     *
+     * @param field Field name.
+     * @param val Value.
+     * @return Criterion.
+     */
+    public static IndexQueryCriterion eq(String field, Object val) {
+        A.notNull(val, "val");
+
+        return range(field, val, val, true, true);
+    }
+
+    /**
+     * Creates criterion {@code field < val}.
+     *
+     * @param field Field name.
+     * @param val Value.
+     * @return Criterion.
+     */
+    public static IndexQueryCriterion lt(String field, Object val) {
+        A.notNull(val, "val");
+
+        return range(field, null, val, true, false);
+    }
+
+    /**
+     * Creates criterion {@code field <= val}.
+     *
+     * @param field Field name.
+     * @param val Value.
+     * @return Criterion.
+     */
+    public static IndexQueryCriterion lte(String field, Object val) {
+        A.notNull(val, "val");
+
+        return range(field, null, val, true, true);
+    }
+
+    /**
+     * Creates criterion {@code field > val}.
+     *
+     * @param field Field name.
+     * @param val Value.
+     * @return Criterion.
+     */
+    public static IndexQueryCriterion gt(String field, Object val) {
+        A.notNull(val, "val");
+
+        return range(field, val, null, false, true);
+    }
+
+    /**
+     * Creates criterion {@code field >= val}.
+     *
+     * @param field Field name.
+     * @param val Value.
+     * @return Criterion.
+     */
+    public static IndexQueryCriterion gte(String field, Object val) {
+        A.notNull(val, "val");
+
+        return range(field, val, null, true, true);
+    }
+
+    /**
+     * Creates criterion {@code lower <= field <= upper}.
+     *
+     * @param field Field name.
+     * @param lower Lower bound.
+     * @param upper Upper bound.
+     * @return Criterion.
+     */
+    public static IndexQueryCriterion between(String field, Object lower, Object upper) {
+        A.notNull(lower, "lower");
+        A.notNull(upper, "upper");
+
+        return range(field, lower, upper, true, true);
+    }
+
+    /**
+     * Creates range criterion with the given bounds.
+     *
+     * @param field Field name.
+     * @param lower Lower bound, {@code null} if the range is not bounded from below.
+     * @param upper Upper bound, {@code null} if the range is not bounded from above.
+     * @param lowerIncl Whether the lower bound is included into the range.
+     * @param upperIncl Whether the upper bound is included into the range.
+     * @return Criterion.
+     */
+    public static IndexQueryCriterion range(String field, @Nullable Object lower, @Nullable Object upper,
+        boolean lowerIncl, boolean upperIncl) {
+        A.notNullOrEmpty(field, "field");
+
+        return new IndexQueryCriterion(field, lower, upper, lowerIncl, upperIncl);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.query;
+
+import java.io.Serializable;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Range criterion of {@link IndexQuery} for a single indexed field. Use {@link IndexQueryCriteriaBuilder}
+ * to create criteria.
+ */
+public final class IndexQueryCriterion implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Field name. */
+    private final String field;
+
+    /** Lower bound, {@code null} if the range is not bounded from below. */
+    private final Object lower;
+
+    /** Upper bound, {@code null} if the range is not bounded from above. */
+    private final Object upper;
+
+    /** Whether the lower bound is included into the range. */
+    private final boolean lowerIncl;
+
+    /** Whether the upper bound is included into the range. */
+    private final boolean upperIncl;
+
+    /**
+     * @param field Field name.
+     * @param lower Lower bound.
+     * @param upper Upper bound.
+     * @param lowerIncl Whether the lower bound is included into the range.
+     * @param upperIncl Whether the upper bound is included into the range.
+     */
+    IndexQueryCriterion(String field, @Nullable Object lower, @Nullable Object upper, boolean lowerIncl,
+        boolean upperIncl) {
+        this.field = field;
+        this.lower = lower;
+        this.upper = upper;
+        this.lowerIncl = lowerIncl;
+        this.upperIncl = upperIncl;
+    }
+
+    /**
+     * @return Field name.
+     */
+    public String field() {
+        return field;
+    }
+
+    /**
+     * @return Lower bound, {@code null} if the range is not bounded from below.
+     */
+    @Nullable public Object lower() {
+        return lower;
+    }
+
+    /**
+     * @return Upper bound, {@code null} if the range is not bounded from above.
+     */
+    @Nullable public Object upper() {
+        return upper;
+    }
+
+    /**
+     * @return Whether the lower bound is included into the range.
+     */
+    public boolean lowerInclusive() {
+        return lowerIncl;
+    }
+
+    /**
+     * @return Whether the upper bound is included into the range.
+     */
+    public boolean upperInclusive() {
+        return upperIncl;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(IndexQueryCriterion.class, this);
+    }
+}
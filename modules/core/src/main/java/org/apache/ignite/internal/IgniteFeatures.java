@@ -186,7 +186,19 @@ public enum IgniteFeatures {
     MASTER_KEY_CHANGE(48),
 
     /** Incremental DR. */
-    INCREMENTAL_DR(49);
+    INCREMENTAL_DR(49),
+
+    /** Compact encoding of partition update counters in partitions full message. */
+    COMPACT_PME_COUNTERS(50),
+
+    /** Retry of server-side DML on the nodes which failed to reserve partitions due to topology change. */
+    SQL_DML_RETRY(51),
+
+    /** CPU time consumed by map nodes is reported in SQL query page responses. */
+    SQL_QUERY_CPU_TIME(52),
+
+    /** Inlining statistics of secondary indexes and inline size change by control utility request. */
+    TUNE_INDEX_INLINE_SIZES(53);
 
     /**
      * Unique feature identifier.
@@ -43,7 +43,10 @@ public enum ProtocolBitmaskFeature {
     SERVICE_INVOKE(5),
 
     /** Feature for use default query timeout if the qry timeout isn't set explicitly. */
-    DEFAULT_QRY_TIMEOUT(6);
+    DEFAULT_QRY_TIMEOUT(6),
+
+    /** Index query. */
+    INDEX_QUERY(7);
 
     /** */
     private static final EnumSet<ProtocolBitmaskFeature> ALL_FEATURES_AS_ENUM_SET =
@@ -28,6 +28,8 @@ import javax.cache.expiry.ExpiryPolicy;
 
 import org.apache.ignite.cache.CachePeekMode;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.IndexQuery;
+import org.apache.ignite.cache.query.IndexQueryCriterion;
 import org.apache.ignite.cache.query.Query;
 import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.ScanQuery;
@@ -646,6 +648,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
             res = (QueryCursor<R>)sqlQuery((SqlQuery)qry);
         else if (qry instanceof SqlFieldsQuery)
             res = (QueryCursor<R>)query((SqlFieldsQuery)qry);
+        else if (qry instanceof IndexQuery)
+            res = (QueryCursor<R>)indexQuery((IndexQuery)qry);
         else
             throw new IllegalArgumentException(
                 String.format("Query of type [%s] is not supported", qry.getClass().getSimpleName())
@@ -703,6 +707,49 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         ));
     }
 
+    /** Handle index query. */
+    private QueryCursor<Cache.Entry<K, V>> indexQuery(IndexQuery<K, V> qry) {
+        Consumer<PayloadOutputChannel> qryWriter = payloadCh -> {
+            payloadCh.clientChannel().protocolCtx().checkFeatureSupported(ProtocolBitmaskFeature.INDEX_QUERY);
+
+            writeCacheInfo(payloadCh);
+
+            BinaryOutputStream out = payloadCh.out();
+
+            serDes.writeObject(out, qry.getValueType());
+            serDes.writeObject(out, qry.getIndexName());
+
+            out.writeInt(qry.getCriteria().size());
+
+            for (IndexQueryCriterion c : qry.getCriteria()) {
+                serDes.writeObject(out, c.field());
+                serDes.writeObject(out, c.lower());
+                serDes.writeObject(out, c.upper());
+                out.writeBoolean(c.lowerInclusive());
+                out.writeBoolean(c.upperInclusive());
+            }
+
+            if (qry.getFilter() == null)
+                out.writeByte(GridBinaryMarshaller.NULL);
+            else {
+                serDes.writeObject(out, qry.getFilter());
+                out.writeByte((byte)1); // Java platform
+            }
+
+            out.writeInt(qry.getPageSize());
+            out.writeBoolean(qry.isLocal());
+        };
+
+        return new ClientQueryCursor<>(new ClientQueryPager<>(
+            ch,
+            ClientOperation.QUERY_INDEX,
+            ClientOperation.QUERY_SCAN_CURSOR_GET_PAGE,
+            qryWriter,
+            keepBinary,
+            marsh
+        ));
+    }
+
     /** Handle SQL query. */
     private QueryCursor<Cache.Entry<K, V>> sqlQuery(SqlQuery qry) {
         Consumer<PayloadOutputChannel> qryWriter = payloadCh -> {
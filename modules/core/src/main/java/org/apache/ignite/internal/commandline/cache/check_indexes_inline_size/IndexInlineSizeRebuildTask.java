@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.commandline.cache.check_indexes_inline_size;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.visor.VisorJob;
+import org.apache.ignite.internal.visor.VisorOneNodeTask;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Task that recreates secondary indexes with their recommended inline sizes. Result contains error messages of the indexes
+ * that were not recreated.
+ */
+@GridInternal
+public class IndexInlineSizeRebuildTask extends VisorOneNodeTask<IndexInlineSizeRebuildTaskArg, Map<String, String>> {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** {@inheritDoc} */
+    @Override protected VisorJob<IndexInlineSizeRebuildTaskArg, Map<String, String>> job(
+        IndexInlineSizeRebuildTaskArg arg
+    ) {
+        return new IndexInlineSizeRebuildJob(arg, debug);
+    }
+
+    /**
+     * Job that recreates secondary indexes with their recommended inline sizes.
+     */
+    private static class IndexInlineSizeRebuildJob extends VisorJob<IndexInlineSizeRebuildTaskArg, Map<String, String>> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * @param arg Argument.
+         * @param debug Debug.
+         */
+        protected IndexInlineSizeRebuildJob(@Nullable IndexInlineSizeRebuildTaskArg arg, boolean debug) {
+            super(arg, debug);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected Map<String, String> run(
+            @Nullable IndexInlineSizeRebuildTaskArg arg
+        ) throws IgniteException {
+            Map<String, String> errors = new LinkedHashMap<>();
+
+            for (IndexInlineStatistics idx : arg.indexes()) {
+                try {
+                    ignite.context().query().changeIndexInlineSize(idx.schemaName(), idx.tableName(),
+                        idx.indexName(), idx.recommendedInlineSize());
+                }
+                catch (IgniteCheckedException | IgniteException ex) {
+                    errors.put(idx.fullName(), ex.getMessage());
+                }
+            }
+
+            return errors;
+        }
+    }
+}
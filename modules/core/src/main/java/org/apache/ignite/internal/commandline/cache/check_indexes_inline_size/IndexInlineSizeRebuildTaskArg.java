@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.commandline.cache.check_indexes_inline_size;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.List;
+import org.apache.ignite.internal.dto.IgniteDataTransferObject;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Argument for {@link IndexInlineSizeRebuildTask}.
+ */
+public class IndexInlineSizeRebuildTaskArg extends IgniteDataTransferObject {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Indexes to recreate with their recommended inline size. */
+    private List<IndexInlineStatistics> idxs;
+
+    /**
+     * Empty constructor required for Serializable.
+     */
+    public IndexInlineSizeRebuildTaskArg() {
+        // No-op.
+    }
+
+    /**
+     * @param idxs Indexes to recreate with their recommended inline size.
+     */
+    public IndexInlineSizeRebuildTaskArg(List<IndexInlineStatistics> idxs) {
+        this.idxs = idxs;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void writeExternalData(ObjectOutput out) throws IOException {
+        U.writeCollection(out, idxs);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void readExternalData(byte protoVer, ObjectInput in) throws IOException, ClassNotFoundException {
+        idxs = U.readList(in);
+    }
+
+    /**
+     * @return Indexes to recreate with their recommended inline size.
+     */
+    public List<IndexInlineStatistics> indexes() {
+        return idxs;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(IndexInlineSizeRebuildTaskArg.class, this);
+    }
+}
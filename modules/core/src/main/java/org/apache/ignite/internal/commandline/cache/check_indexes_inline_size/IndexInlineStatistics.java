@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.commandline.cache.check_indexes_inline_size;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import org.apache.ignite.internal.dto.IgniteDataTransferObject;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Inlining statistics of a secondary index on a node.
+ */
+public class IndexInlineStatistics extends IgniteDataTransferObject {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Schema name. */
+    private String schemaName;
+
+    /** Table name. */
+    private String tblName;
+
+    /** Index name. */
+    private String idxName;
+
+    /** Effective inline size. */
+    private int inlineSize;
+
+    /** Inline size enough to inline the largest sampled index key. */
+    private int recommendedInlineSize;
+
+    /** Number of comparisons with the index rows. */
+    private long cmps;
+
+    /** Number of comparisons with the index rows that required a data page read. */
+    private long rowLookupCmps;
+
+    /**
+     * Empty constructor required for Serializable.
+     */
+    public IndexInlineStatistics() {
+        // No-op.
+    }
+
+    /**
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @param idxName Index name.
+     * @param inlineSize Effective inline size.
+     * @param recommendedInlineSize Inline size enough to inline the largest sampled index key.
+     * @param cmps Number of comparisons with the index rows.
+     * @param rowLookupCmps Number of comparisons with the index rows that required a data page read.
+     */
+    public IndexInlineStatistics(String schemaName, String tblName, String idxName, int inlineSize,
+        int recommendedInlineSize, long cmps, long rowLookupCmps) {
+        this.schemaName = schemaName;
+        this.tblName = tblName;
+        this.idxName = idxName;
+        this.inlineSize = inlineSize;
+        this.recommendedInlineSize = recommendedInlineSize;
+        this.cmps = cmps;
+        this.rowLookupCmps = rowLookupCmps;
+    }
+
+    /**
+     * @return Schema name.
+     */
+    public String schemaName() {
+        return schemaName;
+    }
+
+    /**
+     * @return Table name.
+     */
+    public String tableName() {
+        return tblName;
+    }
+
+    /**
+     * @return Index name.
+     */
+    public String indexName() {
+        return idxName;
+    }
+
+    /**
+     * @return Full index name: schema, table and index names separated by {@code '#'}. Used for display only,
+     *      the names may contain {@code '#'} themselves.
+     */
+    public String fullName() {
+        return schemaName + "#" + tblName + "#" + idxName;
+    }
+
+    /**
+     * @return Effective inline size.
+     */
+    public int inlineSize() {
+        return inlineSize;
+    }
+
+    /**
+     * @return Inline size enough to inline the largest sampled index key.
+     */
+    public int recommendedInlineSize() {
+        return recommendedInlineSize;
+    }
+
+    /**
+     * @return Number of comparisons with the index rows.
+     */
+    public long comparisons() {
+        return cmps;
+    }
+
+    /**
+     * @return Number of comparisons with the index rows that required a data page read.
+     */
+    public long rowLookupComparisons() {
+        return rowLookupCmps;
+    }
+
+    /**
+     * @return Percentage of comparisons with the index rows that required a data page read.
+     */
+    public double rowLookupComparisonsPercent() {
+        return cmps == 0 ? 0 : 100.0 * rowLookupCmps / cmps;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void writeExternalData(ObjectOutput out) throws IOException {
+        U.writeString(out, schemaName);
+        U.writeString(out, tblName);
+        U.writeString(out, idxName);
+        out.writeInt(inlineSize);
+        out.writeInt(recommendedInlineSize);
+        out.writeLong(cmps);
+        out.writeLong(rowLookupCmps);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void readExternalData(byte protoVer, ObjectInput in) throws IOException {
+        schemaName = U.readString(in);
+        tblName = U.readString(in);
+        idxName = U.readString(in);
+        inlineSize = in.readInt();
+        recommendedInlineSize = in.readInt();
+        cmps = in.readLong();
+        rowLookupCmps = in.readLong();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(IndexInlineStatistics.class, this);
+    }
+}
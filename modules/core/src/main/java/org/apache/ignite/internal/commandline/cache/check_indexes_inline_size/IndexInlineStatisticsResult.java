@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.commandline.cache.check_indexes_inline_size;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.ignite.internal.dto.IgniteDataTransferObject;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Represents inlining statistics of secondary indexes from the cluster nodes.
+ */
+public class IndexInlineStatisticsResult extends IgniteDataTransferObject {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Index statistics (index name, statistics) per node. */
+    private Map<UUID, Map<String, IndexInlineStatistics>> nodeToIndexes = new HashMap<>();
+
+    /** {@inheritDoc} */
+    @Override protected void writeExternalData(ObjectOutput out) throws IOException {
+        out.writeInt(nodeToIndexes.size());
+
+        for (UUID id : nodeToIndexes.keySet()) {
+            U.writeUuid(out, id);
+
+            U.writeMap(out, nodeToIndexes.get(id));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void readExternalData(
+        byte protoVer,
+        ObjectInput in
+    ) throws IOException, ClassNotFoundException {
+        int size = in.readInt();
+
+        for (int i = 0; i < size; i++) {
+            UUID id = U.readUuid(in);
+
+            Map<String, IndexInlineStatistics> map = U.readMap(in);
+
+            nodeToIndexes.put(id, map);
+        }
+    }
+
+    /**
+     * Adds to result statistics of indexes from node.
+     *
+     * @param nodeId Node id.
+     * @param stats Statistics of secondary indexes.
+     */
+    public void addResult(UUID nodeId, Map<String, IndexInlineStatistics> stats) {
+        Map<String, IndexInlineStatistics> prev = nodeToIndexes.put(nodeId, stats);
+
+        assert prev == null : nodeId + " prev: " + prev + " cur: " + stats;
+    }
+
+    /**
+     * Merge current result with given instance.
+     *
+     * @param res Given result instance.
+     */
+    public void merge(IndexInlineStatisticsResult res) {
+        for (Map.Entry<UUID, Map<String, IndexInlineStatistics>> entry : res.nodeToIndexes.entrySet())
+            addResult(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * @return Inlining statistics of secondary indexes from the cluster nodes (nodeId -> (index name, statistics)).
+     */
+    public Map<UUID, Map<String, IndexInlineStatistics>> statistics() {
+        return nodeToIndexes;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.commandline.cache.check_indexes_inline_size;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.compute.ComputeJobResult;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.visor.VisorJob;
+import org.apache.ignite.internal.visor.VisorMultiNodeTask;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Task that collects inlining statistics of secondary indexes from the different nodes.
+ */
+@GridInternal
+public class IndexInlineStatisticsTask extends VisorMultiNodeTask<Void, IndexInlineStatisticsResult, IndexInlineStatisticsResult> {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** {@inheritDoc} */
+    @Override protected VisorJob<Void, IndexInlineStatisticsResult> job(Void arg) {
+        return new IndexInlineStatisticsJob(arg, debug);
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override protected IndexInlineStatisticsResult reduce0(List<ComputeJobResult> results) {
+        IndexInlineStatisticsResult res = new IndexInlineStatisticsResult();
+
+        boolean foundEx = false;
+
+        for (ComputeJobResult jobResult : results) {
+            if (jobResult.getException() == null)
+                res.merge(jobResult.getData());
+            else {
+                foundEx = true;
+
+                break;
+            }
+        }
+
+        if (foundEx) {
+            IgniteException compoundEx = new IgniteException();
+
+            for (ComputeJobResult jobResult : results) {
+                if (jobResult.getException() != null)
+                    compoundEx.addSuppressed(jobResult.getException());
+            }
+
+            throw compoundEx;
+        }
+
+        return res;
+    }
+
+    /**
+     * Job that collects inlining statistics of secondary indexes on a node.
+     */
+    private static class IndexInlineStatisticsJob extends VisorJob<Void, IndexInlineStatisticsResult> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * @param arg Argument.
+         * @param debug Debug.
+         */
+        protected IndexInlineStatisticsJob(@Nullable Void arg, boolean debug) {
+            super(arg, debug);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected IndexInlineStatisticsResult run(@Nullable Void arg) throws IgniteException {
+            Map<String, IndexInlineStatistics> stats = ignite.context().query().secondaryIndexesInlineStatistics();
+
+            IndexInlineStatisticsResult res = new IndexInlineStatisticsResult();
+
+            res.addResult(ignite.localNode().id(), stats);
+
+            return res;
+        }
+    }
+}
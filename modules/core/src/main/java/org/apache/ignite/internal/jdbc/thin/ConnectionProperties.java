@@ -570,6 +570,39 @@ public interface ConnectionProperties {
      */
     public void setKeepBinary(boolean keepBinary);
 
+    /**
+     * Gets the number of result pages produced by the server ahead of the fetch requests. When it is positive,
+     * the next page is also requested as soon as the current one is received, so the client processes the rows
+     * while the next page is on its way.
+     *
+     * @return Number of result pages prefetched ahead, zero if prefetch is disabled.
+     */
+    public int getPrefetchPages();
+
+    /**
+     * <p> Defaults is {@code 0}.
+     *
+     * @param prefetchPages Number of result pages prefetched ahead, zero to disable prefetch.
+     * @throws SQLException On error.
+     */
+    public void setPrefetchPages(int prefetchPages) throws SQLException;
+
+    /**
+     * Gets the limit of the estimated size of the result pages prefetched ahead. The number of pages prefetched
+     * ahead is reduced, so that they fit the limit.
+     *
+     * @return Prefetched result pages size limit in bytes.
+     */
+    public int getPrefetchBytes();
+
+    /**
+     * <p> Defaults is 4 MB.
+     *
+     * @param prefetchBytes Prefetched result pages size limit in bytes.
+     * @throws SQLException On error.
+     */
+    public void setPrefetchBytes(int prefetchBytes) throws SQLException;
+
     /**
      * Gets the class name of the custom implementation of the Factory&lt;Map&lt;String, String&gt;&gt;.
      *
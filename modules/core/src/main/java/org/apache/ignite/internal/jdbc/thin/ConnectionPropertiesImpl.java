@@ -269,6 +269,17 @@ public class ConnectionPropertiesImpl implements ConnectionProperties, Serializa
     private BooleanProperty keepBinary = new BooleanProperty("keepBinary",
         "Whether to keep binary objects in binary form.", false, false);
 
+    /** Number of result pages prefetched ahead. */
+    private IntegerProperty prefetchPages = new IntegerProperty("prefetchPages",
+        "The number of result pages produced by the server ahead of the fetch requests while the client " +
+            "processes the current page. Zero means the next page is requested only when the current one is " +
+            "processed.", 0, false, 0, Integer.MAX_VALUE);
+
+    /** Prefetched result pages size limit. */
+    private IntegerProperty prefetchBytes = new IntegerProperty("prefetchBytes",
+        "The limit of the estimated size in bytes of the result pages prefetched ahead.",
+        4 * 1024 * 1024, false, 1, Integer.MAX_VALUE);
+
     /** Properties array. */
     private final ConnectionProperty[] propsArray = {
         distributedJoins, enforceJoinOrder, collocated, replicatedOnly, autoCloseServerCursor,
@@ -289,7 +300,9 @@ public class ConnectionPropertiesImpl implements ConnectionProperties, Serializa
         connTimeout,
         limitedV2_8_0Enabled,
         disabledFeatures,
-        keepBinary
+        keepBinary,
+        prefetchPages,
+        prefetchBytes
     };
 
     /** {@inheritDoc} */
@@ -708,6 +721,26 @@ public class ConnectionPropertiesImpl implements ConnectionProperties, Serializa
         this.keepBinary.setValue(keepBinary);
     }
 
+    /** {@inheritDoc} */
+    @Override public int getPrefetchPages() {
+        return prefetchPages.value();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void setPrefetchPages(int prefetchPages) throws SQLException {
+        this.prefetchPages.setValue(prefetchPages);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getPrefetchBytes() {
+        return prefetchBytes.value();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void setPrefetchBytes(int prefetchBytes) throws SQLException {
+        this.prefetchBytes.setValue(prefetchBytes);
+    }
+
     /** {@inheritDoc} */
     @Override public String getUserAttributesFactory() {
         return userAttrsFactory.value();
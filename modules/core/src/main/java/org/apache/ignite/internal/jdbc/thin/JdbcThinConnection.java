@@ -102,6 +102,8 @@ import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQuery;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryCancelRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryExecuteRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryExecuteResult;
+import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryFetchRequest;
+import org.apache.ignite.internal.processors.odbc.jdbc.JdbcQueryFetchResult;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcRequest;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcResponse;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcResult;
@@ -945,6 +947,20 @@ public class JdbcThinConnection implements Connection {
         return connProps.isAutoCloseServerCursor();
     }
 
+    /**
+     * @return Number of result pages prefetched ahead.
+     */
+    int prefetchPages() {
+        return connProps.getPrefetchPages();
+    }
+
+    /**
+     * @return Prefetched result pages size limit in bytes.
+     */
+    int prefetchBytes() {
+        return connProps.getPrefetchBytes();
+    }
+
     /**
      * Send request for execution via corresponding singleIo from {@link #ios}.
      *
@@ -1215,6 +1231,74 @@ public class JdbcThinConnection implements Connection {
         return null;
     }
 
+    /**
+     * Sends the fetch request of a result set without waiting for the response, so the next result page is on its
+     * way while the current one is processed. The response is taken by
+     * {@link #readFetchAhead(JdbcQueryFetchRequest, JdbcThinStatement, JdbcThinTcpIo)}.
+     *
+     * @param req Request.
+     * @param stickyIO Ignite endpoint the result set cursor belongs to.
+     * @return {@code false} if the request is not sent, since another request sent ahead is pending on the endpoint.
+     * @throws SQLException On any error.
+     */
+    boolean sendFetchAhead(JdbcQueryFetchRequest req, JdbcThinTcpIo stickyIO) throws SQLException {
+        ensureConnected();
+
+        acquireMutex();
+
+        try {
+            return stickyIO.sendFetchAhead(req);
+        }
+        catch (Exception e) {
+            onDisconnect(stickyIO);
+
+            if (e instanceof SocketTimeoutException)
+                throw new SQLException("Connection timed out.", CONNECTION_FAILURE, e);
+            else
+                throw new SQLException("Failed to communicate with Ignite cluster.", CONNECTION_FAILURE, e);
+        }
+        finally {
+            releaseMutex();
+        }
+    }
+
+    /**
+     * @param req Request sent by {@link #sendFetchAhead(JdbcQueryFetchRequest, JdbcThinTcpIo)}.
+     * @param stmt Jdbc thin statement.
+     * @param stickyIO Ignite endpoint the request is sent to.
+     * @return Server response.
+     * @throws SQLException On any error.
+     */
+    JdbcQueryFetchResult readFetchAhead(JdbcQueryFetchRequest req, JdbcThinStatement stmt, JdbcThinTcpIo stickyIO)
+        throws SQLException {
+        ensureConnected();
+
+        acquireMutex();
+
+        try {
+            JdbcResponse res = stickyIO.readFetchAhead(req, stmt);
+
+            if (res.status() != ClientListenerResponse.STATUS_SUCCESS)
+                throw new SQLException(res.error(), IgniteQueryErrorCode.codeToSqlState(res.status()), res.status());
+
+            return (JdbcQueryFetchResult)res.response();
+        }
+        catch (SQLException e) {
+            throw e;
+        }
+        catch (Exception e) {
+            onDisconnect(stickyIO);
+
+            if (e instanceof SocketTimeoutException)
+                throw new SQLException("Connection timed out.", CONNECTION_FAILURE, e);
+            else
+                throw new SQLException("Failed to communicate with Ignite cluster.", CONNECTION_FAILURE, e);
+        }
+        finally {
+            releaseMutex();
+        }
+    }
+
     /**
      * Send request for execution via corresponding singleIo from {@link #ios} or sticky singleIo.
      * Response is waited at the separate thread (see {@link StreamState#asyncRespReaderThread}).
@@ -133,6 +133,9 @@ public class JdbcThinResultSet implements ResultSet {
     /** Sticky ignite endpoint. */
     private JdbcThinTcpIo stickyIO;
 
+    /** Fetch request sent ahead, which response is not taken yet. */
+    private JdbcQueryFetchRequest aheadFetchReq;
+
     /**
      * Constructs static result set.
      *
@@ -202,14 +205,18 @@ public class JdbcThinResultSet implements ResultSet {
         ensureAlive();
 
         if ((rowsIter == null || !rowsIter.hasNext()) && !finished) {
-            JdbcQueryFetchResult res = stmt.conn.sendRequest(new JdbcQueryFetchRequest(cursorId, fetchSize), stmt,
-                stickyIO).response();
+            JdbcQueryFetchResult res = aheadFetchReq != null ? takeFetchAhead() :
+                stmt.conn.sendRequest(new JdbcQueryFetchRequest(cursorId, fetchSize), stmt, stickyIO).response();
 
             rows = res.items();
             finished = res.last();
 
             rowsIter = rows.iterator();
+
+            fetchAhead();
         }
+        else if (curPos == 0)
+            fetchAhead();
 
         if (rowsIter != null) {
             if (rowsIter.hasNext()) {
@@ -230,6 +237,45 @@ public class JdbcThinResultSet implements ResultSet {
             return false;
     }
 
+    /**
+     * Requests the next page while the current one is processed, if prefetch is enabled. The server is also asked
+     * to produce the following pages ahead, as much as they fit the prefetch size limit along with the requested
+     * page. The size of a page is estimated by the size of the last response.
+     *
+     * @throws SQLException On error.
+     */
+    private void fetchAhead() throws SQLException {
+        if (finished || stickyIO == null || !stickyIO.connected())
+            return;
+
+        int pages = stmt.conn.prefetchPages();
+
+        if (pages <= 0)
+            return;
+
+        int fit = stmt.conn.prefetchBytes() / Math.max(stickyIO.lastResponseSize(), 1);
+
+        if (fit == 0)
+            return;
+
+        JdbcQueryFetchRequest req = new JdbcQueryFetchRequest(cursorId, fetchSize, Math.min(pages, fit - 1));
+
+        if (stmt.conn.sendFetchAhead(req, stickyIO))
+            aheadFetchReq = req;
+    }
+
+    /**
+     * @return Response to the fetch request sent ahead.
+     * @throws SQLException On error.
+     */
+    private JdbcQueryFetchResult takeFetchAhead() throws SQLException {
+        JdbcQueryFetchRequest req = aheadFetchReq;
+
+        aheadFetchReq = null;
+
+        return stmt.conn.readFetchAhead(req, stmt, stickyIO);
+    }
+
     /** {@inheritDoc} */
     @Override public void close() throws SQLException {
         close0();
@@ -246,6 +292,16 @@ public class JdbcThinResultSet implements ResultSet {
             return;
 
         try {
+            if (aheadFetchReq != null) {
+                try {
+                    finished |= takeFetchAhead().last();
+                }
+                catch (SQLException e) {
+                    if (!stmt.isCancelled())
+                        throw e;
+                }
+            }
+
             if (!(stmt != null && stmt.isCancelled()) && (!finished || (isQuery && !autoClose)))
                 stmt.conn.sendRequest(new JdbcQueryCloseRequest(cursorId), stmt, stickyIO);
         }
@@ -159,6 +159,18 @@ public class JdbcThinTcpIo {
     /** Binary context for serialization/deserialization of binary objects. */
     private final BinaryContext ctx;
 
+    /** Fetch request sent ahead, which response is not taken yet. */
+    private JdbcQueryFetchRequest aheadFetchReq;
+
+    /** Response to {@link #aheadFetchReq} read before another request was sent. */
+    private JdbcResponse aheadFetchRes;
+
+    /** Size of {@link #aheadFetchRes} in bytes. */
+    private int aheadFetchResSize;
+
+    /** Size of the last taken response in bytes. */
+    private int lastRespSize;
+
     /**
      * Start connection and perform handshake.
      *
@@ -478,7 +490,76 @@ public class JdbcThinTcpIo {
                 + CURRENT_VER + ", remoteNodeVer=" + igniteVer + ']', SqlStateCode.INTERNAL_ERROR);
         }
 
+        drainFetchAhead();
+
+        sendRequestRaw(req);
+    }
+
+    /**
+     * Sends the fetch request without waiting for the response. The response is taken by
+     * {@link #readFetchAhead(JdbcQueryFetchRequest, JdbcThinStatement)}, other requests sent meanwhile read it
+     * and keep it aside.
+     *
+     * @param req Request.
+     * @return {@code false} if the request is not sent, since a response to another request sent ahead is not
+     *      taken yet.
+     * @throws IOException In case of IO error.
+     */
+    boolean sendFetchAhead(JdbcQueryFetchRequest req) throws IOException {
+        if (aheadFetchReq != null)
+            return false;
+
         sendRequestRaw(req);
+
+        aheadFetchReq = req;
+
+        return true;
+    }
+
+    /**
+     * @param req Request sent by {@link #sendFetchAhead(JdbcQueryFetchRequest)}.
+     * @param stmt Statement.
+     * @return Server response.
+     * @throws IOException In case of IO error.
+     */
+    JdbcResponse readFetchAhead(JdbcQueryFetchRequest req, JdbcThinStatement stmt) throws IOException {
+        assert aheadFetchReq == req;
+
+        JdbcResponse resp = aheadFetchRes;
+
+        try {
+            if (resp != null)
+                lastRespSize = aheadFetchResSize;
+            else
+                resp = readResponse();
+        }
+        finally {
+            aheadFetchReq = null;
+            aheadFetchRes = null;
+        }
+
+        return stmt.isCancelled() ?
+            new JdbcResponse(IgniteQueryErrorCode.QUERY_CANCELED, QueryCancelledException.ERR_MSG) :
+            resp;
+    }
+
+    /**
+     * Reads the response to the fetch request sent ahead, if any, so the next response belongs to the next request.
+     *
+     * @throws IOException In case of IO error.
+     */
+    private void drainFetchAhead() throws IOException {
+        if (aheadFetchReq != null && aheadFetchRes == null) {
+            aheadFetchRes = readResponse();
+            aheadFetchResSize = lastRespSize;
+        }
+    }
+
+    /**
+     * @return Size of the last taken response in bytes.
+     */
+    int lastResponseSize() {
+        return lastRespSize;
     }
 
     /**
@@ -488,6 +569,8 @@ public class JdbcThinTcpIo {
      * @throws IOException In case of IO error.
      */
     JdbcResponse sendRequest(JdbcRequest req, JdbcThinStatement stmt) throws IOException {
+        drainFetchAhead();
+
         if (stmt != null) {
             synchronized (stmt.cancellationMutex()) {
                 if (stmt.isCancelled()) {
@@ -610,6 +693,8 @@ public class JdbcThinTcpIo {
         int msgSize = (((0xFF & sizeBytes[3]) << 24) | ((0xFF & sizeBytes[2]) << 16)
             | ((0xFF & sizeBytes[1]) << 8) + (0xFF & sizeBytes[0]));
 
+        lastRespSize = msgSize;
+
         return read(msgSize);
     }
 
@@ -163,6 +163,7 @@ import org.apache.ignite.internal.processors.marshaller.MissingMappingResponseMe
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryCancelRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryFailResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageRequest;
+import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageCpuTimeResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageResponse;
 import org.apache.ignite.internal.processors.query.messages.GridQueryKillRequest;
 import org.apache.ignite.internal.processors.query.messages.GridQueryKillResponse;
@@ -375,6 +376,7 @@ public class GridIoMessageFactory implements MessageFactoryProvider {
         // TDE
         factory.register(SingleNodeMessage.TYPE_CODE, SingleNodeMessage::new);
         // [177, 178] - Incremental DR
+        factory.register((short)179, GridQueryNextPageCpuTimeResponse::new);
 
         // [-3..119] [124..129] [-23..-28] [-36..-55] - this
         // [120..123] [177, 178] - DR
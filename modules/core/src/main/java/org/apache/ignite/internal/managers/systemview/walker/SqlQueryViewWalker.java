@@ -35,14 +35,15 @@ public class SqlQueryViewWalker implements SystemViewRowAttributeWalker<SqlQuery
         v.accept(2, "originNodeId", UUID.class);
         v.accept(3, "startTime", Date.class);
         v.accept(4, "duration", long.class);
-        v.accept(5, "diskAllocationCurrent", long.class);
-        v.accept(6, "diskAllocationMax", long.class);
-        v.accept(7, "diskAllocationTotal", long.class);
-        v.accept(8, "initiatorId", String.class);
-        v.accept(9, "local", boolean.class);
-        v.accept(10, "memoryCurrent", long.class);
-        v.accept(11, "memoryMax", long.class);
-        v.accept(12, "schemaName", String.class);
+        v.accept(5, "cpuTime", long.class);
+        v.accept(6, "diskAllocationCurrent", long.class);
+        v.accept(7, "diskAllocationMax", long.class);
+        v.accept(8, "diskAllocationTotal", long.class);
+        v.accept(9, "initiatorId", String.class);
+        v.accept(10, "local", boolean.class);
+        v.accept(11, "memoryCurrent", long.class);
+        v.accept(12, "memoryMax", long.class);
+        v.accept(13, "schemaName", String.class);
     }
 
     /** {@inheritDoc} */
@@ -52,18 +53,19 @@ public class SqlQueryViewWalker implements SystemViewRowAttributeWalker<SqlQuery
         v.accept(2, "originNodeId", UUID.class, row.originNodeId());
         v.accept(3, "startTime", Date.class, row.startTime());
         v.acceptLong(4, "duration", row.duration());
-        v.acceptLong(5, "diskAllocationCurrent", row.diskAllocationCurrent());
-        v.acceptLong(6, "diskAllocationMax", row.diskAllocationMax());
-        v.acceptLong(7, "diskAllocationTotal", row.diskAllocationTotal());
-        v.accept(8, "initiatorId", String.class, row.initiatorId());
-        v.acceptBoolean(9, "local", row.local());
-        v.acceptLong(10, "memoryCurrent", row.memoryCurrent());
-        v.acceptLong(11, "memoryMax", row.memoryMax());
-        v.accept(12, "schemaName", String.class, row.schemaName());
+        v.acceptLong(5, "cpuTime", row.cpuTime());
+        v.acceptLong(6, "diskAllocationCurrent", row.diskAllocationCurrent());
+        v.acceptLong(7, "diskAllocationMax", row.diskAllocationMax());
+        v.acceptLong(8, "diskAllocationTotal", row.diskAllocationTotal());
+        v.accept(9, "initiatorId", String.class, row.initiatorId());
+        v.acceptBoolean(10, "local", row.local());
+        v.acceptLong(11, "memoryCurrent", row.memoryCurrent());
+        v.acceptLong(12, "memoryMax", row.memoryMax());
+        v.accept(13, "schemaName", String.class, row.schemaName());
     }
 
     /** {@inheritDoc} */
     @Override public int count() {
-        return 13;
+        return 14;
     }
 }
@@ -392,13 +392,15 @@ public class GridAffinityAssignmentCache {
                 assignment = IdealAffinityAssignment.create(topVer, baselineAssignmentWithoutOfflineNodes(discoCache));
             }
             else {
-                List<List<ClusterNode>> calculated = aff.assignPartitions(new GridAffinityFunctionContextImpl(
-                    sorted,
-                    prevAssignment.assignment(),
-                    events.lastEvent(),
-                    topVer,
-                    backups
-                ));
+                List<List<ClusterNode>> calculated = ctx.affinity().assignPartitions(aff,
+                    new GridAffinityFunctionContextImpl(
+                        sorted,
+                        prevAssignment.assignment(),
+                        events.lastEvent(),
+                        topVer,
+                        backups
+                    ),
+                    false);
 
                 assignment = IdealAffinityAssignment.create(topVer, calculated);
             }
@@ -410,12 +412,14 @@ public class GridAffinityAssignmentCache {
                 assignment = IdealAffinityAssignment.create(topVer, baselineAssignmentWithoutOfflineNodes(discoCache));
             }
             else {
-                List<List<ClusterNode>> calculated = aff.assignPartitions(new GridAffinityFunctionContextImpl(sorted,
-                    prevAssignment != null ? prevAssignment.assignment() : null,
-                    events != null ? events.lastEvent() : null,
-                    topVer,
-                    backups
-                ));
+                List<List<ClusterNode>> calculated = ctx.affinity().assignPartitions(aff,
+                    new GridAffinityFunctionContextImpl(sorted,
+                        prevAssignment != null ? prevAssignment.assignment() : null,
+                        events != null ? events.lastEvent() : null,
+                        topVer,
+                        backups
+                    ),
+                    false);
 
                 assignment = IdealAffinityAssignment.create(topVer, calculated);
             }
@@ -460,13 +464,15 @@ public class GridAffinityAssignmentCache {
     ) {
         List<ClusterNode> baselineAffinityNodes = blt.createBaselineView(sorted, nodeFilter);
 
-        List<List<ClusterNode>> calculated = aff.assignPartitions(new GridAffinityFunctionContextImpl(
-            baselineAffinityNodes,
-            prevAssignment != null ? prevAssignment.assignment() : null,
-            events != null ? events.lastEvent() : null,
-            topVer,
-            backups
-        ));
+        List<List<ClusterNode>> calculated = ctx.affinity().assignPartitions(aff,
+            new GridAffinityFunctionContextImpl(
+                baselineAffinityNodes,
+                prevAssignment != null ? prevAssignment.assignment() : null,
+                events != null ? events.lastEvent() : null,
+                topVer,
+                backups
+            ),
+            true);
 
         baselineAssignment = IdealAffinityAssignment.create(topVer, calculated);
     }
@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.processors.affinity;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -25,14 +26,20 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.binary.BinaryObject;
 import org.apache.ignite.cache.affinity.Affinity;
 import org.apache.ignite.cache.affinity.AffinityFunction;
+import org.apache.ignite.cache.affinity.AffinityFunctionContext;
 import org.apache.ignite.cache.affinity.AffinityKeyMapper;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.cluster.ClusterTopologyException;
 import org.apache.ignite.configuration.CacheConfiguration;
@@ -70,6 +77,7 @@ import org.apache.ignite.lang.IgniteUuid;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_AFFINITY_SHARED_CALCULATION;
 import static org.apache.ignite.cache.CacheMode.LOCAL;
 import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
 import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
@@ -90,6 +98,13 @@ public class GridAffinityProcessor extends GridProcessorAdapter {
     /** Affinity map. */
     private final ConcurrentSkipListMap<AffinityAssignmentKey, IgniteInternalFuture<AffinityInfo>> affMap = new ConcurrentSkipListMap<>();
 
+    /** Share ideal assignments between cache groups flag. */
+    private final boolean sharedCalculation =
+        IgniteSystemProperties.getBoolean(IGNITE_AFFINITY_SHARED_CALCULATION, true);
+
+    /** Ideal assignments calculated for the latest topology version. */
+    private final AtomicReference<SharedAssignments> sharedAssignments = new AtomicReference<>();
+
     /** Listener. */
     private final GridLocalEventListener lsnr = new GridLocalEventListener() {
         @Override public void onEvent(Event evt) {
@@ -147,6 +162,8 @@ public class GridAffinityProcessor extends GridProcessorAdapter {
     /** {@inheritDoc} */
     @Override public void onDisconnected(IgniteFuture<?> reconnectFut) throws IgniteCheckedException {
         affMap.clear();
+
+        sharedAssignments.set(null);
     }
 
     /**
@@ -702,6 +719,88 @@ public class GridAffinityProcessor extends GridProcessorAdapter {
         return new SimilarAffinityKey(aff.getClass(), nodeFilter.getClass(), backups, parts);
     }
 
+    /**
+     * Calculates assignment with given affinity function. If another cache group with identical affinity
+     * configuration has already calculated assignment for the same nodes on the same topology version, that
+     * assignment is returned instead. Only {@link RendezvousAffinityFunction} without backup filters is considered
+     * identical by configuration, result of other functions may depend on state not visible here.
+     *
+     * @param aff Affinity function.
+     * @param affCtx Affinity function context.
+     * @param baseline {@code True} if assignment is calculated for baseline nodes.
+     * @return Assignment.
+     */
+    public List<List<ClusterNode>> assignPartitions(AffinityFunction aff, AffinityFunctionContext affCtx, boolean baseline) {
+        SharedAssignmentKey key = sharedCalculation ? sharedAssignmentKey(aff, affCtx, baseline) : null;
+
+        if (key == null)
+            return aff.assignPartitions(affCtx);
+
+        AffinityTopologyVersion topVer = affCtx.currentTopologyVersion();
+
+        SharedAssignments shared = sharedAssignments.get();
+
+        while (shared == null || shared.topVer.before(topVer)) {
+            SharedAssignments newShared = new SharedAssignments(topVer);
+
+            if (sharedAssignments.compareAndSet(shared, newShared)) {
+                shared = newShared;
+
+                break;
+            }
+
+            shared = sharedAssignments.get();
+        }
+
+        if (!shared.topVer.equals(topVer))
+            return aff.assignPartitions(affCtx);
+
+        List<List<ClusterNode>> assignment = shared.assignments.get(key);
+
+        if (assignment == null) {
+            assignment = aff.assignPartitions(affCtx);
+
+            List<List<ClusterNode>> old = shared.assignments.putIfAbsent(key, assignment);
+
+            if (old != null)
+                assignment = old;
+        }
+        else if (log.isDebugEnabled())
+            log.debug("Reused affinity assignment calculated for another cache group [topVer=" + topVer + ']');
+
+        return assignment;
+    }
+
+    /**
+     * @param aff Affinity function.
+     * @param affCtx Affinity function context.
+     * @param baseline Baseline assignment flag.
+     * @return Key to share assignment or {@code null} if assignment can't be shared.
+     */
+    @Nullable private static SharedAssignmentKey sharedAssignmentKey(
+        AffinityFunction aff,
+        AffinityFunctionContext affCtx,
+        boolean baseline
+    ) {
+        if (aff.getClass() != RendezvousAffinityFunction.class)
+            return null;
+
+        RendezvousAffinityFunction rendezvous = (RendezvousAffinityFunction)aff;
+
+        if (rendezvous.getBackupFilter() != null || rendezvous.getAffinityBackupFilter() != null)
+            return null;
+
+        List<ClusterNode> nodes = affCtx.currentTopologySnapshot();
+
+        List<Object> consistentIds = new ArrayList<>(nodes.size());
+
+        for (ClusterNode node : nodes)
+            consistentIds.add(node.consistentId());
+
+        return new SharedAssignmentKey(rendezvous.getPartitions(), rendezvous.isExcludeNeighbors(), affCtx.backups(),
+            baseline, consistentIds);
+    }
+
     /** {@inheritDoc} */
     @Override public void printMemoryStats() {
         X.println(">>>");
@@ -1201,4 +1300,96 @@ public class GridAffinityProcessor extends GridProcessorAdapter {
             return S.toString(SimilarAffinityKey.class, this);
         }
     }
+
+    /**
+     * Assignments calculated for a topology version.
+     */
+    private static class SharedAssignments {
+        /** Topology version. */
+        private final AffinityTopologyVersion topVer;
+
+        /** Assignments. */
+        private final ConcurrentMap<SharedAssignmentKey, List<List<ClusterNode>>> assignments =
+            new ConcurrentHashMap<>();
+
+        /**
+         * @param topVer Topology version.
+         */
+        SharedAssignments(AffinityTopologyVersion topVer) {
+            this.topVer = topVer;
+        }
+    }
+
+    /**
+     * Affinity configuration and nodes which define assignment on a topology version.
+     */
+    private static class SharedAssignmentKey {
+        /** */
+        private final int partsCnt;
+
+        /** */
+        private final boolean exclNeighbors;
+
+        /** */
+        private final int backups;
+
+        /** */
+        private final boolean baseline;
+
+        /** Consistent IDs of affinity nodes. */
+        private final List<Object> nodes;
+
+        /** */
+        private final int hash;
+
+        /**
+         * @param partsCnt Number of partitions.
+         * @param exclNeighbors Exclude neighbors flag.
+         * @param backups Number of backups.
+         * @param baseline Baseline assignment flag.
+         * @param nodes Consistent IDs of affinity nodes.
+         */
+        SharedAssignmentKey(int partsCnt, boolean exclNeighbors, int backups, boolean baseline, List<Object> nodes) {
+            this.partsCnt = partsCnt;
+            this.exclNeighbors = exclNeighbors;
+            this.backups = backups;
+            this.baseline = baseline;
+            this.nodes = nodes;
+
+            int hash = partsCnt;
+            hash = 31 * hash + (exclNeighbors ? 1 : 0);
+            hash = 31 * hash + backups;
+            hash = 31 * hash + (baseline ? 1 : 0);
+            hash = 31 * hash + nodes.hashCode();
+
+            this.hash = hash;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return hash;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (o == this)
+                return true;
+
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            SharedAssignmentKey key = (SharedAssignmentKey)o;
+
+            return partsCnt == key.partsCnt &&
+                exclNeighbors == key.exclNeighbors &&
+                backups == key.backups &&
+                baseline == key.baseline &&
+                nodes.equals(key.nodes);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(SharedAssignmentKey.class, this);
+        }
+    }
 }
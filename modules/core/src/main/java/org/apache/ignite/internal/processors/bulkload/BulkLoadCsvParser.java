@@ -26,7 +26,7 @@ import org.apache.ignite.internal.processors.bulkload.pipeline.LineSplitterBlock
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.ignite.internal.processors.query.IgniteSQLException;
 
@@ -70,7 +70,7 @@ public class BulkLoadCsvParser extends BulkLoadParser {
     /** {@inheritDoc} */
     @Override protected Iterable<List<Object>> parseBatch(byte[] batchData, boolean isLastBatch)
         throws IgniteCheckedException {
-        List<List<Object>> res = new LinkedList<>();
+        List<List<Object>> res = new ArrayList<>();
 
         collectorBlock.output(res);
 
@@ -16,10 +16,15 @@
 
 package org.apache.ignite.internal.processors.bulkload;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteDataStreamer;
 import org.apache.ignite.IgniteIllegalStateException;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
 import org.apache.ignite.internal.processors.query.GridRunningQueryInfo;
 import org.apache.ignite.internal.processors.query.RunningQueryManager;
 import org.apache.ignite.internal.processors.tracing.MTC;
@@ -29,6 +34,7 @@ import org.apache.ignite.internal.processors.tracing.Span;
 import org.apache.ignite.internal.processors.tracing.Tracing;
 import org.apache.ignite.internal.util.lang.IgniteClosureX;
 import org.apache.ignite.lang.IgniteBiTuple;
+import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.tracing.SpanType.SQL_BATCH_PROCESS;
 
@@ -37,6 +43,9 @@ import static org.apache.ignite.internal.processors.tracing.SpanType.SQL_BATCH_P
  * received from the client side.
  */
 public class BulkLoadProcessor implements AutoCloseable {
+    /** Minimal number of records handled by a single thread when a batch is processed in parallel. */
+    private static final int MIN_PARALLEL_CHUNK = 256;
+
     /** Parser of the input bytes. */
     private final BulkLoadParser inputParser;
 
@@ -67,6 +76,12 @@ public class BulkLoadProcessor implements AutoCloseable {
     /** Span of the running query. */
     private final Span qrySpan;
 
+    /** Number of threads converting and streaming the records of a batch. */
+    private final int parallelism;
+
+    /** Executor of the parallel chunks, shared with other commands. */
+    private final ExecutorService exec;
+
     /**
      * Creates bulk load processor.
      *
@@ -77,15 +92,22 @@ public class BulkLoadProcessor implements AutoCloseable {
      * @param runningQryMgr Running query manager.
      * @param qryId Running query id.
      * @param tracing Tracing processor.
+     * @param parallelism Number of threads converting and streaming the records of a batch.
+     * @param exec Executor of the parallel chunks, may be {@code null} if {@code parallelism} is {@code 1}.
      */
     public BulkLoadProcessor(BulkLoadParser inputParser, IgniteClosureX<List<?>, IgniteBiTuple<?, ?>> dataConverter,
-        BulkLoadCacheWriter outputStreamer, RunningQueryManager runningQryMgr, Long qryId, Tracing tracing) {
+        BulkLoadCacheWriter outputStreamer, RunningQueryManager runningQryMgr, Long qryId, Tracing tracing,
+        int parallelism, @Nullable ExecutorService exec) {
+        assert parallelism == 1 || exec != null;
+
         this.inputParser = inputParser;
         this.dataConverter = dataConverter;
         this.outputStreamer = outputStreamer;
         this.runningQryMgr = runningQryMgr;
         this.qryId = qryId;
         this.tracing = tracing;
+        this.parallelism = parallelism;
+        this.exec = exec;
 
         GridRunningQueryInfo qryInfo = runningQryMgr.runningQueryInfo(qryId);
 
@@ -117,12 +139,81 @@ public class BulkLoadProcessor implements AutoCloseable {
 
             Iterable<List<Object>> inputRecords = inputParser.parseBatch(batchData, isLastBatch);
 
-            for (List<Object> record : inputRecords) {
-                IgniteBiTuple<?, ?> kv = dataConverter.apply(record);
+            if (parallelism > 1 && inputRecords instanceof List
+                && ((List<?>)inputRecords).size() >= 2 * MIN_PARALLEL_CHUNK)
+                processParallel((List<List<Object>>)inputRecords);
+            else
+                processRecords(inputRecords);
+        }
+    }
+
+    /**
+     * Converts the records and passes them to the output streamer.
+     *
+     * @param records Records.
+     */
+    private void processRecords(Iterable<List<Object>> records) {
+        for (List<Object> record : records) {
+            IgniteBiTuple<?, ?> kv = dataConverter.apply(record);
+
+            outputStreamer.apply(kv);
+        }
+    }
+
+    /**
+     * Splits the records into chunks, which are converted and streamed concurrently. The first chunk is processed
+     * by the calling thread. The streamer routes the entries of all the chunks to the per-node buffers by affinity.
+     *
+     * @param records Records.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void processParallel(List<List<Object>> records) throws IgniteCheckedException {
+        int size = records.size();
+
+        int chunks = Math.min(parallelism, size / MIN_PARALLEL_CHUNK);
+
+        int chunkSize = (size + chunks - 1) / chunks;
+
+        List<Future<?>> futs = new ArrayList<>(chunks - 1);
 
-                outputStreamer.apply(kv);
+        for (int from = chunkSize; from < size; from += chunkSize) {
+            List<List<Object>> chunk = records.subList(from, Math.min(from + chunkSize, size));
+
+            futs.add(exec.submit(() -> processRecords(chunk)));
+        }
+
+        Throwable err = null;
+
+        try {
+            processRecords(records.subList(0, chunkSize));
+        }
+        catch (RuntimeException e) {
+            err = e;
+        }
+
+        for (Future<?> fut : futs) {
+            try {
+                fut.get();
+            }
+            catch (ExecutionException e) {
+                if (err == null)
+                    err = e.getCause();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteInterruptedCheckedException(e);
             }
         }
+
+        if (err instanceof RuntimeException)
+            throw (RuntimeException)err;
+
+        if (err instanceof Error)
+            throw (Error)err;
+
+        if (err != null)
+            throw new IgniteCheckedException(err);
     }
 
     /**
@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.processors.bulkload;
 
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.ignite.IgniteDataStreamer;
 import org.apache.ignite.lang.IgniteBiTuple;
 
@@ -31,9 +32,10 @@ public class BulkLoadStreamerWriter extends BulkLoadCacheWriter {
 
     /**
      * A number of {@link IgniteDataStreamer#addData(Object, Object)} calls made,
-     * since we don't have any kind of result data back from the streamer.
+     * since we don't have any kind of result data back from the streamer. Records of a batch may be streamed
+     * by several threads.
      */
-    private long updateCnt;
+    private final LongAdder updateCnt = new LongAdder();
 
     /**
      * Creates a cache writer.
@@ -42,14 +44,13 @@ public class BulkLoadStreamerWriter extends BulkLoadCacheWriter {
      */
     public BulkLoadStreamerWriter(IgniteDataStreamer<Object, Object> streamer) {
         this.streamer = streamer;
-        updateCnt = 0;
     }
 
     /** {@inheritDoc} */
     @Override public void apply(IgniteBiTuple<?, ?> entry) {
         streamer.addData(entry.getKey(), entry.getValue());
 
-        updateCnt++;
+        updateCnt.increment();
     }
 
     /** {@inheritDoc} */
@@ -59,6 +60,6 @@ public class BulkLoadStreamerWriter extends BulkLoadCacheWriter {
 
     /** {@inheritDoc} */
     @Override public long updateCnt() {
-        return updateCnt;
+        return updateCnt.sum();
     }
 }
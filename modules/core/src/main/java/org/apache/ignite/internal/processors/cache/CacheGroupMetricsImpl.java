@@ -41,6 +41,7 @@ import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetrics
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.spi.metric.LongMetric;
@@ -73,6 +74,18 @@ public class CacheGroupMetricsImpl {
     /** Number of local partitions initialized on current node. */
     private final AtomicLongMetric initLocalPartitionsNumber;
 
+    /** Bytes supplied to demanders during the last minute. */
+    private final HitRateMetric rebalancingSuppliedBytesRate;
+
+    /** Total number of bytes supplied to demanders. */
+    private final LongAdderMetric rebalancingSuppliedBytes;
+
+    /** Supply batch size used by the last supplied batch. */
+    private final AtomicLongMetric rebalancingSupplyBatchSize;
+
+    /** Number of in-flight supply batches used by the last supply routine. */
+    private final AtomicLongMetric rebalancingSupplyWindow;
+
     /** Interface describing a predicate of two integers. */
     private interface IntBiPredicate {
         /**
@@ -111,6 +124,18 @@ public class CacheGroupMetricsImpl {
 
         initLocalPartitionsNumber = mreg.longMetric("InitializedLocalPartitionsNumber", "Number of local partitions initialized on current node.");
 
+        rebalancingSuppliedBytesRate = mreg.hitRateMetric("RebalancingSuppliedBytesRate",
+            "Number of bytes supplied to rebalancing nodes during the last minute.", 60_000, 60);
+
+        rebalancingSuppliedBytes = mreg.longAdderMetric("RebalancingSuppliedBytes",
+            "Total number of bytes supplied to rebalancing nodes.");
+
+        rebalancingSupplyBatchSize = mreg.longMetric("RebalancingSupplyBatchSize",
+            "Size of the last supplied rebalance batch limit, in bytes.");
+
+        rebalancingSupplyWindow = mreg.longMetric("RebalancingSupplyWindow",
+            "Number of in-flight rebalance batches of the last supply routine.");
+
         DataRegion region = ctx.dataRegion();
 
         // On client node, region is null.
@@ -205,6 +230,20 @@ public class CacheGroupMetricsImpl {
         initLocalPartitionsNumber.decrement();
     }
 
+    /**
+     * Callback for rebalance batch sent to demander node.
+     *
+     * @param bytes Batch size in bytes.
+     * @param batchSizeLimit Batch size limit used for the batch.
+     * @param window Number of in-flight batches.
+     */
+    public void onRebalanceBatchSupplied(long bytes, int batchSizeLimit, int window) {
+        rebalancingSuppliedBytesRate.add(bytes);
+        rebalancingSuppliedBytes.add(bytes);
+        rebalancingSupplyBatchSize.value(batchSizeLimit);
+        rebalancingSupplyWindow.value(window);
+    }
+
     /** */
     public int getGroupId() {
         return ctx.groupId();
@@ -118,6 +118,7 @@ import org.apache.ignite.internal.processors.cluster.ChangeGlobalStateFinishMess
 import org.apache.ignite.internal.processors.cluster.ChangeGlobalStateMessage;
 import org.apache.ignite.internal.processors.cluster.DiscoveryDataClusterState;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
 import org.apache.ignite.internal.processors.metric.impl.BooleanMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
 import org.apache.ignite.internal.processors.query.schema.SchemaNodeLeaveExchangeWorkerTask;
@@ -170,6 +171,7 @@ import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
 import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
 import static org.apache.ignite.failure.FailureType.SYSTEM_WORKER_TERMINATION;
 import static org.apache.ignite.internal.GridTopic.TOPIC_CACHE;
+import static org.apache.ignite.internal.IgniteFeatures.COMPACT_PME_COUNTERS;
 import static org.apache.ignite.internal.IgniteFeatures.TRANSACTION_OWNER_THREAD_DUMP_PROVIDING;
 import static org.apache.ignite.internal.IgniteFeatures.allNodesSupports;
 import static org.apache.ignite.internal.SupportFeaturesUtils.IGNITE_BASELINE_FOR_IN_MEMORY_CACHES_FEATURE;
@@ -183,9 +185,12 @@ import static org.apache.ignite.internal.processors.cache.distributed.dht.preloa
 import static org.apache.ignite.internal.processors.metric.GridMetricManager.CLUSTER_METRICS;
 import static org.apache.ignite.internal.processors.metric.GridMetricManager.PME_DURATION;
 import static org.apache.ignite.internal.processors.metric.GridMetricManager.PME_DURATION_HISTOGRAM;
+import static org.apache.ignite.internal.processors.metric.GridMetricManager.PME_FULL_MESSAGE_SIZE;
+import static org.apache.ignite.internal.processors.metric.GridMetricManager.PME_FULL_MESSAGE_SIZE_HISTOGRAM;
 import static org.apache.ignite.internal.processors.metric.GridMetricManager.PME_METRICS;
 import static org.apache.ignite.internal.processors.metric.GridMetricManager.PME_OPS_BLOCKED_DURATION;
 import static org.apache.ignite.internal.processors.metric.GridMetricManager.PME_OPS_BLOCKED_DURATION_HISTOGRAM;
+import static org.apache.ignite.internal.processors.metric.GridMetricManager.PME_SINGLE_MESSAGE_SIZE;
 import static org.apache.ignite.internal.processors.metric.GridMetricManager.REBALANCED;
 import static org.apache.ignite.internal.processors.tracing.SpanType.EXCHANGE_FUTURE;
 
@@ -299,6 +304,15 @@ public class GridCachePartitionExchangeManager<K, V> extends GridCacheSharedMana
     /** Histogram of blocking PME durations. */
     private volatile HistogramMetricImpl blockingDurationHistogram;
 
+    /** Serialized size of the last partitions full message. */
+    private volatile AtomicLongMetric fullMsgSize;
+
+    /** Histogram of serialized sizes of partitions full messages. */
+    private volatile HistogramMetricImpl fullMsgSizeHistogram;
+
+    /** Serialized size of the last partitions single message. */
+    private volatile AtomicLongMetric singleMsgSize;
+
     /** Delay before rebalancing code is start executing after exchange completion. For tests only. */
     private volatile long rebalanceDelay;
 
@@ -529,6 +543,16 @@ public class GridCachePartitionExchangeManager<K, V> extends GridCacheSharedMana
         durationHistogram = mreg.findMetric(PME_DURATION_HISTOGRAM);
         blockingDurationHistogram = mreg.findMetric(PME_OPS_BLOCKED_DURATION_HISTOGRAM);
 
+        fullMsgSize = mreg.longMetric(PME_FULL_MESSAGE_SIZE,
+            "Serialized size of the last partitions full message sent by this node, in bytes.");
+
+        fullMsgSizeHistogram = mreg.histogram(PME_FULL_MESSAGE_SIZE_HISTOGRAM,
+            new long[] {64 * 1024, 1024 * 1024, 16 * 1024 * 1024, 64 * 1024 * 1024},
+            "Histogram of serialized sizes of partitions full messages sent by this node, in bytes.");
+
+        singleMsgSize = mreg.longMetric(PME_SINGLE_MESSAGE_SIZE,
+            "Serialized size of the last partitions single message sent by this node, in bytes.");
+
         MetricRegistry clusterReg = cctx.kernalContext().metric().registry(CLUSTER_METRICS);
 
         rebalanced = clusterReg.booleanMetric(REBALANCED,
@@ -1543,6 +1567,9 @@ public class GridCachePartitionExchangeManager<K, V> extends GridCacheSharedMana
 
         m.compressed(compress);
 
+        if (exchId != null && newCntrMap)
+            m.compactCounters(allNodesSupports(cctx.kernalContext(), cctx.discovery().allNodes(), COMPACT_PME_COUNTERS));
+
         final Map<Object, T2<Integer, GridDhtPartitionFullMap>> dupData = new HashMap<>();
 
         Map<Integer, Map<Integer, Long>> partsSizes = new HashMap<>();
@@ -2987,6 +3014,27 @@ public class GridCachePartitionExchangeManager<K, V> extends GridCacheSharedMana
         return rebalanced;
     }
 
+    /**
+     * Callback for partitions full message sent to remote node.
+     *
+     * @param msg Sent message.
+     */
+    public void onPartitionsFullMessageSent(GridDhtPartitionsFullMessage msg) {
+        long size = msg.marshalledSize();
+
+        fullMsgSize.value(size);
+        fullMsgSizeHistogram.value(size);
+    }
+
+    /**
+     * Callback for partitions single message sent to remote node.
+     *
+     * @param msg Sent message.
+     */
+    public void onPartitionsSingleMessageSent(GridDhtPartitionsSingleMessage msg) {
+        singleMsgSize.value(msg.marshalledSize());
+    }
+
     /**
      * Exchange future thread. All exchanges happen only by one thread and next
      * exchange will not start until previous one completes.
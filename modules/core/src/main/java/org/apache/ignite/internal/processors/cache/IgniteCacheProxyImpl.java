@@ -22,6 +22,7 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -59,6 +60,8 @@ import org.apache.ignite.cache.query.ContinuousQuery;
 import org.apache.ignite.cache.query.ContinuousQueryWithTransformer;
 import org.apache.ignite.cache.query.ContinuousQueryWithTransformer.EventListener;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.IndexQuery;
+import org.apache.ignite.cache.query.IndexQueryCriterion;
 import org.apache.ignite.cache.query.Query;
 import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.QueryDetailMetrics;
@@ -78,9 +81,11 @@ import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccUtils;
 import org.apache.ignite.internal.processors.cache.query.CacheQuery;
 import org.apache.ignite.internal.processors.cache.query.CacheQueryFuture;
+import org.apache.ignite.internal.processors.cache.query.GridCacheQueryAdapter;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryType;
 import org.apache.ignite.internal.processors.cache.query.QueryCursorEx;
 import org.apache.ignite.internal.processors.query.GridQueryFieldMetadata;
+import org.apache.ignite.internal.processors.query.IndexQueryDescriptor;
 import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.util.GridCloseableIteratorAdapter;
 import org.apache.ignite.internal.util.GridEmptyIterator;
@@ -515,6 +520,72 @@ public class IgniteCacheProxyImpl<K, V> extends AsyncSupportAdapter<IgniteCache<
         return new QueryCursorImpl<>(iter);
     }
 
+    /**
+     * Executes index query. Results of the nodes are merged on this node in the index order.
+     *
+     * @param idxQry Index query.
+     * @param grp Optional cluster group.
+     * @return Cursor.
+     * @throws IgniteCheckedException If failed.
+     */
+    @SuppressWarnings("unchecked")
+    private QueryCursor<Cache.Entry<K, V>> query(IndexQuery<K, V> idxQry, @Nullable ClusterGroup grp)
+        throws IgniteCheckedException {
+        GridCacheContext<K, V> ctx = getContextSafe();
+
+        CacheOperationContext opCtxCall = ctx.operationContextPerCall();
+
+        boolean isKeepBinary = opCtxCall != null && opCtxCall.isKeepBinary();
+
+        IndexQueryDescriptor desc = ctx.kernalContext().query().indexQueryDescriptor(cacheName,
+            idxQry.getValueType(), idxQry.getIndexName(), idxQry.getCriteria());
+
+        CacheQuery<Map.Entry<K, V>> qry = ctx.queries().createIndexQuery(idxQry.getValueType(), desc.indexName(),
+            (IgniteBiPredicate<Object, Object>)idxQry.getFilter());
+
+        qry.pageSize(idxQry.getPageSize());
+
+        if (grp != null)
+            qry.projection(grp);
+
+        List<IndexQueryCriterion> criteria = idxQry.getCriteria();
+
+        Object[] args = new Object[criteria.size() + 1];
+
+        args[0] = isKeepBinary;
+
+        for (int i = 0; i < criteria.size(); i++)
+            args[i + 1] = criteria.get(i);
+
+        Comparator<Map.Entry<?, ?>> cmp = ctx.kernalContext().query().indexQueryComparator(cacheName, desc);
+
+        GridCloseableIterator<Map.Entry<K, V>> iter = ctx.kernalContext().query().executeQuery(
+            GridCacheQueryType.INDEX, desc.indexName(), ctx,
+            new IgniteOutClosureX<GridCloseableIterator<Map.Entry<K, V>>>() {
+                @Override public GridCloseableIterator<Map.Entry<K, V>> applyx() throws IgniteCheckedException {
+                    return ((GridCacheQueryAdapter<Map.Entry<K, V>>)qry).executeOrdered(cmp, args);
+                }
+            }, true);
+
+        return new QueryCursorImpl<>(new GridCloseableIteratorAdapter<Cache.Entry<K, V>>() {
+            @Override protected Cache.Entry<K, V> onNext() throws IgniteCheckedException {
+                Map.Entry<K, V> e = iter.nextX();
+
+                return new CacheEntryImpl<>(
+                    (K)ctx.unwrapBinaryIfNeeded(e.getKey(), isKeepBinary, false, null),
+                    (V)ctx.unwrapBinaryIfNeeded(e.getValue(), isKeepBinary, false, null));
+            }
+
+            @Override protected boolean onHasNext() throws IgniteCheckedException {
+                return iter.hasNextX();
+            }
+
+            @Override protected void onClose() throws IgniteCheckedException {
+                iter.close();
+            }
+        });
+    }
+
     /**
      * @param filter Filter.
      * @param grp Optional cluster group.
@@ -816,6 +887,9 @@ public class IgniteCacheProxyImpl<K, V> extends AsyncSupportAdapter<IgniteCache<
             if (qry instanceof ScanQuery)
                 return query((ScanQuery)qry, null, projection(qry.isLocal()));
 
+            if (qry instanceof IndexQuery)
+                return (QueryCursor<R>)query((IndexQuery<K, V>)qry, projection(qry.isLocal()));
+
             return (QueryCursor<R>)query(qry, projection(qry.isLocal()));
         }
         catch (IgniteCheckedException e) {
@@ -912,7 +986,8 @@ public class IgniteCacheProxyImpl<K, V> extends AsyncSupportAdapter<IgniteCache<
                     ". Use setIndexedTypes or setTypeMetadata methods on CacheConfiguration to enable.");
 
         if (!ctx.kernalContext().query().moduleEnabled() &&
-            (qry instanceof SqlQuery || qry instanceof SqlFieldsQuery || qry instanceof TextQuery))
+            (qry instanceof SqlQuery || qry instanceof SqlFieldsQuery || qry instanceof TextQuery ||
+                qry instanceof IndexQuery))
             throw new CacheException("Failed to execute query. Add module 'ignite-indexing' to the classpath " +
                     "of all Ignite nodes.");
     }
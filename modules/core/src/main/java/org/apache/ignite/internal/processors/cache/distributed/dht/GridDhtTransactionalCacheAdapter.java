@@ -18,6 +18,7 @@ package org.apache.ignite.internal.processors.cache.distributed.dht;
 
 import java.io.Externalizable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -80,6 +81,7 @@ import org.apache.ignite.internal.transactions.IgniteTxRollbackCheckedException;
 import org.apache.ignite.internal.transactions.IgniteTxTimeoutCheckedException;
 import org.apache.ignite.internal.util.F0;
 import org.apache.ignite.internal.util.GridLeanSet;
+import org.apache.ignite.internal.util.GridStripedLock;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.lang.GridClosureException;
 import org.apache.ignite.internal.util.lang.IgnitePair;
@@ -112,6 +114,12 @@ public abstract class GridDhtTransactionalCacheAdapter<K, V> extends GridDhtCach
     /** */
     private static final long serialVersionUID = 0L;
 
+    /** Number of stripes enqueueing lock candidates of multi-key locks. */
+    private static final int LOCK_ENQUEUE_STRIPES = 64;
+
+    /** Stripes enqueueing lock candidates of multi-key locks, selected by partition. */
+    private final GridStripedLock lockEnqueueStripes = new GridStripedLock(LOCK_ENQUEUE_STRIPES);
+
     /**
      * Empty constructor required for {@link Externalizable}.
      */
@@ -964,6 +972,17 @@ public abstract class GridDhtTransactionalCacheAdapter<K, V> extends GridDhtCach
 
         assert tx != null;
 
+        List<KeyCacheObject> keys0 = keys instanceof List ? (List<KeyCacheObject>)keys : new ArrayList<>(keys);
+
+        int[] order;
+
+        try {
+            order = lockOrder(keys0);
+        }
+        catch (IgniteCheckedException e) {
+            return new GridDhtFinishedFuture<>(e);
+        }
+
         GridDhtLockFuture fut = new GridDhtLockFuture(
             ctx,
             tx.nearNodeId(),
@@ -984,40 +1003,57 @@ public abstract class GridDhtTransactionalCacheAdapter<K, V> extends GridDhtCach
         if (fut.isDone()) // Possible in case of cancellation or timeout or rollback.
             return fut;
 
-        for (KeyCacheObject key : keys) {
-            try {
-                while (true) {
-                    GridDhtCacheEntry entry = entryExx(key, tx.topologyVersion());
+        // Keys are locked grouped by partition, so invalid partition is detected once for all its keys.
+        int invalidPart = -1;
 
-                    try {
-                        fut.addEntry(entry);
+        boolean[] stripes = lockEnqueueStripes(keys0);
+
+        try {
+            for (int idx : order) {
+                KeyCacheObject key = keys0.get(idx);
 
-                        // Possible in case of cancellation or time out or rollback.
-                        if (fut.isDone())
-                            return fut;
+                if (invalidPart >= 0 && ctx.affinity().partition(key) == invalidPart)
+                    continue;
 
-                        break;
-                    }
-                    catch (GridCacheEntryRemovedException ignore) {
-                        if (log.isDebugEnabled())
-                            log.debug("Got removed entry when adding lock (will retry): " + entry);
-                    }
-                    catch (GridDistributedLockCancelledException e) {
-                        if (log.isDebugEnabled())
-                            log.debug("Failed to add entry [err=" + e + ", entry=" + entry + ']');
+                try {
+                    while (true) {
+                        GridDhtCacheEntry entry = entryExx(key, tx.topologyVersion());
+
+                        try {
+                            fut.addEntry(entry);
+
+                            // Possible in case of cancellation or time out or rollback.
+                            if (fut.isDone())
+                                return fut;
+
+                            break;
+                        }
+                        catch (GridCacheEntryRemovedException ignore) {
+                            if (log.isDebugEnabled())
+                                log.debug("Got removed entry when adding lock (will retry): " + entry);
+                        }
+                        catch (GridDistributedLockCancelledException e) {
+                            if (log.isDebugEnabled())
+                                log.debug("Failed to add entry [err=" + e + ", entry=" + entry + ']');
 
-                        return new GridDhtFinishedFuture<>(e);
+                            return new GridDhtFinishedFuture<>(e);
+                        }
                     }
                 }
-            }
-            catch (GridDhtInvalidPartitionException e) {
-                fut.addInvalidPartition(ctx, e.partition());
+                catch (GridDhtInvalidPartitionException e) {
+                    invalidPart = e.partition();
 
-                if (log.isDebugEnabled())
-                    log.debug("Added invalid partition to DHT lock future [part=" + e.partition() + ", fut=" +
-                        fut + ']');
+                    fut.addInvalidPartition(ctx, e.partition());
+
+                    if (log.isDebugEnabled())
+                        log.debug("Added invalid partition to DHT lock future [part=" + e.partition() + ", fut=" +
+                            fut + ']');
+                }
             }
         }
+        finally {
+            unlockEnqueueStripes(stripes);
+        }
 
         if (!fut.isDone()) {
             ctx.mvcc().addFuture(fut);
@@ -1028,6 +1064,89 @@ public abstract class GridDhtTransactionalCacheAdapter<K, V> extends GridDhtCach
         return fut;
     }
 
+    /**
+     * Returns the order in which lock candidates of a multi-key lock are enqueued: by partition and then by
+     * serialized key bytes. It is a total order and it is the same on all nodes.
+     *
+     * @param keys Keys to lock.
+     * @return Indexes of the keys in lock order.
+     * @throws IgniteCheckedException If failed to marshal a key.
+     */
+    private int[] lockOrder(List<KeyCacheObject> keys) throws IgniteCheckedException {
+        int cnt = keys.size();
+
+        int[] parts = new int[cnt];
+        byte[][] bytes = new byte[cnt][];
+        Integer[] order = new Integer[cnt];
+
+        for (int i = 0; i < cnt; i++) {
+            KeyCacheObject key = keys.get(i);
+
+            order[i] = i;
+
+            if (cnt > 1 && key != null) {
+                parts[i] = ctx.affinity().partition(key);
+                bytes[i] = key.valueBytes(ctx.cacheObjectContext());
+            }
+        }
+
+        if (cnt > 1) {
+            Arrays.sort(order, (i1, i2) -> {
+                int res = Integer.compare(parts[i1], parts[i2]);
+
+                return res != 0 ? res : U.compareByteArrays(bytes[i1], bytes[i2]);
+            });
+        }
+
+        int[] res = new int[cnt];
+
+        for (int i = 0; i < cnt; i++)
+            res[i] = order[i];
+
+        return res;
+    }
+
+    /**
+     * Locks the enqueue stripes of the partitions of a multi-key lock in ascending order. Candidates of a
+     * multi-key lock are enqueued partition by partition while the stripes are held, so two locks sharing a key
+     * enqueue all their candidates one after another and their queues on all shared keys have the same order.
+     * Together with {@link #lockOrder(List)} this rules out lock order inversion (and deadlock) between them.
+     *
+     * @param keys Keys to lock.
+     * @return Locked stripes or {@code null} if the lock has a single key.
+     */
+    @Nullable private boolean[] lockEnqueueStripes(List<KeyCacheObject> keys) {
+        if (keys.size() < 2)
+            return null;
+
+        boolean[] stripes = new boolean[lockEnqueueStripes.concurrencyLevel()];
+
+        for (KeyCacheObject key : keys) {
+            if (key != null)
+                stripes[ctx.affinity().partition(key) % stripes.length] = true;
+        }
+
+        for (int i = 0; i < stripes.length; i++) {
+            if (stripes[i])
+                lockEnqueueStripes.lock(i);
+        }
+
+        return stripes;
+    }
+
+    /**
+     * @param stripes Stripes locked by {@link #lockEnqueueStripes(List)}.
+     */
+    private void unlockEnqueueStripes(@Nullable boolean[] stripes) {
+        if (stripes == null)
+            return;
+
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            if (stripes[i])
+                lockEnqueueStripes.unlock(i);
+        }
+    }
+
     /**
      * @param cacheCtx Cache context.
      * @param nearNode Near node.
@@ -1174,47 +1293,64 @@ public abstract class GridDhtTransactionalCacheAdapter<K, V> extends GridDhtCach
 
             boolean timedOut = false;
 
-            for (KeyCacheObject key : keys) {
-                if (timedOut)
-                    break;
+            // Candidates are enqueued in lock order, the reply lists entries in request order.
+            GridCacheEntryEx[] reqEntries = new GridCacheEntryEx[cnt];
 
-                while (true) {
-                    // Specify topology version to make sure containment is checked
-                    // based on the requested version, not the latest.
-                    GridDhtCacheEntry entry = entryExx(key, req.topologyVersion());
+            boolean[] stripes = fut != null ? lockEnqueueStripes(keys) : null;
 
-                    try {
-                        if (fut != null) {
-                            // This method will add local candidate.
-                            // Entry cannot become obsolete after this method succeeded.
-                            fut.addEntry(key == null ? null : entry);
+            try {
+                for (int idx : lockOrder(keys)) {
+                    if (timedOut)
+                        break;
+
+                    KeyCacheObject key = keys.get(idx);
+
+                    while (true) {
+                        // Specify topology version to make sure containment is checked
+                        // based on the requested version, not the latest.
+                        GridDhtCacheEntry entry = entryExx(key, req.topologyVersion());
 
-                            if (fut.isDone()) {
-                                timedOut = true;
+                        try {
+                            if (fut != null) {
+                                // This method will add local candidate.
+                                // Entry cannot become obsolete after this method succeeded.
+                                fut.addEntry(key == null ? null : entry);
+
+                                if (fut.isDone()) {
+                                    timedOut = true;
 
-                                break;
+                                    break;
+                                }
                             }
-                        }
 
-                        entries.add(entry);
+                            reqEntries[idx] = entry;
 
-                        break;
-                    }
-                    catch (GridCacheEntryRemovedException ignore) {
-                        if (log.isDebugEnabled())
-                            log.debug("Got removed entry when adding lock (will retry): " + entry);
-                    }
-                    catch (GridDistributedLockCancelledException e) {
-                        if (log.isDebugEnabled())
-                            log.debug("Got lock request for cancelled lock (will ignore): " +
-                                entry);
+                            break;
+                        }
+                        catch (GridCacheEntryRemovedException ignore) {
+                            if (log.isDebugEnabled())
+                                log.debug("Got removed entry when adding lock (will retry): " + entry);
+                        }
+                        catch (GridDistributedLockCancelledException e) {
+                            if (log.isDebugEnabled())
+                                log.debug("Got lock request for cancelled lock (will ignore): " +
+                                    entry);
 
-                        fut.onError(e);
+                            fut.onError(e);
 
-                        return new GridDhtFinishedFuture<>(e);
+                            return new GridDhtFinishedFuture<>(e);
+                        }
                     }
                 }
             }
+            finally {
+                unlockEnqueueStripes(stripes);
+            }
+
+            for (GridCacheEntryEx entry : reqEntries) {
+                if (entry != null)
+                    entries.add(entry);
+            }
 
             // Handle implicit locks for pessimistic transactions.
             if (req.inTx()) {
@@ -34,6 +34,7 @@ import org.apache.ignite.IgniteCacheRestartingException;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.binary.BinaryInvalidTypeException;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.IgniteInternalFuture;
@@ -119,6 +120,8 @@ import org.apache.ignite.thread.IgniteThread;
 import org.apache.ignite.transactions.TransactionIsolation;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_AUTO_BATCHING_MAX_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_AUTO_BATCHING_WINDOW;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_DEFERRED_ACK_BUFFER_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_DEFERRED_ACK_TIMEOUT;
 import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_ASYNC;
@@ -173,6 +176,9 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
     /** */
     private GridNearAtomicCache<K, V> near;
 
+    /** Auto-batcher of single-key operations, {@code null} if auto-batching is disabled. */
+    private volatile GridNearAtomicAutoBatcher<K, V> autoBatcher;
+
     /** Logger. */
     private IgniteLogger msgLog;
 
@@ -242,6 +248,17 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         if (ctx.dht().near() != null)
             metrics.delegate(ctx.dht().near().metrics0());
 
+        long batchWindow = IgniteSystemProperties.getLong(IGNITE_ATOMIC_AUTO_BATCHING_WINDOW, 0);
+        int batchMaxSize = IgniteSystemProperties.getInteger(IGNITE_ATOMIC_AUTO_BATCHING_MAX_SIZE, 256);
+
+        if (batchWindow > 0 && batchMaxSize > 1 && !ctx.kernalContext().security().enabled()) {
+            GridNearAtomicAutoBatcher<K, V> batcher = new GridNearAtomicAutoBatcher<>(this, batchWindow, batchMaxSize);
+
+            batcher.start();
+
+            autoBatcher = batcher;
+        }
+
         ctx.io().addCacheHandler(
             ctx.cacheId(),
             GridNearGetRequest.class,
@@ -449,6 +466,19 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         this.near = near;
     }
 
+    /** {@inheritDoc} */
+    @Override public void onKernalStop() {
+        GridNearAtomicAutoBatcher<K, V> batcher = autoBatcher;
+
+        if (batcher != null) {
+            autoBatcher = null;
+
+            batcher.stop(new CacheStoppedException(name()));
+        }
+
+        super.onKernalStop();
+    }
+
     /** {@inheritDoc} */
     @Override public GridNearCacheAdapter<K, V> near() {
         return near;
@@ -470,6 +500,11 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
 
         subjId = ctx.subjectIdPerCall(null, opCtx);
 
+        GridNearAtomicAutoBatcher<K, V> batcher = autoBatcher;
+
+        if (batcher != null && near == null && opCtx == null && deserializeBinary && !skipVals && !needVer)
+            return batcher.get(key);
+
         final UUID subjId0 = subjId;
         final ExpiryPolicy expiryPlc = skipVals ? null : opCtx != null ? opCtx.expiry() : null;
         final boolean skipStore = opCtx != null && opCtx.skipStore();
@@ -1137,6 +1172,12 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
 
         ctx.checkSecurity(SecurityPermission.CACHE_PUT);
 
+        GridNearAtomicAutoBatcher<K, V> batcher = autoBatcher;
+
+        if (batcher != null && near == null && val != null && !retval && filter == null &&
+            ctx.operationContextPerCall() == null)
+            return batcher.put(key, val);
+
         final GridNearAtomicAbstractUpdateFuture updateFut =
             createSingleUpdateFuture(key, val, proc, invokeArgs, retval, filter);
 
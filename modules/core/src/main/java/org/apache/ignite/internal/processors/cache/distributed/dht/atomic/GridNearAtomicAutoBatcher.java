@@ -0,0 +1,521 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.atomic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.CachePartialUpdateCheckedException;
+import org.apache.ignite.internal.util.future.GridCompoundFuture;
+import org.apache.ignite.internal.util.future.GridFinishedFuture;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.util.worker.GridWorker;
+import org.apache.ignite.thread.IgniteThread;
+
+/**
+ * Coalesces concurrent single-key puts and gets of an atomic cache into batches, which are executed as
+ * {@code putAll} and {@code getAll} operations. Batch is flushed when batching window elapses since the first
+ * operation was added or when it reaches the maximum size. Each operation gets its own future.
+ * <p>
+ * Per-key ordering of batched operations is preserved: an operation on a key which is already in the pending batch
+ * (except for gets of the same key) flushes the batch, and a batch containing a key of a not yet completed batch is
+ * executed only after all previously flushed batches complete.
+ */
+class GridNearAtomicAutoBatcher<K, V> {
+    /** Cache. */
+    private final GridDhtAtomicCache<K, V> cache;
+
+    /** Batching window in nanoseconds. */
+    private final long windowNanos;
+
+    /** Maximum number of keys in batch. */
+    private final int maxBatchSize;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Mutex. */
+    private final Object mux = new Object();
+
+    /** Pending batch, guarded by {@link #mux}. */
+    private Batch pending;
+
+    /** Keys of flushed and not completed batches with number of such batches, guarded by {@link #mux}. */
+    private final Map<K, Integer> inFlightKeys = new HashMap<>();
+
+    /** Flushed and not completed batches, guarded by {@link #mux}. */
+    private final Collection<GridFutureAdapter<Void>> inFlight = new ArrayList<>();
+
+    /** Stop error, guarded by {@link #mux}. */
+    private IgniteCheckedException stopErr;
+
+    /** Flusher. */
+    private final Flusher flusher;
+
+    /**
+     * @param cache Cache.
+     * @param windowMicros Batching window in microseconds.
+     * @param maxBatchSize Maximum number of keys in batch.
+     */
+    GridNearAtomicAutoBatcher(GridDhtAtomicCache<K, V> cache, long windowMicros, int maxBatchSize) {
+        assert windowMicros > 0 : windowMicros;
+        assert maxBatchSize > 1 : maxBatchSize;
+
+        this.cache = cache;
+        this.maxBatchSize = maxBatchSize;
+
+        windowNanos = windowMicros * 1000;
+
+        log = cache.context().logger(GridNearAtomicAutoBatcher.class);
+
+        flusher = new Flusher(cache.context().igniteInstanceName(), "atomic-auto-batcher-" + cache.name(), log);
+    }
+
+    /**
+     * Starts flusher thread.
+     */
+    void start() {
+        new IgniteThread(flusher).start();
+    }
+
+    /**
+     * Stops flusher thread and fails pending operations.
+     *
+     * @param err Stop error.
+     */
+    void stop(IgniteCheckedException err) {
+        Batch batch;
+
+        synchronized (mux) {
+            stopErr = err;
+
+            batch = pending;
+
+            pending = null;
+
+            mux.notifyAll();
+        }
+
+        U.cancel(flusher);
+        U.join(flusher, log);
+
+        if (batch != null)
+            batch.onDone(err, null, err);
+    }
+
+    /**
+     * @param key Key.
+     * @param val Value.
+     * @return Future completed with {@code true} when value is put.
+     */
+    IgniteInternalFuture<Boolean> put(K key, V val) {
+        GridFutureAdapter<Boolean> fut = new GridFutureAdapter<>();
+
+        Batch toFlush = null;
+
+        synchronized (mux) {
+            if (stopErr != null)
+                return new GridFinishedFuture<>(stopErr);
+
+            if (pending != null && pending.contains(key)) {
+                toFlush = flushPending();
+
+                pending = newBatch();
+            }
+            else if (pending == null)
+                pending = newBatch();
+
+            pending.addPut(key, val, fut, inFlightKeys.containsKey(key));
+
+            if (pending.size() >= maxBatchSize)
+                toFlush = merge(toFlush, flushPending());
+        }
+
+        flush(toFlush);
+
+        return fut;
+    }
+
+    /**
+     * @param key Key.
+     * @return Future completed with value.
+     */
+    IgniteInternalFuture<V> get(K key) {
+        GridFutureAdapter<V> fut = new GridFutureAdapter<>();
+
+        Batch toFlush = null;
+
+        synchronized (mux) {
+            if (stopErr != null)
+                return new GridFinishedFuture<>(stopErr);
+
+            if (pending != null && pending.puts.containsKey(key)) {
+                toFlush = flushPending();
+
+                pending = newBatch();
+            }
+            else if (pending == null)
+                pending = newBatch();
+
+            pending.addGet(key, fut, inFlightKeys.containsKey(key));
+
+            if (pending.size() >= maxBatchSize)
+                toFlush = merge(toFlush, flushPending());
+        }
+
+        flush(toFlush);
+
+        return fut;
+    }
+
+    /**
+     * Creates new pending batch and wakes up flusher. Should be called under {@link #mux}.
+     *
+     * @return New batch.
+     */
+    private Batch newBatch() {
+        Batch batch = new Batch(System.nanoTime());
+
+        mux.notifyAll();
+
+        return batch;
+    }
+
+    /**
+     * Detaches pending batch and registers it as in-flight. Should be called under {@link #mux}.
+     *
+     * @return Batch to flush.
+     */
+    private Batch flushPending() {
+        Batch batch = pending;
+
+        pending = null;
+
+        if (batch.conflict && !inFlight.isEmpty()) {
+            GridCompoundFuture<Void, Void> prev = new GridCompoundFuture<>();
+
+            for (GridFutureAdapter<Void> fut : inFlight)
+                prev.add(fut);
+
+            prev.markInitialized();
+
+            batch.prev = prev;
+        }
+
+        for (K key : batch.keys())
+            inFlightKeys.merge(key, 1, Integer::sum);
+
+        inFlight.add(batch.doneFut);
+
+        return batch;
+    }
+
+    /**
+     * @param first First batch to flush.
+     * @param second Second batch to flush.
+     * @return Batch to flush, batches are chained if both are not {@code null}.
+     */
+    private Batch merge(Batch first, Batch second) {
+        if (first == null)
+            return second;
+
+        second.next = first.next;
+
+        first.next = second;
+
+        return first;
+    }
+
+    /**
+     * Executes batches.
+     *
+     * @param batch Batch or {@code null}.
+     */
+    private void flush(Batch batch) {
+        while (batch != null) {
+            Batch next = batch.next;
+
+            Batch batch0 = batch;
+
+            if (batch0.prev != null)
+                batch0.prev.listen(f -> execute(batch0));
+            else
+                execute(batch0);
+
+            batch = next;
+        }
+    }
+
+    /**
+     * @param batch Batch.
+     */
+    private void execute(Batch batch) {
+        batch.doneFut.listen(f -> onBatchDone(batch));
+
+        IgniteInternalFuture<?> putFut;
+        IgniteInternalFuture<Map<K, V>> getFut;
+
+        try {
+            putFut = batch.puts.isEmpty() ? null : cache.putAllAsync(batch.puts);
+        }
+        catch (Throwable t) {
+            putFut = new GridFinishedFuture<>(t);
+        }
+
+        try {
+            getFut = batch.gets.isEmpty() ? null : cache.getAllAsync(batch.gets.keySet());
+        }
+        catch (Throwable t) {
+            getFut = new GridFinishedFuture<>(t);
+        }
+
+        GridCompoundFuture<Object, Object> fut = new GridCompoundFuture<>();
+
+        if (putFut != null)
+            fut.add((IgniteInternalFuture)putFut);
+
+        if (getFut != null)
+            fut.add((IgniteInternalFuture)getFut);
+
+        fut.markInitialized();
+
+        IgniteInternalFuture<?> putFut0 = putFut;
+        IgniteInternalFuture<Map<K, V>> getFut0 = getFut;
+
+        fut.listen(f -> batch.onDone(
+            putFut0 != null ? putFut0.error() : null,
+            getFut0 != null && getFut0.error() == null ? getFut0.result() : null,
+            getFut0 != null ? getFut0.error() : null));
+    }
+
+    /**
+     * @param batch Completed batch.
+     */
+    private void onBatchDone(Batch batch) {
+        synchronized (mux) {
+            inFlight.remove(batch.doneFut);
+
+            for (K key : batch.keys())
+                inFlightKeys.computeIfPresent(key, (k, cnt) -> cnt == 1 ? null : cnt - 1);
+        }
+    }
+
+    /**
+     * Flushes pending batch if its window elapsed.
+     *
+     * @return Nanoseconds to wait before pending batch should be flushed, {@code -1} if there is no pending batch.
+     */
+    private long flushIfElapsed() {
+        Batch toFlush = null;
+
+        long wait;
+
+        synchronized (mux) {
+            if (pending == null)
+                return -1;
+
+            wait = pending.startTime + windowNanos - System.nanoTime();
+
+            if (wait <= 0)
+                toFlush = flushPending();
+        }
+
+        flush(toFlush);
+
+        return Math.max(wait, 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridNearAtomicAutoBatcher.class, this);
+    }
+
+    /**
+     * Flushes batches when batching window elapses.
+     */
+    private class Flusher extends GridWorker {
+        /**
+         * @param igniteInstanceName Ignite instance name.
+         * @param name Worker name.
+         * @param log Logger.
+         */
+        Flusher(String igniteInstanceName, String name, IgniteLogger log) {
+            super(igniteInstanceName, name, log);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void body() throws InterruptedException {
+            while (!isCancelled()) {
+                long wait = flushIfElapsed();
+
+                if (wait < 0) {
+                    synchronized (mux) {
+                        while (pending == null && !isCancelled())
+                            mux.wait();
+                    }
+                }
+                else if (wait > 0)
+                    LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    /**
+     * Batch of operations.
+     */
+    private class Batch {
+        /** Creation time. */
+        private final long startTime;
+
+        /** Puts. */
+        private final Map<K, V> puts = new LinkedHashMap<>();
+
+        /** Put futures. */
+        private final Map<K, GridFutureAdapter<Boolean>> putFuts = new HashMap<>();
+
+        /** Get futures. */
+        private final Map<K, List<GridFutureAdapter<V>>> gets = new LinkedHashMap<>();
+
+        /** {@code True} if batch contains keys of in-flight batches. */
+        private boolean conflict;
+
+        /** Future of batches which should complete before this batch is executed. */
+        private IgniteInternalFuture<?> prev;
+
+        /** Next batch to flush. */
+        private Batch next;
+
+        /** Completion future. */
+        private final GridFutureAdapter<Void> doneFut = new GridFutureAdapter<>();
+
+        /**
+         * @param startTime Creation time.
+         */
+        Batch(long startTime) {
+            this.startTime = startTime;
+        }
+
+        /**
+         * @param key Key.
+         * @param val Value.
+         * @param fut Operation future.
+         * @param conflict {@code True} if key belongs to in-flight batch.
+         */
+        void addPut(K key, V val, GridFutureAdapter<Boolean> fut, boolean conflict) {
+            puts.put(key, val);
+            putFuts.put(key, fut);
+
+            this.conflict |= conflict;
+        }
+
+        /**
+         * @param key Key.
+         * @param fut Operation future.
+         * @param conflict {@code True} if key belongs to in-flight batch.
+         */
+        void addGet(K key, GridFutureAdapter<V> fut, boolean conflict) {
+            gets.computeIfAbsent(key, k -> new ArrayList<>(1)).add(fut);
+
+            this.conflict |= conflict;
+        }
+
+        /**
+         * @param key Key.
+         * @return {@code True} if batch contains operation on the key.
+         */
+        boolean contains(K key) {
+            return puts.containsKey(key) || gets.containsKey(key);
+        }
+
+        /**
+         * @return Number of keys.
+         */
+        int size() {
+            return puts.size() + gets.size();
+        }
+
+        /**
+         * @return Keys.
+         */
+        Collection<K> keys() {
+            if (gets.isEmpty())
+                return puts.keySet();
+
+            if (puts.isEmpty())
+                return gets.keySet();
+
+            List<K> keys = new ArrayList<>(size());
+
+            keys.addAll(puts.keySet());
+            keys.addAll(gets.keySet());
+
+            return keys;
+        }
+
+        /**
+         * Completes operation futures.
+         *
+         * @param putErr Put error.
+         * @param vals Get result.
+         * @param getErr Get error.
+         */
+        void onDone(Throwable putErr, Map<K, V> vals, Throwable getErr) {
+            try {
+                Collection<Object> failedKeys = putErr instanceof CachePartialUpdateCheckedException ?
+                    ((CachePartialUpdateCheckedException)putErr).failedKeys() : null;
+
+                for (Map.Entry<K, GridFutureAdapter<Boolean>> e : putFuts.entrySet()) {
+                    if (putErr == null || (failedKeys != null && !failedKeys.contains(e.getKey())))
+                        e.getValue().onDone(true);
+                    else if (failedKeys != null) {
+                        CachePartialUpdateCheckedException err =
+                            new CachePartialUpdateCheckedException("Failed to update keys (retry update if possible).");
+
+                        err.add(Collections.singleton(e.getKey()), putErr);
+
+                        e.getValue().onDone(err);
+                    }
+                    else
+                        e.getValue().onDone(putErr);
+                }
+
+                for (Map.Entry<K, List<GridFutureAdapter<V>>> e : gets.entrySet()) {
+                    for (GridFutureAdapter<V> fut : e.getValue()) {
+                        if (getErr != null)
+                            fut.onDone(getErr);
+                        else
+                            fut.onDone(vals != null ? vals.get(e.getKey()) : null);
+                    }
+                }
+            }
+            finally {
+                // Always release batch keys, otherwise subsequent operations on them never complete.
+                doneFut.onDone();
+            }
+        }
+    }
+}
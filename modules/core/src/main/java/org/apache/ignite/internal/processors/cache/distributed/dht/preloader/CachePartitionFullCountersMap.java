@@ -16,7 +16,9 @@
 
 package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Map;
 import org.apache.ignite.internal.util.typedef.T2;
@@ -131,4 +133,84 @@ public class CachePartitionFullCountersMap implements Serializable {
 
         return map0;
     }
+
+    /**
+     * Writes counters in compact form: partitions count followed by initial update counter and difference between
+     * update counter and initial update counter of each partition, all as variable length integers. Counters of
+     * partitions without updates during exchange take a couple of bytes instead of sixteen.
+     *
+     * @param out Output stream.
+     */
+    void writeCompact(ByteArrayOutputStream out) {
+        int partsCnt = updCntrs.length;
+
+        writeVarLong(out, partsCnt);
+
+        for (int p = 0; p < partsCnt; p++) {
+            writeVarLong(out, initialUpdCntrs[p]);
+
+            long delta = updCntrs[p] - initialUpdCntrs[p];
+
+            // Zig-zag encoding keeps small negative differences short.
+            writeVarLong(out, (delta << 1) ^ (delta >> 63));
+        }
+    }
+
+    /**
+     * Reads counters written by {@link #writeCompact(ByteArrayOutputStream)}.
+     *
+     * @param buf Buffer.
+     * @return Full counters map.
+     */
+    static CachePartitionFullCountersMap readCompact(ByteBuffer buf) {
+        int partsCnt = (int)readVarLong(buf);
+
+        CachePartitionFullCountersMap map = new CachePartitionFullCountersMap(partsCnt);
+
+        for (int p = 0; p < partsCnt; p++) {
+            long initCntr = readVarLong(buf);
+
+            long delta = readVarLong(buf);
+
+            map.initialUpdCntrs[p] = initCntr;
+            map.updCntrs[p] = initCntr + ((delta >>> 1) ^ -(delta & 1));
+        }
+
+        return map;
+    }
+
+    /**
+     * Writes unsigned variable length long, 7 bits per byte.
+     *
+     * @param out Output stream.
+     * @param val Value.
+     */
+    static void writeVarLong(ByteArrayOutputStream out, long val) {
+        while ((val & ~0x7FL) != 0) {
+            out.write((int)((val & 0x7F) | 0x80));
+
+            val >>>= 7;
+        }
+
+        out.write((int)val);
+    }
+
+    /**
+     * Reads unsigned variable length long written by {@link #writeVarLong(ByteArrayOutputStream, long)}.
+     *
+     * @param buf Buffer.
+     * @return Value.
+     */
+    static long readVarLong(ByteBuffer buf) {
+        long res = 0;
+
+        for (int shift = 0; ; shift += 7) {
+            byte b = buf.get();
+
+            res |= (long)(b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+                return res;
+        }
+    }
 }
@@ -58,6 +58,9 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgnitePredicate;
 import org.apache.ignite.spi.IgniteSpiException;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_REBALANCE_ADAPTIVE_BATCHING;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_REBALANCE_ADAPTIVE_BATCHING_MAX_ACK_TIME;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_REBALANCE_ADAPTIVE_BATCHING_MAX_FACTOR;
 import static org.apache.ignite.events.EventType.EVT_CACHE_REBALANCE_PART_MISSED;
 import static org.apache.ignite.events.EventType.EVT_CACHE_REBALANCE_PART_SUPPLIED;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
@@ -89,6 +92,18 @@ public class GridDhtPartitionSupplier {
     private long rebalanceThrottleOverride =
         IgniteSystemProperties.getLong(IgniteSystemProperties.IGNITE_REBALANCE_THROTTLE_OVERRIDE, 0);
 
+    /** Adaptive batching flag. */
+    private final boolean adaptiveBatching =
+        IgniteSystemProperties.getBoolean(IGNITE_REBALANCE_ADAPTIVE_BATCHING, false);
+
+    /** Maximum factor of batch size and in-flight batches increase for adaptive batching. */
+    private final int adaptiveBatchingMaxFactor =
+        Math.max(1, IgniteSystemProperties.getInteger(IGNITE_REBALANCE_ADAPTIVE_BATCHING_MAX_FACTOR, 8));
+
+    /** Maximum acknowledgement time of supply batch for adaptive batching. */
+    private final long adaptiveBatchingMaxAckTime =
+        IgniteSystemProperties.getLong(IGNITE_REBALANCE_ADAPTIVE_BATCHING_MAX_ACK_TIME, 200);
+
     /**
      * @param grp Cache group.
      */
@@ -103,6 +118,10 @@ public class GridDhtPartitionSupplier {
 
         if (rebalanceThrottleOverride > 0)
             LT.info(log, "Using rebalance throttle override: " + rebalanceThrottleOverride);
+
+        if (adaptiveBatching)
+            LT.info(log, "Using adaptive rebalance batching [maxFactor=" + adaptiveBatchingMaxFactor +
+                ", maxAckTime=" + adaptiveBatchingMaxAckTime + ']');
     }
 
     /**
@@ -244,6 +263,8 @@ public class GridDhtPartitionSupplier {
 
         Map<Integer, Long> initUpdateCntrs;
 
+        SupplyBatchController batchCtl = null;
+
         GridDhtPartitionSupplyMessage supplyMsg = new GridDhtPartitionSupplyMessage(
                 demandMsg.rebalanceId(),
                 grp.groupId(),
@@ -296,9 +317,16 @@ public class GridDhtPartitionSupplier {
                     log.debug("Starting supplying rebalancing [" + supplyRoutineInfo(topicId, nodeId, demandMsg) +
                         ", fullPartitions=" + S.compact(demandMsg.partitions().fullSet()) +
                         ", histPartitions=" + S.compact(demandMsg.partitions().historicalSet()) + "]");
+
+                if (adaptiveBatching)
+                    batchCtl = createBatchController(maxBatchesCnt);
+            }
+            else {
+                batchCtl = sctx.batchCtl;
+
+                // Each subsequent demand message acknowledges one previously sent batch.
+                maxBatchesCnt = batchCtl != null ? batchCtl.onAcknowledged(System.nanoTime()) : 1;
             }
-            else
-                maxBatchesCnt = 1;
 
             if (sctx == null || sctx.iterator == null) {
                 remainingParts = new HashSet<>(demandMsg.partitions().fullSet());
@@ -356,7 +384,7 @@ public class GridDhtPartitionSupplier {
                 initUpdateCntrs = sctx.initUpdateCntrs;
             }
 
-            final int msgMaxSize = grp.preloader().batchSize();
+            final int msgMaxSize = batchCtl != null ? batchCtl.batchSize() : grp.preloader().batchSize();
 
             long batchesCnt = 0;
 
@@ -371,12 +399,15 @@ public class GridDhtPartitionSupplier {
                         !row.key().equals(prevRow.key()));
 
                 if (canFlushHistory && supplyMsg.messageSize() >= msgMaxSize) {
+                    onBatchSupplied(batchCtl, supplyMsg, msgMaxSize);
+
                     if (++batchesCnt >= maxBatchesCnt) {
                         saveSupplyContext(ctxId,
                             iter,
                             remainingParts,
                             demandMsg.rebalanceId(),
-                            initUpdateCntrs
+                            initUpdateCntrs,
+                            batchCtl
                         );
 
                         reply(topicId, demanderNode, demandMsg, supplyMsg, ctxId);
@@ -482,6 +513,8 @@ public class GridDhtPartitionSupplier {
             else
                 iter.close();
 
+            onBatchSupplied(batchCtl, supplyMsg, msgMaxSize);
+
             reply(topicId, demanderNode, demandMsg, supplyMsg, ctxId);
 
             if (log.isInfoEnabled())
@@ -574,6 +607,44 @@ public class GridDhtPartitionSupplier {
         }
     }
 
+    /**
+     * Creates adaptive batch controller for a new supply routine.
+     *
+     * @param initWindow Initial number of in-flight batches.
+     * @return Batch controller.
+     */
+    private SupplyBatchController createBatchController(long initWindow) {
+        int minBatchSize = grp.preloader().batchSize();
+
+        int maxBatchSize = (int)Math.min(Integer.MAX_VALUE, (long)minBatchSize * adaptiveBatchingMaxFactor);
+
+        int initWindow0 = (int)Math.max(1, Math.min(Integer.MAX_VALUE / adaptiveBatchingMaxFactor, initWindow));
+
+        return new SupplyBatchController(minBatchSize, maxBatchSize, initWindow0,
+            initWindow0 * adaptiveBatchingMaxFactor, adaptiveBatchingMaxAckTime);
+    }
+
+    /**
+     * Updates batch controller and supply metrics before supply message is sent.
+     *
+     * @param batchCtl Batch controller, {@code null} if adaptive batching is disabled.
+     * @param supplyMsg Supply message.
+     * @param batchSizeLimit Batch size limit used for the message.
+     */
+    private void onBatchSupplied(
+        SupplyBatchController batchCtl,
+        GridDhtPartitionSupplyMessage supplyMsg,
+        int batchSizeLimit
+    ) {
+        int size = supplyMsg.messageSize();
+
+        if (batchCtl != null)
+            batchCtl.onBatchSent(size, System.nanoTime());
+
+        grp.metrics().onRebalanceBatchSupplied(size, batchSizeLimit,
+            batchCtl != null ? batchCtl.window() : (int)grp.preloader().batchesPrefetchCount());
+    }
+
     /**
      * Extracts entry info from row.
      * @param row Cache data row.
@@ -675,18 +746,20 @@ public class GridDhtPartitionSupplier {
      * @param remainingParts Set of partitions that weren't sent yet.
      * @param rebalanceId Rebalance id.
      * @param initUpdateCntrs Collection of update counters that corresponds to the beginning of rebalance.
+     * @param batchCtl Adaptive batch controller, {@code null} if adaptive batching is disabled.
      */
     private void saveSupplyContext(
         T3<UUID, Integer, AffinityTopologyVersion> ctxId,
         IgniteRebalanceIterator entryIt,
         Set<Integer> remainingParts,
         long rebalanceId,
-        Map<Integer, Long> initUpdateCntrs
+        Map<Integer, Long> initUpdateCntrs,
+        SupplyBatchController batchCtl
     ) {
         synchronized (scMap) {
             assert scMap.get(ctxId) == null;
 
-            scMap.put(ctxId, new SupplyContext(entryIt, remainingParts, rebalanceId, initUpdateCntrs));
+            scMap.put(ctxId, new SupplyContext(entryIt, remainingParts, rebalanceId, initUpdateCntrs, batchCtl));
         }
     }
 
@@ -707,6 +780,9 @@ public class GridDhtPartitionSupplier {
         /** Update counters for rebalanced partitions. */
         private final Map<Integer, Long> initUpdateCntrs;
 
+        /** Adaptive batch controller. */
+        private final SupplyBatchController batchCtl;
+
         /**
          * Constructor.
          *
@@ -714,17 +790,20 @@ public class GridDhtPartitionSupplier {
          * @param remainingParts Set of partitions which weren't sent yet.
          * @param rebalanceId Rebalance id.
          * @param initUpdateCntrs Collection of update counters that corresponds to the beginning of rebalance.
+         * @param batchCtl Adaptive batch controller, {@code null} if adaptive batching is disabled.
          */
         SupplyContext(
             IgniteRebalanceIterator iterator,
             Set<Integer> remainingParts,
             long rebalanceId,
-            Map<Integer, Long> initUpdateCntrs
+            Map<Integer, Long> initUpdateCntrs,
+            SupplyBatchController batchCtl
         ) {
             this.iterator = iterator;
             this.remainingParts = remainingParts;
             this.rebalanceId = rebalanceId;
             this.initUpdateCntrs = initUpdateCntrs;
+            this.batchCtl = batchCtl;
         }
 
         /** {@inheritDoc} */
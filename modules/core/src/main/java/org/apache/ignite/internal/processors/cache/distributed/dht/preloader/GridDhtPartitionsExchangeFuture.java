@@ -2186,6 +2186,8 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
         while (true) {
             try {
                 cctx.io().send(node, msg, SYSTEM_POOL);
+
+                cctx.exchange().onPartitionsSingleMessageSent(msg);
             }
             catch (ClusterTopologyCheckedException ignored) {
                 if (log.isDebugEnabled()) {
@@ -2262,6 +2264,9 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
             .map(singleMessage -> fullMsg.copy().joinedNodeAffinity(affinityForJoinedNodes))
             .orElse(null);
 
+        // Message size is recorded once per exchange, all sent messages carry the same partitions data.
+        boolean[] sizeRecorded = {false};
+
         // Prepare and send full messages for given nodes.
         nodes.stream()
             .map(node -> {
@@ -2305,6 +2310,12 @@ public class GridDhtPartitionsExchangeFuture extends GridDhtTopologyFutureAdapte
 
                 try {
                     cctx.io().send(node, fullMsgToSend, SYSTEM_POOL);
+
+                    if (!sizeRecorded[0]) {
+                        cctx.exchange().onPartitionsFullMessageSent(fullMsgToSend);
+
+                        sizeRecorded[0] = true;
+                    }
                 }
                 catch (ClusterTopologyCheckedException e) {
                     if (log.isDebugEnabled())
@@ -33,6 +33,7 @@ import org.apache.ignite.IgniteException;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.GridDirectMap;
 import org.apache.ignite.internal.GridDirectTransient;
+import org.apache.ignite.internal.IgniteFeatures;
 import org.apache.ignite.internal.managers.communication.GridIoPolicy;
 import org.apache.ignite.internal.managers.discovery.GridDiscoveryManager;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
@@ -59,6 +60,9 @@ public class GridDhtPartitionsFullMessage extends GridDhtPartitionsAbstractMessa
     /** */
     private static final byte REBALANCED_FLAG_MASK = 0x01;
 
+    /** Flag that partition update counters are serialized in compact form. */
+    private static final byte COMPACT_COUNTERS_FLAG_MASK = 0x02;
+
     /** */
     private static final long serialVersionUID = 0L;
 
@@ -456,6 +460,37 @@ public class GridDhtPartitionsFullMessage extends GridDhtPartitionsAbstractMessa
         flags = rebalanced ? (byte)(flags | REBALANCED_FLAG_MASK) : (byte)(flags & ~REBALANCED_FLAG_MASK);
     }
 
+    /**
+     * @return {@code True} if partition update counters are serialized in compact form.
+     */
+    public boolean compactCounters() {
+        return (flags & COMPACT_COUNTERS_FLAG_MASK) != 0;
+    }
+
+    /**
+     * @param compactCntrs {@code True} if partition update counters should be serialized in compact form,
+     *      allowed only if all nodes support {@link IgniteFeatures#COMPACT_PME_COUNTERS}.
+     */
+    public void compactCounters(boolean compactCntrs) {
+        flags = compactCntrs ? (byte)(flags | COMPACT_COUNTERS_FLAG_MASK) : (byte)(flags & ~COMPACT_COUNTERS_FLAG_MASK);
+    }
+
+    /**
+     * @return Total size of serialized partitions data in bytes, valid after {@link #prepareMarshal}.
+     */
+    public long marshalledSize() {
+        return size(partsBytes) + size(partCntrsBytes) + size(partCntrsBytes2) + size(partHistSuppliersBytes) +
+            size(partsToReloadBytes) + size(partsSizesBytes) + size(errsBytes);
+    }
+
+    /**
+     * @param bytes Bytes.
+     * @return Length of array or {@code 0} for {@code null}.
+     */
+    private static int size(@Nullable byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
     /** {@inheritDoc} */
     @Override public void prepareMarshal(GridCacheSharedContext ctx) throws IgniteCheckedException {
         super.prepareMarshal(ctx);
@@ -479,7 +514,7 @@ public class GridDhtPartitionsFullMessage extends GridDhtPartitionsAbstractMessa
             if (partCntrs != null && !partCntrs.empty() && partCntrsBytes == null)
                 objectsToMarshall.add(partCntrs);
 
-            if (partCntrs2 != null && !partCntrs2.empty() && partCntrsBytes2 == null)
+            if (partCntrs2 != null && !partCntrs2.empty() && partCntrsBytes2 == null && !compactCounters())
                 objectsToMarshall.add(partCntrs2);
 
             if (partHistSuppliers != null && partHistSuppliersBytes == null)
@@ -514,8 +549,18 @@ public class GridDhtPartitionsFullMessage extends GridDhtPartitionsAbstractMessa
             if (partCntrs != null && !partCntrs.empty() && partCntrsBytes == null)
                 partCntrsBytes = iterator.next();
 
-            if (partCntrs2 != null && !partCntrs2.empty() && partCntrsBytes2 == null)
-                partCntrsBytes2 = iterator.next();
+            if (partCntrs2 != null && !partCntrs2.empty() && partCntrsBytes2 == null) {
+                if (compactCounters()) {
+                    byte[] cntrsBytes = partCntrs2.toCompactBytes();
+
+                    if (compressed())
+                        cntrsBytes = U.zip(cntrsBytes, ctx.gridConfig().getNetworkCompressionLevel());
+
+                    partCntrsBytes2 = cntrsBytes;
+                }
+                else
+                    partCntrsBytes2 = iterator.next();
+            }
 
             if (partHistSuppliers != null && partHistSuppliersBytes == null)
                 partHistSuppliersBytes = iterator.next();
@@ -559,7 +604,7 @@ public class GridDhtPartitionsFullMessage extends GridDhtPartitionsAbstractMessa
         if (partCntrsBytes != null && partCntrs == null)
             objectsToUnmarshall.add(partCntrsBytes);
 
-        if (partCntrsBytes2 != null && partCntrs2 == null)
+        if (partCntrsBytes2 != null && partCntrs2 == null && !compactCounters())
             objectsToUnmarshall.add(partCntrsBytes2);
 
         if (partHistSuppliersBytes != null && partHistSuppliers == null)
@@ -620,8 +665,14 @@ public class GridDhtPartitionsFullMessage extends GridDhtPartitionsAbstractMessa
         if (partCntrsBytes != null && partCntrs == null)
             partCntrs = (IgniteDhtPartitionCountersMap)iterator.next();
 
-        if (partCntrsBytes2 != null && partCntrs2 == null)
-            partCntrs2 = (IgniteDhtPartitionCountersMap2)iterator.next();
+        if (partCntrsBytes2 != null && partCntrs2 == null) {
+            if (compactCounters()) {
+                partCntrs2 = IgniteDhtPartitionCountersMap2.fromCompactBytes(
+                    compressed() ? U.unzip(partCntrsBytes2) : partCntrsBytes2);
+            }
+            else
+                partCntrs2 = (IgniteDhtPartitionCountersMap2)iterator.next();
+        }
 
         if (partHistSuppliersBytes != null && partHistSuppliers == null)
             partHistSuppliers = (IgniteDhtPartitionHistorySuppliersMap)iterator.next();
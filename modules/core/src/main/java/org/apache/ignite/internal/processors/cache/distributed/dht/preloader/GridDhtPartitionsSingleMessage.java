@@ -329,6 +329,22 @@ public class GridDhtPartitionsSingleMessage extends GridDhtPartitionsAbstractMes
         this.exchangeStartTime = exchangeStartTime;
     }
 
+    /**
+     * @return Total size of serialized partitions data in bytes, valid after {@link #prepareMarshal}.
+     */
+    public long marshalledSize() {
+        return size(partsBytes) + size(partCntrsBytes) + size(partHistCntrsBytes) + size(partsSizesBytes) +
+            size(errBytes);
+    }
+
+    /**
+     * @param bytes Bytes.
+     * @return Length of array or {@code 0} for {@code null}.
+     */
+    private static int size(@Nullable byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
     /** {@inheritDoc}
      * @param ctx*/
     @Override public void prepareMarshal(GridCacheSharedContext ctx) throws IgniteCheckedException {
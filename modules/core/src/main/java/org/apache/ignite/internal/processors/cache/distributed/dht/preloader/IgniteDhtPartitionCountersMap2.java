@@ -16,9 +16,12 @@
 
 package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import org.apache.ignite.internal.IgniteFeatures;
 
 /**
  * Partition counters map.
@@ -64,4 +67,54 @@ public class IgniteDhtPartitionCountersMap2 implements Serializable {
 
         return cntrMap;
     }
+
+    /**
+     * Serializes map in the compact form which is used instead of marshalling when all nodes support
+     * {@link IgniteFeatures#COMPACT_PME_COUNTERS}.
+     *
+     * @return Serialized map.
+     * @see CachePartitionFullCountersMap#writeCompact(ByteArrayOutputStream)
+     */
+    public synchronized byte[] toCompactBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int size = map == null ? 0 : map.size();
+
+        CachePartitionFullCountersMap.writeVarLong(out, size);
+
+        if (map != null) {
+            for (Map.Entry<Integer, CachePartitionFullCountersMap> e : map.entrySet()) {
+                int grpId = e.getKey();
+
+                out.write(grpId >>> 24);
+                out.write(grpId >>> 16);
+                out.write(grpId >>> 8);
+                out.write(grpId);
+
+                e.getValue().writeCompact(out);
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * @param bytes Map serialized by {@link #toCompactBytes()}.
+     * @return Deserialized map.
+     */
+    public static IgniteDhtPartitionCountersMap2 fromCompactBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+
+        int size = (int)CachePartitionFullCountersMap.readVarLong(buf);
+
+        IgniteDhtPartitionCountersMap2 res = new IgniteDhtPartitionCountersMap2();
+
+        for (int i = 0; i < size; i++) {
+            int grpId = buf.getInt();
+
+            res.putIfAbsent(grpId, CachePartitionFullCountersMap.readCompact(buf));
+        }
+
+        return res;
+    }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
+
+import java.util.ArrayDeque;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Adaptive controller of supply batch size and number of in-flight supply batches for a single supply routine
+ * (one demander node and one rebalance topic).
+ * <p>
+ * Each demand message received by supplier after the first one acknowledges exactly one previously sent supply
+ * batch, since supply messages are ordered. Controller measures the time between sending a batch and receiving its
+ * acknowledgement (network round trip plus demander apply time) and the acknowledged throughput per round of
+ * {@code window} batches. While throughput grows, batch size is doubled up to the maximum and then window is
+ * extended by one batch per round. If any acknowledgement in the round took longer than the allowed apply time
+ * (rebalance batches occupy demander threads shared with user operations), batch size is halved.
+ * <p>
+ * Not thread safe, supply context is processed by at most one thread at a time.
+ */
+class SupplyBatchController {
+    /** Minimal relative throughput improvement required to keep growing. */
+    private static final double GROWTH_THRESHOLD = 1.05;
+
+    /** Minimal batch size, configured rebalance batch size. */
+    private final int minBatchSize;
+
+    /** Maximal batch size. */
+    private final int maxBatchSize;
+
+    /** Maximal number of in-flight batches. */
+    private final int maxWindow;
+
+    /** Maximal allowed acknowledgement time in nanoseconds. */
+    private final long maxAckTimeNanos;
+
+    /** Current batch size. */
+    private int batchSize;
+
+    /** Current number of in-flight batches. */
+    private int window;
+
+    /** Number of batches to send in addition to the acknowledged one. */
+    private int extraBatches;
+
+    /** Send timestamps and sizes of not acknowledged batches. */
+    @GridToStringExclude
+    private final ArrayDeque<long[]> inFlight = new ArrayDeque<>();
+
+    /** Start of current measurement round. */
+    private long roundStart;
+
+    /** Bytes acknowledged in current round. */
+    private long roundBytes;
+
+    /** Acknowledgements received in current round. */
+    private int roundAcks;
+
+    /** Maximal acknowledgement time in current round. */
+    private long roundMaxAckTime;
+
+    /** Throughput of the previous round in bytes per second, {@code 0} if unknown. */
+    private double prevThroughput;
+
+    /** {@code True} if throughput stopped growing and controller keeps current parameters. */
+    private boolean stable;
+
+    /**
+     * @param minBatchSize Minimal (configured) batch size in bytes.
+     * @param maxBatchSize Maximal batch size in bytes.
+     * @param initWindow Initial number of in-flight batches.
+     * @param maxWindow Maximal number of in-flight batches.
+     * @param maxAckTimeMs Maximal allowed acknowledgement time in milliseconds, {@code 0} for no limit.
+     */
+    SupplyBatchController(int minBatchSize, int maxBatchSize, int initWindow, int maxWindow, long maxAckTimeMs) {
+        assert minBatchSize > 0 && maxBatchSize >= minBatchSize : "min=" + minBatchSize + ", max=" + maxBatchSize;
+        assert initWindow > 0 && maxWindow >= initWindow : "init=" + initWindow + ", max=" + maxWindow;
+
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWindow = maxWindow;
+
+        maxAckTimeNanos = maxAckTimeMs > 0 ? maxAckTimeMs * 1_000_000L : Long.MAX_VALUE;
+
+        batchSize = minBatchSize;
+        window = initWindow;
+    }
+
+    /**
+     * @return Current batch size in bytes.
+     */
+    int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return Current number of in-flight batches.
+     */
+    int window() {
+        return window;
+    }
+
+    /**
+     * @return Throughput measured in the last completed round in bytes per second, {@code 0} if unknown.
+     */
+    long throughput() {
+        return (long)prevThroughput;
+    }
+
+    /**
+     * Callback for supply batch sent to demander.
+     *
+     * @param bytes Batch size in bytes.
+     * @param nowNanos Current time in nanoseconds.
+     */
+    void onBatchSent(long bytes, long nowNanos) {
+        if (roundStart == 0)
+            roundStart = nowNanos;
+
+        inFlight.addLast(new long[] {nowNanos, bytes});
+    }
+
+    /**
+     * Callback for demand message which acknowledges the oldest in-flight batch.
+     *
+     * @param nowNanos Current time in nanoseconds.
+     * @return Number of batches to send in response.
+     */
+    int onAcknowledged(long nowNanos) {
+        long[] batch = inFlight.pollFirst();
+
+        if (batch != null) {
+            roundBytes += batch[1];
+            roundMaxAckTime = Math.max(roundMaxAckTime, nowNanos - batch[0]);
+            roundAcks++;
+        }
+
+        if (roundAcks >= window)
+            completeRound(nowNanos);
+
+        int res = 1 + extraBatches;
+
+        extraBatches = 0;
+
+        return res;
+    }
+
+    /**
+     * Adjusts batch size and window according to the measurements of completed round.
+     *
+     * @param nowNanos Current time in nanoseconds.
+     */
+    private void completeRound(long nowNanos) {
+        long elapsed = Math.max(1, nowNanos - roundStart);
+
+        double throughput = roundBytes * 1_000_000_000d / elapsed;
+
+        if (roundMaxAckTime > maxAckTimeNanos) {
+            // Demander is overloaded, back off regardless of throughput.
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+
+            stable = false;
+        }
+        else if (!stable) {
+            if (prevThroughput == 0 || throughput >= prevThroughput * GROWTH_THRESHOLD) {
+                if (batchSize < maxBatchSize)
+                    batchSize = (int)Math.min(maxBatchSize, batchSize * 2L);
+                else if (window < maxWindow) {
+                    window++;
+
+                    extraBatches++;
+                }
+                else
+                    stable = true;
+            }
+            else
+                stable = true;
+        }
+
+        prevThroughput = throughput;
+
+        roundStart = nowNanos;
+        roundBytes = 0;
+        roundAcks = 0;
+        roundMaxAckTime = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(SupplyBatchController.class, this);
+    }
+}
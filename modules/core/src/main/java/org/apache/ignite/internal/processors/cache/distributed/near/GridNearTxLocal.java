@@ -225,6 +225,9 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
     /** Stores commit or rollback step duration, or <code>0</code> if it has not finished yet. */
     private final AtomicLong commitOrRollbackTime = new AtomicLong(0);
 
+    /** Counts how much time this transaction has spent on acquiring pessimistic locks, in nanoseconds. */
+    private final AtomicLong lockTime = new AtomicLong(0);
+
     /** */
     @GridToStringExclude
     private IgniteTxManager.TxDumpsThrottling txDumpsThrottling;
@@ -682,6 +685,8 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
                 if (log.isDebugEnabled())
                     log.debug("Before acquiring transaction lock for put on key: " + enlisted);
 
+                long lockStart = System.nanoTime();
+
                 IgniteInternalFuture<Boolean> fut = cacheCtx.cache().txLockAsync(enlisted,
                     timeout,
                     this,
@@ -692,6 +697,8 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
                     -1L,
                     -1L);
 
+                trackLockTime(fut, lockStart);
+
                 PLC1<GridCacheReturn> plc1 = new PLC1<GridCacheReturn>(ret) {
                     @Override public GridCacheReturn postLock(GridCacheReturn ret)
                         throws IgniteCheckedException
@@ -974,6 +981,8 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
                 if (log.isDebugEnabled())
                     log.debug("Before acquiring transaction lock for put on keys: " + enlisted);
 
+                long lockStart = System.nanoTime();
+
                 IgniteInternalFuture<Boolean> fut = cacheCtx.cache().txLockAsync(enlisted,
                     timeout,
                     this,
@@ -984,6 +993,8 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
                     -1L,
                     -1L);
 
+                trackLockTime(fut, lockStart);
+
                 PLC1<GridCacheReturn> plc1 = new PLC1<GridCacheReturn>(ret) {
                     @Override public GridCacheReturn postLock(GridCacheReturn ret)
                         throws IgniteCheckedException
@@ -1871,6 +1882,8 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
             if (log.isDebugEnabled())
                 log.debug("Before acquiring transaction lock for remove on keys: " + enlisted);
 
+            long lockStart = System.nanoTime();
+
             IgniteInternalFuture<Boolean> fut = cacheCtx.cache().txLockAsync(enlisted,
                 timeout,
                 this,
@@ -1881,6 +1894,8 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
                 -1L,
                 -1L);
 
+            trackLockTime(fut, lockStart);
+
             PLC1<GridCacheReturn> plc1 = new PLC1<GridCacheReturn>(ret) {
                 /** {@inheritDoc} */
                 @Override protected GridCacheReturn postLock(GridCacheReturn ret)
@@ -2300,6 +2315,8 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
                 if (timeout == -1)
                     return new GridFinishedFuture<>(timeoutException());
 
+                long lockStart = System.nanoTime();
+
                 IgniteInternalFuture<Boolean> fut = cacheCtx.cache().txLockAsync(lockKeys,
                     timeout,
                     this,
@@ -2310,6 +2327,8 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
                     createTtl,
                     accessTtl);
 
+                trackLockTime(fut, lockStart);
+
                 final ExpiryPolicy expiryPlc0 = expiryPlc;
 
                 PLC2<Map<K, V>> plc2 = new PLC2<Map<K, V>>() {
@@ -3858,6 +3877,11 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
 
             cctx.txMetrics().onNearTxComplete(systemTimeMillis, userTimeMillis);
 
+            cctx.txMetrics().onNearTxPhasesComplete(
+                pessimistic() ? timeMillis(lockTime) : -1,
+                prepareTime.get() > 0 ? timeMillis(prepareTime) : -1,
+                state == COMMITTED ? timeMillis(commitOrRollbackTime) : -1);
+
             boolean willBeSkipped = txDumpsThrottling == null || txDumpsThrottling.skipCurrent();
 
             if (!willBeSkipped) {
@@ -4509,6 +4533,8 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
         if (timeout == -1)
             return new GridFinishedFuture<>(timeoutException());
 
+        long lockStart = System.nanoTime();
+
         IgniteInternalFuture<Boolean> fut = cacheCtx.colocated().lockAllAsyncInternal(keys,
             timeout,
             this,
@@ -4522,6 +4548,8 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
             skipStore,
             keepBinary);
 
+        trackLockTime(fut, lockStart);
+
         return new GridEmbeddedFuture<>(
             fut,
             new PLC1<GridCacheReturn>(ret, false) {
@@ -5074,6 +5102,16 @@ public class GridNearTxLocal extends GridDhtTxLocalAdapter implements GridTimeou
         }
     }
 
+    /**
+     * Adds duration of pessimistic lock acquisition to the lock time of this transaction.
+     *
+     * @param fut Lock future.
+     * @param startTime Lock acquisition start time in nanoseconds.
+     */
+    private void trackLockTime(IgniteInternalFuture<?> fut, long startTime) {
+        fut.listen(f -> lockTime.addAndGet(System.nanoTime() - startTime));
+    }
+
     /** */
     private long timeMillis(AtomicLong atomicNanoTime) {
         return U.nanosToMillis(atomicNanoTime.get());
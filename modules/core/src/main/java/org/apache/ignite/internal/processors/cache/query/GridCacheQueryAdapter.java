@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.query;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -26,6 +27,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
@@ -612,6 +614,39 @@ public class GridCacheQueryAdapter<T> implements CacheQuery<T> {
         return mvccTracker != null ? new MvccTrackingIterator(it, mvccTracker) : it;
     }
 
+    /**
+     * Executes query on every queryable node separately and merges results of the nodes. Results of every node
+     * must be sorted with the given comparator, merged results are sorted with it as well.
+     *
+     * @param cmp Comparator of the query results.
+     * @param args Arguments.
+     * @return Iterator over merged results.
+     * @throws IgniteCheckedException If failed.
+     */
+    public GridCloseableIterator<T> executeOrdered(Comparator<? super T> cmp, @Nullable Object... args)
+        throws IgniteCheckedException {
+        Collection<ClusterNode> nodes = nodes();
+
+        if (nodes.isEmpty())
+            throw new ClusterGroupEmptyCheckedException();
+
+        List<CacheQueryFuture<T>> futs = new ArrayList<>(nodes.size());
+
+        if (nodes.size() == 1)
+            futs.add(execute(args));
+        else {
+            for (ClusterNode node : nodes) {
+                GridCacheQueryAdapter<T> nodeQry = new GridCacheQueryAdapter<>(cctx, type, log, pageSize, timeout,
+                    incBackups, dedup, cctx.kernalContext().grid().cluster().forNode(node), filter, part, clsName,
+                    clause, incMeta, keepBinary, subjId, taskHash, mvccSnapshot, dataPageScanEnabled);
+
+                futs.add(nodeQry.execute(args));
+            }
+        }
+
+        return new MergeSortIterator<>(futs, cmp);
+    }
+
     /**
      * @return Nodes to execute on.
      */
@@ -707,6 +742,75 @@ public class GridCacheQueryAdapter<T> implements CacheQuery<T> {
         return S.toString(GridCacheQueryAdapter.class, this);
     }
 
+    /**
+     * Merges sorted results of several query futures.
+     */
+    private static class MergeSortIterator<T> extends GridCloseableIteratorAdapter<T> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Futures. */
+        private final List<CacheQueryFuture<T>> futs;
+
+        /** Current heads of the futures. */
+        private final PriorityQueue<T2<T, CacheQueryFuture<T>>> heads;
+
+        /** Whether the heads are initialized. */
+        private boolean init;
+
+        /**
+         * @param futs Futures.
+         * @param cmp Comparator.
+         */
+        private MergeSortIterator(List<CacheQueryFuture<T>> futs, Comparator<? super T> cmp) {
+            this.futs = futs;
+
+            heads = new PriorityQueue<>(futs.size(), (h1, h2) -> cmp.compare(h1.get1(), h2.get1()));
+        }
+
+        /** {@inheritDoc} */
+        @Override protected T onNext() throws IgniteCheckedException {
+            if (!onHasNext())
+                throw new NoSuchElementException();
+
+            T2<T, CacheQueryFuture<T>> head = heads.poll();
+
+            T res = head.get1();
+
+            T next = head.get2().next();
+
+            if (next != null) {
+                head.set1(next);
+
+                heads.add(head);
+            }
+
+            return res;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected boolean onHasNext() throws IgniteCheckedException {
+            if (!init) {
+                for (CacheQueryFuture<T> fut : futs) {
+                    T next = fut.next();
+
+                    if (next != null)
+                        heads.add(new T2<>(next, fut));
+                }
+
+                init = true;
+            }
+
+            return !heads.isEmpty();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void onClose() throws IgniteCheckedException {
+            for (CacheQueryFuture<T> fut : futs)
+                fut.cancel();
+        }
+    }
+
     /**
      * Wrapper for queries with fallback.
      */
@@ -48,6 +48,7 @@ import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.CacheEntry;
 import org.apache.ignite.cache.QueryIndexType;
+import org.apache.ignite.cache.query.IndexQueryCriterion;
 import org.apache.ignite.cache.query.QueryMetrics;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.configuration.CacheConfiguration;
@@ -137,6 +138,7 @@ import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
 import static org.apache.ignite.internal.GridClosureCallMode.BROADCAST;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.LOST;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+import static org.apache.ignite.internal.processors.cache.query.GridCacheQueryType.INDEX;
 import static org.apache.ignite.internal.processors.cache.query.GridCacheQueryType.SCAN;
 import static org.apache.ignite.internal.processors.cache.query.GridCacheQueryType.SPI;
 import static org.apache.ignite.internal.processors.cache.query.GridCacheQueryType.SQL;
@@ -622,6 +624,27 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
 
                     break;
 
+                case INDEX:
+                    if (cctx.events().isRecordable(EVT_CACHE_QUERY_EXECUTED)) {
+                        cctx.gridEvents().record(new CacheQueryExecutedEvent<>(
+                            cctx.localNode(),
+                            "Index query executed.",
+                            EVT_CACHE_QUERY_EXECUTED,
+                            CacheQueryType.INDEX.name(),
+                            cctx.name(),
+                            qry.queryClassName(),
+                            qry.clause(),
+                            qry.scanFilter(),
+                            null,
+                            args,
+                            subjId,
+                            taskName));
+                    }
+
+                    iter = indexQueryIterator(qry, args);
+
+                    break;
+
                 case SET:
                     iter = sharedCacheSetIterator(qry);
 
@@ -1272,6 +1295,27 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
                                         null));
 
                                     break;
+
+                                case INDEX:
+                                    cctx.gridEvents().record(new CacheQueryReadEvent<>(
+                                        cctx.localNode(),
+                                        "Index query entry read.",
+                                        EVT_CACHE_QUERY_OBJECT_READ,
+                                        CacheQueryType.INDEX.name(),
+                                        cctx.name(),
+                                        qry.queryClassName(),
+                                        qry.clause(),
+                                        qry.scanFilter(),
+                                        null,
+                                        qryInfo.arguments(),
+                                        qry.subjectId(),
+                                        taskName,
+                                        key0,
+                                        val0,
+                                        null,
+                                        null));
+
+                                    break;
                             }
                         }
 
@@ -1987,6 +2031,94 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
         return new IndexingQueryFilterImpl(cctx.kernalContext(), AffinityTopologyVersion.NONE, null);
     }
 
+    /**
+     * @param qry Index query.
+     * @param args Arguments: keep binary flag for the key-value filter followed by the criteria.
+     * @return Entries matching the criteria and the key-value filter of the query in the index order.
+     * @throws IgniteCheckedException If failed.
+     */
+    private GridCloseableIterator<IgniteBiTuple<K, V>> indexQueryIterator(GridCacheQueryAdapter<?> qry,
+        Object[] args) throws IgniteCheckedException {
+        boolean filterKeepBinary = (Boolean)args[0];
+
+        List<IndexQueryCriterion> criteria = new ArrayList<>(args.length - 1);
+
+        for (int i = 1; i < args.length; i++)
+            criteria.add((IndexQueryCriterion)args[i]);
+
+        GridCloseableIterator<IgniteBiTuple<K, V>> it = cctx.kernalContext().query().queryIndex(cacheName,
+            qry.queryClassName(), qry.clause(), criteria, filter(qry));
+
+        IgniteBiPredicate<K, V> keyValFilter = qry.scanFilter();
+
+        if (keyValFilter == null)
+            return it;
+
+        injectResources(keyValFilter);
+
+        CacheObjectContext objCtx = cctx.cacheObjectContext();
+
+        return new GridCloseableIteratorAdapter<IgniteBiTuple<K, V>>() {
+            /** */
+            private IgniteBiTuple<K, V> next;
+
+            @Override protected IgniteBiTuple<K, V> onNext() throws IgniteCheckedException {
+                if (!onHasNext())
+                    throw new NoSuchElementException();
+
+                IgniteBiTuple<K, V> res = next;
+
+                next = null;
+
+                return res;
+            }
+
+            @Override protected boolean onHasNext() throws IgniteCheckedException {
+                while (next == null && it.hasNextX()) {
+                    IgniteBiTuple<K, V> e = it.nextX();
+
+                    K key = (K)CacheObjectUtils.unwrapBinaryIfNeeded(objCtx, e.getKey(), filterKeepBinary, false, null);
+                    V val = (V)CacheObjectUtils.unwrapBinaryIfNeeded(objCtx, e.getValue(), filterKeepBinary, false,
+                        null);
+
+                    if (keyValFilter.apply(key, val))
+                        next = e;
+                }
+
+                return next != null;
+            }
+
+            @Override protected void onClose() throws IgniteCheckedException {
+                it.close();
+            }
+        };
+    }
+
+    /**
+     * Creates user's index query. The query is executed with the keep binary flag of the key-value filter followed
+     * by the criteria as arguments.
+     *
+     * @param clsName Value type name.
+     * @param idxName Index name.
+     * @param filter Key-value filter.
+     * @return Created query.
+     */
+    public CacheQuery<Map.Entry<K, V>> createIndexQuery(String clsName, @Nullable String idxName,
+        @Nullable IgniteBiPredicate<Object, Object> filter) {
+        A.notNull(clsName, "clsName");
+
+        // Entries are always returned in binary form to merge results of the nodes in the index order.
+        return new GridCacheQueryAdapter<>(cctx,
+            INDEX,
+            clsName,
+            idxName,
+            filter,
+            null,
+            false,
+            true,
+            null);
+    }
+
     /**
      * Prints memory statistics for debugging purposes.
      */
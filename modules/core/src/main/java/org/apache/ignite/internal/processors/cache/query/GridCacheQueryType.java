@@ -52,7 +52,12 @@ public enum GridCacheQueryType {
     /**
      * Cache set items query.
      */
-    SET;
+    SET,
+
+    /**
+     * Index range query.
+     */
+    INDEX;
 
     /** Enumerated values. */
     private static final GridCacheQueryType[] VALS = values();
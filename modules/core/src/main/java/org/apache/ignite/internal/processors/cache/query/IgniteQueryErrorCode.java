@@ -85,6 +85,9 @@ public final class IgniteQueryErrorCode {
     /** Query out of memory. */
     public static final int QUERY_OUT_OF_MEMORY = 3015;
 
+    /** Query rejected by admission control. */
+    public static final int QUERY_REJECTED = 3016;
+
     /* 4xxx - cache related runtime errors */
 
     /** Attempt to INSERT a key that is already in cache. */
@@ -210,6 +213,9 @@ public final class IgniteQueryErrorCode {
             case QUERY_OUT_OF_MEMORY:
                 return SqlStateCode.MEMORY_ALLOCATION_ERROR;
 
+            case QUERY_REJECTED:
+                return SqlStateCode.QUERY_REJECTED;
+
             case CLUSTER_READ_ONLY_MODE_ENABLED:
                 return SqlStateCode.CLUSTER_READ_ONLY_MODE_ENABLED;
 
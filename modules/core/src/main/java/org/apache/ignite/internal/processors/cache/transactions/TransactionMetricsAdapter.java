@@ -61,6 +61,15 @@ public class TransactionMetricsAdapter implements TransactionMetrics {
     /** Metric name for user time histogram on node. */
     public static final String METRIC_USER_TIME_HISTOGRAM = "nodeUserTimeHistogram";
 
+    /** Metric name for pessimistic lock acquisition time histogram of near transactions on node. */
+    public static final String METRIC_LOCK_TIME_HISTOGRAM = "nodeLockTimeHistogram";
+
+    /** Metric name for prepare time histogram of near transactions on node. */
+    public static final String METRIC_PREPARE_TIME_HISTOGRAM = "nodePrepareTimeHistogram";
+
+    /** Metric name for commit time histogram of near transactions on node. */
+    public static final String METRIC_COMMIT_TIME_HISTOGRAM = "nodeCommitTimeHistogram";
+
     /** Histogram buckets for metrics of system and user time. */
     public static final long[] METRIC_TIME_BUCKETS =
         new long[] { 1, 2, 4, 8, 16, 25, 50, 75, 100, 250, 500, 750, 1000, 3000, 5000, 10000, 25000, 60000};
@@ -92,6 +101,15 @@ public class TransactionMetricsAdapter implements TransactionMetrics {
     /** Holds the reference to metric for user time histogram on node. */
     private HistogramMetricImpl txUserTimeHistogram;
 
+    /** Holds the reference to metric for lock time histogram on node. */
+    private HistogramMetricImpl txLockTimeHistogram;
+
+    /** Holds the reference to metric for prepare time histogram on node. */
+    private HistogramMetricImpl txPrepareTimeHistogram;
+
+    /** Holds the reference to metric for commit time histogram on node. */
+    private HistogramMetricImpl txCommitTimeHistogram;
+
     /**
      * @param ctx Kernal context.
      */
@@ -118,6 +136,24 @@ public class TransactionMetricsAdapter implements TransactionMetrics {
             METRIC_TIME_BUCKETS,
             "Transactions user times on node represented as histogram."
         );
+
+        txLockTimeHistogram = mreg.histogram(
+            METRIC_LOCK_TIME_HISTOGRAM,
+            METRIC_TIME_BUCKETS,
+            "Pessimistic transactions lock acquisition times on node represented as histogram."
+        );
+
+        txPrepareTimeHistogram = mreg.histogram(
+            METRIC_PREPARE_TIME_HISTOGRAM,
+            METRIC_TIME_BUCKETS,
+            "Transactions prepare times on node represented as histogram."
+        );
+
+        txCommitTimeHistogram = mreg.histogram(
+            METRIC_COMMIT_TIME_HISTOGRAM,
+            METRIC_TIME_BUCKETS,
+            "Transactions commit times on node represented as histogram."
+        );
     }
 
     /** Callback invoked when {@link IgniteTxManager} started. */
@@ -235,6 +271,25 @@ public class TransactionMetricsAdapter implements TransactionMetrics {
         }
     }
 
+    /**
+     * Callback for completion of near transaction. Writes durations of transaction phases, negative duration
+     * means that transaction didn't pass the phase.
+     *
+     * @param lockTime Pessimistic lock acquisition time.
+     * @param prepareTime Prepare time.
+     * @param commitTime Commit time.
+     */
+    public void onNearTxPhasesComplete(long lockTime, long prepareTime, long commitTime) {
+        if (lockTime >= 0)
+            txLockTimeHistogram.value(lockTime);
+
+        if (prepareTime >= 0)
+            txPrepareTimeHistogram.value(prepareTime);
+
+        if (commitTime >= 0)
+            txCommitTimeHistogram.value(commitTime);
+    }
+
     /**
      * Reset.
      */
@@ -191,6 +191,15 @@ public class GridMetricManager extends GridManagerAdapter<MetricExporterSpi> imp
     /** Histogram of blocking PME durations metric name. */
     public static final String PME_OPS_BLOCKED_DURATION_HISTOGRAM = "CacheOperationsBlockedDurationHistogram";
 
+    /** Serialized size of the last partitions full message sent by coordinator metric name. */
+    public static final String PME_FULL_MESSAGE_SIZE = "FullMessageSize";
+
+    /** Histogram of serialized sizes of partitions full messages metric name. */
+    public static final String PME_FULL_MESSAGE_SIZE_HISTOGRAM = "FullMessageSizeHistogram";
+
+    /** Serialized size of the last partitions single message sent by local node metric name. */
+    public static final String PME_SINGLE_MESSAGE_SIZE = "SingleMessageSize";
+
     /** Whether cluster is in fully rebalanced state metric name. */
     public static final String REBALANCED = "Rebalanced";
 
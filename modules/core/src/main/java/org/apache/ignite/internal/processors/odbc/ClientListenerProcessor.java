@@ -22,6 +22,7 @@ import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
@@ -94,6 +95,9 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
     /** Executor service. */
     private ExecutorService execSvc;
 
+    /** Executor service producing JDBC result pages ahead of the fetch requests. */
+    private ExecutorService prefetchExecSvc;
+
     /**
      * @param ctx Kernal context.
      */
@@ -144,6 +148,17 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
                     GridIoPolicy.UNDEFINED,
                     new OomExceptionHandler(ctx));
 
+                // Bounded: rejected pages are produced on demand by the fetch requests.
+                prefetchExecSvc = new IgniteThreadPoolExecutor(
+                    "client-connector-prefetch",
+                    cfg.getIgniteInstanceName(),
+                    cliConnCfg.getThreadPoolSize(),
+                    cliConnCfg.getThreadPoolSize(),
+                    0,
+                    new ArrayBlockingQueue<Runnable>(cliConnCfg.getThreadPoolSize()),
+                    GridIoPolicy.UNDEFINED,
+                    new OomExceptionHandler(ctx));
+
                 Exception lastErr = null;
 
                 int portTo = cliConnCfg.getPort() + cliConnCfg.getPortRange();
@@ -370,6 +385,12 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
                 execSvc = null;
             }
 
+            if (prefetchExecSvc != null) {
+                U.shutdownNow(getClass(), prefetchExecSvc, log);
+
+                prefetchExecSvc = null;
+            }
+
             if (!U.IGNITE_MBEANS_DISABLED)
                 unregisterMBean();
 
@@ -378,6 +399,14 @@ public class ClientListenerProcessor extends GridProcessorAdapter {
         }
     }
 
+    /**
+     * @return Executor service producing JDBC result pages ahead of the fetch requests, {@code null} if client
+     *      connector is disabled.
+     */
+    public ExecutorService prefetchExecutorService() {
+        return prefetchExecSvc;
+    }
+
     /**
      *
      */
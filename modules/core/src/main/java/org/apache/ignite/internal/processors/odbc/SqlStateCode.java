@@ -85,4 +85,7 @@ public final class SqlStateCode {
 
     /** Query canceled. */
     public static final String MEMORY_ALLOCATION_ERROR = "HY001";
+
+    /** Query rejected due to insufficient resources. */
+    public static final String QUERY_REJECTED = "53000";
 }
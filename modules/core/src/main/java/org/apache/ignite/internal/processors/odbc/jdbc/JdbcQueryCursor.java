@@ -17,11 +17,17 @@
 package org.apache.ignite.internal.processors.odbc.jdbc;
 
 import java.sql.ResultSet;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.processors.cache.QueryCursorImpl;
 import org.apache.ignite.internal.processors.query.GridQueryFieldMetadata;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
 
 /**
  * SQL listener query fetch result.
@@ -42,6 +48,12 @@ class JdbcQueryCursor extends JdbcCursor {
     /** Query results iterator. */
     private Iterator<List<Object>> iter;
 
+    /** Pages produced ahead of the fetch requests. */
+    private final Queue<List<List<Object>>> prefetched = new ArrayDeque<>();
+
+    /** Production of the pages ahead of the fetch requests, {@code null} if nothing is being produced. */
+    private volatile GridFutureAdapter<Void> prefetchFut;
+
     /**
      * @param pageSize Fetch size.
      * @param maxRows Max rows.
@@ -65,8 +77,73 @@ class JdbcQueryCursor extends JdbcCursor {
 
     /**
      * @return List of the rows.
+     * @throws IgniteCheckedException If failed to produce the rows ahead.
+     */
+    List<List<Object>> fetchRows() throws IgniteCheckedException {
+        awaitPrefetch();
+
+        List<List<Object>> items = prefetched.poll();
+
+        return items != null ? items : nextPage();
+    }
+
+    /**
+     * Starts producing the next pages in background, so they are ready by the time the client asks for them.
+     * Must not be called until the pages produced ahead by the previous call are taken by {@link #fetchRows()}.
+     *
+     * @param pages Number of pages to produce ahead.
+     * @param exec Executor to produce the pages with.
+     */
+    void prefetch(int pages, Executor exec) {
+        assert prefetchFut == null;
+
+        int cnt = pages - prefetched.size();
+
+        if (cnt <= 0 || !hasNextRow())
+            return;
+
+        GridFutureAdapter<Void> fut = new GridFutureAdapter<>();
+
+        prefetchFut = fut;
+
+        try {
+            exec.execute(() -> {
+                try {
+                    for (int i = 0; i < cnt && hasNextRow(); i++)
+                        prefetched.add(nextPage());
+
+                    fut.onDone();
+                }
+                catch (Throwable e) {
+                    fut.onDone(e);
+                }
+            });
+        }
+        catch (RejectedExecutionException ignored) {
+            // The pages will be produced on demand.
+            prefetchFut = null;
+        }
+    }
+
+    /**
+     * Waits for the pages being produced ahead.
+     *
+     * @throws IgniteCheckedException If failed to produce the pages.
      */
-    List<List<Object>> fetchRows() {
+    private void awaitPrefetch() throws IgniteCheckedException {
+        GridFutureAdapter<Void> fut = prefetchFut;
+
+        if (fut != null) {
+            prefetchFut = null;
+
+            fut.get();
+        }
+    }
+
+    /**
+     * @return Next page of the rows read from the query results iterator.
+     */
+    private List<List<Object>> nextPage() {
         int fetchSize = (maxRows > 0) ? (int)Math.min(pageSize, maxRows - fetched) : pageSize;
 
         List<List<Object>> items = new ArrayList<>(fetchSize);
@@ -103,6 +180,13 @@ class JdbcQueryCursor extends JdbcCursor {
      * @return {@code true} if the cursor has more rows
      */
     boolean hasNext() {
+        return !prefetched.isEmpty() || hasNextRow();
+    }
+
+    /**
+     * @return {@code true} if the query results iterator has more rows to return.
+     */
+    private boolean hasNextRow() {
         return iter.hasNext() && !(maxRows > 0 && fetched >= maxRows);
     }
 
@@ -111,6 +195,13 @@ class JdbcQueryCursor extends JdbcCursor {
      */
     @Override public void close() {
         cur.close();
+
+        try {
+            awaitPrefetch();
+        }
+        catch (IgniteCheckedException ignored) {
+            // The closed query is expected to fail the pages production.
+        }
     }
 
     /**
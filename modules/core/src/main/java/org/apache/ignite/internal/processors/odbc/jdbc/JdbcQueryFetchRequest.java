@@ -31,6 +31,9 @@ public class JdbcQueryFetchRequest extends JdbcRequest {
     /** Fetch size. */
     private int pageSize;
 
+    /** Number of the next pages the server may produce ahead of the following fetch requests. */
+    private int prefetchPages;
+
     /**
      * Constructor.
      */
@@ -43,10 +46,20 @@ public class JdbcQueryFetchRequest extends JdbcRequest {
      * @param pageSize Fetch size.
      */
     public JdbcQueryFetchRequest(long cursorId, int pageSize) {
+        this(cursorId, pageSize, 0);
+    }
+
+    /**
+     * @param cursorId Cursor ID.
+     * @param pageSize Fetch size.
+     * @param prefetchPages Number of the next pages the server may produce ahead of the following fetch requests.
+     */
+    public JdbcQueryFetchRequest(long cursorId, int pageSize, int prefetchPages) {
         super(QRY_FETCH);
 
         this.cursorId = cursorId;
         this.pageSize = pageSize;
+        this.prefetchPages = prefetchPages;
     }
 
     /**
@@ -63,6 +76,13 @@ public class JdbcQueryFetchRequest extends JdbcRequest {
         return pageSize;
     }
 
+    /**
+     * @return Number of the next pages the server may produce ahead of the following fetch requests.
+     */
+    public int prefetchPages() {
+        return prefetchPages;
+    }
+
     /** {@inheritDoc} */
     @Override public void writeBinary(BinaryWriterExImpl writer,
         JdbcProtocolContext protoCtx) throws BinaryObjectException {
@@ -70,6 +90,9 @@ public class JdbcQueryFetchRequest extends JdbcRequest {
 
         writer.writeLong(cursorId);
         writer.writeInt(pageSize);
+
+        if (protoCtx.isFeatureSupported(JdbcThinFeature.RESULT_PREFETCH))
+            writer.writeInt(prefetchPages);
     }
 
     /** {@inheritDoc} */
@@ -79,6 +102,9 @@ public class JdbcQueryFetchRequest extends JdbcRequest {
 
         cursorId = reader.readLong();
         pageSize = reader.readInt();
+
+        if (protoCtx.isFeatureSupported(JdbcThinFeature.RESULT_PREFETCH))
+            prefetchPages = reader.readInt();
     }
 
     /** {@inheritDoc} */
@@ -71,7 +71,10 @@ public class JdbcQueryFetchResult extends JdbcResult {
 
         writer.writeBoolean(last);
 
-        JdbcUtils.writeItems(writer, items, protoCtx);
+        if (protoCtx.isFeatureSupported(JdbcThinFeature.COLUMNAR_FETCH_RESULT))
+            JdbcUtils.writeItemsColumnar(writer, items, protoCtx);
+        else
+            JdbcUtils.writeItems(writer, items, protoCtx);
     }
 
     /** {@inheritDoc} */
@@ -81,7 +84,8 @@ public class JdbcQueryFetchResult extends JdbcResult {
 
         last = reader.readBoolean();
 
-        items = JdbcUtils.readItems(reader, protoCtx);
+        items = protoCtx.isFeatureSupported(JdbcThinFeature.COLUMNAR_FETCH_RESULT) ?
+            JdbcUtils.readItemsColumnar(reader, protoCtx) : JdbcUtils.readItems(reader, protoCtx);
     }
 
     /** {@inheritDoc} */
@@ -121,6 +121,9 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
     private static final JdbcResponse JDBC_QUERY_CANCELLED_RESPONSE =
         new JdbcResponse(IgniteQueryErrorCode.QUERY_CANCELED, QueryCancelledException.ERR_MSG);
 
+    /** Maximum number of result pages produced ahead of the fetch requests. */
+    private static final int MAX_PREFETCH_PAGES = 16;
+
     /** JDBC connection context. */
     private final JdbcConnectionContext connCtx;
 
@@ -867,6 +870,12 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
 
                 cur.close();
             }
+            else if (!res.last() && req.prefetchPages() > 0 && !MvccUtils.mvccEnabled(connCtx.kernalContext())) {
+                // Dedicated pool: blocking the query pool here may starve processing of the very page responses
+                // the prefetch waits for, and the client connector pool may be busy awaiting the prefetch.
+                cur.prefetch(Math.min(req.prefetchPages(), MAX_PREFETCH_PAGES),
+                    connCtx.kernalContext().sqlListener().prefetchExecutorService());
+            }
 
             return resultToResonse(res);
         }
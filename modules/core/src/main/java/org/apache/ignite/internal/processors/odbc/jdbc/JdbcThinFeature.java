@@ -38,7 +38,13 @@ public enum JdbcThinFeature implements ThinProtocolFeature {
     CUSTOM_OBJECT(2),
 
     /** Add ability to set explicit query timeout on the cluster node by the JDBC client. */
-    QUERY_TIMEOUT(3);
+    QUERY_TIMEOUT(3),
+
+    /** Server produces the next result pages ahead of the fetch requests, if the client asks for it. */
+    RESULT_PREFETCH(4),
+
+    /** Fetched result pages are sent column by column with the values of primitive columns packed. */
+    COLUMNAR_FETCH_RESULT(5);
 
     /** */
     private static final EnumSet<JdbcThinFeature> ALL_FEATURES_AS_ENUM_SET = EnumSet.allOf(JdbcThinFeature.class);
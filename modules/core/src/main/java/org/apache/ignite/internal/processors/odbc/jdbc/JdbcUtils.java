@@ -38,6 +38,9 @@ import org.jetbrains.annotations.Nullable;
  * Various JDBC utility methods.
  */
 public class JdbcUtils {
+    /** Type code of a column, which values are written one by one along with their types. */
+    private static final byte OBJECTS_COLUMN = 0;
+
     /**
      * @param writer Binary writer.
      * @param items Query results items.
@@ -84,6 +87,217 @@ public class JdbcUtils {
             return Collections.emptyList();
     }
 
+    /**
+     * Writes query results items column by column. The values of a column of a single primitive type are written
+     * without the type codes, after the nulls bitmap of the column. Other columns are written value by value.
+     *
+     * @param writer Binary writer.
+     * @param items Query results items.
+     * @param protoCtx Protocol context.
+     */
+    public static void writeItemsColumnar(BinaryWriterExImpl writer, List<List<Object>> items,
+        JdbcProtocolContext protoCtx) {
+        writer.writeInt(items.size());
+
+        if (items.isEmpty())
+            return;
+
+        int colsSize = items.get(0).size();
+
+        writer.writeInt(colsSize);
+
+        for (int col = 0; col < colsSize; col++) {
+            byte type = columnType(items, col);
+
+            writer.writeByte(type);
+
+            if (type == OBJECTS_COLUMN) {
+                for (List<Object> row : items)
+                    writeObject(writer, row.get(col), protoCtx);
+
+                continue;
+            }
+
+            byte[] nulls = null;
+
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i).get(col) == null) {
+                    if (nulls == null)
+                        nulls = new byte[(items.size() + 7) >>> 3];
+
+                    nulls[i >>> 3] |= 1 << (i & 7);
+                }
+            }
+
+            writer.writeByteArray(nulls);
+
+            for (List<Object> row : items) {
+                Object val = row.get(col);
+
+                if (val == null)
+                    continue;
+
+                switch (type) {
+                    case GridBinaryMarshaller.BYTE:
+                        writer.writeByte((Byte)val);
+
+                        break;
+
+                    case GridBinaryMarshaller.SHORT:
+                        writer.writeShort((Short)val);
+
+                        break;
+
+                    case GridBinaryMarshaller.INT:
+                        writer.writeInt((Integer)val);
+
+                        break;
+
+                    case GridBinaryMarshaller.LONG:
+                        writer.writeLong((Long)val);
+
+                        break;
+
+                    case GridBinaryMarshaller.FLOAT:
+                        writer.writeFloat((Float)val);
+
+                        break;
+
+                    case GridBinaryMarshaller.DOUBLE:
+                        writer.writeDouble((Double)val);
+
+                        break;
+
+                    default:
+                        assert type == GridBinaryMarshaller.BOOLEAN : type;
+
+                        writer.writeBoolean((Boolean)val);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param reader Binary reader.
+     * @param protoCtx Protocol context.
+     * @return Query results items written by {@link #writeItemsColumnar}.
+     */
+    public static List<List<Object>> readItemsColumnar(BinaryReaderExImpl reader, JdbcProtocolContext protoCtx) {
+        int rowsSize = reader.readInt();
+
+        if (rowsSize == 0)
+            return Collections.emptyList();
+
+        int colsSize = reader.readInt();
+
+        List<List<Object>> items = new ArrayList<>(rowsSize);
+
+        for (int i = 0; i < rowsSize; i++)
+            items.add(new ArrayList<>(Collections.nCopies(colsSize, null)));
+
+        for (int col = 0; col < colsSize; col++) {
+            byte type = reader.readByte();
+
+            if (type == OBJECTS_COLUMN) {
+                for (List<Object> row : items)
+                    row.set(col, readObject(reader, protoCtx));
+
+                continue;
+            }
+
+            byte[] nulls = reader.readByteArray();
+
+            for (int i = 0; i < rowsSize; i++) {
+                if (nulls != null && (nulls[i >>> 3] & (1 << (i & 7))) != 0)
+                    continue;
+
+                Object val;
+
+                switch (type) {
+                    case GridBinaryMarshaller.BYTE:
+                        val = reader.readByte();
+
+                        break;
+
+                    case GridBinaryMarshaller.SHORT:
+                        val = reader.readShort();
+
+                        break;
+
+                    case GridBinaryMarshaller.INT:
+                        val = reader.readInt();
+
+                        break;
+
+                    case GridBinaryMarshaller.LONG:
+                        val = reader.readLong();
+
+                        break;
+
+                    case GridBinaryMarshaller.FLOAT:
+                        val = reader.readFloat();
+
+                        break;
+
+                    case GridBinaryMarshaller.DOUBLE:
+                        val = reader.readDouble();
+
+                        break;
+
+                    case GridBinaryMarshaller.BOOLEAN:
+                        val = reader.readBoolean();
+
+                        break;
+
+                    default:
+                        throw new BinaryObjectException("Unknown column type code: " + type);
+                }
+
+                items.get(i).set(col, val);
+            }
+        }
+
+        return items;
+    }
+
+    /**
+     * @param items Query results items.
+     * @param col Column index.
+     * @return Primitive type code of all non-null values of the column or {@link #OBJECTS_COLUMN}.
+     */
+    private static byte columnType(List<List<Object>> items, int col) {
+        Class<?> cls = null;
+
+        for (List<Object> row : items) {
+            Object val = row.get(col);
+
+            if (val == null)
+                continue;
+
+            if (cls == null)
+                cls = val.getClass();
+            else if (cls != val.getClass())
+                return OBJECTS_COLUMN;
+        }
+
+        if (cls == Integer.class)
+            return GridBinaryMarshaller.INT;
+        else if (cls == Long.class)
+            return GridBinaryMarshaller.LONG;
+        else if (cls == Double.class)
+            return GridBinaryMarshaller.DOUBLE;
+        else if (cls == Boolean.class)
+            return GridBinaryMarshaller.BOOLEAN;
+        else if (cls == Float.class)
+            return GridBinaryMarshaller.FLOAT;
+        else if (cls == Short.class)
+            return GridBinaryMarshaller.SHORT;
+        else if (cls == Byte.class)
+            return GridBinaryMarshaller.BYTE;
+        else
+            return OBJECTS_COLUMN;
+    }
+
     /**
      * @param writer Binary writer.
      * @param lst List to write.
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.IndexQuery;
+import org.apache.ignite.cache.query.IndexQueryCriteriaBuilder;
+import org.apache.ignite.cache.query.IndexQueryCriterion;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientPlatform;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+import org.apache.ignite.internal.processors.platform.client.tx.ClientTxAwareRequest;
+
+/**
+ * Index query request.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class ClientCacheIndexQueryRequest extends ClientCacheDataRequest implements ClientTxAwareRequest {
+    /** Value type name. */
+    private final String valType;
+
+    /** Index name. */
+    private final String idxName;
+
+    /** Criteria. */
+    private final List<IndexQueryCriterion> criteria;
+
+    /** Filter platform. */
+    private final byte filterPlatform;
+
+    /** Filter object. */
+    private final Object filterObj;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Local flag. */
+    private final boolean loc;
+
+    /**
+     * Ctor.
+     *
+     * @param reader Reader.
+     */
+    public ClientCacheIndexQueryRequest(BinaryRawReaderEx reader) {
+        super(reader);
+
+        valType = reader.readString();
+
+        idxName = reader.readString();
+
+        int cnt = reader.readInt();
+
+        criteria = new ArrayList<>(cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            String field = reader.readString();
+            Object lower = reader.readObjectDetached();
+            Object upper = reader.readObjectDetached();
+            boolean lowerIncl = reader.readBoolean();
+            boolean upperIncl = reader.readBoolean();
+
+            criteria.add(IndexQueryCriteriaBuilder.range(field, lower, upper, lowerIncl, upperIncl));
+        }
+
+        filterObj = reader.readObjectDetached();
+
+        filterPlatform = filterObj == null ? 0 : reader.readByte();
+
+        pageSize = reader.readInt();
+
+        loc = reader.readBoolean();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        IgniteCache cache = filterPlatform == ClientPlatform.JAVA && !isKeepBinary() ? rawCache(ctx) : cache(ctx);
+
+        IndexQuery qry = new IndexQuery(valType, idxName)
+            .setCriteria(criteria)
+            .setFilter(ClientCacheScanQueryRequest.createFilter(ctx.kernalContext(), filterObj, filterPlatform))
+            .setPageSize(pageSize)
+            .setLocal(loc);
+
+        ctx.incrementCursors();
+
+        try {
+            QueryCursor cur = cache.query(qry);
+
+            ClientCacheEntryQueryCursor cliCur = new ClientCacheEntryQueryCursor(cur, pageSize, ctx);
+
+            long cursorId = ctx.resources().put(cliCur);
+
+            cliCur.id(cursorId);
+
+            return new ClientCacheQueryResponse(requestId(), cliCur);
+        }
+        catch (Exception e) {
+            ctx.decrementCursors();
+
+            throw e;
+        }
+    }
+}
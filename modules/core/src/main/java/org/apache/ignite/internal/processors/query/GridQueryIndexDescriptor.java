@@ -47,6 +47,16 @@ public interface GridQueryIndexDescriptor {
      */
     public boolean descending(String field);
 
+    /**
+     * Checks if the indexed field is an SQL expression over the table columns rather than a field name.
+     *
+     * @param field Field name or expression.
+     * @return {@code True} if given field is an expression.
+     */
+    public default boolean expression(String field) {
+        return false;
+    }
+
     /**
      * Gets index type.
      *
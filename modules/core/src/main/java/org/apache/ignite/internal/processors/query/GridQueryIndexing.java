@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.query;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -26,9 +27,11 @@ import java.util.TimeZone;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteDataStreamer;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.IndexQueryCriterion;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.cache.query.SqlQuery;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.commandline.cache.check_indexes_inline_size.IndexInlineStatistics;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.managers.IgniteMBeansManager;
 import org.apache.ignite.internal.pagemem.PageMemory;
@@ -144,6 +147,37 @@ public interface GridQueryIndexing {
     public <K, V> GridCloseableIterator<IgniteBiTuple<K, V>> queryLocalText(String schemaName, String cacheName,
         String qry, String typeName, IndexingQueryFilter filter) throws IgniteCheckedException;
 
+    /**
+     * Executes index range query.
+     *
+     * @param schemaName Schema name.
+     * @param cacheName Cache name.
+     * @param typeName Type name.
+     * @param idxName Index name.
+     * @param criteria Criteria, set for a prefix of the index fields.
+     * @param filter Cache name and key filter.
+     * @return Queried rows in the index order.
+     * @throws IgniteCheckedException If failed.
+     */
+    public <K, V> GridCloseableIterator<IgniteBiTuple<K, V>> queryLocalIndex(String schemaName, String cacheName,
+        String typeName, String idxName, List<IndexQueryCriterion> criteria, IndexingQueryFilter filter)
+        throws IgniteCheckedException;
+
+    /**
+     * Creates comparator of the cache entries which sorts entries in the order of the index, used to merge
+     * index query results of several nodes. Keys and values of the entries are in binary form.
+     *
+     * @param schemaName Schema name.
+     * @param cacheName Cache name.
+     * @param typeName Type name.
+     * @param idxName Index name.
+     * @return Comparator or {@code null} if the index order can't be reproduced locally.
+     */
+    @Nullable default Comparator<Map.Entry<?, ?>> indexQueryComparator(String schemaName, String cacheName,
+        String typeName, String idxName) {
+        return null;
+    }
+
     /**
      * Create new index locally.
      *
@@ -330,7 +364,8 @@ public interface GridQueryIndexing {
         throws IgniteCheckedException;
 
     /**
-     * Rebuild indexes for the given cache if necessary.
+     * Rebuild indexes for the given cache if necessary. Called for every cache started on node start, including
+     * caches without data.
      *
      * @param cctx Cache context.
      * @return Future completed when index rebuild finished.
@@ -494,6 +529,16 @@ public interface GridQueryIndexing {
         return Collections.emptyMap();
     }
 
+    /**
+     * Inlining statistics of secondary indexes: effective and recommended inline sizes and the number of comparisons
+     * that required a data page read.
+     *
+     * @return Map with statistics. The key of entry is a full index name (with schema and table name).
+     */
+    default Map<String, IndexInlineStatistics> secondaryIndexesInlineStatistics() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Setup cluster timezone ID used for date time conversion.
      *
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -49,7 +50,9 @@ import org.apache.ignite.cache.CacheMode;
 import org.apache.ignite.cache.CacheWriteSynchronizationMode;
 import org.apache.ignite.cache.QueryEntity;
 import org.apache.ignite.cache.QueryIndex;
+import org.apache.ignite.cache.QueryIndexType;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.IndexQueryCriterion;
 import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.cache.query.SqlQuery;
@@ -61,6 +64,7 @@ import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.IgniteFeatures;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.commandline.cache.check_indexes_inline_size.IndexInlineStatistics;
 import org.apache.ignite.internal.managers.communication.GridMessageListener;
 import org.apache.ignite.internal.processors.GridProcessorAdapter;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
@@ -69,7 +73,6 @@ import org.apache.ignite.internal.processors.cache.CacheObjectContext;
 import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
-import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
 import org.apache.ignite.internal.processors.cache.QueryCursorImpl;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
@@ -140,6 +143,9 @@ public class GridQueryProcessor extends GridProcessorAdapter {
     /** */
     private static final String INLINE_SIZES_DISCO_BAG_KEY = "inline_sizes";
 
+    /** Suffix of the temporary index that serves queries while an index is recreated with a new inline size. */
+    public static final String TMP_INLINE_SIZE_IDX_SUFFIX = "_INLINE_SIZE_TMP";
+
     /** Warn message if some indexes have different inline sizes on the nodes. */
     public static final String INLINE_SIZES_DIFFER_WARN_MSG_FORMAT = "Inline sizes on local node and node %s are different. Please drop and create again these indexes to avoid performance problems with SQL queries. Problem indexes: %s";
 
@@ -453,6 +459,108 @@ public class GridQueryProcessor extends GridProcessorAdapter {
         return idx != null ? idx.secondaryIndexesInlineSize() : Collections.emptyMap();
     }
 
+    /**
+     * @return Inlining statistics of secondary indexes. Key is a full index name.
+     * @see GridQueryIndexing#secondaryIndexesInlineStatistics()
+     */
+    public Map<String, IndexInlineStatistics> secondaryIndexesInlineStatistics() {
+        return idx != null ? idx.secondaryIndexesInlineStatistics() : Collections.emptyMap();
+    }
+
+    /**
+     * Recreates secondary index with the given inline size. A temporary index over the same fields is built first,
+     * so queries can use it while the index is dropped and built again. If the index can't be created with the new
+     * inline size, it's restored with the old one.
+     *
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @param idxName Index name.
+     * @param inlineSize New inline size.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void changeIndexInlineSize(String schemaName, String tblName, String idxName, int inlineSize)
+        throws IgniteCheckedException {
+        QueryIndexDescriptorImpl oldIdx = idxs.get(new QueryIndexKey(schemaName, idxName));
+
+        if (oldIdx == null || !F.eq(oldIdx.typeDescriptor().tableName(), tblName))
+            throw new SchemaOperationException(SchemaOperationException.CODE_INDEX_NOT_FOUND, idxName);
+
+        if (oldIdx.type() != QueryIndexType.SORTED)
+            throw new IgniteCheckedException("Inline size can be changed only for sorted indexes: " + idxName);
+
+        String tmpIdxName = idxName + TMP_INLINE_SIZE_IDX_SUFFIX;
+
+        if (idxs.containsKey(new QueryIndexKey(schemaName, tmpIdxName)))
+            throw new SchemaOperationException(SchemaOperationException.CODE_INDEX_EXISTS, tmpIdxName);
+
+        String cacheName = oldIdx.typeDescriptor().cacheName();
+
+        dynamicIndexCreate(cacheName, schemaName, tblName, sortedIndex(oldIdx, tmpIdxName, inlineSize), false, 0)
+            .get();
+
+        IgniteCheckedException err = null;
+
+        try {
+            dynamicIndexDrop(cacheName, schemaName, idxName, false).get();
+
+            try {
+                dynamicIndexCreate(cacheName, schemaName, tblName, sortedIndex(oldIdx, idxName, inlineSize), false, 0)
+                    .get();
+            }
+            catch (IgniteCheckedException e) {
+                try {
+                    dynamicIndexCreate(cacheName, schemaName, tblName,
+                        sortedIndex(oldIdx, idxName, oldIdx.inlineSize()), true, 0).get();
+                }
+                catch (IgniteCheckedException e0) {
+                    e.addSuppressed(e0);
+                }
+
+                throw e;
+            }
+        }
+        catch (IgniteCheckedException e) {
+            err = e;
+        }
+
+        try {
+            dynamicIndexDrop(cacheName, schemaName, tmpIdxName, true).get();
+        }
+        catch (IgniteCheckedException e) {
+            if (err == null)
+                err = e;
+            else
+                err.addSuppressed(e);
+        }
+
+        if (err != null)
+            throw err;
+    }
+
+    /**
+     * @param idx Sorted index.
+     * @param name Name of the new index.
+     * @param inlineSize Inline size of the new index.
+     * @return Index over the same fields as the given one.
+     */
+    private static QueryIndex sortedIndex(QueryIndexDescriptorImpl idx, String name, int inlineSize) {
+        LinkedHashMap<String, Boolean> flds = new LinkedHashMap<>();
+
+        Set<String> exprFlds = new HashSet<>();
+
+        for (String fld : idx.fields()) {
+            flds.put(fld, !idx.descending(fld));
+
+            if (idx.expression(fld))
+                exprFlds.add(fld);
+        }
+
+        return new QueryIndex(flds, QueryIndexType.SORTED)
+            .setName(name)
+            .setInlineSize(inlineSize)
+            .setExpressionFields(exprFlds.isEmpty() ? null : exprFlds);
+    }
+
     /**
      * Checks that node with {@code nodeId} is supported {@link IgniteFeatures#CHECK_INDEX_INLINE_SIZES}.
      *
@@ -1195,7 +1303,8 @@ public class GridQueryProcessor extends GridProcessorAdapter {
             else {
                 // Make sure that index can be applied to the given table.
                 for (String idxField : idx.getFieldNames()) {
-                    if (!type.fields().containsKey(idxField)) {
+                    // Expressions are validated by the indexing when the index is created.
+                    if (!QueryUtils.isIndexExpression(idx, idxField) && !type.fields().containsKey(idxField)) {
                         err = new SchemaOperationException(SchemaOperationException.CODE_COLUMN_NOT_FOUND,
                             idxField);
 
@@ -1394,7 +1503,8 @@ public class GridQueryProcessor extends GridProcessorAdapter {
                             oldEntityFields.add(alias.getValue());
                         }
 
-                        if (!oldEntityFields.contains(fieldName)) {
+                        if (!QueryUtils.isIndexExpression(op0.index(), fieldName) &&
+                            !oldEntityFields.contains(fieldName)) {
                             err = new SchemaOperationException(SchemaOperationException.CODE_COLUMN_NOT_FOUND,
                                 fieldName);
 
@@ -2112,20 +2222,6 @@ public class GridQueryProcessor extends GridProcessorAdapter {
         if (rebuildIsMeaningless(cctx))
             return null;
 
-        // No need to rebuild if cache has no data.
-        boolean empty = true;
-
-        for (IgniteCacheOffheapManager.CacheDataStore store : cctx.offheap().cacheDataStores()) {
-            if (!store.isEmpty()) {
-                empty = false;
-
-                break;
-            }
-        }
-
-        if (empty)
-            return null;
-
         if (!busyLock.enterBusy()) {
             return new GridFinishedFuture<>(new NodeStoppingException("Failed to rebuild indexes from hash " +
                 "(grid is stopping)."));
@@ -2987,6 +3083,82 @@ public class GridQueryProcessor extends GridProcessorAdapter {
         }
     }
 
+    /**
+     * @param cacheName Cache name.
+     * @param valType Value type name.
+     * @param idxName Index name, {@code null} to choose the index by the fields of the criteria.
+     * @param criteria Criteria.
+     * @param filters Key and value filters.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return Key/value rows in the index order.
+     * @throws IgniteCheckedException If failed.
+     */
+    public <K, V> GridCloseableIterator<IgniteBiTuple<K, V>> queryIndex(String cacheName, String valType,
+        @Nullable String idxName, List<IndexQueryCriterion> criteria, IndexingQueryFilter filters)
+        throws IgniteCheckedException {
+        checkEnabled();
+
+        if (!busyLock.enterBusy())
+            throw new IllegalStateException("Failed to execute query (grid is stopping).");
+
+        try {
+            final GridCacheContext<?, ?> cctx = ctx.cache().internalCache(cacheName).context();
+
+            IndexQueryDescriptor desc = indexQueryDescriptor(cacheName, valType, idxName, criteria);
+
+            return executeQuery(GridCacheQueryType.INDEX, desc.indexName(), cctx,
+                new IgniteOutClosureX<GridCloseableIterator<IgniteBiTuple<K, V>>>() {
+                    @Override public GridCloseableIterator<IgniteBiTuple<K, V>> applyx() throws IgniteCheckedException {
+                        return idx.queryLocalIndex(idx.schema(cacheName), cacheName, desc.type().name(),
+                            desc.indexName(), criteria, filters);
+                    }
+                }, true);
+        }
+        finally {
+            busyLock.leaveBusy();
+        }
+    }
+
+    /**
+     * Chooses index for the index query.
+     *
+     * @param cacheName Cache name.
+     * @param valType Value type name.
+     * @param idxName Index name, {@code null} to choose the index by the fields of the criteria.
+     * @param criteria Criteria.
+     * @return Index descriptor.
+     * @throws IgniteCheckedException If index is not found or criteria don't match the index.
+     */
+    public IndexQueryDescriptor indexQueryDescriptor(@Nullable String cacheName, String valType,
+        @Nullable String idxName, List<IndexQueryCriterion> criteria) throws IgniteCheckedException {
+        QueryTypeDescriptorImpl type = typesByName.get(new QueryTypeNameKey(cacheName, valType));
+
+        if (type == null)
+            throw new IgniteCheckedException("Failed to find SQL table for type: " + valType);
+
+        return IndexQueryDescriptor.resolve(type, idxName, criteria);
+    }
+
+    /**
+     * Creates comparator which merges index query results of several nodes in the index order.
+     *
+     * @param cacheName Cache name.
+     * @param desc Index descriptor.
+     * @return Comparator of the cache entries with keys and values in binary form.
+     */
+    public Comparator<Map.Entry<?, ?>> indexQueryComparator(String cacheName, IndexQueryDescriptor desc) {
+        if (idx != null) {
+            Comparator<Map.Entry<?, ?>> cmp = idx.indexQueryComparator(idx.schema(cacheName), cacheName,
+                desc.type().name(), desc.indexName());
+
+            if (cmp != null)
+                return cmp;
+        }
+
+        return desc.comparator();
+    }
+
     /**
      * Gets types for cache.
      *
@@ -17,11 +17,13 @@
 package org.apache.ignite.internal.processors.query;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryType;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.processors.tracing.MTC;
 import org.apache.ignite.internal.processors.tracing.Span;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Query descriptor.
@@ -65,6 +67,12 @@ public class GridRunningQueryInfo {
     /** Span of the running query. */
     private final Span span;
 
+    /** CPU time in nanoseconds consumed by the query on the reduce node and all map nodes. */
+    private final LongAdder cpuTime = new LongAdder();
+
+    /** Session sharing a slot of SQL admission control with the query, {@code null} if the query holds no slot. */
+    private String admissionSes;
+
     /**
      * Constructor.
      *
@@ -208,6 +216,35 @@ public class GridRunningQueryInfo {
         return S.toString(GridRunningQueryInfo.class, this);
     }
 
+    /**
+     * @return CPU time in nanoseconds consumed by the query so far.
+     */
+    public long cpuTime() {
+        return cpuTime.sum();
+    }
+
+    /**
+     * @param time CPU time in nanoseconds consumed by a part of the query.
+     */
+    public void addCpuTime(long time) {
+        if (time > 0)
+            cpuTime.add(time);
+    }
+
+    /**
+     * @return Session sharing a slot of SQL admission control with the query, {@code null} if the query holds no slot.
+     */
+    @Nullable String admissionSession() {
+        return admissionSes;
+    }
+
+    /**
+     * @param admissionSes Session sharing a slot of SQL admission control with the query.
+     */
+    void admissionSession(@Nullable String admissionSes) {
+        this.admissionSes = admissionSes;
+    }
+
     /**
      * @return Span of the running query.
      */
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.QueryIndexType;
+import org.apache.ignite.cache.query.IndexQueryCriterion;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.query.QueryUtils.KEY_FIELD_NAME;
+import static org.apache.ignite.internal.processors.query.QueryUtils.PRIMARY_KEY_INDEX;
+import static org.apache.ignite.internal.processors.query.QueryUtils.VAL_FIELD_NAME;
+
+/**
+ * Index chosen for {@link org.apache.ignite.cache.query.IndexQuery}.
+ */
+public class IndexQueryDescriptor {
+    /** Type descriptor. */
+    private final GridQueryTypeDescriptor type;
+
+    /** Index name. */
+    private final String idxName;
+
+    /** Index fields. */
+    private final List<String> fields;
+
+    /** Descending flags of the index fields. */
+    private final boolean[] desc;
+
+    /**
+     * @param type Type descriptor.
+     * @param idxName Index name.
+     * @param fields Index fields.
+     * @param desc Descending flags of the index fields.
+     */
+    private IndexQueryDescriptor(GridQueryTypeDescriptor type, String idxName, List<String> fields, boolean[] desc) {
+        this.type = type;
+        this.idxName = idxName;
+        this.fields = fields;
+        this.desc = desc;
+    }
+
+    /**
+     * Chooses index for the query and validates criteria against it.
+     *
+     * @param type Type descriptor.
+     * @param idxName Index name, {@code null} to choose the index by the fields of the criteria.
+     * @param criteria Criteria.
+     * @return Index descriptor.
+     * @throws IgniteCheckedException If index is not found or criteria don't match the index.
+     */
+    public static IndexQueryDescriptor resolve(GridQueryTypeDescriptor type, @Nullable String idxName,
+        List<IndexQueryCriterion> criteria) throws IgniteCheckedException {
+        List<IndexQueryDescriptor> candidates = new ArrayList<>();
+
+        candidates.add(new IndexQueryDescriptor(type, PRIMARY_KEY_INDEX,
+            Collections.singletonList(F.isEmpty(type.keyFieldName()) ? KEY_FIELD_NAME : type.keyFieldName()),
+            new boolean[1]));
+
+        for (GridQueryIndexDescriptor idx : type.indexes().values()) {
+            if (idx.type() != QueryIndexType.SORTED)
+                continue;
+
+            List<String> fields = new ArrayList<>(idx.fields());
+            boolean[] desc = new boolean[fields.size()];
+
+            for (int i = 0; i < desc.length; i++)
+                desc[i] = idx.descending(fields.get(i));
+
+            candidates.add(new IndexQueryDescriptor(type, idx.name(), fields, desc));
+        }
+
+        for (IndexQueryDescriptor candidate : candidates) {
+            if (idxName != null ? candidate.idxName.equalsIgnoreCase(idxName) : candidate.matches(criteria)) {
+                if (!candidate.matches(criteria)) {
+                    throw new IgniteCheckedException("Index query criteria must be set for a prefix of the index " +
+                        "fields [idx=" + candidate.idxName + ", idxFields=" + candidate.fields + ", criteria=" +
+                        criteria + ']');
+                }
+
+                return candidate;
+            }
+        }
+
+        if (idxName != null)
+            throw new IgniteCheckedException("Index not found [type=" + type.name() + ", idx=" + idxName + ']');
+
+        throw new IgniteCheckedException("No index found for index query criteria [type=" + type.name() +
+            ", criteria=" + criteria + ']');
+    }
+
+    /**
+     * @param criteria Criteria.
+     * @return {@code True} if criteria are set for a prefix of the index fields.
+     */
+    private boolean matches(List<IndexQueryCriterion> criteria) {
+        if (criteria.isEmpty() || criteria.size() > fields.size())
+            return false;
+
+        for (int i = 0; i < criteria.size(); i++) {
+            if (!fields.get(i).equalsIgnoreCase(criteria.get(i).field()))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return Type descriptor.
+     */
+    public GridQueryTypeDescriptor type() {
+        return type;
+    }
+
+    /**
+     * @return Index name.
+     */
+    public String indexName() {
+        return idxName;
+    }
+
+    /**
+     * @return Index fields.
+     */
+    public List<String> fields() {
+        return fields;
+    }
+
+    /**
+     * Creates comparator of the cache entries which sorts entries in the index order. Keys and values of the entries
+     * must be in binary form. Used when the index is not available locally, fails on values which are not comparable.
+     *
+     * @return Comparator.
+     */
+    public Comparator<Map.Entry<?, ?>> comparator() {
+        return (e1, e2) -> {
+            try {
+                for (int i = 0; i < fields.size(); i++) {
+                    String field = fields.get(i);
+
+                    int res = compare(field, value(field, e1), value(field, e2));
+
+                    if (res != 0)
+                        return desc[i] ? -res : res;
+                }
+
+                return 0;
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteException(e);
+            }
+        };
+    }
+
+    /**
+     * @param field Field.
+     * @param e Entry.
+     * @return Field value.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Object value(String field, Map.Entry<?, ?> e) throws IgniteCheckedException {
+        if (KEY_FIELD_NAME.equalsIgnoreCase(field) || field.equals(type.keyFieldName()))
+            return e.getKey();
+
+        if (VAL_FIELD_NAME.equalsIgnoreCase(field) || field.equals(type.valueFieldName()))
+            return e.getValue();
+
+        return type.value(field, e.getKey(), e.getValue());
+    }
+
+    /**
+     * Compares values the same way SQL does: {@code null} is less than any other value. Values which are not
+     * mutually comparable fail the query, since results can't be merged in the index order.
+     *
+     * @param field Field.
+     * @param v1 First value.
+     * @param v2 Second value.
+     * @return Comparison result.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(String field, Object v1, Object v2) {
+        if (v1 == v2)
+            return 0;
+
+        if (v1 == null)
+            return -1;
+
+        if (v2 == null)
+            return 1;
+
+        if (v1 instanceof Comparable) {
+            try {
+                return ((Comparable)v1).compareTo(v2);
+            }
+            catch (ClassCastException e) {
+                throw incomparable(field, v1, v2, e);
+            }
+        }
+
+        throw incomparable(field, v1, v2, null);
+    }
+
+    /**
+     * @param field Field.
+     * @param v1 First value.
+     * @param v2 Second value.
+     * @param cause Cause.
+     * @return Exception.
+     */
+    private static IgniteException incomparable(String field, Object v1, Object v2, @Nullable Throwable cause) {
+        return new IgniteException("Index query results can't be ordered, values of the field are not comparable " +
+            "[field=" + field + ", cls1=" + v1.getClass().getName() + ", cls2=" + v2.getClass().getName() + ']',
+            cause);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(IndexQueryDescriptor.class, this);
+    }
+}
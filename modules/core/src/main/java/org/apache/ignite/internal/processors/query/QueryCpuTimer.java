@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.lang.management.ThreadMXBean;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Measures CPU time consumed by the current thread on behalf of a query.
+ * <p>
+ * Timers may nest, e.g. when the reducer runs a map query of the local node in its own thread. CPU time measured by
+ * a nested timer is not included into the result of the enclosing one, so each nanosecond is accounted once.
+ * <p>
+ * A timer must be stopped in the thread that created it.
+ */
+public class QueryCpuTimer {
+    /** */
+    private static final ThreadMXBean THREAD_MX = U.getThreadMx();
+
+    /** Whether CPU time of the current thread can be measured. */
+    private static final boolean ENABLED = THREAD_MX.isCurrentThreadCpuTimeSupported();
+
+    /** CPU time of the current thread accounted by stopped timers. */
+    private static final ThreadLocal<long[]> ACCOUNTED = ThreadLocal.withInitial(() -> new long[1]);
+
+    /** Thread CPU time at start. */
+    private final long start;
+
+    /** Accounted CPU time at start. */
+    private final long accountedStart;
+
+    /**
+     * Starts the timer.
+     */
+    public QueryCpuTimer() {
+        start = threadCpuTime();
+        accountedStart = ENABLED ? ACCOUNTED.get()[0] : 0;
+    }
+
+    /**
+     * Stops the timer.
+     *
+     * @return CPU time in nanoseconds consumed by the current thread since the timer was started, excluding
+     *      the time measured by nested timers.
+     */
+    public long stop() {
+        if (!ENABLED)
+            return 0;
+
+        long[] accounted = ACCOUNTED.get();
+
+        long total = threadCpuTime() - start;
+
+        long own = total - (accounted[0] - accountedStart);
+
+        accounted[0] = accountedStart + total;
+
+        return Math.max(own, 0);
+    }
+
+    /**
+     * @return CPU time of the current thread in nanoseconds, or {@code 0} if it is not measured.
+     */
+    private static long threadCpuTime() {
+        return ENABLED ? Math.max(THREAD_MX.getCurrentThreadCpuTime(), 0) : 0;
+    }
+}
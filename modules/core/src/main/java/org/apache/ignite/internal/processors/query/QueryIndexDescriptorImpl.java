@@ -46,6 +46,9 @@ public class QueryIndexDescriptorImpl implements GridQueryIndexDescriptor {
     /** Fields which should be indexed in descending order. */
     private Collection<String> descendings;
 
+    /** Fields which are SQL expressions over the table columns. */
+    private Collection<String> exprs;
+
     /** Type descriptor. */
     @GridToStringExclude
     private final QueryTypeDescriptorImpl typDesc;
@@ -108,6 +111,11 @@ public class QueryIndexDescriptorImpl implements GridQueryIndexDescriptor {
         return descendings != null && descendings.contains(field);
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean expression(String field) {
+        return exprs != null && exprs.contains(field);
+    }
+
     /**
      * Adds field to this index.
      *
@@ -119,11 +127,34 @@ public class QueryIndexDescriptorImpl implements GridQueryIndexDescriptor {
      */
     public QueryIndexDescriptorImpl addField(String field, int orderNum, boolean descending)
         throws IgniteCheckedException {
-        if (!typDesc.hasField(field))
+        return addField(field, orderNum, descending, false);
+    }
+
+    /**
+     * Adds field or expression to this index.
+     *
+     * @param field Field name or expression.
+     * @param orderNum Field order number in this index.
+     * @param descending Sort order.
+     * @param expr Whether the field is an SQL expression over the table columns. Expressions are validated by the
+     *      indexing.
+     * @return This instance for chaining.
+     * @throws IgniteCheckedException If failed.
+     */
+    public QueryIndexDescriptorImpl addField(String field, int orderNum, boolean descending, boolean expr)
+        throws IgniteCheckedException {
+        if (!expr && !typDesc.hasField(field))
             throw new IgniteCheckedException("Field not found: " + field);
 
         fields.add(new T2<>(field, orderNum));
 
+        if (expr) {
+            if (exprs == null)
+                exprs = new HashSet<>();
+
+            exprs.add(field);
+        }
+
         if (descending) {
             if (descendings == null)
                 descendings = new HashSet<>();
@@ -111,6 +111,9 @@ public class QueryUtils {
     /** Field name for value. */
     public static final String VAL_FIELD_NAME = "_VAL";
 
+    /** Name of the primary key index. */
+    public static final String PRIMARY_KEY_INDEX = "_key_PK";
+
     /** Well-known template name for PARTITIONED cache. */
     public static final String TEMPLATE_PARTITIONED = "PARTITIONED";
 
@@ -217,7 +220,9 @@ public class QueryUtils {
             StringBuilder idxName = new StringBuilder(tblName + "_");
 
             for (Map.Entry<String, Boolean> field : idx.getFields().entrySet()) {
-                idxName.append(field.getKey());
+                String fieldName = field.getKey();
+
+                idxName.append(isIndexExpression(idx, fieldName) ? fieldName.replaceAll("\\W+", "_") : fieldName);
 
                 idxName.append('_');
                 idxName.append(field.getValue() ? "asc_" : "desc_");
@@ -348,6 +353,7 @@ public class QueryUtils {
             normalIdx.setFields(idx.getFields());
             normalIdx.setIndexType(idx.getIndexType());
             normalIdx.setInlineSize(idx.getInlineSize());
+            normalIdx.setExpressionFields(idx.getExpressionFields());
 
             normalIdx.setName(normalizeObjectName(indexName(normalTblName, idx), false));
 
@@ -770,6 +776,12 @@ public class QueryUtils {
             String field = entry.getKey();
             boolean asc = entry.getValue();
 
+            if (isIndexExpression(idx, field)) {
+                res.addField(field, i++, !asc, true);
+
+                continue;
+            }
+
             String alias = typeDesc.aliases().get(field);
 
             if (alias != null)
@@ -1454,7 +1466,8 @@ public class QueryUtils {
 
         if (indexes != null) {
             for (QueryIndex idxDesc : indexes) {
-                if (idxDesc.getFields().containsKey(fieldName))
+                if (F.exist(idxDesc.getFields().keySet(),
+                    f -> indexFieldUsesColumn(f, isIndexExpression(idxDesc, f), fieldName)))
                     return new SchemaOperationException("Cannot drop column \"" + colName +
                         "\" because an index exists (\"" + idxDesc.getName() + "\") that uses the column.");
             }
@@ -1463,6 +1476,31 @@ public class QueryUtils {
         return null;
     }
 
+    /**
+     * Checks if the index field is an expression over the table columns, e.g. {@code LOWER("EMAIL")}, rather than
+     * a plain field. Such fields are validated and evaluated by the indexing.
+     *
+     * @param idx Index.
+     * @param field Index field.
+     * @return {@code True} if the index field is an expression.
+     */
+    public static boolean isIndexExpression(QueryIndex idx, String field) {
+        return idx.getExpressionFields() != null && idx.getExpressionFields().contains(field);
+    }
+
+    /**
+     * @param idxField Index field.
+     * @param expr Whether the index field is an expression.
+     * @param colName Column name.
+     * @return {@code True} if the index field is the column or an expression referring to the column.
+     */
+    public static boolean indexFieldUsesColumn(String idxField, boolean expr, String colName) {
+        if (expr)
+            return idxField.contains('"' + colName.replace("\"", "\"\"") + '"');
+
+        return idxField.equals(colName);
+    }
+
     /**
      * Checks if given column can be removed from the table using its {@link GridQueryTypeDescriptor}.
      *
@@ -1488,7 +1526,7 @@ public class QueryUtils {
         Collection<GridQueryIndexDescriptor> indexes = type.indexes().values();
 
         for (GridQueryIndexDescriptor idxDesc : indexes) {
-            if (idxDesc.fields().contains(colName))
+            if (F.exist(idxDesc.fields(), f -> indexFieldUsesColumn(f, idxDesc.expression(f), colName)))
                 return new SchemaOperationException("Cannot drop column \"" + colName +
                     "\" because an index exists (\"" + idxDesc.name() + "\") that uses the column.");
         }
@@ -25,11 +25,14 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.configuration.SqlConfiguration;
 import org.apache.ignite.internal.GridKernalContext;
@@ -37,6 +40,7 @@ import org.apache.ignite.internal.managers.communication.GridIoPolicy;
 import org.apache.ignite.internal.managers.systemview.walker.SqlQueryHistoryViewWalker;
 import org.apache.ignite.internal.managers.systemview.walker.SqlQueryViewWalker;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryType;
+import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
 import org.apache.ignite.internal.processors.closure.GridClosureProcessor;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
@@ -47,8 +51,11 @@ import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.spi.systemview.view.SqlQueryHistoryView;
 import org.apache.ignite.spi.systemview.view.SqlQueryView;
+import org.apache.ignite.thread.IgniteThread;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_MAX_CONCURRENT_QUERIES;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_QUERY_QUEUE_TIMEOUT;
 import static org.apache.ignite.internal.processors.cache.query.GridCacheQueryType.SQL;
 import static org.apache.ignite.internal.processors.cache.query.GridCacheQueryType.SQL_FIELDS;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
@@ -73,6 +80,9 @@ public class RunningQueryManager {
     /** Name of the MetricRegistry which metrics measure stats of queries initiated by user. */
     public static final String SQL_USER_QUERIES_REG_NAME = "sql.queries.user";
 
+    /** Default time in milliseconds a query waits for admission. */
+    public static final long DFLT_QRY_QUEUE_TIMEOUT = 30_000L;
+
     /** Dummy memory metric provider that returns only -1's. */
     // This provider used to highlight that query has no tracker at all.
     // It could be intentionally in case of streaming or text queries
@@ -138,6 +148,26 @@ public class RunningQueryManager {
      */
     private final AtomicLongMetric oomQrsCnt;
 
+    /** Number of queries rejected by admission control. */
+    private final AtomicLongMetric rejectedQrsCnt;
+
+    /** CPU time consumed by finished queries. */
+    private final LongAdderMetric cpuTime;
+
+    /** Maximum number of concurrently running admitted queries, {@code 0} if unlimited. */
+    private final int maxConcurrentQrs = IgniteSystemProperties.getInteger(IGNITE_SQL_MAX_CONCURRENT_QUERIES, 0);
+
+    /** Time in milliseconds a query waits for admission. */
+    private final long qryQueueTimeout =
+        IgniteSystemProperties.getLong(IGNITE_SQL_QUERY_QUEUE_TIMEOUT, DFLT_QRY_QUEUE_TIMEOUT);
+
+    /** Admission slots, {@code null} if the number of concurrent queries is unlimited. */
+    @Nullable private final Semaphore admissionSlots =
+        maxConcurrentQrs > 0 ? new Semaphore(maxConcurrentQrs, true) : null;
+
+    /** Numbers of admitted running queries of the sessions holding admission slots. */
+    private final ConcurrentMap<String, Integer> sesSlots = new ConcurrentHashMap<>();
+
     /** */
     private final List<Consumer<GridQueryStartedInfo>> qryStartedListeners = new CopyOnWriteArrayList<>();
 
@@ -171,6 +201,18 @@ public class RunningQueryManager {
         oomQrsCnt = userMetrics.longMetric("failedByOOM", "Number of queries started on this node failed due to " +
             "out of memory protection. This metric number included in the general 'failed' metric.");
 
+        rejectedQrsCnt = userMetrics.longMetric("rejected", "Number of queries started on this node rejected by " +
+            "admission control because no slot was released within the queue timeout.");
+
+        cpuTime = userMetrics.longAdderMetric("cpuTime", "CPU time in nanoseconds consumed on all nodes by " +
+            "finished queries that have been started on this node.");
+
+        userMetrics.register("running", () -> admissionSlots == null ? 0 : maxConcurrentQrs -
+            admissionSlots.availablePermits(), "Number of admission slots held by sessions running queries.");
+
+        userMetrics.register("queued", () -> admissionSlots == null ? 0 : admissionSlots.getQueueLength(),
+            "Number of queries waiting for an admission slot.");
+
         ctx.systemView().registerView(SQL_QRY_VIEW, SQL_QRY_VIEW_DESC,
             new SqlQueryViewWalker(),
             runs.values(),
@@ -195,11 +237,47 @@ public class RunningQueryManager {
     public Long register(String qry, GridCacheQueryType qryType, String schemaName, boolean loc,
         @Nullable GridQueryMemoryMetricProvider memTracker, @Nullable GridQueryCancel cancel,
         String qryInitiatorId) {
-        long qryId = qryIdGen.incrementAndGet();
+        return register(qry, qryType, schemaName, loc, memTracker, cancel, qryInitiatorId, false);
+    }
 
+    /**
+     * Register running query.
+     *
+     * @param qry Query text.
+     * @param qryType Query type.
+     * @param schemaName Schema name.
+     * @param loc Local query flag.
+     * @param cancel Query cancel. Should be passed in case query is cancelable, or {@code null} otherwise.
+     * @param admit Whether the query is subject to admission control, see
+     *      {@link IgniteSystemProperties#IGNITE_SQL_MAX_CONCURRENT_QUERIES}.
+     * @return Id of registered query.
+     * @throws IgniteSQLException If the query is rejected by admission control.
+     */
+    public Long register(String qry, GridCacheQueryType qryType, String schemaName, boolean loc,
+        @Nullable GridQueryMemoryMetricProvider memTracker, @Nullable GridQueryCancel cancel,
+        String qryInitiatorId, boolean admit) {
         if (qryInitiatorId == null)
             qryInitiatorId = SqlFieldsQuery.threadedQueryInitiatorId();
 
+        String admissionSes = null;
+
+        if (admit && admissionSlots != null) {
+            admissionSes = admissionSession(qryInitiatorId);
+
+            if (!admit(admissionSes)) {
+                if (memTracker instanceof AutoCloseable)
+                    U.close((AutoCloseable)memTracker, log);
+
+                rejectedQrsCnt.increment();
+
+                throw new IgniteSQLException("The query was rejected because too many queries are running " +
+                    "[maxConcurrentQueries=" + maxConcurrentQrs + ", queueTimeout=" + qryQueueTimeout +
+                    ", qry=" + qry + ']', IgniteQueryErrorCode.QUERY_REJECTED);
+            }
+        }
+
+        long qryId = qryIdGen.incrementAndGet();
+
         GridRunningQueryInfo run = new GridRunningQueryInfo(
             qryId,
             locNodeId,
@@ -213,6 +291,8 @@ public class RunningQueryManager {
             qryInitiatorId
         );
 
+        run.admissionSession(admissionSes);
+
         GridRunningQueryInfo preRun = runs.putIfAbsent(qryId, run);
 
         assert preRun == null : "Running query already registered [prev_qry=" + preRun + ", newQry=" + run + ']';
@@ -256,6 +336,64 @@ public class RunningQueryManager {
         return qryId;
     }
 
+    /**
+     * @param qryInitiatorId Query initiator ID.
+     * @return Session the query belongs to: the client connection or, for queries of the embedded API, the thread.
+     */
+    private static String admissionSession(@Nullable String qryInitiatorId) {
+        return qryInitiatorId != null ? qryInitiatorId : "thread-" + Thread.currentThread().getId();
+    }
+
+    /**
+     * Admits a query of the session. All queries of a session share a single slot, so a session which keeps a
+     * cursor open can run other queries and never waits for itself. Threads of Ignite pools (client connector,
+     * compute jobs) are never blocked: their queries are rejected at once if no slot is available. Only threads of
+     * the embedded API wait for a slot up to the queue timeout.
+     *
+     * @param ses Session.
+     * @return {@code True} if the query is admitted.
+     */
+    private boolean admit(String ses) {
+        if (sesSlots.computeIfPresent(ses, (k, cnt) -> cnt + 1) != null)
+            return true;
+
+        long timeout = Thread.currentThread() instanceof IgniteThread ? 0 : qryQueueTimeout;
+
+        try {
+            if (!admissionSlots.tryAcquire(timeout, TimeUnit.MILLISECONDS))
+                return false;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+
+        // Another query of the session may have taken a slot meanwhile, the session keeps only one of them.
+        if (sesSlots.merge(ses, 1, Integer::sum) > 1)
+            admissionSlots.release();
+
+        return true;
+    }
+
+    /**
+     * Releases the slot of the session when its last admitted query is finished.
+     *
+     * @param ses Session.
+     */
+    private void releaseAdmission(String ses) {
+        sesSlots.compute(ses, (k, cnt) -> {
+            assert cnt != null : ses;
+
+            if (cnt > 1)
+                return cnt - 1;
+
+            admissionSlots.release();
+
+            return null;
+        });
+    }
+
     /**
      * Unregister running query.
      *
@@ -274,6 +412,9 @@ public class RunningQueryManager {
         if (qry == null)
             return;
 
+        if (qry.admissionSession() != null)
+            releaseAdmission(qry.admissionSession());
+
         Span qrySpan = qry.span();
 
         try {
@@ -328,6 +469,8 @@ public class RunningQueryManager {
 
                 qryHistTracker.collectHistory(qry, failed);
 
+                cpuTime.add(qry.cpuTime());
+
                 if (!failed)
                     successQrsCnt.increment();
                 else {
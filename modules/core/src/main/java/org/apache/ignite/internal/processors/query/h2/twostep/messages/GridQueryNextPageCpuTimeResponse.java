@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep.messages;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import org.apache.ignite.internal.IgniteCodeGeneratingFail;
+import org.apache.ignite.internal.IgniteFeatures;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+
+/**
+ * Next page response carrying CPU time the map node consumed to produce the page.
+ * Sent only to reducers supporting {@link IgniteFeatures#SQL_QUERY_CPU_TIME}, others get a plain response.
+ */
+@IgniteCodeGeneratingFail
+public class GridQueryNextPageCpuTimeResponse extends GridQueryNextPageResponse {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** CPU time in nanoseconds consumed by the map node to produce this page. */
+    private long cpuTime;
+
+    /**
+     * Default constructor.
+     */
+    public GridQueryNextPageCpuTimeResponse() {
+        // No-op.
+    }
+
+    /**
+     * @param qryReqId Query request ID.
+     * @param segmentId Index segment ID.
+     * @param qry Query.
+     * @param page Page.
+     * @param allRows All rows count.
+     * @param cols Number of columns in row.
+     * @param vals Values for rows in this page added sequentially.
+     * @param plainRows Not marshalled rows for local node.
+     * @param last Last page flag.
+     * @param cpuTime CPU time in nanoseconds consumed by the map node to produce this page.
+     */
+    public GridQueryNextPageCpuTimeResponse(long qryReqId, int segmentId, int qry, int page, int allRows, int cols,
+        Collection<Message> vals, Collection<?> plainRows, boolean last, long cpuTime) {
+        super(qryReqId, segmentId, qry, page, allRows, cols, vals, plainRows, last);
+
+        this.cpuTime = cpuTime;
+    }
+
+    /**
+     * @return CPU time in nanoseconds consumed by the map node to produce this page.
+     */
+    public long cpuTime() {
+        return cpuTime;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!super.writeTo(buf, writer))
+            return false;
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 11:
+                if (!writer.writeLong("cpuTime", cpuTime))
+                    return false;
+
+                writer.incrementState();
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        if (!super.readFrom(buf, reader))
+            return false;
+
+        switch (reader.state()) {
+            case 11:
+                cpuTime = reader.readLong("cpuTime");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+        }
+
+        return reader.afterMessageRead(GridQueryNextPageCpuTimeResponse.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return 179;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 12;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridQueryNextPageCpuTimeResponse.class, this, "super", super.toString());
+    }
+}
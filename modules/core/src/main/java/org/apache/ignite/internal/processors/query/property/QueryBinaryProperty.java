@@ -22,8 +22,11 @@ import org.apache.ignite.binary.BinaryObject;
 import org.apache.ignite.binary.BinaryObjectBuilder;
 import org.apache.ignite.binary.BinaryType;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.binary.BinaryFieldImpl;
 import org.apache.ignite.internal.binary.BinaryObjectEx;
 import org.apache.ignite.internal.binary.BinaryObjectExImpl;
+import org.apache.ignite.internal.binary.BinaryObjectImpl;
+import org.apache.ignite.internal.binary.BinarySchema;
 import org.apache.ignite.internal.processors.query.GridQueryProperty;
 import org.apache.ignite.internal.util.typedef.F;
 
@@ -224,6 +227,27 @@ public class QueryBinaryProperty implements GridQueryProperty {
             return obj.field(propName);
     }
 
+    /**
+     * Gets position of the serialized property value in the array of the given key or value, so the value can be
+     * read without unmarshalling.
+     *
+     * @param obj Key or value this property belongs to.
+     * @return Position of the value header or {@code -1} if the value can't be located in the serialized object.
+     */
+    public int fieldPosition(BinaryObjectImpl obj) {
+        if (parent != null)
+            return -1;
+
+        BinaryField field = binaryField(obj);
+
+        if (!(field instanceof BinaryFieldImpl))
+            return -1;
+
+        int order = ((BinaryFieldImpl)field).fieldOrder(obj);
+
+        return order != BinarySchema.ORDER_NOT_FOUND ? obj.fieldPosition(order) : -1;
+    }
+
     /** {@inheritDoc} */
     @Override public String name() {
         return alias;
@@ -37,6 +37,9 @@ public class SqlKeyword {
     /** Keyword: ALLOW_OVERWRITE */
     public static final String ALLOW_OVERWRITE = "ALLOW_OVERWRITE";
 
+    /** Keyword: ANALYZE. */
+    public static final String ANALYZE = "ANALYZE";
+
     /** Keyword: ASC. */
     public static final String ASC = "ASC";
 
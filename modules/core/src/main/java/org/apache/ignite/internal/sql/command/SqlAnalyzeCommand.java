@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.sql.command;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import org.apache.ignite.internal.sql.SqlLexer;
+import org.apache.ignite.internal.sql.SqlLexerTokenType;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+import static org.apache.ignite.internal.sql.SqlParserUtils.parseQualifiedIdentifier;
+
+/**
+ * ANALYZE command: collects column statistics of the given tables.
+ * <p>
+ * Syntax: {@code ANALYZE [schema.]table [, [schema.]table ...]}.
+ */
+public class SqlAnalyzeCommand implements SqlCommand {
+    /** Default schema name. */
+    private String schemaName;
+
+    /** Tables. */
+    private final Collection<SqlQualifiedName> tbls = new ArrayList<>();
+
+    /** {@inheritDoc} */
+    @Override public String schemaName() {
+        return schemaName;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void schemaName(String schemaName) {
+        this.schemaName = schemaName;
+    }
+
+    /**
+     * @return Tables, schema name of a table is {@code null} if it is not specified explicitly.
+     */
+    public Collection<SqlQualifiedName> tables() {
+        return tbls;
+    }
+
+    /** {@inheritDoc} */
+    @Override public SqlCommand parse(SqlLexer lex) {
+        while (true) {
+            tbls.add(parseQualifiedIdentifier(lex));
+
+            if (lex.lookAhead().tokenType() != SqlLexerTokenType.COMMA)
+                break;
+
+            lex.shift();
+        }
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(SqlAnalyzeCommand.class, this);
+    }
+}
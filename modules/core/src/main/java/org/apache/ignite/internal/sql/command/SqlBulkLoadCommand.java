@@ -58,6 +58,9 @@ public class SqlBulkLoadCommand implements SqlCommand {
     /** Packet size (size of portion of a file sent in each sub-request). */
     private Integer packetSize;
 
+    /** Number of threads converting and streaming the parsed records of a packet. */
+    private Integer parallel;
+
     /**
      * Parses the command.
      *
@@ -243,6 +246,18 @@ public class SqlBulkLoadCommand implements SqlCommand {
 
                     break;
 
+                case SqlKeyword.PARALLEL:
+                    lex.shift();
+
+                    int par = parseInt(lex);
+
+                    if (par <= 0)
+                        throw error(lex, "Illegal " + SqlKeyword.PARALLEL + " value. Should be positive: " + par);
+
+                    parallel = par;
+
+                    break;
+
                 default:
                     return;
             }
@@ -354,6 +369,24 @@ public class SqlBulkLoadCommand implements SqlCommand {
         this.packetSize = packetSize;
     }
 
+    /**
+     * Returns the number of threads converting and streaming the parsed records.
+     *
+     * @return The number of threads or {@code null} if not specified.
+     */
+    public Integer parallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets the number of threads converting and streaming the parsed records.
+     *
+     * @param parallel The number of threads.
+     */
+    public void parallel(int parallel) {
+        this.parallel = parallel;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(SqlBulkLoadCommand.class, this);
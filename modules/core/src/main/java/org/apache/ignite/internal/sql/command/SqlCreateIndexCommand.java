@@ -204,9 +204,25 @@ public class SqlCreateIndexCommand implements SqlCommand {
      * @param lex Lexer.
      */
     private void parseIndexColumn(SqlLexer lex) {
-        String name = parseIdentifier(lex);
+        String name;
+        boolean expr = false;
         boolean desc = false;
 
+        SqlLexerToken firstToken = lex.lookAhead();
+
+        if (firstToken.tokenType() == SqlLexerTokenType.PARENTHESIS_LEFT) {
+            name = parseIndexExpression(lex, firstToken.tokenPosition());
+            expr = true;
+        }
+        else {
+            name = parseIdentifier(lex);
+
+            if (lex.lookAhead().tokenType() == SqlLexerTokenType.PARENTHESIS_LEFT) {
+                name = parseIndexExpression(lex, lex.tokenPosition());
+                expr = true;
+            }
+        }
+
         SqlLexerToken nextToken = lex.lookAhead();
 
         if (matchesKeyword(nextToken, ASC) || matchesKeyword(nextToken, DESC)) {
@@ -216,7 +232,32 @@ public class SqlCreateIndexCommand implements SqlCommand {
                 desc = true;
         }
 
-        addColumn(lex, new SqlIndexColumn(name, desc));
+        addColumn(lex, new SqlIndexColumn(name, desc, expr));
+    }
+
+    /**
+     * Parses an index expression, e.g. a function call or an expression in parentheses. The expression text is kept
+     * as is and is validated by the indexing.
+     *
+     * @param lex Lexer positioned before the left parenthesis of the expression.
+     * @param start Expression start position.
+     * @return Expression SQL.
+     */
+    private static String parseIndexExpression(SqlLexer lex, int start) {
+        int depth = 0;
+
+        do {
+            if (!lex.shift())
+                throw errorUnexpectedToken(lex, ")");
+
+            if (lex.tokenType() == SqlLexerTokenType.PARENTHESIS_LEFT)
+                depth++;
+            else if (lex.tokenType() == SqlLexerTokenType.PARENTHESIS_RIGHT)
+                depth--;
+        }
+        while (depth > 0);
+
+        return lex.sql().substring(start, lex.position());
     }
 
     /**
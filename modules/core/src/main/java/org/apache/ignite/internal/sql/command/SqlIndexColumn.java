@@ -28,6 +28,9 @@ public class SqlIndexColumn {
     /** Descending flag. */
     private final boolean desc;
 
+    /** Whether the column is an expression over the table columns. */
+    private final boolean expr;
+
     /**
      * Constructor.
      *
@@ -35,12 +38,24 @@ public class SqlIndexColumn {
      * @param desc Descending flag.
      */
     public SqlIndexColumn(String name, boolean desc) {
+        this(name, desc, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name Column name or expression SQL.
+     * @param desc Descending flag.
+     * @param expr Whether the column is an expression over the table columns.
+     */
+    public SqlIndexColumn(String name, boolean desc, boolean expr) {
         this.name = name;
         this.desc = desc;
+        this.expr = expr;
     }
 
     /**
-     * @return Column name.
+     * @return Column name or expression SQL.
      */
     public String name() {
         return name;
@@ -53,6 +68,13 @@ public class SqlIndexColumn {
         return desc;
     }
 
+    /**
+     * @return Whether the column is an expression over the table columns.
+     */
+    public boolean expression() {
+        return expr;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(SqlIndexColumn.class, this);
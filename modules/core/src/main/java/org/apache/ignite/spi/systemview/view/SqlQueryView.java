@@ -75,6 +75,15 @@ public class SqlQueryView {
         return qry.local();
     }
 
+    /**
+     * Returns CPU time consumed by the query on the reduce node and all map nodes.
+     *
+     * @return CPU time in nanoseconds.
+     */
+    public long cpuTime() {
+        return qry.cpuTime();
+    }
+
     /**
      * Returns current allocated size of data on disk.
      *
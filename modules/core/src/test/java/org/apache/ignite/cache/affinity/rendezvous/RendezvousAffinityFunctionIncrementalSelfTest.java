@@ -0,0 +1,202 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.affinity.rendezvous;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.events.DiscoveryEvent;
+import org.apache.ignite.events.EventType;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.affinity.GridAffinityFunctionContextImpl;
+import org.apache.ignite.testframework.GridTestNode;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests incremental recalculation of {@link RendezvousAffinityFunction} assignment and sharing of assignment
+ * between cache groups with identical affinity.
+ */
+public class RendezvousAffinityFunctionIncrementalSelfTest extends GridCommonAbstractTest {
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCacheConfiguration(
+            cacheConfiguration("cache1", "grp1"),
+            cacheConfiguration("cache2", "grp2"),
+            cacheConfiguration("cache3", "grp3").setBackups(2));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @param name Cache name.
+     * @param grpName Cache group name.
+     * @return Cache configuration.
+     */
+    private CacheConfiguration<Object, Object> cacheConfiguration(String name, String grpName) {
+        return new CacheConfiguration<>(name)
+            .setGroupName(grpName)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, 256));
+    }
+
+    /** */
+    @Test
+    public void testRandomJoinLeaveNoBackups() {
+        checkRandomJoinLeave(0);
+    }
+
+    /** */
+    @Test
+    public void testRandomJoinLeaveOneBackup() {
+        checkRandomJoinLeave(1);
+    }
+
+    /** */
+    @Test
+    public void testRandomJoinLeaveThreeBackups() {
+        checkRandomJoinLeave(3);
+    }
+
+    /**
+     * Previous assignment doesn't match previous topology when several nodes joined at once (merged exchange).
+     */
+    @Test
+    public void testSeveralNodesJoined() {
+        RendezvousAffinityFunction aff = new RendezvousAffinityFunction(false, 256);
+
+        List<ClusterNode> nodes = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++)
+            nodes.add(new GridTestNode(UUID.randomUUID()));
+
+        List<List<ClusterNode>> prev = assignFully(aff, nodes, 1, 0);
+
+        nodes.add(new GridTestNode(UUID.randomUUID()));
+
+        ClusterNode last = new GridTestNode(UUID.randomUUID());
+
+        nodes.add(last);
+
+        DiscoveryEvent evt = new DiscoveryEvent(last, "", EventType.EVT_NODE_JOINED, last);
+
+        List<List<ClusterNode>> assignment = aff.assignPartitions(
+            new GridAffinityFunctionContextImpl(new ArrayList<>(nodes), prev, evt, new AffinityTopologyVersion(1), 1));
+
+        assertEquals(assignFully(aff, nodes, 1, 1), assignment);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAssignmentSharedBetweenGroups() throws Exception {
+        IgniteEx crd = startGrids(3);
+
+        awaitPartitionMapExchange();
+
+        checkShared(crd);
+
+        stopGrid(1);
+
+        awaitPartitionMapExchange();
+
+        checkShared(crd);
+        checkShared(grid(2));
+    }
+
+    /**
+     * @param node Node.
+     */
+    private void checkShared(IgniteEx node) {
+        List<List<ClusterNode>> aff1 = node.cachex("cache1").context().group().affinity().idealAssignmentRaw();
+        List<List<ClusterNode>> aff2 = node.cachex("cache2").context().group().affinity().idealAssignmentRaw();
+        List<List<ClusterNode>> aff3 = node.cachex("cache3").context().group().affinity().idealAssignmentRaw();
+
+        assertSame(aff1, aff2);
+        assertNotSame(aff1, aff3);
+    }
+
+    /**
+     * @param backups Number of backups.
+     */
+    private void checkRandomJoinLeave(int backups) {
+        RendezvousAffinityFunction aff = new RendezvousAffinityFunction(false, 256);
+
+        Random rnd = new Random();
+
+        List<ClusterNode> nodes = new ArrayList<>();
+
+        List<List<ClusterNode>> prev = null;
+
+        for (int i = 0; i < 100; i++) {
+            DiscoveryEvent evt;
+
+            if (nodes.size() < 2 || (nodes.size() < 20 && rnd.nextBoolean())) {
+                ClusterNode node = new GridTestNode(UUID.randomUUID());
+
+                nodes.add(node);
+
+                evt = new DiscoveryEvent(node, "", EventType.EVT_NODE_JOINED, node);
+            }
+            else {
+                ClusterNode node = nodes.remove(rnd.nextInt(nodes.size()));
+
+                evt = new DiscoveryEvent(node, "", EventType.EVT_NODE_LEFT, node);
+            }
+
+            List<List<ClusterNode>> assignment = aff.assignPartitions(new GridAffinityFunctionContextImpl(
+                new ArrayList<>(nodes), prev, evt, new AffinityTopologyVersion(i), backups));
+
+            assertEquals("Unexpected assignment [iter=" + i + ", evt=" + evt + ']',
+                assignFully(aff, nodes, backups, i), assignment);
+
+            prev = assignment;
+        }
+    }
+
+    /**
+     * @param aff Affinity function.
+     * @param nodes Nodes.
+     * @param backups Number of backups.
+     * @param topVer Topology version.
+     * @return Assignment calculated without previous assignment.
+     */
+    private List<List<ClusterNode>> assignFully(
+        RendezvousAffinityFunction aff,
+        List<ClusterNode> nodes,
+        int backups,
+        long topVer
+    ) {
+        return aff.assignPartitions(new GridAffinityFunctionContextImpl(
+            new ArrayList<>(nodes), null, null, new AffinityTopologyVersion(topVer), backups));
+    }
+}
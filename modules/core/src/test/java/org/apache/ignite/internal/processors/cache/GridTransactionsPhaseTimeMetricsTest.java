@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.apache.ignite.transactions.Transaction;
+import org.apache.ignite.transactions.TransactionConcurrency;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.internal.processors.cache.transactions.TransactionMetricsAdapter.METRIC_COMMIT_TIME_HISTOGRAM;
+import static org.apache.ignite.internal.processors.cache.transactions.TransactionMetricsAdapter.METRIC_LOCK_TIME_HISTOGRAM;
+import static org.apache.ignite.internal.processors.cache.transactions.TransactionMetricsAdapter.METRIC_PREPARE_TIME_HISTOGRAM;
+import static org.apache.ignite.internal.processors.metric.GridMetricManager.TX_METRICS;
+import static org.apache.ignite.transactions.TransactionConcurrency.OPTIMISTIC;
+import static org.apache.ignite.transactions.TransactionConcurrency.PESSIMISTIC;
+import static org.apache.ignite.transactions.TransactionIsolation.REPEATABLE_READ;
+
+/**
+ * Tests histograms of lock, prepare and commit phases of near transactions.
+ */
+public class GridTransactionsPhaseTimeMetricsTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE_NAME = "test";
+
+    /** */
+    private static final int KEYS = 500;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setCacheConfiguration(new CacheConfiguration<>(CACHE_NAME)
+                .setAtomicityMode(TRANSACTIONAL)
+                .setBackups(1));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(3);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** */
+    @Test
+    public void testPessimisticTransaction() {
+        IgniteEx ignite = grid(0);
+
+        long locks = count(ignite, METRIC_LOCK_TIME_HISTOGRAM);
+        long prepares = count(ignite, METRIC_PREPARE_TIME_HISTOGRAM);
+        long commits = count(ignite, METRIC_COMMIT_TIME_HISTOGRAM);
+
+        putAll(ignite, PESSIMISTIC);
+
+        assertEquals(locks + 1, count(ignite, METRIC_LOCK_TIME_HISTOGRAM));
+        assertEquals(prepares + 1, count(ignite, METRIC_PREPARE_TIME_HISTOGRAM));
+        assertEquals(commits + 1, count(ignite, METRIC_COMMIT_TIME_HISTOGRAM));
+    }
+
+    /** */
+    @Test
+    public void testOptimisticTransaction() {
+        IgniteEx ignite = grid(0);
+
+        long locks = count(ignite, METRIC_LOCK_TIME_HISTOGRAM);
+        long prepares = count(ignite, METRIC_PREPARE_TIME_HISTOGRAM);
+        long commits = count(ignite, METRIC_COMMIT_TIME_HISTOGRAM);
+
+        putAll(ignite, OPTIMISTIC);
+
+        assertEquals(locks, count(ignite, METRIC_LOCK_TIME_HISTOGRAM));
+        assertEquals(prepares + 1, count(ignite, METRIC_PREPARE_TIME_HISTOGRAM));
+        assertEquals(commits + 1, count(ignite, METRIC_COMMIT_TIME_HISTOGRAM));
+    }
+
+    /** */
+    @Test
+    public void testRolledBackTransaction() {
+        IgniteEx ignite = grid(0);
+
+        long locks = count(ignite, METRIC_LOCK_TIME_HISTOGRAM);
+        long commits = count(ignite, METRIC_COMMIT_TIME_HISTOGRAM);
+
+        IgniteCache<Integer, Integer> cache = ignite.cache(CACHE_NAME);
+
+        try (Transaction tx = ignite.transactions().txStart(PESSIMISTIC, REPEATABLE_READ)) {
+            cache.put(1, 1);
+
+            tx.rollback();
+        }
+
+        assertEquals(locks + 1, count(ignite, METRIC_LOCK_TIME_HISTOGRAM));
+        assertEquals(commits, count(ignite, METRIC_COMMIT_TIME_HISTOGRAM));
+    }
+
+    /**
+     * @param ignite Node.
+     * @param concurrency Transaction concurrency.
+     */
+    private void putAll(IgniteEx ignite, TransactionConcurrency concurrency) {
+        IgniteCache<Integer, Integer> cache = ignite.cache(CACHE_NAME);
+
+        Map<Integer, Integer> vals = new TreeMap<>();
+
+        for (int i = 0; i < KEYS; i++)
+            vals.put(i, i);
+
+        try (Transaction tx = ignite.transactions().txStart(concurrency, REPEATABLE_READ)) {
+            cache.putAll(vals);
+
+            tx.commit();
+        }
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(i, (int)cache.get(i));
+    }
+
+    /**
+     * @param ignite Node.
+     * @param name Histogram name.
+     * @return Number of values in histogram.
+     */
+    private long count(IgniteEx ignite, String name) {
+        MetricRegistry mreg = ignite.context().metric().registry(TX_METRICS);
+
+        HistogramMetricImpl histogram = mreg.findMetric(name);
+
+        return LongStream.of(histogram.value()).sum();
+    }
+}
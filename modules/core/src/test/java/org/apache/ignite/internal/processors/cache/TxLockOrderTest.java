@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.apache.ignite.transactions.Transaction;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.transactions.TransactionConcurrency.PESSIMISTIC;
+import static org.apache.ignite.transactions.TransactionIsolation.REPEATABLE_READ;
+
+/**
+ * Tests that multi-key locks of overlapping key sets requested in opposite orders from different nodes
+ * don't deadlock on their primary node.
+ */
+public class TxLockOrderTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE_NAME = "test";
+
+    /** */
+    private static final int KEYS = 50;
+
+    /** */
+    private static final int THREADS = 8;
+
+    /** */
+    private static final int ITERATIONS = 100;
+
+    /** Lock timeout, much longer than a lock is held without a deadlock. */
+    private static final long TIMEOUT = 10_000L;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setCacheConfiguration(new CacheConfiguration<>(CACHE_NAME)
+                .setAtomicityMode(TRANSACTIONAL)
+                .setBackups(1));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(2);
+
+        startClientGrid(2);
+        startClientGrid(3);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testExplicitLocksInOppositeOrders() throws Exception {
+        List<Integer> keys = primaryKeys(grid(0).cache(CACHE_NAME), KEYS);
+
+        AtomicInteger idx = new AtomicInteger();
+
+        GridTestUtils.runMultiThreaded(() -> {
+            int threadIdx = idx.getAndIncrement();
+
+            IgniteCache<Integer, Integer> cache = grid(2 + threadIdx % 2).cache(CACHE_NAME);
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                Lock lock = cache.lockAll(new LinkedHashSet<>(lockKeys(keys, threadIdx, i)));
+
+                assertTrue("Lock is not acquired in time", lock.tryLock(TIMEOUT, TimeUnit.MILLISECONDS));
+
+                lock.unlock();
+            }
+
+            return null;
+        }, THREADS, "lock");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPessimisticTransactionsInOppositeOrders() throws Exception {
+        List<Integer> keys = primaryKeys(grid(0).cache(CACHE_NAME), KEYS);
+
+        AtomicInteger idx = new AtomicInteger();
+
+        GridTestUtils.runMultiThreaded(() -> {
+            int threadIdx = idx.getAndIncrement();
+
+            Ignite ignite = grid(2 + threadIdx % 2);
+
+            IgniteCache<Integer, Integer> cache = ignite.cache(CACHE_NAME);
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                Map<Integer, Integer> vals = new LinkedHashMap<>();
+
+                for (Integer key : lockKeys(keys, threadIdx, i))
+                    vals.put(key, i);
+
+                try (Transaction tx = ignite.transactions().txStart(PESSIMISTIC, REPEATABLE_READ, TIMEOUT, 0)) {
+                    cache.putAll(vals);
+
+                    tx.commit();
+                }
+            }
+
+            return null;
+        }, THREADS, "tx");
+    }
+
+    /**
+     * @param keys Primary keys of one node.
+     * @param threadIdx Thread index.
+     * @param iter Iteration.
+     * @return Keys locked by the thread: a window overlapping the windows of other threads, in ascending
+     *      order on one node and in descending order on the other.
+     */
+    private static List<Integer> lockKeys(List<Integer> keys, int threadIdx, int iter) {
+        int from = (threadIdx + iter) % (KEYS / 2);
+
+        List<Integer> res = new ArrayList<>(keys.subList(from, from + KEYS / 2));
+
+        if (threadIdx % 2 == 1)
+            Collections.reverse(res);
+
+        return res;
+    }
+}
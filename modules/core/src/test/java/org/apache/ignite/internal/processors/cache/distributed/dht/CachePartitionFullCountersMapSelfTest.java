@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht;
+
+import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.CachePartitionFullCountersMap;
+import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.IgniteDhtPartitionCountersMap2;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ *
+ */
+public class CachePartitionFullCountersMapSelfTest extends GridCommonAbstractTest {
+    /** */
+    @Test
+    public void testCompactSerialization() throws Exception {
+        IgniteDhtPartitionCountersMap2 map = new IgniteDhtPartitionCountersMap2();
+
+        CachePartitionFullCountersMap cntrs1 = new CachePartitionFullCountersMap(1024);
+
+        for (int p = 0; p < 1024; p++) {
+            cntrs1.initialUpdateCounter(p, p * 1000L);
+            cntrs1.updateCounter(p, p % 3 == 0 ? p * 1000L + p : p * 1000L);
+        }
+
+        cntrs1.initialUpdateCounter(1, Long.MAX_VALUE);
+        cntrs1.updateCounter(2, 0);
+
+        CachePartitionFullCountersMap cntrs2 = new CachePartitionFullCountersMap(32);
+
+        map.putIfAbsent(1, cntrs1);
+        map.putIfAbsent(-42, cntrs2);
+
+        byte[] bytes = map.toCompactBytes();
+
+        // Two bytes for the most of partitions instead of sixteen.
+        assertTrue("Unexpected size: " + bytes.length, bytes.length < 1024 * 6);
+
+        IgniteDhtPartitionCountersMap2 res = IgniteDhtPartitionCountersMap2.fromCompactBytes(bytes);
+
+        checkEquals(cntrs1, res.get(1), 1024);
+        checkEquals(cntrs2, res.get(-42), 32);
+
+        assertNull(res.get(2));
+    }
+
+    /** */
+    @Test
+    public void testCompactSerializationEmptyMap() throws Exception {
+        IgniteDhtPartitionCountersMap2 res =
+            IgniteDhtPartitionCountersMap2.fromCompactBytes(new IgniteDhtPartitionCountersMap2().toCompactBytes());
+
+        assertTrue(res.empty());
+    }
+
+    /**
+     * @param exp Expected counters.
+     * @param act Actual counters.
+     * @param partsCnt Partitions count.
+     */
+    private void checkEquals(CachePartitionFullCountersMap exp, CachePartitionFullCountersMap act, int partsCnt) {
+        assertNotNull(act);
+
+        for (int p = 0; p < partsCnt; p++) {
+            assertEquals(exp.initialUpdateCounter(p), act.initialUpdateCounter(p));
+            assertEquals(exp.updateCounter(p), act.updateCounter(p));
+        }
+    }
+}
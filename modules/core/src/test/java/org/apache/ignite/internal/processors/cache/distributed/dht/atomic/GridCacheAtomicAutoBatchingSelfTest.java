@@ -0,0 +1,250 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.atomic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.Cache;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.integration.CacheWriterException;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePartialUpdateException;
+import org.apache.ignite.cache.store.CacheStoreAdapter;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_AUTO_BATCHING_MAX_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_AUTO_BATCHING_WINDOW;
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+
+/**
+ * Tests auto-batching of concurrent single-key atomic cache operations.
+ */
+@WithSystemProperty(key = IGNITE_ATOMIC_AUTO_BATCHING_WINDOW, value = "500")
+@WithSystemProperty(key = IGNITE_ATOMIC_AUTO_BATCHING_MAX_SIZE, value = "64")
+public class GridCacheAtomicAutoBatchingSelfTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE_NAME = "test";
+
+    /** */
+    private static final String STORE_CACHE_NAME = "store";
+
+    /** */
+    private static final int KEYS = 100;
+
+    /** Whether {@link FailingStore} fails writes of odd keys. */
+    private static volatile boolean failOddKeys;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setCacheConfiguration(new CacheConfiguration<>(CACHE_NAME)
+                .setAtomicityMode(ATOMIC)
+                .setWriteSynchronizationMode(FULL_SYNC)
+                .setBackups(1),
+                new CacheConfiguration<>(STORE_CACHE_NAME)
+                    .setAtomicityMode(ATOMIC)
+                    .setWriteSynchronizationMode(FULL_SYNC)
+                    .setBackups(1)
+                    .setCacheStoreFactory(FactoryBuilder.factoryOf(FailingStore.class))
+                    .setWriteThrough(true));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(3);
+
+        startClientGrid(3);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        failOddKeys = false;
+
+        grid(0).cache(CACHE_NAME).removeAll();
+        grid(0).cache(STORE_CACHE_NAME).removeAll();
+
+        super.afterTest();
+    }
+
+    /** */
+    @Test
+    public void testBatcherEnabled() {
+        for (int i = 0; i < 4; i++) {
+            GridDhtAtomicCache<Object, Object> cache =
+                (GridDhtAtomicCache<Object, Object>)grid(i).cachex(CACHE_NAME).context().cache();
+
+            assertNotNull(GridTestUtils.getFieldValue(cache, "autoBatcher"));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentPutGet() throws Exception {
+        IgniteEx client = grid(3);
+
+        IgniteCache<Integer, Integer> cache = client.cache(CACHE_NAME);
+
+        AtomicInteger idx = new AtomicInteger();
+
+        GridTestUtils.runMultiThreaded(() -> {
+            int thread = idx.getAndIncrement();
+
+            for (int i = 0; i < KEYS; i++) {
+                int key = thread * KEYS + i;
+
+                cache.put(key, key);
+
+                assertEquals(key, (int)cache.get(key));
+            }
+        }, 8, "put-get");
+
+        for (int i = 0; i < 8 * KEYS; i++)
+            assertEquals(i, (int)grid(0).<Integer, Integer>cache(CACHE_NAME).get(i));
+    }
+
+    /**
+     * Checks that the last of several async puts to the same key wins.
+     */
+    @Test
+    public void testSameKeyOrdering() {
+        IgniteCache<Integer, Integer> cache = grid(3).cache(CACHE_NAME);
+
+        List<IgniteFuture<Void>> futs = new ArrayList<>();
+
+        int[] last = new int[10];
+
+        for (int i = 0; i < 1000; i++) {
+            int key = ThreadLocalRandom.current().nextInt(last.length);
+
+            futs.add(cache.putAsync(key, i));
+
+            last[key] = i;
+        }
+
+        for (IgniteFuture<Void> fut : futs)
+            fut.get();
+
+        for (int key = 0; key < last.length; key++) {
+            Integer val = grid(0).<Integer, Integer>cache(CACHE_NAME).get(key);
+
+            if (val != null)
+                assertEquals(last[key], (int)val);
+        }
+    }
+
+    /**
+     * Checks that partial failure of a batched update completes every operation and releases batch keys.
+     */
+    @Test
+    public void testPartialUpdateFailure() {
+        IgniteCache<Integer, Integer> cache = grid(3).cache(STORE_CACHE_NAME);
+
+        failOddKeys = true;
+
+        List<IgniteFuture<Void>> futs = new ArrayList<>();
+
+        for (int i = 0; i < KEYS; i++)
+            futs.add(cache.putAsync(i, i));
+
+        for (int i = 0; i < KEYS; i++) {
+            IgniteFuture<Void> fut = futs.get(i);
+
+            if (i % 2 == 0)
+                fut.get(getTestTimeout(), TimeUnit.MILLISECONDS);
+            else {
+                GridTestUtils.assertThrowsWithCause(
+                    () -> fut.get(getTestTimeout(), TimeUnit.MILLISECONDS), CachePartialUpdateException.class);
+            }
+        }
+
+        failOddKeys = false;
+
+        futs.clear();
+
+        for (int i = 0; i < KEYS; i++)
+            futs.add(cache.putAsync(i, -i));
+
+        for (IgniteFuture<Void> fut : futs)
+            fut.get(getTestTimeout(), TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(-i, (int)grid(0).<Integer, Integer>cache(STORE_CACHE_NAME).get(i));
+    }
+
+    /**
+     * Store failing writes of odd keys when {@link #failOddKeys} is set.
+     */
+    public static class FailingStore extends CacheStoreAdapter<Integer, Integer> {
+        /** {@inheritDoc} */
+        @Override public Integer load(Integer key) {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void write(Cache.Entry<? extends Integer, ? extends Integer> entry) {
+            if (failOddKeys && entry.getKey() % 2 != 0)
+                throw new CacheWriterException("Failed to write key: " + entry.getKey());
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeAll(Collection<Cache.Entry<? extends Integer, ? extends Integer>> entries) {
+            boolean failed = false;
+
+            for (Iterator<Cache.Entry<? extends Integer, ? extends Integer>> it = entries.iterator(); it.hasNext(); ) {
+                Cache.Entry<? extends Integer, ? extends Integer> entry = it.next();
+
+                if (failOddKeys && entry.getKey() % 2 != 0)
+                    failed = true;
+                else
+                    it.remove();
+            }
+
+            // Entries left in the collection are reported as failed.
+            if (failed)
+                throw new CacheWriterException("Failed to write odd keys.");
+        }
+
+        /** {@inheritDoc} */
+        @Override public void delete(Object key) {
+            // No-op.
+        }
+    }
+}
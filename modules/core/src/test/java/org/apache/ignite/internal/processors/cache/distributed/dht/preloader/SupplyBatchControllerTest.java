@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
+
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SupplyBatchController}.
+ */
+public class SupplyBatchControllerTest extends GridCommonAbstractTest {
+    /** */
+    private static final long MS = 1_000_000L;
+
+    /**
+     * Round trip time does not depend on amount of sent data, so controller should grow batch size up to
+     * the cap and then extend the window.
+     */
+    @Test
+    public void testGrowsWhileThroughputGrows() {
+        SupplyBatchController ctl = new SupplyBatchController(100, 400, 2, 4, 0);
+
+        long now = MS;
+
+        for (int round = 0; round < 10; round++) {
+            int window = ctl.window();
+
+            for (int i = 0; i < window; i++)
+                ctl.onBatchSent(ctl.batchSize(), now);
+
+            now += 4 * MS;
+
+            for (int i = 0; i < window; i++)
+                ctl.onAcknowledged(now);
+        }
+
+        assertEquals(400, ctl.batchSize());
+        assertEquals(4, ctl.window());
+    }
+
+    /** */
+    @Test
+    public void testExtraBatchOnWindowGrowth() {
+        SupplyBatchController ctl = new SupplyBatchController(100, 100, 1, 2, 0);
+
+        ctl.onBatchSent(100, MS);
+
+        // The first round has no previous throughput, so window is extended.
+        assertEquals(2, ctl.onAcknowledged(2 * MS));
+        assertEquals(2, ctl.window());
+
+        assertEquals(1, ctl.onAcknowledged(3 * MS));
+    }
+
+    /** */
+    @Test
+    public void testStopsGrowingWithoutThroughputGain() {
+        SupplyBatchController ctl = new SupplyBatchController(100, 1600, 1, 1, 0);
+
+        ctl.onBatchSent(100, MS);
+        ctl.onAcknowledged(2 * MS);
+
+        assertEquals(200, ctl.batchSize());
+
+        // Same throughput for a doubled batch: apply time doubled too.
+        ctl.onBatchSent(200, 2 * MS);
+        ctl.onAcknowledged(4 * MS);
+
+        assertEquals(200, ctl.batchSize());
+
+        ctl.onBatchSent(200, 4 * MS);
+        ctl.onAcknowledged(5 * MS);
+
+        assertEquals(200, ctl.batchSize());
+    }
+
+    /** */
+    @Test
+    public void testBacksOffOnSlowAcknowledgement() {
+        SupplyBatchController ctl = new SupplyBatchController(100, 800, 1, 1, 10);
+
+        long now = MS;
+
+        for (int i = 0; i < 3; i++) {
+            ctl.onBatchSent(ctl.batchSize(), now);
+
+            now += MS;
+
+            ctl.onAcknowledged(now);
+        }
+
+        assertEquals(800, ctl.batchSize());
+
+        ctl.onBatchSent(800, now);
+
+        now += 20 * MS;
+
+        ctl.onAcknowledged(now);
+
+        assertEquals(400, ctl.batchSize());
+
+        for (int i = 0; i < 5; i++) {
+            ctl.onBatchSent(ctl.batchSize(), now);
+
+            now += 20 * MS;
+
+            ctl.onAcknowledged(now);
+        }
+
+        assertEquals(100, ctl.batchSize());
+    }
+}
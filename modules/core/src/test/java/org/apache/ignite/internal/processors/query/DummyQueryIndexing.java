@@ -22,6 +22,7 @@ import java.util.Set;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteDataStreamer;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.IndexQueryCriterion;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.cache.query.SqlQuery;
 import org.apache.ignite.internal.GridKernalContext;
@@ -115,6 +116,18 @@ public class DummyQueryIndexing implements GridQueryIndexing {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override public <K, V> GridCloseableIterator<IgniteBiTuple<K, V>> queryLocalIndex(
+        String schemaName,
+        String cacheName,
+        String typeName,
+        String idxName,
+        List<IndexQueryCriterion> criteria,
+        IndexingQueryFilter filter
+    ) throws IgniteCheckedException {
+        return null;
+    }
+
     /** {@inheritDoc} */
     @Override public void dynamicIndexCreate(
         String schemaName,
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.sql;
+
+import java.util.Iterator;
+import org.apache.ignite.internal.sql.command.SqlAnalyzeCommand;
+import org.apache.ignite.internal.sql.command.SqlCommand;
+import org.apache.ignite.internal.sql.command.SqlQualifiedName;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests for processing of ANALYZE syntax.
+ */
+@RunWith(JUnit4.class)
+public class SqlParserAnalyzeSelfTest extends SqlParserAbstractSelfTest {
+    /**
+     * Tests for ANALYZE command.
+     */
+    @Test
+    public void testAnalyze() {
+        assertAnalyze("ANALYZE tbl", "SCHEMA", null, "TBL");
+        assertAnalyze("analyze \"tbl\"", "SCHEMA", null, "tbl");
+        assertAnalyze("ANALYZE s.tbl", "SCHEMA", "S", "TBL");
+        assertAnalyze("ANALYZE tbl1, s.tbl2", "SCHEMA", null, "TBL1", "S", "TBL2");
+
+        assertParseError(null, "ANALYZE", "Unexpected");
+        assertParseError(null, "ANALYZE tbl,", "Unexpected");
+        assertParseError(null, "ANALYZE tbl tbl2", "Unexpected token: \"TBL2\"");
+    }
+
+    /**
+     * @param sql SQL.
+     * @param expSchema Expected default schema name.
+     * @param expNames Expected pairs of schema and table names.
+     */
+    private static void assertAnalyze(String sql, String expSchema, String... expNames) {
+        SqlCommand cmd = new SqlParser(expSchema, sql).nextCommand();
+
+        Assert.assertTrue(cmd instanceof SqlAnalyzeCommand);
+
+        SqlAnalyzeCommand analyzeCmd = (SqlAnalyzeCommand)cmd;
+
+        Assert.assertEquals(expSchema, analyzeCmd.schemaName());
+        Assert.assertEquals(expNames.length / 2, analyzeCmd.tables().size());
+
+        Iterator<SqlQualifiedName> it = analyzeCmd.tables().iterator();
+
+        for (int i = 0; i < expNames.length; i += 2) {
+            SqlQualifiedName name = it.next();
+
+            Assert.assertEquals(expNames[i], name.schemaName());
+            Assert.assertEquals(expNames[i + 1], name.name());
+        }
+    }
+}
@@ -140,5 +140,20 @@ public class SqlParserBulkLoadSelfTest extends SqlParserAbstractSelfTest {
         assertParseError(null,
             "copy from 'any.file' into Person (_key, age, firstName, lastName) format csv charset ",
             "Unexpected end of command (expected: \"[string]\")");
+
+        // PARALLEL
+
+        new SqlParser(null,
+            "copy from 'any.file' into Person (_key, age, firstName, lastName) format csv parallel 4")
+            .nextCommand();
+
+        new SqlParser(null,
+            "copy from 'any.file' into Person (_key, age, firstName, lastName) format csv packet_size 1024" +
+            " parallel 4")
+            .nextCommand();
+
+        assertParseError(null,
+            "copy from 'any.file' into Person (_key, age, firstName, lastName) format csv parallel 0",
+            "Illegal PARALLEL value. Should be positive: 0");
     }
 }
@@ -179,6 +179,30 @@ public class SqlParserCreateIndexSelfTest extends SqlParserAbstractSelfTest {
 
     }
 
+    /**
+     * Tests CREATE INDEX on expressions.
+     */
+    @Test
+    public void testCreateIndexOnExpression() {
+        SqlCreateIndexCommand cmd = parseValidate(null, "CREATE INDEX idx ON tbl(lower(email))", null, "TBL", "IDX",
+            DEFAULT_PROPS, "lower(email)", false);
+
+        assertTrue(F.first(cmd.columns()).expression());
+
+        parseValidate(null, "CREATE INDEX idx ON tbl(a, lower(trim(email)) DESC)", null, "TBL", "IDX", DEFAULT_PROPS,
+            "A", false, "lower(trim(email))", true);
+        parseValidate(null, "CREATE INDEX idx ON tbl((a + b), c)", null, "TBL", "IDX", DEFAULT_PROPS,
+            "(a + b)", false, "C", false);
+        parseValidate(null, "CREATE INDEX idx ON tbl(substring(name, 1, 3) ASC) INLINE_SIZE 10", null, "TBL", "IDX",
+            getProps(null, 10), "substring(name, 1, 3)", false);
+
+        assertFalse(F.first(parseValidate(null, "CREATE INDEX idx ON tbl(a)", null, "TBL", "IDX", DEFAULT_PROPS,
+            "A", false).columns()).expression());
+
+        assertParseError(null, "CREATE INDEX idx ON tbl(lower(email)", "Unexpected end of command");
+        assertParseError(null, "CREATE INDEX idx ON tbl(lower(a), lower(a))", "Column already defined: lower(a)");
+    }
+
     /**
      * Parse and validate SQL script.
      *
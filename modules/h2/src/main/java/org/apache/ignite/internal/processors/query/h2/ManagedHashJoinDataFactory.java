@@ -0,0 +1,32 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.query.h2;
+
+import org.gridgain.internal.h2.engine.Session;
+import org.gridgain.internal.h2.index.HashJoinExternalData;
+
+/**
+ * Factory for the disk partitions of hash join.
+ */
+public interface ManagedHashJoinDataFactory {
+    /**
+     * Creates disk partition the hash join spills its rows to when the query memory quota is exceeded.
+     *
+     * @param ses Session.
+     * @return Disk partition or {@code null} if disk offloading is disabled.
+     */
+    HashJoinExternalData newExternalHashJoinData(Session ses);
+}
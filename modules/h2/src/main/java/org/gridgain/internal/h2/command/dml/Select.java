@@ -10,6 +10,7 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.function.UnaryOperator;
 import org.gridgain.internal.h2.expression.analysis.DataAnalysisOperation;
 import org.gridgain.internal.h2.expression.analysis.Window;
 import org.gridgain.internal.h2.expression.condition.Comparison;
@@ -305,6 +306,38 @@ public class Select extends Query {
         return condition;
     }
 
+    /**
+     * Replace the condition of the prepared query with an equivalent one,
+     * for example compiled for faster evaluation.
+     *
+     * @param replacer returns the expression to use instead of the given one
+     */
+    public void replaceCondition(UnaryOperator<Expression> replacer) {
+        if (!isPrepared) {
+            throw DbException.throwInternalError("not prepared");
+        }
+        if (condition != null) {
+            condition = replacer.apply(condition);
+        }
+    }
+
+    /**
+     * Replace the expressions of the prepared query with equivalent ones,
+     * for example compiled for faster evaluation.
+     *
+     * @param replacer returns the expression to use instead of the given one
+     */
+    public void replaceExpressions(UnaryOperator<Expression> replacer) {
+        if (!isPrepared) {
+            throw DbException.throwInternalError("not prepared");
+        }
+        for (int i = 0; i < expressionArray.length; i++) {
+            Expression expr = replacer.apply(expressionArray[i]);
+            expressionArray[i] = expr;
+            expressions.set(i, expr);
+        }
+    }
+
     private LazyResult queryGroupSorted(int columnCount, ResultTarget result, long offset, boolean quickOffset) {
         LazyResultGroupSorted lazyResult = new LazyResultGroupSorted(expressionArray, columnCount);
         skipOffset(lazyResult, offset, quickOffset);
@@ -612,26 +645,10 @@ public class Select extends Query {
         if (sort == null) {
             return null;
         }
-        ArrayList<Column> sortColumns = Utils.newSmallArrayList();
-        for (int idx : sort.getQueryColumnIndexes()) {
-            if (idx < 0 || idx >= expressions.size()) {
-                throw DbException.getInvalidValueException("ORDER BY", idx + 1);
-            }
-            Expression expr = expressions.get(idx);
-            expr = expr.getNonAliasExpression();
-            if (expr.isConstant()) {
-                continue;
-            }
-            if (!(expr instanceof ExpressionColumn)) {
-                return null;
-            }
-            ExpressionColumn exprCol = (ExpressionColumn) expr;
-            if (exprCol.getTableFilter() != topTableFilter) {
-                return null;
-            }
-            sortColumns.add(exprCol.getColumn());
+        Column[] sortCols = getSortColumns();
+        if (sortCols == null) {
+            return null;
         }
-        Column[] sortCols = sortColumns.toArray(new Column[0]);
         if (sortCols.length == 0) {
             // sort just on constants - can use scan index
             return topTableFilter.getTable().getScanIndex(session);
@@ -647,26 +664,7 @@ public class Select extends Query {
                 if (index.getIndexType().isHash()) {
                     continue;
                 }
-                IndexColumn[] indexCols = index.getIndexColumns();
-                if (indexCols.length < sortCols.length) {
-                    continue;
-                }
-                boolean ok = true;
-                for (int j = 0; j < sortCols.length; j++) {
-                    // the index and the sort order must start
-                    // with the exact same columns
-                    IndexColumn idxCol = indexCols[j];
-                    Column sortCol = sortCols[j];
-                    if (idxCol.column != sortCol) {
-                        ok = false;
-                        break;
-                    }
-                    if (SortOrder.addExplicitNullPosition(idxCol.sortType) != sortTypes[j]) {
-                        ok = false;
-                        break;
-                    }
-                }
-                if (ok) {
+                if (isSortIndex(index, sortCols, sortTypes)) {
                     return index;
                 }
             }
@@ -681,6 +679,72 @@ public class Select extends Query {
         return null;
     }
 
+    /**
+     * Get the columns of the top table filter the ORDER BY expressions refer
+     * to, skipping constants.
+     *
+     * @return the columns, or null if some expression is not such a column
+     */
+    private Column[] getSortColumns() {
+        ArrayList<Column> sortColumns = Utils.newSmallArrayList();
+        for (int idx : sort.getQueryColumnIndexes()) {
+            if (idx < 0 || idx >= expressions.size()) {
+                throw DbException.getInvalidValueException("ORDER BY", idx + 1);
+            }
+            Expression expr = expressions.get(idx);
+            expr = expr.getNonAliasExpression();
+            if (expr.isConstant()) {
+                continue;
+            }
+            if (!(expr instanceof ExpressionColumn)) {
+                return null;
+            }
+            ExpressionColumn exprCol = (ExpressionColumn) expr;
+            if (exprCol.getTableFilter() != topTableFilter) {
+                return null;
+            }
+            sortColumns.add(exprCol.getColumn());
+        }
+        return sortColumns.toArray(new Column[0]);
+    }
+
+    private static boolean isSortIndex(Index index, Column[] sortCols, int[] sortTypes) {
+        IndexColumn[] indexCols = index.getIndexColumns();
+        if (indexCols == null || indexCols.length < sortCols.length) {
+            return false;
+        }
+        for (int j = 0; j < sortCols.length; j++) {
+            // the index and the sort order must start
+            // with the exact same columns
+            IndexColumn idxCol = indexCols[j];
+            Column sortCol = sortCols[j];
+            if (idxCol.column != sortCol) {
+                return false;
+            }
+            if (SortOrder.addExplicitNullPosition(idxCol.sortType) != sortTypes[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the groups read from the given group sorted index are
+     * already in the ORDER BY order, so that they don't need to be sorted.
+     *
+     * @param index the group sorted index
+     * @return true if the groups are produced in the ORDER BY order
+     */
+    private boolean isGroupSortedBy(Index index) {
+        if (topTableFilter.hasInComparisons()) {
+            // in(select ...) and in(1,2,3) may return the key in
+            // another order
+            return false;
+        }
+        Column[] sortCols = getSortColumns();
+        return sortCols != null && isSortIndex(index, sortCols, sort.getSortTypesWithNullPosition());
+    }
+
     private void queryDistinct(ResultTarget result, long offset, long limitRows, boolean withTies,
             boolean quickOffset) {
         if (limitRows > 0 && offset > 0) {
@@ -1377,6 +1441,10 @@ public class Select extends Query {
                     current == index)) {
                 topTableFilter.setIndex(index);
                 isGroupSortedQuery = true;
+                if (sort != null && isGroupSortedBy(index)) {
+                    // groups come out of the index in the required order
+                    sortUsingIndex = true;
+                }
             }
         }
         expressionArray = expressions.toArray(new Expression[0]);
@@ -1701,6 +1769,36 @@ public class Select extends Query {
         return isGroupQuery;
     }
 
+    /**
+     * Checks if this group query reads the rows from an index sorted by the
+     * GROUP BY columns, so the groups are aggregated one by one instead of
+     * being collected in memory.
+     *
+     * @return whether this query is group sorted
+     */
+    public boolean isGroupSortedQuery() {
+        return isGroupSortedQuery;
+    }
+
+    /**
+     * Checks if the ORDER BY clause is satisfied by the order of the index
+     * of the top table filter, so the rows are not sorted afterwards.
+     *
+     * @return whether the rows are sorted using an index
+     */
+    public boolean isSortUsingIndex() {
+        return sortUsingIndex;
+    }
+
+    /**
+     * Checks if this is a SELECT FOR UPDATE query.
+     *
+     * @return whether the selected rows are locked
+     */
+    public boolean isForUpdate() {
+        return isForUpdate;
+    }
+
     /**
      * Checks if this query contains window functions.
      *
@@ -20,6 +20,7 @@ import java.util.function.Supplier;
 import org.apache.ignite.internal.processors.query.h2.H2MemoryTracker;
 import org.apache.ignite.internal.processors.query.h2.H2QueryContext;
 import org.apache.ignite.internal.processors.query.h2.ManagedGroupByDataFactory;
+import org.apache.ignite.internal.processors.query.h2.ManagedHashJoinDataFactory;
 import org.gridgain.internal.h2.command.Command;
 import org.gridgain.internal.h2.command.CommandInterface;
 import org.gridgain.internal.h2.command.Parser;
@@ -149,6 +150,7 @@ public class Session extends SessionWithState implements TransactionStore.Rollba
     private H2QueryContext qryContext;
     private H2MemoryTracker memoryTracker;
     private ManagedGroupByDataFactory groupByDataFactory;
+    private ManagedHashJoinDataFactory hashJoinDataFactory;
     private Supplier<String> qryDescSupplier;
 
     /**
@@ -282,6 +284,20 @@ public class Session extends SessionWithState implements TransactionStore.Rollba
         this.groupByDataFactory = groupByDataFactory;
     }
 
+    /**
+     * @return Hash join data factory.
+     */
+    public ManagedHashJoinDataFactory hashJoinDataFactory() {
+        return hashJoinDataFactory;
+    }
+
+    /**
+     * @param hashJoinDataFactory Memory manager/factory.
+     */
+    public void hashJoinDataFactory(ManagedHashJoinDataFactory hashJoinDataFactory) {
+        this.hashJoinDataFactory = hashJoinDataFactory;
+    }
+
     /**
      * @return Creates new data holder for GROUP BY data.
      */
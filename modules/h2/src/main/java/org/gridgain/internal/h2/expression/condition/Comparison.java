@@ -443,6 +443,24 @@ public class Comparison extends Condition {
         }
     }
 
+    /**
+     * Get a column of the table filter that holds the values of the given
+     * expression, so that the expression can be looked up in the indexes on
+     * that column.
+     *
+     * @param session the session
+     * @param expr the expression
+     * @param filter the table filter
+     * @return the expression column, or null if there is no such column
+     */
+    private static ExpressionColumn expressionColumn(Session session, Expression expr, TableFilter filter) {
+        if (expr == null || expr.isConstant()) {
+            return null;
+        }
+        Column col = filter.getTable().getExpressionColumn(expr, filter);
+        return col == null ? null : new ExpressionColumn(session.getDatabase(), col);
+    }
+
     @Override
     public void createIndexConditions(Session session, TableFilter filter) {
         if (!filter.getTable().isQueryComparable()) {
@@ -454,6 +472,8 @@ public class Comparison extends Condition {
             if (filter != l.getTableFilter()) {
                 l = null;
             }
+        } else {
+            l = expressionColumn(session, left, filter);
         }
         if (right == null) {
             if (l != null) {
@@ -471,6 +491,8 @@ public class Comparison extends Condition {
             if (filter != r.getTableFilter()) {
                 r = null;
             }
+        } else if (l == null) {
+            r = expressionColumn(session, right, filter);
         }
         // one side must be from the current filter
         if (l == null && r == null) {
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gridgain.internal.h2.index;
+
+import java.util.Iterator;
+import org.gridgain.internal.h2.value.Value;
+
+/**
+ * Disk-backed partition of the rows of a {@link HashJoinIndex} join. When the hash table doesn't fit into the query
+ * memory quota, rows of both join sides are split by the hash key into such partitions and joined partition by
+ * partition (grace hash join).
+ */
+public interface HashJoinExternalData extends AutoCloseable {
+    /**
+     * Adds row to the partition.
+     *
+     * @param row Row values.
+     */
+    void add(Value[] row);
+
+    /**
+     * Reads the partition sequentially. Every call starts from the first row.
+     *
+     * @return Rows values in the order they were added.
+     */
+    Iterator<Value[]> rows();
+
+    /** {@inheritDoc} */
+    @Override void close();
+}
@@ -24,10 +24,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.ignite.internal.processors.query.h2.H2MemoryTracker;
+import org.apache.ignite.internal.processors.query.h2.ManagedHashJoinDataFactory;
 import org.gridgain.internal.h2.command.dml.AllColumnsForPlan;
 import org.gridgain.internal.h2.engine.Constants;
 import org.gridgain.internal.h2.engine.DbObject;
 import org.gridgain.internal.h2.engine.Session;
+import org.gridgain.internal.h2.expression.Expression;
 import org.gridgain.internal.h2.expression.ExpressionVisitor;
 import org.gridgain.internal.h2.expression.condition.Comparison;
 import org.gridgain.internal.h2.message.DbException;
@@ -51,15 +53,27 @@ public class HashJoinIndex extends BaseIndex {
     /** String constant for Hash join hint, index name etc.. */
     public static final String HASH_JOIN_IDX = "HASH_JOIN_IDX";
 
+    /** Minimal number of the disk partitions of a spilled hash table. */
+    private static final int MIN_SPILL_PARTS = 4;
+
+    /** Maximal number of the disk partitions of a spilled hash table. */
+    private static final int MAX_SPILL_PARTS = 32;
+
     /** Cursor. */
     private final IteratorCursor cur = new IteratorCursor();
 
-    /** Hash table by column specified by colId. */
+    /** Hash table by column specified by colId. Holds the loaded partition only if the hash table is spilled. */
     private Map<Value, List<Row>> hashTbl;
 
     /** Hashed (key) columns info. */
     private HashColumn[] hashColumns;
 
+    /** Equi-join conditions the hash key of the outer (probe) row is calculated from, one per hashed column. */
+    private IndexCondition[] hashConds;
+
+    /** Whether filter conditions depend on other tables of the join, so the hash table is built on the first probe. */
+    private boolean correlated;
+
     /** Index to fill hash table. */
     private Index fillFromIndex;
 
@@ -72,6 +86,12 @@ public class HashJoinIndex extends BaseIndex {
     /** Memory tracker. */
     private H2MemoryTracker tracker;
 
+    /** Disk partitions of the hash table. Are used when the query memory quota is exceeded. */
+    private HashJoinExternalData[] spillParts;
+
+    /** Partition loaded into {@link #hashTbl} if the hash table is spilled, {@code -1} if none. */
+    private int loadedPart = -1;
+
     /**
      * @param tbl Table to build temporary hash join index.
      */
@@ -238,6 +258,10 @@ public class HashJoinIndex extends BaseIndex {
         if (!hashKey(first).equals(hashKey(last)))
             return Cursor.EMPTY;
 
+        // Outer rows that are not partitioned load the partition of the key on demand.
+        if (spillParts != null)
+            loadPartition(ses, partition(key));
+
         List<Row> res = hashTbl.get(key);
 
         if (res == null)
@@ -303,8 +327,12 @@ public class HashJoinIndex extends BaseIndex {
 
         List<HashColumn> hashCols = new ArrayList<>();
 
+        List<IndexCondition> hashCondsList = new ArrayList<>();
+
         filterIdxCond = new ArrayList<>();
 
+        correlated = false;
+
         for (IndexCondition idxCond : indexConditions) {
             if (isEquiJoinCondition(idxCond)) {
                 int colType = idxCond.getColumn().getType().getValueType();
@@ -314,16 +342,22 @@ public class HashJoinIndex extends BaseIndex {
 
                 HashColumn col = new HashColumn(idxCond.getColumn().getColumnId(), targetType);
 
-                if (!hashCols.contains(col))
+                if (!hashCols.contains(col)) {
                     hashCols.add(col);
+                    hashCondsList.add(idxCond);
+                }
             }
-            else if (!idxCond.isAlwaysFalse())
+            else if (!idxCond.isAlwaysFalse()) {
                 filterIdxCond.add(idxCond);
+
+                correlated |= isCorrelated(idxCond);
+            }
         }
 
         assert !hashCols.isEmpty() : "The set of join columns is empty for table '" + table.getName() + '\'';
 
         hashColumns = hashCols.toArray(new HashColumn[0]);
+        hashConds = hashCondsList.toArray(new IndexCondition[0]);
 
         prepareFillFromIndex(ses);
 
@@ -427,6 +461,8 @@ public class HashJoinIndex extends BaseIndex {
         // Don't use ignorecase on build.
         tracker = ses.memoryTracker() != null ? ses.memoryTracker().createChildTracker() : null;
 
+        long memRows = 0;
+
         while (cur.next()) {
             Row r = cur.get();
 
@@ -437,6 +473,12 @@ public class HashJoinIndex extends BaseIndex {
                 if (key.containsNull())
                     continue;
 
+                if (spillParts != null) {
+                    spillParts[partition(key)].add(rowValues(r));
+
+                    continue;
+                }
+
                 List<Row> keyRows = hashTbl.get(key);
 
                 if (tracker != null) {
@@ -445,7 +487,11 @@ public class HashJoinIndex extends BaseIndex {
 
                     size += Constants.MEMORY_POINTER + r.getMemory();
 
-                    tracker.reserve(size);
+                    if (!tracker.reserve(size) && spill(ses, memRows)) {
+                        spillParts[partition(key)].add(rowValues(r));
+
+                        continue;
+                    }
                 }
 
                 if (keyRows == null) {
@@ -455,17 +501,236 @@ public class HashJoinIndex extends BaseIndex {
                 }
 
                 keyRows.add(r);
+
+                memRows++;
             }
         }
 
         Trace t = ses.getTrace();
 
         if (t.isDebugEnabled()) {
-            t.debug("Build hash table for {0}, size={1}. Duration={2} ms",
-                    table.getName(), hashTbl.size(), System.currentTimeMillis() - t0);
+            t.debug("Build hash table for {0}, size={1}, spilledParts={2}. Duration={3} ms",
+                    table.getName(), hashTbl.size(), spillParts != null ? spillParts.length : 0,
+                    System.currentTimeMillis() - t0);
+        }
+    }
+
+    /**
+     * Splits the hash table into disk partitions by the hash key and releases the memory reserved for it. The number
+     * of partitions is chosen so that a partition of the whole table takes about a half of the memory that has been
+     * available for the hash table.
+     *
+     * @param ses Session.
+     * @param memRows Number of rows in the in-memory hash table.
+     * @return {@code true} if the hash table has been spilled, {@code false} if disk offloading is disabled.
+     */
+    private boolean spill(Session ses, long memRows) {
+        HashJoinExternalData[] parts = newPartitions(ses,
+            (int)Math.min(MAX_SPILL_PARTS,
+                Math.max(MIN_SPILL_PARTS, 2 * table.getRowCountApproximation(ses) / Math.max(memRows, 1) + 1)));
+
+        if (parts == null)
+            return false;
+
+        spillParts = parts;
+
+        // Release the memory first, otherwise every partition would write its rows to disk one by one.
+        tracker.release(tracker.reserved());
+
+        for (Map.Entry<Value, List<Row>> e : hashTbl.entrySet()) {
+            HashJoinExternalData part = spillParts[partition(e.getKey())];
+
+            for (Row r : e.getValue())
+                part.add(rowValues(r));
+        }
+
+        hashTbl.clear();
+
+        return true;
+    }
+
+    /**
+     * @param ses Session.
+     * @param cnt Number of partitions.
+     * @return Disk partitions or {@code null} if disk offloading is disabled.
+     */
+    private static HashJoinExternalData[] newPartitions(Session ses, int cnt) {
+        ManagedHashJoinDataFactory factory = ses.hashJoinDataFactory();
+
+        if (factory == null)
+            return null;
+
+        HashJoinExternalData[] parts = new HashJoinExternalData[cnt];
+
+        try {
+            for (int i = 0; i < cnt; i++) {
+                parts[i] = factory.newExternalHashJoinData(ses);
+
+                if (parts[i] == null) {
+                    closePartitions(parts);
+
+                    return null;
+                }
+            }
+        }
+        catch (RuntimeException e) {
+            closePartitions(parts);
+
+            throw e;
+        }
+
+        return parts;
+    }
+
+    /**
+     * @param parts Disk partitions to close.
+     */
+    public static void closePartitions(HashJoinExternalData[] parts) {
+        for (HashJoinExternalData part : parts) {
+            if (part != null)
+                part.close();
+        }
+    }
+
+    /**
+     * @param key Hash key.
+     * @return Disk partition of the key.
+     */
+    private int partition(Value key) {
+        // Mix the hash, so that partitions don't correlate with the buckets of the hash table of a partition.
+        int h = key.hashCode() * 0x9E3779B9;
+
+        return ((h ^ (h >>> 16)) & Integer.MAX_VALUE) % spillParts.length;
+    }
+
+    /**
+     * Loads spilled partition into the in-memory hash table, replacing the previously loaded one. A partition is
+     * loaded even if it exceeds the memory quota, that is possible only if the hash keys are heavily skewed.
+     *
+     * @param ses Session.
+     * @param part Partition.
+     */
+    public void loadPartition(Session ses, int part) {
+        assert spillParts != null;
+
+        if (part == loadedPart)
+            return;
+
+        hashTbl.clear();
+
+        if (tracker != null)
+            tracker.release(tracker.reserved());
+
+        loadedPart = part;
+
+        Iterator<Value[]> it = spillParts[part].rows();
+
+        while (it.hasNext()) {
+            Row r = table.createRow(it.next(), Row.MEMORY_CALCULATE);
+
+            Value key = hashKey(r);
+
+            List<Row> keyRows = hashTbl.get(key);
+
+            if (tracker != null) {
+                int size = keyRows != null ? 0 :
+                    40 /*HashMap entry*/ + key.getMemory() + Constants.MEMORY_ARRAY;
+
+                tracker.reserve(size + Constants.MEMORY_POINTER + r.getMemory());
+            }
+
+            if (keyRows == null) {
+                keyRows = new ArrayList<>();
+
+                hashTbl.put(key, keyRows);
+            }
+
+            keyRows.add(r);
         }
     }
 
+    /**
+     * Builds the hash table if it is not built yet and, if it has been spilled to disk, creates the disk partitions
+     * for the rows of the outer (probe) side of the join. Probe rows split the same way as the hash table are joined
+     * partition by partition with every partition of the hash table loaded into memory once (grace hash join).
+     *
+     * @param ses Session.
+     * @return Partitions for the probe rows or {@code null} if the hash table is in memory or it can't be built
+     *      before the outer rows are known.
+     */
+    public HashJoinExternalData[] createProbePartitions(Session ses) {
+        if (correlated)
+            return null;
+
+        if (hashTbl == null)
+            build(ses);
+
+        return spillParts == null ? null : newPartitions(ses, spillParts.length);
+    }
+
+    /**
+     * Calculates the partition the current outer (probe) row is joined with. The hash key is calculated the same way
+     * as for the lookup, a row partitioned wrongly is still joined correctly by loading its partition on demand.
+     *
+     * @param ses Session.
+     * @return Partition.
+     */
+    public int probePartition(Session ses) {
+        assert spillParts != null;
+
+        Value key;
+
+        if (hashColumns.length == 1)
+            key = hashConds[0].getCurrentValue(ses).convertTo(hashColumns[0].targetType);
+        else {
+            Value[] vals = new Value[hashColumns.length];
+
+            for (int i = 0; i < hashColumns.length; ++i)
+                vals[i] = hashConds[i].getCurrentValue(ses).convertTo(hashColumns[i].targetType);
+
+            key = ValueArray.get(vals);
+        }
+
+        // Rows with NULL keys join nothing, any partition fits.
+        return key.containsNull() ? 0 : partition(key);
+    }
+
+    /**
+     * @param idxCond Index condition.
+     * @return {@code true} if the condition depends on other tables.
+     */
+    private static boolean isCorrelated(IndexCondition idxCond) {
+        if (idxCond.getExpressionQuery() != null)
+            return true;
+
+        HashSet<DbObject> dependencies = new HashSet<>();
+
+        ExpressionVisitor depsVisitor = ExpressionVisitor.getDependenciesVisitor(dependencies);
+
+        if (idxCond.getExpression() != null)
+            idxCond.getExpression().isEverything(depsVisitor);
+
+        if (idxCond.getExpressionList() != null) {
+            for (Expression e : idxCond.getExpressionList())
+                e.isEverything(depsVisitor);
+        }
+
+        return !dependencies.isEmpty();
+    }
+
+    /**
+     * @param r Row.
+     * @return Values of all table columns of the row.
+     */
+    private Value[] rowValues(Row r) {
+        Value[] vals = new Value[table.getColumns().length];
+
+        for (int i = 0; i < vals.length; i++)
+            vals[i] = r.getValue(i);
+
+        return vals;
+    }
+
     /**
      * @param r Row.
      * @return Hash key.
@@ -507,6 +772,12 @@ public class HashJoinIndex extends BaseIndex {
     public void clearHashTable(Session session) {
         hashTbl = null;
 
+        if (spillParts != null)
+            closePartitions(spillParts);
+
+        spillParts = null;
+        loadedPart = -1;
+
         if (tracker != null)
             tracker.close();
 
@@ -382,6 +382,19 @@ public abstract class Table extends SchemaObjectBase {
         return true;
     }
 
+    /**
+     * Get a column that holds the values of the given expression over the
+     * rows of the table filter, so that a condition on the expression can use
+     * the indexes on that column.
+     *
+     * @param expr the expression
+     * @param filter the table filter
+     * @return the column, or null if there is no such column
+     */
+    public Column getExpressionColumn(Expression expr, TableFilter filter) {
+        return null;
+    }
+
     /**
      * Add all objects that this table depends on to the hash set.
      *
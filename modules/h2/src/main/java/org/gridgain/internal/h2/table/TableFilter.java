@@ -7,6 +7,7 @@ package org.gridgain.internal.h2.table;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 
 import org.gridgain.internal.h2.command.Parser;
@@ -26,6 +27,7 @@ import org.gridgain.internal.h2.value.Value;
 import org.gridgain.internal.h2.value.ValueLong;
 import org.gridgain.internal.h2.value.ValueNull;
 import org.gridgain.internal.h2.api.ErrorCode;
+import org.gridgain.internal.h2.index.HashJoinExternalData;
 import org.gridgain.internal.h2.index.HashJoinIndex;
 import org.gridgain.internal.h2.index.Index;
 import org.gridgain.internal.h2.index.IndexCondition;
@@ -125,6 +127,15 @@ public class TableFilter implements ColumnResolver {
 
     private LinkedHashMap<Column, String> derivedColumnMap;
 
+    /**
+     * The rows of this filter split by the join key of the spilled hash join
+     * with the joined table (grace hash join), or null if the rows are read
+     * from the cursor.
+     */
+    private HashJoinExternalData[] probeParts;
+    private int probePart;
+    private Iterator<Value[]> probeRows;
+
     /**
      * Create a new table filter object.
      *
@@ -377,6 +388,7 @@ public class TableFilter implements ColumnResolver {
         if (join != null) {
             join.reset();
         }
+        closeProbePartitions();
         state = BEFORE_FIRST;
         foundOne = false;
     }
@@ -476,6 +488,9 @@ public class TableFilter implements ColumnResolver {
             // not call join.next()
             return joinBatch.next();
         }
+        if (probeParts != null) {
+            return nextPartitioned();
+        }
         if (state == AFTER_LAST) {
             return false;
         } else if (state == BEFORE_FIRST) {
@@ -487,6 +502,9 @@ public class TableFilter implements ColumnResolver {
                 if (join != null) {
                     join.reset();
                 }
+                if (partitionRows()) {
+                    return nextPartitioned();
+                }
             }
         } else {
             // state == FOUND || NULL_ROW
@@ -562,6 +580,102 @@ public class TableFilter implements ColumnResolver {
         return false;
     }
 
+    /**
+     * Split the rows of this filter by the join key if the hash table of the
+     * joined table is spilled to disk, so that the join is done partition by
+     * partition (grace hash join) instead of loading a partition of the hash
+     * table for every row. Only the top table filter of a query that doesn't
+     * rely on the order of its rows and doesn't lock them is split.
+     *
+     * @return true if the rows are split
+     */
+    private boolean partitionRows() {
+        if (join == null || nestedJoin != null || joinOuter || select == null
+                || select.getTopTableFilter() != this
+                || select.isSortUsingIndex() || select.isGroupSortedQuery()
+                || select.isForUpdate()
+                || join.getIndex() == null
+                || join.getIndex().getClass() != HashJoinIndex.class) {
+            return false;
+        }
+        HashJoinIndex hashIdx = (HashJoinIndex) join.getIndex();
+        HashJoinExternalData[] parts = hashIdx.createProbePartitions(session);
+        if (parts == null) {
+            return false;
+        }
+        probeParts = parts;
+        try {
+            int colCnt = table.getColumns().length;
+            while (cursor.next()) {
+                if ((++scanCount & 4095) == 0) {
+                    checkTimeout();
+                }
+                currentSearchRow = cursor.getSearchRow();
+                current = null;
+                if (!isOk(filterCondition) || !isOk(joinCondition)) {
+                    continue;
+                }
+                Row row = get();
+                Value[] vals = new Value[colCnt];
+                for (int i = 0; i < colCnt; i++) {
+                    vals[i] = row.getValue(i);
+                }
+                probeParts[hashIdx.probePartition(session)].add(vals);
+            }
+        } catch (RuntimeException e) {
+            closeProbePartitions();
+            throw e;
+        }
+        probePart = 0;
+        probeRows = null;
+        state = BEFORE_FIRST;
+        return true;
+    }
+
+    /**
+     * Check if there are more rows to read, joining the split rows of this
+     * filter with the spilled hash table partition by partition.
+     *
+     * @return true if there are
+     */
+    private boolean nextPartitioned() {
+        if (state == FOUND && join.next()) {
+            return true;
+        }
+        HashJoinIndex hashIdx = (HashJoinIndex) join.getIndex();
+        while (true) {
+            while (probeRows == null || !probeRows.hasNext()) {
+                if (probePart == probeParts.length) {
+                    closeProbePartitions();
+                    state = AFTER_LAST;
+                    return false;
+                }
+                hashIdx.loadPartition(session, probePart);
+                probeRows = probeParts[probePart++].rows();
+            }
+            if ((++scanCount & 4095) == 0) {
+                checkTimeout();
+            }
+            set(table.createRow(probeRows.next(), Row.MEMORY_CALCULATE));
+            state = FOUND;
+            join.reset();
+            if (join.next()) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Close the partitions of the rows of this filter, if any.
+     */
+    private void closeProbePartitions() {
+        if (probeParts != null) {
+            HashJoinIndex.closePartitions(probeParts);
+            probeParts = null;
+            probeRows = null;
+        }
+    }
+
     /**
      * Set the state of this and all nested tables to the NULL row.
      */
@@ -1236,6 +1350,7 @@ public class TableFilter implements ColumnResolver {
     public void cleanup() {
         current = null;
         currentSearchRow = null;
+        closeProbePartitions();
 
         try {
             cursor.close();
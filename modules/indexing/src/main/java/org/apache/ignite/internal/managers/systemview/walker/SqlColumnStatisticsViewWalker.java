@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.managers.systemview.walker;
+
+import org.apache.ignite.spi.systemview.view.SqlColumnStatisticsView;
+import org.apache.ignite.spi.systemview.view.SystemViewRowAttributeWalker;
+
+/**
+ * Generated by {@code org.apache.ignite.codegen.SystemViewRowAttributeWalkerGenerator}.
+ * {@link SqlColumnStatisticsView} attributes walker.
+ * 
+ * @see SqlColumnStatisticsView
+ */
+public class SqlColumnStatisticsViewWalker implements SystemViewRowAttributeWalker<SqlColumnStatisticsView> {
+    /** {@inheritDoc} */
+    @Override public void visitAll(AttributeVisitor v) {
+        v.accept(0, "schemaName", String.class);
+        v.accept(1, "tableName", String.class);
+        v.accept(2, "columnName", String.class);
+        v.accept(3, "rowCount", long.class);
+        v.accept(4, "nullCount", long.class);
+        v.accept(5, "distinctCount", long.class);
+        v.accept(6, "selectivity", int.class);
+        v.accept(7, "min", String.class);
+        v.accept(8, "max", String.class);
+        v.accept(9, "histogram", String.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void visitAll(SqlColumnStatisticsView row, AttributeWithValueVisitor v) {
+        v.accept(0, "schemaName", String.class, row.schemaName());
+        v.accept(1, "tableName", String.class, row.tableName());
+        v.accept(2, "columnName", String.class, row.columnName());
+        v.acceptLong(3, "rowCount", row.rowCount());
+        v.acceptLong(4, "nullCount", row.nullCount());
+        v.acceptLong(5, "distinctCount", row.distinctCount());
+        v.acceptInt(6, "selectivity", row.selectivity());
+        v.accept(7, "min", String.class, row.min());
+        v.accept(8, "max", String.class, row.max());
+        v.accept(9, "histogram", String.class, row.histogram());
+    }
+
+    /** {@inheritDoc} */
+    @Override public int count() {
+        return 10;
+    }
+}
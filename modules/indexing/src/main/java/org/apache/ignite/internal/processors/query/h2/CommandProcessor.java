@@ -20,6 +20,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -31,6 +32,8 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -51,8 +54,10 @@ import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.events.DiscoveryEvent;
 import org.apache.ignite.events.Event;
 import org.apache.ignite.events.EventType;
+import org.apache.ignite.internal.GridClosureCallMode;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.GridTopic;
+import org.apache.ignite.internal.IgniteEx;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.managers.communication.GridIoPolicy;
 import org.apache.ignite.internal.managers.eventstorage.GridLocalEventListener;
@@ -77,7 +82,9 @@ import org.apache.ignite.internal.processors.query.SqlClientContext;
 import org.apache.ignite.internal.processors.query.h2.dml.DmlBulkLoadDataConverter;
 import org.apache.ignite.internal.processors.query.h2.dml.UpdatePlan;
 import org.apache.ignite.internal.processors.query.h2.dml.UpdatePlanBuilder;
+import org.apache.ignite.internal.processors.query.h2.opt.ColumnStatisticsSample;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.opt.H2ComputedColumn;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAlterTableAddColumn;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAlterTableDropColumn;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlColumn;
@@ -91,6 +98,7 @@ import org.apache.ignite.internal.processors.query.messages.GridQueryKillRespons
 import org.apache.ignite.internal.processors.query.schema.SchemaOperationException;
 import org.apache.ignite.internal.sql.command.SqlAlterTableCommand;
 import org.apache.ignite.internal.sql.command.SqlAlterUserCommand;
+import org.apache.ignite.internal.sql.command.SqlAnalyzeCommand;
 import org.apache.ignite.internal.sql.command.SqlBeginTransactionCommand;
 import org.apache.ignite.internal.sql.command.SqlBulkLoadCommand;
 import org.apache.ignite.internal.sql.command.SqlCommand;
@@ -101,6 +109,7 @@ import org.apache.ignite.internal.sql.command.SqlDropIndexCommand;
 import org.apache.ignite.internal.sql.command.SqlDropUserCommand;
 import org.apache.ignite.internal.sql.command.SqlIndexColumn;
 import org.apache.ignite.internal.sql.command.SqlKillQueryCommand;
+import org.apache.ignite.internal.sql.command.SqlQualifiedName;
 import org.apache.ignite.internal.sql.command.SqlRollbackTransactionCommand;
 import org.apache.ignite.internal.sql.command.SqlSetStreamingCommand;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
@@ -110,9 +119,13 @@ import org.apache.ignite.internal.util.typedef.CIX2;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.lang.IgniteCallable;
 import org.apache.ignite.lang.IgniteProductVersion;
+import org.apache.ignite.lang.IgniteRunnable;
 import org.apache.ignite.plugin.extensions.communication.Message;
 import org.apache.ignite.plugin.security.SecurityPermission;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.thread.IgniteThreadPoolExecutor;
 import org.gridgain.internal.h2.command.Prepared;
 import org.gridgain.internal.h2.command.ddl.AlterTableAlterColumn;
 import org.gridgain.internal.h2.command.ddl.CreateIndex;
@@ -126,6 +139,8 @@ import org.gridgain.internal.h2.value.Value;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_BULK_LOAD_PARALLELISM;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_STATISTICS_SAMPLE_SIZE;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.mvccEnabled;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.tx;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.txStart;
@@ -160,6 +175,9 @@ public class CommandProcessor {
     /** Flag indicate that node is stopped or not. */
     private volatile boolean stopped;
 
+    /** Executor converting and streaming the records of parallel COPY commands, created on first use. */
+    private ExecutorService bulkLoadExec;
+
     /** */
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
@@ -230,6 +248,29 @@ public class CommandProcessor {
         stopped = true;
 
         completeCancellationFutures("Local node is stopping: [nodeId=" + ctx.localNodeId() + "]");
+
+        synchronized (this) {
+            U.shutdownNow(CommandProcessor.class, bulkLoadExec, log);
+
+            bulkLoadExec = null;
+        }
+    }
+
+    /**
+     * @return Executor shared by parallel COPY commands, bounded by the number of available processors.
+     */
+    private synchronized ExecutorService bulkLoadExecutor() {
+        if (stopped)
+            throw new IgniteSQLException("Failed to execute COPY command, node is stopping.");
+
+        if (bulkLoadExec == null) {
+            int threads = Runtime.getRuntime().availableProcessors();
+
+            bulkLoadExec = new IgniteThreadPoolExecutor("bulk-load", ctx.igniteInstanceName(), threads, threads, 0,
+                new LinkedBlockingQueue<>());
+        }
+
+        return bulkLoadExec;
     }
 
     /**
@@ -413,6 +454,8 @@ public class CommandProcessor {
                 processSetStreamingCommand((SqlSetStreamingCommand)cmdNative, cliCtx);
             else if (cmdNative instanceof SqlKillQueryCommand)
                 processKillQueryCommand((SqlKillQueryCommand) cmdNative);
+            else if (cmdNative instanceof SqlAnalyzeCommand)
+                processAnalyzeCommand((SqlAnalyzeCommand)cmdNative);
             else
                 processTxCommand(cmdNative, params);
         }
@@ -493,6 +536,60 @@ public class CommandProcessor {
         }
     }
 
+    /**
+     * Process ANALYZE command: samples column values of the tables on all server nodes, merges the samples and
+     * applies statistics calculated from them on all server nodes and this node.
+     *
+     * @param cmd Command.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void processAnalyzeCommand(SqlAnalyzeCommand cmd) throws IgniteCheckedException {
+        List<IgniteBiTuple<String, String>> tbls = new ArrayList<>(cmd.tables().size());
+
+        for (SqlQualifiedName name : cmd.tables()) {
+            String schemaName = name.schemaName() != null ? name.schemaName() : cmd.schemaName();
+
+            GridH2Table tbl = schemaMgr.dataTable(schemaName, name.name());
+
+            if (tbl == null) {
+                throw new IgniteSQLException("Table doesn't exist: " + name.name(),
+                    IgniteQueryErrorCode.TABLE_NOT_FOUND);
+            }
+
+            ctx.security().authorize(tbl.cacheName(), SecurityPermission.CACHE_READ);
+
+            tbls.add(new IgniteBiTuple<>(schemaName, name.name()));
+        }
+
+        int sampleSize = IgniteSystemProperties.getInteger(IGNITE_SQL_STATISTICS_SAMPLE_SIZE, 10_000);
+
+        Collection<ClusterNode> srvs = ctx.discovery().aliveServerNodes();
+
+        Collection<List<ColumnStatisticsSample>> nodeSamples = ctx.closure().callAsync(GridClosureCallMode.BROADCAST,
+            Collections.singletonList(new SampleColumnValuesJob(tbls, sampleSize)), srvs).get();
+
+        List<ColumnStatisticsSample> samples = new ArrayList<>(tbls.size());
+
+        for (int i = 0; i < tbls.size(); i++) {
+            List<ColumnStatisticsSample> tblSamples = new ArrayList<>(nodeSamples.size());
+
+            for (List<ColumnStatisticsSample> nodeSample : nodeSamples) {
+                if (nodeSample.get(i) != null)
+                    tblSamples.add(nodeSample.get(i));
+            }
+
+            samples.add(tblSamples.isEmpty() ? null : ColumnStatisticsSample.merge(tblSamples, sampleSize));
+        }
+
+        // Statistics are used to plan map queries on server nodes and to plan the query on the reducer.
+        Collection<ClusterNode> nodes = new HashSet<>(srvs);
+
+        nodes.add(ctx.discovery().localNode());
+
+        ctx.closure().runAsync(GridClosureCallMode.BROADCAST, new ApplyColumnStatisticsJob(tbls, samples), nodes)
+            .get();
+    }
+
     /**
      * Run DDL statement.
      *
@@ -527,10 +624,25 @@ public class CommandProcessor {
 
                 LinkedHashMap<String, Boolean> flds = new LinkedHashMap<>();
 
+                Set<String> exprFlds = new HashSet<>();
+
                 // Let's replace H2's table and property names by those operated by GridQueryProcessor.
                 GridQueryTypeDescriptor typeDesc = tbl.rowDescriptor().type();
 
                 for (SqlIndexColumn col : cmd0.columns()) {
+                    if (col.expression()) {
+                        // Validate the expression and store it in the form the planner matches queries against.
+                        String exprSql = H2ComputedColumn.indexField(tbl, col.name());
+
+                        if (flds.put(exprSql, !col.descending()) != null)
+                            throw new IgniteSQLException("Column already defined: " + exprSql,
+                                IgniteQueryErrorCode.PARSING);
+
+                        exprFlds.add(exprSql);
+
+                        continue;
+                    }
+
                     GridQueryProperty prop = typeDesc.property(col.name());
 
                     if (prop == null)
@@ -540,6 +652,10 @@ public class CommandProcessor {
                 }
 
                 newIdx.setFields(flds);
+
+                if (!exprFlds.isEmpty())
+                    newIdx.setExpressionFields(exprFlds);
+
                 newIdx.setInlineSize(cmd0.inlineSize());
 
                 fut = ctx.query().dynamicIndexCreate(tbl.cacheName(), cmd.schemaName(), typeDesc.tableName(),
@@ -1311,6 +1427,12 @@ public class CommandProcessor {
         if (cmd.packetSize() == null)
             cmd.packetSize(BulkLoadAckClientParameters.DFLT_PACKET_SIZE);
 
+        if (cmd.parallel() == null)
+            cmd.parallel(IgniteSystemProperties.getInteger(IGNITE_SQL_BULK_LOAD_PARALLELISM, 1));
+
+        // Parallel chunks are processed by the shared executor and the calling thread.
+        cmd.parallel(Math.min(cmd.parallel(), Runtime.getRuntime().availableProcessors()));
+
         GridH2Table tbl = schemaMgr.dataTable(cmd.schemaName(), cmd.tableName());
 
         if (tbl == null) {
@@ -1331,10 +1453,100 @@ public class CommandProcessor {
         BulkLoadParser inputParser = BulkLoadParser.createParser(cmd.inputFormat());
 
         BulkLoadProcessor processor = new BulkLoadProcessor(inputParser, dataConverter, outputWriter,
-            idx.runningQueryManager(), qryId, ctx.tracing());
+            idx.runningQueryManager(), qryId, ctx.tracing(), cmd.parallel(),
+            cmd.parallel() > 1 ? bulkLoadExecutor() : null);
 
         BulkLoadAckClientParameters params = new BulkLoadAckClientParameters(cmd.localFileName(), cmd.packetSize());
 
         return new BulkLoadContextCursor(processor, params);
     }
+
+    /**
+     * Samples column values of local primary rows of the tables on a node.
+     */
+    private static class SampleColumnValuesJob implements IgniteCallable<List<ColumnStatisticsSample>> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Schema and table names. */
+        private final List<IgniteBiTuple<String, String>> tbls;
+
+        /** Maximum number of sampled rows of a table. */
+        private final int sampleSize;
+
+        /** Ignite. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /**
+         * @param tbls Schema and table names.
+         * @param sampleSize Maximum number of sampled rows of a table.
+         */
+        private SampleColumnValuesJob(List<IgniteBiTuple<String, String>> tbls, int sampleSize) {
+            this.tbls = tbls;
+            this.sampleSize = sampleSize;
+        }
+
+        /** {@inheritDoc} */
+        @Override public List<ColumnStatisticsSample> call() throws Exception {
+            SchemaManager schemaMgr = ((IgniteH2Indexing)ignite.context().query().getIndexing()).schemaManager();
+
+            List<ColumnStatisticsSample> res = new ArrayList<>(tbls.size());
+
+            for (IgniteBiTuple<String, String> name : tbls) {
+                GridH2Table tbl = schemaMgr.dataTable(name.get1(), name.get2());
+
+                res.add(tbl == null ? null : tbl.sampleColumnValues(sampleSize));
+            }
+
+            return res;
+        }
+    }
+
+    /**
+     * Applies column statistics calculated from merged samples of the tables on a node.
+     */
+    private static class ApplyColumnStatisticsJob implements IgniteRunnable {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Schema and table names. */
+        private final List<IgniteBiTuple<String, String>> tbls;
+
+        /** Samples of the tables merged from all nodes, {@code null} for tables which were not sampled. */
+        private final List<ColumnStatisticsSample> samples;
+
+        /** Ignite. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /**
+         * @param tbls Schema and table names.
+         * @param samples Samples of the tables merged from all nodes.
+         */
+        private ApplyColumnStatisticsJob(List<IgniteBiTuple<String, String>> tbls,
+            List<ColumnStatisticsSample> samples) {
+            this.tbls = tbls;
+            this.samples = samples;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void run() {
+            SchemaManager schemaMgr = ((IgniteH2Indexing)ignite.context().query().getIndexing()).schemaManager();
+
+            for (int i = 0; i < tbls.size(); i++) {
+                GridH2Table tbl = schemaMgr.dataTable(tbls.get(i).get1(), tbls.get(i).get2());
+
+                if (tbl == null || samples.get(i) == null)
+                    continue;
+
+                try {
+                    tbl.applyColumnStatistics(samples.get(i));
+                }
+                catch (IgniteCheckedException e) {
+                    throw U.convertException(e);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.query.IndexQueryCriterion;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
+import org.apache.ignite.internal.processors.cache.CacheObjectUtils;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter;
+import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.QueryUtils;
+import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.opt.H2CacheRow;
+import org.apache.ignite.internal.processors.query.h2.opt.H2Row;
+import org.apache.ignite.internal.util.GridCloseableIteratorAdapter;
+import org.apache.ignite.internal.util.lang.GridCloseableIterator;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.spi.indexing.IndexingQueryFilter;
+import org.gridgain.internal.h2.message.DbException;
+import org.gridgain.internal.h2.index.Index;
+import org.gridgain.internal.h2.result.Row;
+import org.gridgain.internal.h2.result.SearchRow;
+import org.gridgain.internal.h2.result.SortOrder;
+import org.gridgain.internal.h2.table.IndexColumn;
+import org.gridgain.internal.h2.value.Value;
+import org.gridgain.internal.h2.value.ValueNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Index range query executed directly on the index tree, bypassing SQL parsing and planning.
+ */
+public class H2IndexQuery {
+    /** Table. */
+    private final GridH2Table tbl;
+
+    /** Index. */
+    private final H2TreeIndex idx;
+
+    /** Criteria. */
+    private final List<IndexQueryCriterion> criteria;
+
+    /** Index columns of the criteria. */
+    private final IndexColumn[] cols;
+
+    /** Lower bounds of the criteria. */
+    private final Value[] lower;
+
+    /** Upper bounds of the criteria. */
+    private final Value[] upper;
+
+    /**
+     * @param tbl Table.
+     * @param idxName Index name.
+     * @param criteria Criteria, set for a prefix of the index fields.
+     * @throws IgniteCheckedException If failed.
+     */
+    public H2IndexQuery(GridH2Table tbl, String idxName, List<IndexQueryCriterion> criteria)
+        throws IgniteCheckedException {
+        GridCacheContext<?, ?> cctx = tbl.cacheContext();
+
+        if (cctx == null || cctx.mvccEnabled()) {
+            throw new IgniteSQLException("Index query is not supported for the cache [cache=" + tbl.cacheName() +
+                ']', IgniteQueryErrorCode.UNSUPPORTED_OPERATION);
+        }
+
+        this.tbl = tbl;
+        this.criteria = criteria;
+
+        idx = index(tbl, idxName);
+
+        IndexColumn[] idxCols = idx.getIndexColumns();
+
+        if (criteria.size() > idxCols.length || (QueryUtils.PRIMARY_KEY_INDEX.equals(idxName) &&
+            idxCols[0].column.getColumnId() != QueryUtils.KEY_COL)) {
+            throw new IgniteSQLException("Index query criteria don't match the index [idx=" + idxName +
+                ", criteria=" + criteria + ']', IgniteQueryErrorCode.UNSUPPORTED_OPERATION);
+        }
+
+        cols = new IndexColumn[criteria.size()];
+        lower = new Value[criteria.size()];
+        upper = new Value[criteria.size()];
+
+        CacheObjectContext coctx = cctx.cacheObjectContext();
+
+        for (int i = 0; i < criteria.size(); i++) {
+            IndexQueryCriterion c = criteria.get(i);
+
+            cols[i] = idxCols[i];
+
+            int type = cols[i].column.getType().getValueType();
+
+            lower[i] = c.lower() != null ? H2Utils.wrap(coctx, c.lower(), type) : null;
+            upper[i] = c.upper() != null ? H2Utils.wrap(coctx, c.upper(), type) : null;
+        }
+    }
+
+    /**
+     * @param tbl Table.
+     * @param idxName Index name.
+     * @return Index.
+     */
+    private static H2TreeIndex index(GridH2Table tbl, String idxName) {
+        for (Index idx : tbl.getIndexes()) {
+            if (idx instanceof H2TreeIndex && idx.getName().equalsIgnoreCase(idxName))
+                return (H2TreeIndex)idx;
+        }
+
+        throw new IgniteSQLException("Index not found [tbl=" + tbl.getName() + ", idx=" + idxName + ']',
+            IgniteQueryErrorCode.INDEX_NOT_FOUND);
+    }
+
+    /**
+     * Creates comparator of the cache entries which sorts entries in the order of the index tree: values of the index
+     * columns are compared as H2 values, the same way the tree compares them.
+     *
+     * @param tbl Table.
+     * @param idxName Index name.
+     * @return Comparator or {@code null} if the cache is not started locally.
+     */
+    @Nullable public static Comparator<Map.Entry<?, ?>> comparator(GridH2Table tbl, String idxName) {
+        GridCacheContext<?, ?> cctx = tbl.cacheContext();
+
+        if (cctx == null)
+            return null;
+
+        IndexColumn[] idxCols = index(tbl, idxName).getIndexColumns();
+
+        return (e1, e2) -> {
+            try {
+                H2CacheRow r1 = row(tbl, cctx, e1);
+                H2CacheRow r2 = row(tbl, cctx, e2);
+
+                for (IndexColumn col : idxCols) {
+                    int colId = col.column.getColumnId();
+
+                    Value v1 = r1.getValue(colId);
+                    Value v2 = r2.getValue(colId);
+
+                    int res = v1 == v2 ? 0 : tbl.compareValues(v1, v2);
+
+                    if (res != 0)
+                        return (col.sortType & SortOrder.DESCENDING) != 0 ? -res : res;
+                }
+
+                return 0;
+            }
+            catch (DbException e) {
+                throw new IgniteSQLException("Index query results cannot be compared [idx=" + idxName + ']', e);
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteException(e);
+            }
+        };
+    }
+
+    /**
+     * @param tbl Table.
+     * @param cctx Cache context.
+     * @param e Cache entry with key and value in binary form.
+     * @return Table row of the entry.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static H2CacheRow row(GridH2Table tbl, GridCacheContext<?, ?> cctx, Map.Entry<?, ?> e)
+        throws IgniteCheckedException {
+        return tbl.rowDescriptor().createRow(new CacheDataRowAdapter(cctx.toCacheKeyObject(e.getKey()),
+            cctx.toCacheObject(e.getValue()), null, 0));
+    }
+
+    /**
+     * @param filter Cache name and key filter.
+     * @return Rows matching the criteria in the index order.
+     */
+    public <K, V> GridCloseableIterator<IgniteBiTuple<K, V>> execute(@Nullable IndexingQueryFilter filter) {
+        Iterator<H2Row> it = idx.find(searchRow(true), searchRow(false),
+            filter != null ? filter.forCache(tbl.cacheName()) : null);
+
+        CacheObjectContext coctx = tbl.cacheContext().cacheObjectContext();
+
+        return new GridCloseableIteratorAdapter<IgniteBiTuple<K, V>>() {
+            /** */
+            private static final long serialVersionUID = 0L;
+
+            /** */
+            private IgniteBiTuple<K, V> next;
+
+            @Override protected IgniteBiTuple<K, V> onNext() {
+                IgniteBiTuple<K, V> res = next;
+
+                next = null;
+
+                return res;
+            }
+
+            @Override protected boolean onHasNext() {
+                while (next == null && it.hasNext()) {
+                    H2CacheRow row = (H2CacheRow)it.next();
+
+                    if (matches(row)) {
+                        next = new IgniteBiTuple<>(
+                            (K)CacheObjectUtils.unwrapBinaryIfNeeded(coctx, row.key(), true, false),
+                            (V)CacheObjectUtils.unwrapBinaryIfNeeded(coctx, row.value(), true, false));
+                    }
+                }
+
+                return next != null;
+            }
+        };
+    }
+
+    /**
+     * Creates bound of the tree range. Bounds of the criteria are inclusive, exclusive bounds and criteria for
+     * non-leading columns are checked for every row of the range.
+     *
+     * @param first Whether to create the first row of the range.
+     * @return Search row or {@code null} if the range is not bounded.
+     */
+    @Nullable private SearchRow searchRow(boolean first) {
+        Value[] vals = new Value[tbl.getColumns().length];
+
+        boolean bounded = false;
+
+        for (int i = 0; i < cols.length; i++) {
+            boolean desc = (cols[i].sortType & SortOrder.DESCENDING) != 0;
+
+            Value val = first != desc ? lower[i] : upper[i];
+
+            // Columns after an unbounded one don't narrow the range.
+            if (val == null)
+                break;
+
+            vals[cols[i].column.getColumnId()] = val;
+
+            bounded = true;
+        }
+
+        return bounded ? tbl.getDatabase().createRow(vals, Row.MEMORY_CALCULATE) : null;
+    }
+
+    /**
+     * @param row Row.
+     * @return {@code True} if the row matches all criteria.
+     */
+    private boolean matches(Row row) {
+        for (int i = 0; i < cols.length; i++) {
+            Value val = row.getValue(cols[i].column.getColumnId());
+
+            if (val == null || val == ValueNull.INSTANCE)
+                return false;
+
+            if (lower[i] != null) {
+                int cmp = tbl.compareValues(val, lower[i]);
+
+                if (cmp < 0 || (cmp == 0 && !criteria.get(i).lowerInclusive()))
+                    return false;
+            }
+
+            if (upper[i] != null) {
+                int cmp = tbl.compareValues(val, upper[i]);
+
+                if (cmp > 0 || (cmp == 0 && !criteria.get(i).upperInclusive()))
+                    return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -39,7 +39,6 @@ import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
 import org.apache.ignite.internal.processors.query.h2.opt.GridLuceneIndex;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.S;
-import org.apache.ignite.internal.util.typedef.internal.U;
 import org.gridgain.internal.h2.index.Index;
 import org.gridgain.internal.h2.result.SortOrder;
 import org.gridgain.internal.h2.table.Column;
@@ -410,7 +409,7 @@ public class H2TableDescriptor {
         List<IndexColumn> cols = new ArrayList<>(idxDesc.fields().size() + 2);
 
         for (String field : idxDesc.fields()) {
-            Column col = tbl.getColumn(field);
+            Column col = idxDesc.expression(field) ? tbl.computedColumn(field) : tbl.getColumn(field);
 
             cols.add(tbl.indexColumn(col.getColumnId(),
                 idxDesc.descending(field) ? SortOrder.DESCENDING : SortOrder.ASCENDING));
@@ -469,6 +468,7 @@ public class H2TableDescriptor {
     void onDrop() {
         tbl.destroy();
 
-        U.closeQuiet(luceneIdx);
+        if (luceneIdx != null)
+            luceneIdx.close(cacheInfo.cacheContext(), tbl.removeIndexOnDestroy());
     }
 }
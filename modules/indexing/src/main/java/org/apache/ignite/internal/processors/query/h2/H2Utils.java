@@ -121,6 +121,9 @@ public class H2Utils {
     /** Default hash join max table size. */
     public static final int DFLT_HASH_JOIN_MAX_TABLE_SIZE = 100_000;
 
+    /** Whether hash join is chosen by query optimizer by default. */
+    public static final boolean DFLT_ENABLE_HASH_JOIN = true;
+
     /**
      * The default precision for a char/varchar value.
      */
@@ -160,7 +163,7 @@ public class H2Utils {
      * (not final for tests).
      */
     private static boolean enableHashJoin
-        = IgniteSystemProperties.getBoolean(IGNITE_ENABLE_HASH_JOIN, false);
+        = IgniteSystemProperties.getBoolean(IGNITE_ENABLE_HASH_JOIN, DFLT_ENABLE_HASH_JOIN);
 
     /**
      * @param c1 First column.
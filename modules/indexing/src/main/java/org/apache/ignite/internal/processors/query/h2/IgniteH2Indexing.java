@@ -25,8 +25,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -45,6 +47,7 @@ import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.CacheServerNotFoundException;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.IndexQueryCriterion;
 import org.apache.ignite.cache.query.QueryCancelledException;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.cache.query.SqlQuery;
@@ -55,6 +58,7 @@ import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.GridTopic;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.cluster.ClusterTopologyServerNotFoundException;
+import org.apache.ignite.internal.commandline.cache.check_indexes_inline_size.IndexInlineStatistics;
 import org.apache.ignite.internal.managers.IgniteMBeansManager;
 import org.apache.ignite.internal.managers.communication.GridMessageListener;
 import org.apache.ignite.internal.managers.eventstorage.GridLocalEventListener;
@@ -69,6 +73,7 @@ import org.apache.ignite.internal.processors.cache.CacheOperationContext;
 import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
 import org.apache.ignite.internal.processors.cache.QueryCursorImpl;
 import org.apache.ignite.internal.processors.cache.distributed.dht.IgniteClusterReadOnlyException;
@@ -112,6 +117,7 @@ import org.apache.ignite.internal.processors.query.GridQueryStartedInfo;
 import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
 import org.apache.ignite.internal.processors.query.GridRunningQueryInfo;
 import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.QueryCpuTimer;
 import org.apache.ignite.internal.processors.query.QueryField;
 import org.apache.ignite.internal.processors.query.QueryIndexDescriptorImpl;
 import org.apache.ignite.internal.processors.query.QueryUtils;
@@ -138,9 +144,13 @@ import org.apache.ignite.internal.processors.query.h2.dml.UpdateMode;
 import org.apache.ignite.internal.processors.query.h2.dml.UpdatePlan;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2IndexBase;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.opt.GridLuceneIndex;
 import org.apache.ignite.internal.processors.query.h2.opt.H2Row;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContext;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContextRegistry;
+import org.apache.ignite.internal.processors.query.h2.opt.join.DistributedLookupMetrics;
+import org.apache.ignite.internal.processors.query.h2.sql.GridApproxCountDistinctFunction;
+import org.apache.ignite.internal.processors.query.h2.sql.GridApproxPercentileFunction;
 import org.apache.ignite.internal.processors.query.h2.sql.GridFirstValueFunction;
 import org.apache.ignite.internal.processors.query.h2.sql.GridLastValueFunction;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlStatement;
@@ -168,6 +178,7 @@ import org.apache.ignite.internal.util.GridAtomicLong;
 import org.apache.ignite.internal.util.GridEmptyCloseableIterator;
 import org.apache.ignite.internal.util.GridSpinBusyLock;
 import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.lang.GridCloseableIterator;
 import org.apache.ignite.internal.util.lang.GridPlainRunnable;
@@ -207,6 +218,8 @@ import static java.util.Collections.singletonList;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_MVCC_TX_SIZE_CACHING_THRESHOLD;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_RESULT_CACHE_MAX_ROWS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_RESULT_CACHE_SIZE;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccCachingManager.TX_SIZE_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.checkActive;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.mvccEnabled;
@@ -300,6 +313,12 @@ public class IgniteH2Indexing implements GridQueryIndexing {
     /** Parser. */
     private QueryParser parser;
 
+    /** Query result cache. */
+    private QueryResultCache resCache;
+
+    /** Metrics of remote index lookups of non-collocated joins. */
+    private DistributedLookupMetrics lookupMetrics;
+
     /** Memory manager */
     private QueryMemoryManager memoryMgr;
 
@@ -416,6 +435,9 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         if (tbl == null)
             return;
 
+        // Not every removal updates partition counters, e.g. cache clear or expiration.
+        resCache.onRemove(cctx.cacheId());
+
         if (tbl.table().remove(row)) {
             if (tbl.luceneIndex() != null)
                 tbl.luceneIndex().remove(row.key());
@@ -530,6 +552,26 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         return new GridEmptyCloseableIterator<>();
     }
 
+    /** {@inheritDoc} */
+    @Override public <K, V> GridCloseableIterator<IgniteBiTuple<K, V>> queryLocalIndex(String schemaName,
+        String cacheName, String typeName, String idxName, List<IndexQueryCriterion> criteria,
+        IndexingQueryFilter filters) throws IgniteCheckedException {
+        H2TableDescriptor tbl = schemaMgr.tableForType(schemaName, cacheName, typeName);
+
+        if (tbl == null)
+            throw new IgniteSQLException("Failed to find SQL table for type: " + typeName);
+
+        return new H2IndexQuery(tbl.table(), idxName, criteria).execute(filters);
+    }
+
+    /** {@inheritDoc} */
+    @Override @Nullable public Comparator<Map.Entry<?, ?>> indexQueryComparator(String schemaName, String cacheName,
+        String typeName, String idxName) {
+        H2TableDescriptor tbl = schemaMgr.tableForType(schemaName, cacheName, typeName);
+
+        return tbl != null ? H2IndexQuery.comparator(tbl.table(), idxName) : null;
+    }
+
     /**
      * Queries individual fields (generally used by JDBC drivers).
      *
@@ -980,6 +1022,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         Session s = H2Utils.session(conn);
 
         s.groupByDataFactory(memoryMgr);
+        s.hashJoinDataFactory(memoryMgr);
         s.queryDescription(qryInfo::description);
 
         GridRunningQueryInfo runningQryInfo = null;
@@ -1064,7 +1107,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
                 IgniteQueryErrorCode.UNSUPPORTED_OPERATION);
         }
 
-        Long qryId = registerRunningQuery(qryDesc, qryParams, null);
+        Long qryId = registerRunningQuery(qryDesc, qryParams, null, false);
 
         CommandResult res = null;
 
@@ -1246,7 +1289,9 @@ public class IgniteH2Indexing implements GridQueryIndexing {
     ) {
         IndexingQueryFilter filter = (qryDesc.local() ? backupFilter(null, qryParams.partitions()) : null);
 
-        Long qryId = registerRunningQuery(qryDesc, qryParams, cancel);
+        Long qryId = registerRunningQuery(qryDesc, qryParams, cancel, true);
+
+        QueryCpuTimer cpuTimer = new QueryCpuTimer();
 
         Exception failReason = null;
 
@@ -1308,6 +1353,8 @@ public class IgniteH2Indexing implements GridQueryIndexing {
                 ", params=" + Arrays.deepToString(qryParams.arguments()) + "]", e);
         }
         finally {
+            addCpuTime(qryId, cpuTimer);
+
             runningQryMgr.unregister(qryId, failReason);
         }
     }
@@ -1332,7 +1379,9 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         assert cancel != null;
 
         // Register query.
-        Long qryId = registerRunningQuery(qryDesc, qryParams, cancel);
+        Long qryId = registerRunningQuery(qryDesc, qryParams, cancel, true);
+
+        QueryCpuTimer cpuTimer = new QueryCpuTimer();
 
         try (TraceSurroundings ignored = MTC.support(ctx.tracing().create(SQL_CURSOR_OPEN, MTC.span()))) {
             GridNearTxLocal tx = null;
@@ -1390,9 +1439,13 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
             cursor.partitionResult(select.twoStepQuery() != null ? select.twoStepQuery().derivedPartitions() : null);
 
+            addCpuTime(qryId, cpuTimer);
+
             return singletonList(cursor);
         }
         catch (Exception e) {
+            addCpuTime(qryId, cpuTimer);
+
             runningQryMgr.unregister(qryId, e);
 
             if (e instanceof IgniteCheckedException)
@@ -1482,6 +1535,15 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         if (ctx.security().enabled())
             checkSecurity(select.cacheIds());
 
+        QueryResultCache.Key resCacheKey = inTx ? null : resCache.key(qryDesc, qryParams, select, keepBinary);
+
+        if (resCacheKey != null) {
+            Iterable<List<?>> cached = resCache.get(resCacheKey, cancel);
+
+            if (cached != null)
+                return cached;
+        }
+
         Iterable<List<?>> iter;
 
         if (select.splitNeeded()) {
@@ -1528,7 +1590,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
             };
         }
 
-        return iter;
+        return resCacheKey != null ? resCache.caching(resCacheKey, iter) : iter;
     }
 
     /**
@@ -1599,9 +1661,11 @@ public class IgniteH2Indexing implements GridQueryIndexing {
      *
      * @param qryDesc Query descriptor.
      * @param cancel Query cancel state holder.
+     * @param admit Whether the query is subject to admission control.
      * @return Id of registered query or {@code null} if query wasn't registered.
      */
-    private Long registerRunningQuery(QueryDescriptor qryDesc, QueryParameters qryParams, GridQueryCancel cancel) {
+    private Long registerRunningQuery(QueryDescriptor qryDesc, QueryParameters qryParams, GridQueryCancel cancel,
+        boolean admit) {
         return runningQryMgr.register(
             qryDesc.sql(),
             GridCacheQueryType.SQL_FIELDS,
@@ -1609,10 +1673,26 @@ public class IgniteH2Indexing implements GridQueryIndexing {
             qryDesc.local(),
             memoryMgr.createQueryMemoryTracker(qryParams.maxMemory()),
             cancel,
-            qryDesc.queryInitiatorId()
+            qryDesc.queryInitiatorId(),
+            admit
         );
     }
 
+    /**
+     * Accounts CPU time consumed by the current thread to the running query.
+     *
+     * @param qryId Id of the running query.
+     * @param cpuTimer Timer started when the query was registered.
+     */
+    private void addCpuTime(Long qryId, QueryCpuTimer cpuTimer) {
+        long cpuTime = cpuTimer.stop();
+
+        GridRunningQueryInfo run = qryId == null ? null : runningQryMgr.runningQueryInfo(qryId);
+
+        if (run != null)
+            run.addCpuTime(cpuTime);
+    }
+
     /**
      * Check security access for caches.
      *
@@ -1932,6 +2012,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         // Only for SQL caches.
         if (cacheInfo != null) {
             parser.clearCache();
+            resCache.clear();
 
             cacheInfo.clearCacheContext();
         }
@@ -2087,10 +2168,39 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
         assert nonNull(pageStore);
 
-        SchemaIndexCacheVisitorClosure clo;
-
         String cacheName = cctx.name();
 
+        // Full-text indexes are not in the index store, they are reused only if they are consistent with the data.
+        Map<GridH2Table, GridLuceneIndex> staleLuceneIdxs = new IdentityHashMap<>();
+
+        try {
+            for (H2TableDescriptor tblDesc : schemaMgr.tablesForCache(cacheName)) {
+                GridLuceneIndex luceneIdx = tblDesc.luceneIndex();
+
+                if (luceneIdx != null && luceneIdx.prepareRebuild(cctx))
+                    staleLuceneIdxs.put(tblDesc.table(), luceneIdx);
+            }
+        }
+        catch (IgniteCheckedException e) {
+            return new GridFinishedFuture<>(e);
+        }
+
+        // No need to rebuild if cache has no data.
+        boolean empty = true;
+
+        for (IgniteCacheOffheapManager.CacheDataStore store : cctx.offheap().cacheDataStores()) {
+            if (!store.isEmpty()) {
+                empty = false;
+
+                break;
+            }
+        }
+
+        if (empty)
+            return null;
+
+        SchemaIndexCacheVisitorClosure clo;
+
         if (!pageStore.hasIndexStore(cctx.groupId())) {
             // If there are no index store, rebuild all indexes.
             clo = new IndexRebuildFullClosure(cctx.queries(), cctx.mvccEnabled());
@@ -2105,6 +2215,9 @@ public class IgniteH2Indexing implements GridQueryIndexing {
                 assert nonNull(tbl);
 
                 tbl.collectIndexesForPartialRebuild(clo0);
+
+                if (staleLuceneIdxs.containsKey(tbl))
+                    clo0.addLuceneIndex(tbl, staleLuceneIdxs.get(tbl));
             }
 
             if (clo0.hasIndexes())
@@ -2173,6 +2286,9 @@ public class IgniteH2Indexing implements GridQueryIndexing {
             assert tblDesc.table() != null;
 
             tblDesc.table().markRebuildFromHashInProgress(val);
+
+            if (tblDesc.luceneIndex() != null)
+                tblDesc.luceneIndex().markRebuildFromHashInProgress(val);
         }
     }
 
@@ -2237,6 +2353,11 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
         parser = new QueryParser(this, connections());
 
+        resCache = new QueryResultCache(ctx, IgniteSystemProperties.getInteger(IGNITE_SQL_RESULT_CACHE_SIZE, 0),
+            IgniteSystemProperties.getInteger(IGNITE_SQL_RESULT_CACHE_MAX_ROWS, 1000));
+
+        lookupMetrics = new DistributedLookupMetrics(ctx.metric());
+
         schemaMgr = new SchemaManager(ctx, connections());
         schemaMgr.start(ctx.config().getSqlConfiguration().getSqlSchemas());
 
@@ -2638,6 +2759,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
      */
     private void clearPlanCache() {
         parser.clearCache();
+        resCache.clear();
     }
 
     /** {@inheritDoc} */
@@ -2721,6 +2843,13 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         return qryCtxRegistry;
     }
 
+    /**
+     * @return Metrics of remote index lookups of non-collocated joins.
+     */
+    public DistributedLookupMetrics distributedLookupMetrics() {
+        return lookupMetrics;
+    }
+
     /**
      * @return Connection manager.
      */
@@ -2735,6 +2864,13 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         return parser;
     }
 
+    /**
+     * @return Query result cache.
+     */
+    public QueryResultCache resultCache() {
+        return resCache;
+    }
+
     /**
      * @return Schema manager.
      */
@@ -3014,6 +3150,16 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         DmlDistributedPlanInfo distributedPlan = loc ? null : plan.distributedPlan();
 
         if (distributedPlan != null) {
+            int[] parts = PartitionResult.calculatePartitions(
+                qryParams.partitions(),
+                distributedPlan.derivedPartitions(),
+                qryParams.arguments()
+            );
+
+            // The condition does not match any partition, so there is nothing to update.
+            if (parts != null && parts.length == 0)
+                return new UpdateResult(0, X.EMPTY_OBJECT_ARRAY, distributedPlan.derivedPartitions());
+
             if (cancel == null)
                 cancel = new GridQueryCancel();
 
@@ -3025,7 +3171,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
                 qryDesc.enforceJoinOrder(),
                 qryParams.pageSize(),
                 qryParams.timeout(),
-                qryParams.partitions(),
+                parts,
                 distributedPlan.isReplicatedOnly(),
                 cancel
             );
@@ -3328,6 +3474,14 @@ public class IgniteH2Indexing implements GridQueryIndexing {
     private void registerAggregateFunctions() throws IgniteCheckedException {
         registerAggregateFunction(GridFirstValueFunction.NAME, GridFirstValueFunction.class);
         registerAggregateFunction(GridLastValueFunction.NAME, GridLastValueFunction.class);
+        registerAggregateFunction(GridApproxCountDistinctFunction.NAME, GridApproxCountDistinctFunction.class);
+        registerAggregateFunction(GridApproxCountDistinctFunction.Sketch.NAME,
+            GridApproxCountDistinctFunction.Sketch.class);
+        registerAggregateFunction(GridApproxCountDistinctFunction.Merge.NAME,
+            GridApproxCountDistinctFunction.Merge.class);
+        registerAggregateFunction(GridApproxPercentileFunction.NAME, GridApproxPercentileFunction.class);
+        registerAggregateFunction(GridApproxPercentileFunction.Sketch.NAME, GridApproxPercentileFunction.Sketch.class);
+        registerAggregateFunction(GridApproxPercentileFunction.Merge.NAME, GridApproxPercentileFunction.Merge.class);
     }
 
     /**
@@ -3371,4 +3525,31 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
         return map;
     }
+
+    /** {@inheritDoc} */
+    @Override public Map<String, IndexInlineStatistics> secondaryIndexesInlineStatistics() {
+        Map<String, IndexInlineStatistics> map = new HashMap<>();
+
+        for (GridH2Table table : schemaMgr.dataTables()) {
+            for (Index index : table.getIndexes()) {
+                if (index instanceof H2TreeIndex && !index.getIndexType().isPrimaryKey()) {
+                    H2TreeIndex idx = (H2TreeIndex)index;
+
+                    IndexInlineStatistics stats = new IndexInlineStatistics(
+                        index.getSchema().getName(),
+                        index.getTable().getName(),
+                        index.getName(),
+                        idx.inlineSize(),
+                        idx.recommendedInlineSize(),
+                        idx.comparisons(),
+                        idx.rowLookupComparisons()
+                    );
+
+                    map.put(stats.fullName(), stats);
+                }
+            }
+        }
+
+        return map;
+    }
 }
@@ -22,6 +22,7 @@ import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2IndexBase;
 import org.apache.ignite.internal.processors.query.h2.opt.H2CacheRow;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.opt.GridLuceneIndex;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorClosure;
 
 import java.util.Collection;
@@ -36,16 +37,34 @@ public class IndexRebuildPartialClosure implements SchemaIndexCacheVisitorClosur
     /** Indexes. */
     private final Map<GridH2Table, Collection<GridH2IndexBase>> tblIdxs = new IdentityHashMap<>();
 
+    /** Full-text indexes. */
+    private final Map<GridH2Table, GridLuceneIndex> tblLuceneIdxs = new IdentityHashMap<>();
+
     /** Cache context. */
     private GridCacheContext cctx;
 
+    /** Whether to fail if an index expression can't be computed for a row. */
+    private final boolean checkExprs;
+
     /**
      * Constructor.
      *
      * @param cctx Cache context.
      */
     public IndexRebuildPartialClosure(GridCacheContext cctx) {
+        this(cctx, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cctx Cache context.
+     * @param checkExprs Whether to fail if an index expression can't be computed for a row rather than to index the
+     *      row with {@code NULL}. Set for the rows existing when an index is created.
+     */
+    public IndexRebuildPartialClosure(GridCacheContext cctx, boolean checkExprs) {
         this.cctx = cctx;
+        this.checkExprs = checkExprs;
     }
 
     /** {@inheritDoc} */
@@ -59,8 +78,28 @@ public class IndexRebuildPartialClosure implements SchemaIndexCacheVisitorClosur
 
                 H2CacheRow row0 = tbl.rowDescriptor().createRow(row);
 
-                for (GridH2IndexBase idx : tblIdxEntry.getValue())
-                    idx.putx(row0);
+                row0.prepareValuesCache();
+
+                try {
+                    for (GridH2IndexBase idx : tblIdxEntry.getValue()) {
+                        tbl.computeIndexExpressions(idx, row0, checkExprs);
+
+                        idx.putx(row0);
+                    }
+                }
+                finally {
+                    row0.clearValuesCache();
+                }
+            }
+        }
+
+        for (Map.Entry<GridH2Table, GridLuceneIndex> tblIdxEntry : tblLuceneIdxs.entrySet()) {
+            if (cctx.kernalContext().query().belongsToTable(cctx, tblIdxEntry.getKey().cacheName(),
+                tblIdxEntry.getKey().getName(), row.key(), row.value())) {
+                long expireTime = row.expireTime();
+
+                tblIdxEntry.getValue().store(row.key(), row.value(), row.version(),
+                    expireTime == 0L ? Long.MAX_VALUE : expireTime);
             }
         }
     }
@@ -82,10 +121,18 @@ public class IndexRebuildPartialClosure implements SchemaIndexCacheVisitorClosur
         idxs.add(idx);
     }
 
+    /**
+     * @param tbl Table.
+     * @param idx Full-text index to be rebuilt.
+     */
+    public void addLuceneIndex(GridH2Table tbl, GridLuceneIndex idx) {
+        tblLuceneIdxs.put(tbl, idx);
+    }
+
     /**
      * @return {@code True} if there is at least one index to rebuild.
      */
     public boolean hasIndexes() {
-        return !tblIdxs.isEmpty();
+        return !tblIdxs.isEmpty() || !tblLuceneIdxs.isEmpty();
     }
 }
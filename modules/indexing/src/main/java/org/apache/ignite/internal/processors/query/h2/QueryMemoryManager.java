@@ -32,6 +32,7 @@ import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccess
 import org.apache.ignite.internal.processors.query.GridQueryMemoryMetricProvider;
 import org.apache.ignite.internal.processors.query.h2.disk.ExternalResultData;
 import org.apache.ignite.internal.processors.query.h2.disk.GroupedExternalResult;
+import org.apache.ignite.internal.processors.query.h2.disk.HashJoinExternalResult;
 import org.apache.ignite.internal.processors.query.h2.disk.PlainExternalResult;
 import org.apache.ignite.internal.processors.query.h2.disk.SortedExternalResult;
 import org.apache.ignite.internal.processors.query.h2.disk.TrackableFileIoFactory;
@@ -42,6 +43,7 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.gridgain.internal.h2.command.dml.GroupByData;
 import org.gridgain.internal.h2.engine.Session;
 import org.gridgain.internal.h2.expression.Expression;
+import org.gridgain.internal.h2.index.HashJoinExternalData;
 import org.gridgain.internal.h2.result.ResultExternal;
 import org.gridgain.internal.h2.result.SortOrder;
 
@@ -50,7 +52,7 @@ import static org.apache.ignite.internal.util.IgniteUtils.KB;
 /**
  * Query memory manager.
  */
-public class QueryMemoryManager implements H2MemoryTracker, ManagedGroupByDataFactory {
+public class QueryMemoryManager implements H2MemoryTracker, ManagedGroupByDataFactory, ManagedHashJoinDataFactory {
     /**
      *  Spill directory path. Spill directory is used for the disk offloading
      *  of intermediate results of the heavy queries.
@@ -437,6 +439,14 @@ public class QueryMemoryManager implements H2MemoryTracker, ManagedGroupByDataFa
         return new H2ManagedGroupByData(ses, grpIdx);
     }
 
+    /** {@inheritDoc} */
+    @Override public HashJoinExternalData newExternalHashJoinData(Session ses) {
+        if (!ctx.config().getSqlConfiguration().isSqlOffloadingEnabled())
+            return null;
+
+        return new HashJoinExternalResult(ses);
+    }
+
     /**
      * @param ses Session.
      * @return Plain external result.
@@ -65,6 +65,9 @@ public class QueryParserResultSelect {
      */
     private final String forUpdateQryTx;
 
+    /** Whether result of the query can be put to the query result cache. */
+    private final boolean resCacheable;
+
     /**
      * Constructor.
      *
@@ -76,6 +79,7 @@ public class QueryParserResultSelect {
      * @param mvccCacheId ID of the first MVCC cache.
      * @param forUpdateQryOutTx FOR UPDATE query string for execution out of transaction.
      * @param forUpdateQryTx FOR UPDATE query string for execution within transaction.
+     * @param resCacheable Whether result of the query can be put to the query result cache.
      */
     public QueryParserResultSelect(
         GridSqlStatement stmt,
@@ -85,7 +89,8 @@ public class QueryParserResultSelect {
         List<Integer> cacheIds,
         @Nullable Integer mvccCacheId,
         String forUpdateQryOutTx,
-        String forUpdateQryTx
+        String forUpdateQryTx,
+        boolean resCacheable
     ) {
         this.stmt = stmt;
         this.twoStepQry = twoStepQry;
@@ -95,6 +100,7 @@ public class QueryParserResultSelect {
         this.mvccCacheId = mvccCacheId;
         this.forUpdateQryOutTx = forUpdateQryOutTx;
         this.forUpdateQryTx = forUpdateQryTx;
+        this.resCacheable = resCacheable;
     }
 
     /**
@@ -173,4 +179,12 @@ public class QueryParserResultSelect {
     public String forUpdateQueryTx() {
         return forUpdateQryTx;
     }
+
+    /**
+     * @return Whether result of the query can be put to the query result cache: the query is deterministic,
+     *      reads cache tables only and is neither FOR UPDATE nor MVCC query.
+     */
+    public boolean resultCacheable() {
+        return resCacheable;
+    }
 }
@@ -0,0 +1,578 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.cache.CacheException;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.QueryCancelledException;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.GridClosureCallMode;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.GridQueryIndexing;
+import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL_SNAPSHOT;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+
+/**
+ * Node-local cache of SELECT results.
+ * <p>
+ * Only results of deterministic queries over non-MVCC caches are cached. A cached result is bound to the affinity
+ * topology version and to the sum of update counters of owned partitions of every involved cache taken before
+ * the query execution, so any data modification of the involved caches invalidates the result. Removals which
+ * don't update partition counters (cache clear, expiration, eviction) are tracked by a separate per-cache removal
+ * counter.
+ * <p>
+ * For local queries and queries executed over local data only the counters of local partitions are used.
+ * For distributed queries the reducer caches the reduced result and collects the counters from all affinity
+ * nodes of the involved caches with a single lightweight request, which is much cheaper than the map phase.
+ * The result cache must be enabled on all of these nodes, otherwise distributed queries are not cached.
+ * <p>
+ * Mutable values (dates, byte arrays) are copied when a result is put to the cache and when it is read from it.
+ * Results with values of other mutable types are not cached.
+ */
+public class QueryResultCache {
+    /** Query result cache metric group name. */
+    static final String RESULT_CACHE_METRIC_GROUP_NAME = "sql.result.cache";
+
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Maximum number of cached results. */
+    private final int maxSize;
+
+    /** Maximum number of rows in a cached result. */
+    private final int maxRows;
+
+    /** Cached results. */
+    private volatile GridBoundedConcurrentLinkedHashMap<Key, Result> cache;
+
+    /** Counters of rows removed from the SQL tables of the caches, by cache ID. */
+    private final ConcurrentMap<Integer, LongAdder> rmvCntrs = new ConcurrentHashMap<>();
+
+    /** Cache hits counter. */
+    private final LongAdderMetric hits;
+
+    /** Cache misses counter. */
+    private final LongAdderMetric misses;
+
+    /** Counter of results evicted due to size bound. */
+    private final LongAdderMetric evictions;
+
+    /**
+     * @param ctx Kernal context.
+     * @param maxSize Maximum number of cached results, {@code 0} disables the cache.
+     * @param maxRows Maximum number of rows in a cached result.
+     */
+    public QueryResultCache(GridKernalContext ctx, int maxSize, int maxRows) {
+        this.ctx = ctx;
+        this.maxSize = maxSize;
+        this.maxRows = maxRows;
+
+        log = ctx.log(QueryResultCache.class);
+
+        cache = maxSize > 0 ? new GridBoundedConcurrentLinkedHashMap<>(maxSize) : null;
+
+        MetricRegistry registry = ctx.metric().registry(RESULT_CACHE_METRIC_GROUP_NAME);
+
+        hits = registry.longAdderMetric("hits", "Count of hits for query result cache");
+        misses = registry.longAdderMetric("misses", "Count of misses for query result cache");
+        evictions = registry.longAdderMetric("evictions", "Count of results evicted from query result cache");
+
+        registry.register("size", () -> {
+            GridBoundedConcurrentLinkedHashMap<Key, Result> cache0 = cache;
+
+            return cache0 != null ? cache0.sizex() : 0;
+        }, "Number of results in query result cache");
+    }
+
+    /**
+     * Creates lookup key of the query result if the result can be cached.
+     *
+     * @param qryDesc Query descriptor.
+     * @param qryParams Query parameters.
+     * @param select Select.
+     * @param keepBinary Keep binary flag.
+     * @return Key or {@code null} if the result of the query can't be cached.
+     */
+    @Nullable public Key key(QueryDescriptor qryDesc, QueryParameters qryParams, QueryParserResultSelect select,
+        boolean keepBinary) {
+        if (cache == null || !select.resultCacheable())
+            return null;
+
+        boolean distributed = select.splitNeeded() && !qryDesc.local();
+
+        AffinityTopologyVersion topVer = ctx.cache().context().exchange().readyAffinityVersion();
+
+        long[] cntrs = distributed ? clusterUpdateCounters(select.cacheIds(), topVer) :
+            localUpdateCounters(select.cacheIds());
+
+        if (cntrs == null)
+            return null;
+
+        // Arguments are kept in the cache and must not be modified by the user.
+        Object[] args = qryParams.arguments();
+
+        if (args != null) {
+            List<?> args0 = copy(Arrays.asList(args));
+
+            if (args0 == null)
+                return null;
+
+            args = args0.toArray();
+        }
+
+        return new Key(qryDesc, args, qryParams.partitions(), keepBinary, select.cacheIds(), distributed, topVer,
+            cntrs);
+    }
+
+    /**
+     * @param key Key.
+     * @param cancel Query cancel state holder, checked on every returned row.
+     * @return Cached result or {@code null} if there is no valid result for the key.
+     */
+    @Nullable public Iterable<List<?>> get(Key key, @Nullable GridQueryCancel cancel) {
+        GridBoundedConcurrentLinkedHashMap<Key, Result> cache0 = cache;
+
+        Result res = cache0 != null ? cache0.get(key) : null;
+
+        if (res == null || !res.key.sameVersion(key)) {
+            misses.increment();
+
+            return null;
+        }
+
+        hits.increment();
+
+        return () -> new Iterator<List<?>>() {
+            /** */
+            private final Iterator<List<?>> it = res.rows.iterator();
+
+            @Override public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override public List<?> next() {
+                try {
+                    if (cancel != null)
+                        cancel.checkCancelled();
+                }
+                catch (QueryCancelledException e) {
+                    throw new CacheException(e);
+                }
+
+                return copy(it.next());
+            }
+        };
+    }
+
+    /**
+     * Wraps query result to put it to the cache when it is fully iterated.
+     *
+     * @param key Key.
+     * @param iter Query result.
+     * @return Wrapped query result.
+     */
+    public Iterable<List<?>> caching(Key key, Iterable<List<?>> iter) {
+        return () -> new Iterator<List<?>>() {
+            /** */
+            private final Iterator<List<?>> it = iter.iterator();
+
+            /** Collected rows, {@code null} if the result can't be cached. */
+            private List<List<?>> rows = new ArrayList<>();
+
+            @Override public boolean hasNext() {
+                boolean hasNext = it.hasNext();
+
+                if (!hasNext && rows != null) {
+                    put(key, rows);
+
+                    rows = null;
+                }
+
+                return hasNext;
+            }
+
+            @Override public List<?> next() {
+                List<?> row = it.next();
+
+                if (rows != null) {
+                    List<?> copy = rows.size() < maxRows ? copy(row) : null;
+
+                    if (copy != null)
+                        rows.add(copy);
+                    else
+                        rows = null;
+                }
+
+                return row;
+            }
+        };
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        if (maxSize > 0)
+            cache = new GridBoundedConcurrentLinkedHashMap<>(maxSize);
+    }
+
+    /**
+     * Tracks removal of a row from the SQL tables of a cache. Must be called for every removal, including the ones
+     * which don't update partition counters.
+     *
+     * @param cacheId Cache ID.
+     */
+    public void onRemove(int cacheId) {
+        if (cache == null)
+            return;
+
+        LongAdder cntr = rmvCntrs.get(cacheId);
+
+        if (cntr == null) {
+            LongAdder old = rmvCntrs.putIfAbsent(cacheId, cntr = new LongAdder());
+
+            if (old != null)
+                cntr = old;
+        }
+
+        cntr.increment();
+    }
+
+    /**
+     * @param key Key.
+     * @param rows Rows.
+     */
+    private void put(Key key, List<List<?>> rows) {
+        // Data might be modified during the query execution.
+        long[] cntrs = key.distributed ? clusterUpdateCounters(key.cacheIds, key.topVer) :
+            localUpdateCounters(key.cacheIds);
+
+        if (!Arrays.equals(key.cntrs, cntrs))
+            return;
+
+        GridBoundedConcurrentLinkedHashMap<Key, Result> cache0 = cache;
+
+        if (cache0 == null)
+            return;
+
+        boolean full = cache0.sizex() >= maxSize;
+
+        if (cache0.put(key, new Result(key, rows)) == null && full)
+            evictions.increment();
+    }
+
+    /**
+     * Collects update and removal counters of the caches from all their affinity nodes.
+     *
+     * @param cacheIds Cache IDs.
+     * @param topVer Affinity topology version.
+     * @return Sums of update counters of owned partitions and removal counters of the caches on all nodes or
+     *      {@code null} if a result of a query over these caches can't be cached.
+     */
+    @Nullable private long[] clusterUpdateCounters(List<Integer> cacheIds, AffinityTopologyVersion topVer) {
+        Set<ClusterNode> nodes = new HashSet<>();
+
+        for (Integer cacheId : cacheIds) {
+            DynamicCacheDescriptor desc = ctx.cache().cacheDescriptor(cacheId);
+
+            if (desc == null)
+                return null;
+
+            CacheConfiguration<?, ?> ccfg = desc.cacheConfiguration();
+
+            if (ccfg.getAtomicityMode() == TRANSACTIONAL_SNAPSHOT || ccfg.getExpiryPolicyFactory() != null)
+                return null;
+
+            nodes.addAll(ctx.discovery().cacheGroupAffinityNodes(desc.groupId(), topVer));
+        }
+
+        if (nodes.isEmpty())
+            return null;
+
+        try {
+            Collection<long[]> nodeCntrs = ctx.closure().callAsync(GridClosureCallMode.BROADCAST,
+                Collections.singletonList(new UpdateCountersJob(cacheIds)), nodes, true, null).get();
+
+            long[] cntrs = new long[cacheIds.size()];
+
+            for (long[] cntrs0 : nodeCntrs) {
+                if (cntrs0 == null)
+                    return null;
+
+                for (int i = 0; i < cntrs.length; i++)
+                    cntrs[i] += cntrs0[i];
+            }
+
+            return cntrs;
+        }
+        catch (IgniteCheckedException e) {
+            if (log.isDebugEnabled())
+                log.debug("Failed to collect update counters of caches, query result is not cached: " + e);
+
+            return null;
+        }
+    }
+
+    /**
+     * @param cacheIds Cache IDs.
+     * @return Sums of update counters of local partitions and removal counters of the caches or {@code null} if
+     *      a result of a query over these caches can't be cached.
+     */
+    @Nullable private long[] localUpdateCounters(List<Integer> cacheIds) {
+        if (cache == null)
+            return null;
+
+        long[] cntrs = new long[cacheIds.size()];
+
+        for (int i = 0; i < cntrs.length; i++) {
+            GridCacheContext<?, ?> cctx = ctx.cache().context().cacheContext(cacheIds.get(i));
+
+            if (cctx == null || !cctx.affinityNode() || cctx.mvccEnabled() ||
+                cctx.config().getExpiryPolicyFactory() != null)
+                return null;
+
+            LongAdder rmvCntr = rmvCntrs.get(cctx.cacheId());
+
+            long cntr = rmvCntr != null ? rmvCntr.sum() : 0;
+
+            for (GridDhtLocalPartition part : cctx.topology().currentLocalPartitions()) {
+                // Partition is being rebalanced or evicted, or some updates are in progress: the data may be
+                // changed by the end of the query without a change of the sum of counters.
+                if (part.state() != OWNING || part.reservedCounter() != part.updateCounter())
+                    return null;
+
+                cntr += part.updateCounter();
+            }
+
+            cntrs[i] = cntr;
+        }
+
+        return cntrs;
+    }
+
+    /**
+     * @param row Row.
+     * @return Copy of the row which doesn't share mutable values with the row or {@code null} if the row contains
+     *      mutable values which can't be copied.
+     */
+    @Nullable private static List<?> copy(List<?> row) {
+        List<Object> res = new ArrayList<>(row.size());
+
+        for (Object val : row) {
+            // java.sql.Date, Time and Timestamp are mutable too, clone() keeps their class and nanos.
+            if (val instanceof Date)
+                val = ((Date)val).clone();
+            else if (val instanceof byte[])
+                val = ((byte[])val).clone();
+            else if (!immutable(val))
+                return null;
+
+            res.add(val);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param val Value.
+     * @return {@code True} if the value is immutable and can be shared between query results.
+     */
+    private static boolean immutable(@Nullable Object val) {
+        return val == null || val instanceof String || val instanceof Integer || val instanceof Long ||
+            val instanceof Double || val instanceof Float || val instanceof Short || val instanceof Byte ||
+            val instanceof BigDecimal || val instanceof BigInteger || val instanceof Boolean ||
+            val instanceof Character || val instanceof UUID || val instanceof BinaryObject ||
+            (val instanceof Temporal && val.getClass().getName().startsWith("java.time."));
+    }
+
+    /**
+     * Key of the cached result.
+     */
+    public static class Key {
+        /** Query descriptor. */
+        private final QueryDescriptor qryDesc;
+
+        /** Arguments. */
+        private final Object[] args;
+
+        /** Partitions. */
+        private final int[] parts;
+
+        /** Keep binary flag. */
+        private final boolean keepBinary;
+
+        /** Involved caches, don't participate in equality. */
+        private final List<Integer> cacheIds;
+
+        /** Whether the counters are collected from all nodes, doesn't participate in equality. */
+        private final boolean distributed;
+
+        /** Affinity topology version, doesn't participate in equality. */
+        private final AffinityTopologyVersion topVer;
+
+        /** Sums of update and removal counters of involved caches, don't participate in equality. */
+        private final long[] cntrs;
+
+        /**
+         * @param qryDesc Query descriptor.
+         * @param args Arguments.
+         * @param parts Partitions.
+         * @param keepBinary Keep binary flag.
+         * @param cacheIds Involved caches.
+         * @param distributed Whether the counters are collected from all nodes.
+         * @param topVer Affinity topology version.
+         * @param cntrs Sums of update and removal counters of involved caches.
+         */
+        private Key(QueryDescriptor qryDesc, Object[] args, int[] parts, boolean keepBinary, List<Integer> cacheIds,
+            boolean distributed, AffinityTopologyVersion topVer, long[] cntrs) {
+            this.qryDesc = qryDesc;
+            this.args = args;
+            this.parts = parts;
+            this.keepBinary = keepBinary;
+            this.cacheIds = cacheIds;
+            this.distributed = distributed;
+            this.topVer = topVer;
+            this.cntrs = cntrs;
+        }
+
+        /**
+         * @param other Other key.
+         * @return {@code True} if both keys were created for the same data.
+         */
+        private boolean sameVersion(Key other) {
+            return topVer.equals(other.topVer) && Arrays.equals(cntrs, other.cntrs);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            Key key = (Key)o;
+
+            return keepBinary == key.keepBinary && qryDesc.equals(key.qryDesc) && Arrays.deepEquals(args, key.args) &&
+                Arrays.equals(parts, key.parts);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            int res = qryDesc.hashCode();
+
+            res = 31 * res + Arrays.deepHashCode(args);
+            res = 31 * res + Arrays.hashCode(parts);
+            res = 31 * res + (keepBinary ? 1 : 0);
+
+            return res;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Key.class, this);
+        }
+    }
+
+    /**
+     * Collects update and removal counters of caches on a node.
+     */
+    private static class UpdateCountersJob implements IgniteCallable<long[]> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Cache IDs. */
+        private final List<Integer> cacheIds;
+
+        /** Ignite. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /**
+         * @param cacheIds Cache IDs.
+         */
+        private UpdateCountersJob(List<Integer> cacheIds) {
+            this.cacheIds = new ArrayList<>(cacheIds);
+        }
+
+        /** {@inheritDoc} */
+        @Override public long[] call() {
+            GridQueryIndexing idx = ignite.context().query().getIndexing();
+
+            if (!(idx instanceof IgniteH2Indexing))
+                return null;
+
+            return ((IgniteH2Indexing)idx).resultCache().localUpdateCounters(cacheIds);
+        }
+    }
+
+    /**
+     * Cached result.
+     */
+    private static class Result {
+        /** Key the result was cached with. */
+        private final Key key;
+
+        /** Rows. */
+        private final List<List<?>> rows;
+
+        /**
+         * @param key Key.
+         * @param rows Rows.
+         */
+        private Result(Key key, List<List<?>> rows) {
+            this.key = key;
+            this.rows = rows;
+        }
+    }
+}
@@ -35,6 +35,7 @@ import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.query.annotations.QuerySqlFunction;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.managers.systemview.walker.SqlColumnStatisticsViewWalker;
 import org.apache.ignite.internal.managers.systemview.walker.SqlIndexViewWalker;
 import org.apache.ignite.internal.managers.systemview.walker.SqlSchemaViewWalker;
 import org.apache.ignite.internal.managers.systemview.walker.SqlTableColumnViewWalker;
@@ -62,6 +63,7 @@ import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisito
 import org.apache.ignite.internal.util.GridConcurrentHashSet;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.systemview.view.SqlColumnStatisticsView;
 import org.apache.ignite.spi.systemview.view.SqlIndexView;
 import org.apache.ignite.spi.systemview.view.SqlSchemaView;
 import org.apache.ignite.spi.systemview.view.SqlTableColumnView;
@@ -107,6 +109,12 @@ public class SchemaManager {
     /** */
     public static final String SQL_TBL_COLS_VIEW_DESC = "SQL table columns";
 
+    /** */
+    public static final String SQL_COL_STATS_VIEW = metricName("column", "statistics");
+
+    /** */
+    public static final String SQL_COL_STATS_VIEW_DESC = "SQL column statistics";
+
     /** */
     public static final String SQL_VIEW_COLS_VIEW = metricName("view", "columns");
 
@@ -176,6 +184,12 @@ public class SchemaManager {
             GridH2Table::getColumns,
             SqlTableColumnView::new);
 
+        ctx.systemView().registerInnerCollectionView(SQL_COL_STATS_VIEW, SQL_COL_STATS_VIEW_DESC,
+            new SqlColumnStatisticsViewWalker(),
+            dataTables.values(),
+            GridH2Table::columnStatistics,
+            SqlColumnStatisticsView::new);
+
         ctx.systemView().registerInnerArrayView(SQL_VIEW_COLS_VIEW, SQL_VIEW_COLS_VIEW_DESC,
             new SqlViewColumnViewWalker(),
             systemViews,
@@ -650,7 +664,7 @@ public class SchemaManager {
 
         try {
             // Populate index with existing cache data.
-            IndexRebuildPartialClosure idxBuild = new IndexRebuildPartialClosure(h2Tbl.cacheContext());
+            IndexRebuildPartialClosure idxBuild = new IndexRebuildPartialClosure(h2Tbl.cacheContext(), true);
 
             idxBuild.addIndex(h2Tbl, h2Idx);
 
@@ -41,6 +41,7 @@ import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlParameter;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQuery;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlSelect;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlSubquery;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlTable;
 import org.apache.ignite.internal.sql.optimizer.affinity.PartitionAffinityFunctionType;
 import org.apache.ignite.internal.sql.optimizer.affinity.PartitionAllNode;
@@ -514,6 +515,10 @@ public class PartitionExtractor {
         if (!(leftCol.column().getTable() instanceof GridH2Table))
             return PartitionAllNode.INSTANCE;
 
+        // "col IN (SELECT ...)".
+        if (op.size() == 2 && op.child(1) instanceof GridSqlSubquery)
+            return extractFromInSubquery(leftCol, (GridSqlSubquery)op.child(1), tblModel);
+
         Set<PartitionSingleNode> parts = new HashSet<>();
 
         for (int i = 1; i < op.size(); i++) {
@@ -549,6 +554,108 @@ public class PartitionExtractor {
         return parts.size() == 1 ? parts.iterator().next() : new PartitionGroupNode(parts);
     }
 
+    /**
+     * Extract partition information from "col IN (SELECT ...)" condition. If the subquery selects affinity column of
+     * a single table which is co-located with the table of the left column, then the left column may only take values
+     * from partitions derived from the subquery's WHERE clause. The subquery itself is not evaluated.
+     *
+     * @param leftCol Left column.
+     * @param subqry Subquery.
+     * @param tblModel Table model.
+     * @return Partition.
+     */
+    private PartitionNode extractFromInSubquery(GridSqlColumn leftCol, GridSqlSubquery subqry,
+        PartitionTableModel tblModel) throws IgniteCheckedException {
+        Column leftCol0 = leftCol.column();
+
+        if (!((GridH2Table)leftCol0.getTable()).isColumnForPartitionPruning(leftCol0))
+            return PartitionAllNode.INSTANCE;
+
+        PartitionTable leftTbl = tblModel.table(leftCol.tableAlias());
+
+        if (leftTbl == null)
+            return PartitionAllNode.INSTANCE;
+
+        GridSqlQuery qry = subqry.subquery();
+
+        // No unions and joins support yet.
+        if (!(qry instanceof GridSqlSelect))
+            return PartitionAllNode.INSTANCE;
+
+        GridSqlSelect select = (GridSqlSelect)qry;
+
+        if (select.visibleColumns() != 1 || !(select.from() instanceof GridSqlAlias))
+            return PartitionAllNode.INSTANCE;
+
+        GridSqlColumn rightCol = unwrapColumn(select.columns(true).get(0));
+
+        if (rightCol == null || !(rightCol.column().getTable() instanceof GridH2Table))
+            return PartitionAllNode.INSTANCE;
+
+        Column rightCol0 = rightCol.column();
+
+        if (!((GridH2Table)rightCol0.getTable()).isColumnForPartitionPruning(rightCol0))
+            return PartitionAllNode.INSTANCE;
+
+        // Equal values of different types may be mapped to different partitions.
+        if (leftCol0.getType().getValueType() != rightCol0.getType().getValueType())
+            return PartitionAllNode.INSTANCE;
+
+        PartitionTableModel subTblModel = prepareTableModel(select.from());
+
+        PartitionTable rightTbl = subTblModel.table(rightCol.tableAlias());
+
+        if (rightTbl == null)
+            return PartitionAllNode.INSTANCE;
+
+        PartitionTableAffinityDescriptor leftAff = tblModel.joinGroupAffinity(leftTbl.joinGroup());
+
+        if (leftAff == null || !leftAff.isCompatible(subTblModel.joinGroupAffinity(rightTbl.joinGroup())))
+            return PartitionAllNode.INSTANCE;
+
+        // Subquery may reference columns of the outer query, so join conditions are not collected.
+        PartitionNode subTree = extractFromExpression(select.where(), subTblModel, true).optimize();
+
+        return retarget(subTree, leftTbl);
+    }
+
+    /**
+     * Copy partition tree, binding all single nodes to the given table.
+     *
+     * @param node Node.
+     * @param tbl Table.
+     * @return Copied node.
+     */
+    private PartitionNode retarget(PartitionNode node, PartitionTable tbl) {
+        if (node instanceof PartitionConstantNode)
+            return new PartitionConstantNode(tbl, ((PartitionConstantNode)node).value());
+
+        if (node instanceof PartitionParameterNode) {
+            PartitionParameterNode node0 = (PartitionParameterNode)node;
+
+            return new PartitionParameterNode(tbl, partResolver, node0.value(), node0.type(), node0.clientType());
+        }
+
+        if (node instanceof PartitionGroupNode) {
+            Set<PartitionSingleNode> siblings = new HashSet<>();
+
+            for (PartitionSingleNode sibling : ((PartitionGroupNode)node).siblings())
+                siblings.add((PartitionSingleNode)retarget(sibling, tbl));
+
+            return new PartitionGroupNode(siblings);
+        }
+
+        if (node instanceof PartitionCompositeNode) {
+            PartitionCompositeNode node0 = (PartitionCompositeNode)node;
+
+            return new PartitionCompositeNode(retarget(node0.left(), tbl), retarget(node0.right(), tbl),
+                node0.operator());
+        }
+
+        // ALL and NONE are not bound to any table.
+        return node;
+    }
+
     /**
      * Extract partition information from equality.
      *
@@ -22,6 +22,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
@@ -41,6 +42,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.CorruptedTreeException;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusMetaIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccDataRow;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
@@ -133,6 +135,12 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
     /** Keep max calculated inline size for current index. */
     private final AtomicInteger maxCalculatedInlineSize;
 
+    /** Number of comparisons of search rows with the rows of the tree. */
+    private final LongAdder cmpCnt = new LongAdder();
+
+    /** Number of comparisons that could not be resolved by inlined values and required a data page read. */
+    private final LongAdder rowLookupCmpCnt = new LongAdder();
+
     /** */
     private final IgniteLogger log;
 
@@ -513,9 +521,14 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
     @SuppressWarnings("ForLoopReplaceableByForEach")
     @Override protected int compare(BPlusIO<H2Row> io, long pageAddr, int idx,
         H2Row row) throws IgniteCheckedException {
+        cmpCnt.increment();
+
         try {
-            if (inlineSize() == 0)
+            if (inlineSize() == 0) {
+                rowLookupCmpCnt.increment();
+
                 return compareRows(getRow(io, pageAddr, idx), row);
+            }
             else {
                 int off = io.offset(idx);
 
@@ -549,6 +562,8 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
                 if (lastIdxUsed == cols.length)
                     return mvccCompare((H2RowLinkIO)io, pageAddr, idx, row);
 
+                rowLookupCmpCnt.increment();
+
                 inlineSizeRecomendation(row);
 
                 SearchRow rowData = getRow(io, pageAddr, idx);
@@ -757,6 +772,30 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
         return unwrappedPk;
     }
 
+    /**
+     * @return Number of comparisons of search rows with the rows of the tree.
+     */
+    public long comparisons() {
+        return cmpCnt.sum();
+    }
+
+    /**
+     * @return Number of comparisons that could not be resolved by inlined values and required a data page read.
+     */
+    public long rowLookupComparisons() {
+        return rowLookupCmpCnt.sum();
+    }
+
+    /**
+     * Inline size enough to inline the largest index key sampled on this node, see
+     * {@link #IGNITE_THROTTLE_INLINE_SIZE_CALCULATION}. Equals to the current inline size if all sampled keys fit.
+     *
+     * @return Recommended inline size.
+     */
+    public int recommendedInlineSize() {
+        return Math.min(PageIO.MAX_PAYLOAD_SIZE, Math.max(inlineSize(), maxCalculatedInlineSize.get()));
+    }
+
     /**
      * @return Inline indexes for the segment.
      */
@@ -21,6 +21,8 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -48,6 +50,7 @@ import org.apache.ignite.internal.processors.cache.persistence.metastorage.pendi
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
 import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.h2.DurableBackgroundCleanupIndexTreeTask;
@@ -66,6 +69,7 @@ import org.apache.ignite.internal.processors.query.h2.opt.QueryContextRegistry;
 import org.apache.ignite.internal.processors.query.h2.opt.join.CursorIteratorWrapper;
 import org.apache.ignite.internal.processors.query.h2.opt.join.DistributedJoinContext;
 import org.apache.ignite.internal.processors.query.h2.opt.join.DistributedLookupBatch;
+import org.apache.ignite.internal.processors.query.h2.opt.join.DistributedLookupMetrics;
 import org.apache.ignite.internal.processors.query.h2.opt.join.RangeSource;
 import org.apache.ignite.internal.processors.query.h2.opt.join.RangeStream;
 import org.apache.ignite.internal.processors.query.h2.opt.join.SegmentKey;
@@ -122,6 +126,21 @@ import static org.apache.ignite.internal.processors.tracing.SpanType.SQL_IDX_RAN
  */
 @SuppressWarnings({"TypeMayBeWeakened", "unchecked"})
 public class H2TreeIndex extends H2TreeIndexBase {
+    /** Name of the effective inline size metric. */
+    public static final String INLINE_SIZE = "INLINE_SIZE";
+
+    /** Name of the recommended inline size metric. */
+    public static final String RECOMMENDED_INLINE_SIZE = "RECOMMENDED_INLINE_SIZE";
+
+    /** Name of the metric of comparisons with the index rows. */
+    public static final String COMPARISONS = "COMPARISONS";
+
+    /** Name of the metric of comparisons that required a data page read. */
+    public static final String ROW_LOOKUP_COMPARISONS = "ROW_LOOKUP_COMPARISONS";
+
+    /** Name of the metric of the percentage of comparisons that required a data page read. */
+    public static final String ROW_LOOKUP_COMPARISONS_PERCENT = "ROW_LOOKUP_COMPARISONS_PERCENT";
+
     /** */
     private final H2Tree[] segments;
 
@@ -162,6 +181,9 @@ public class H2TreeIndex extends H2TreeIndexBase {
     /** Query context registry. */
     private final QueryContextRegistry qryCtxRegistry;
 
+    /** Metrics of remote index lookups. */
+    private final DistributedLookupMetrics lookupMetrics;
+
     /** If {code true} then this index is already marked as destroyed. */
     private final AtomicBoolean destroyed = new AtomicBoolean();
 
@@ -206,7 +228,12 @@ public class H2TreeIndex extends H2TreeIndexBase {
 
         this.segments = segments;
 
-        qryCtxRegistry = ((IgniteH2Indexing)(ctx.query().getIndexing())).queryContextRegistry();
+        IgniteH2Indexing indexing = (IgniteH2Indexing)ctx.query().getIndexing();
+
+        qryCtxRegistry = indexing.queryContextRegistry();
+        lookupMetrics = indexing.distributedLookupMetrics();
+
+        registerInlineMetrics(ctx.metric().registry(stats.metricRegistryName()));
 
         // Initialize distributed joins.
         msgTopic = new IgniteBiTuple<>(GridTopic.TOPIC_QUERY, tbl.identifierString() + '.' + getName());
@@ -338,11 +365,82 @@ public class H2TreeIndex extends H2TreeIndexBase {
         return new H2TreeIndex(cctx, tbl, idxName, pk, treeName, segments, cols, stats, log);
     }
 
+    /**
+     * Registers metrics of the index inlining. Metrics of an index with the same name that existed before are replaced.
+     *
+     * @param mreg Metric registry of the index.
+     */
+    private void registerInlineMetrics(MetricRegistry mreg) {
+        mreg.remove(INLINE_SIZE);
+        mreg.remove(RECOMMENDED_INLINE_SIZE);
+        mreg.remove(COMPARISONS);
+        mreg.remove(ROW_LOOKUP_COMPARISONS);
+        mreg.remove(ROW_LOOKUP_COMPARISONS_PERCENT);
+
+        mreg.register(INLINE_SIZE, this::inlineSize, "Effective inline size of the index.");
+
+        mreg.register(RECOMMENDED_INLINE_SIZE, this::recommendedInlineSize,
+            "Inline size enough to inline the largest sampled index key.");
+
+        mreg.register(COMPARISONS, this::comparisons, "Number of comparisons with the index rows.");
+
+        mreg.register(ROW_LOOKUP_COMPARISONS, this::rowLookupComparisons,
+            "Number of comparisons with the index rows that required a data page read.");
+
+        mreg.register(ROW_LOOKUP_COMPARISONS_PERCENT, this::rowLookupComparisonsPercent,
+            "Percentage of comparisons with the index rows that required a data page read.");
+    }
+
     /** {@inheritDoc} */
     @Override public int inlineSize() {
         return segments[0].inlineSize();
     }
 
+    /**
+     * @return Inline size enough to inline the largest index key sampled on this node.
+     */
+    public int recommendedInlineSize() {
+        int res = 0;
+
+        for (H2Tree tree : segments)
+            res = Math.max(res, tree.recommendedInlineSize());
+
+        return res;
+    }
+
+    /**
+     * @return Number of comparisons with the index rows.
+     */
+    public long comparisons() {
+        long res = 0;
+
+        for (H2Tree tree : segments)
+            res += tree.comparisons();
+
+        return res;
+    }
+
+    /**
+     * @return Number of comparisons with the index rows that required a data page read.
+     */
+    public long rowLookupComparisons() {
+        long res = 0;
+
+        for (H2Tree tree : segments)
+            res += tree.rowLookupComparisons();
+
+        return res;
+    }
+
+    /**
+     * @return Percentage of comparisons with the index rows that required a data page read.
+     */
+    public double rowLookupComparisonsPercent() {
+        long cmps = comparisons();
+
+        return cmps == 0 ? 0 : 100.0 * rowLookupComparisons() / cmps;
+    }
+
     /**
      * Check if index exists in store.
      *
@@ -696,7 +794,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
 
         GridCacheContext<?, ?> cctx = getTable().rowDescriptor().context();
 
-        return new DistributedLookupBatch(this, cctx, queryContextRegistry(), ucast, affColId);
+        return new DistributedLookupBatch(this, cctx, queryContextRegistry(), lookupMetrics, ucast, affColId);
     }
 
     /**
@@ -915,6 +1013,68 @@ public class H2TreeIndex extends H2TreeIndexBase {
         }
     }
 
+    /**
+     * Finds rows in all segments of the index. Rows of the segments are merged, so they are returned
+     * in the index order.
+     *
+     * @param lower Lower bound.
+     * @param upper Upper bound.
+     * @param filter Cache filter.
+     * @return Iterator.
+     */
+    public Iterator<H2Row> find(@Nullable SearchRow lower, @Nullable SearchRow upper,
+        @Nullable IndexingQueryCacheFilter filter) {
+        BPlusTree.TreeRowClosure<H2Row, H2Row> clo = filter != null ?
+            new H2TreeFilterClosure(filter, null, cctx, log) : null;
+
+        List<Iterator<H2Row>> segs = new ArrayList<>(segmentsCount());
+
+        try {
+            for (int seg = 0; seg < segmentsCount(); seg++) {
+                GridCursor<H2Row> range = treeForRead(seg).find((H2Row)lower, (H2Row)upper, clo, null);
+
+                segs.add(new CursorIteratorWrapper(new H2Cursor(range != null ? range : EMPTY_CURSOR)));
+            }
+        }
+        catch (IgniteCheckedException e) {
+            throw DbException.convert(e);
+        }
+
+        if (segs.size() == 1)
+            return segs.get(0);
+
+        PriorityQueue<IgniteBiTuple<H2Row, Iterator<H2Row>>> heads = new PriorityQueue<>(segs.size(),
+            (h1, h2) -> compareRows(h1.get1(), h2.get1()));
+
+        for (Iterator<H2Row> it : segs) {
+            if (it.hasNext())
+                heads.add(new IgniteBiTuple<>(it.next(), it));
+        }
+
+        return new Iterator<H2Row>() {
+            @Override public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override public H2Row next() {
+                IgniteBiTuple<H2Row, Iterator<H2Row>> head = heads.poll();
+
+                if (head == null)
+                    throw new NoSuchElementException();
+
+                H2Row row = head.get1();
+
+                if (head.get2().hasNext()) {
+                    head.set1(head.get2().next());
+
+                    heads.add(head);
+                }
+
+                return row;
+            }
+        };
+    }
+
     /**
      * @param msg Row message.
      * @return Search row.
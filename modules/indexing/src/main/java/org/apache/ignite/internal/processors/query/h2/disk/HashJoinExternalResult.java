@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.disk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.apache.ignite.internal.processors.query.h2.H2Utils;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.gridgain.internal.h2.engine.Session;
+import org.gridgain.internal.h2.index.HashJoinExternalData;
+import org.gridgain.internal.h2.value.Value;
+import org.gridgain.internal.h2.value.ValueRow;
+
+/**
+ * This class is intended for spilling to the disk (disk offloading) a partition of the rows of the hash join.
+ * <p>
+ * Rows are appended to the spill file and read back sequentially when the partition is joined, so no disk-based
+ * index is needed. A partition that never exceeded the memory quota is read from the in-memory buffer.
+ */
+public class HashJoinExternalResult extends AbstractExternalResult<Value> implements HashJoinExternalData {
+    /** In-memory buffer. */
+    private List<Map.Entry<ValueRow, Value[]>> rowBuff;
+
+    /**
+     * @param ses Session.
+     */
+    public HashJoinExternalResult(Session ses) {
+        super(ses, false, 0, Value.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void add(Value[] row) {
+        if (rowBuff == null)
+            rowBuff = new ArrayList<>();
+
+        rowBuff.add(new IgniteBiTuple<>(null, row));
+
+        memTracker.reserve(H2Utils.calculateMemoryDelta(null, null, row));
+
+        size++;
+
+        if (needToSpill())
+            spillRows();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Iterator<Value[]> rows() {
+        if (data.chunks().isEmpty()) {
+            if (rowBuff == null)
+                return Collections.emptyIterator();
+
+            return F.iterator(rowBuff, Map.Entry::getValue, true);
+        }
+
+        spillRows();
+
+        data.rewindFile();
+
+        return new Iterator<Value[]>() {
+            /** */
+            private int cnt;
+
+            @Override public boolean hasNext() {
+                return cnt < size;
+            }
+
+            @Override public Value[] next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                cnt++;
+
+                return data.readRowFromFile().getValue();
+            }
+        };
+    }
+
+    /**
+     * Spills rows to disk.
+     */
+    private void spillRows() {
+        if (F.isEmpty(rowBuff))
+            return;
+
+        data.store(rowBuff);
+
+        long delta = 0;
+
+        for (Map.Entry<ValueRow, Value[]> row : rowBuff)
+            delta += H2Utils.calculateMemoryDelta(null, row.getValue(), null);
+
+        memTracker.release(-delta);
+
+        rowBuff.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onClose() {
+        super.onClose();
+
+        // Partitions are created and closed during the query, release the memory of the buffer right away.
+        memTracker.close();
+    }
+}
@@ -19,11 +19,14 @@ package org.apache.ignite.internal.processors.query.h2.dml;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import javax.cache.CacheException;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.query.h2.UpdateResult;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlResponse;
+import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlRetryResponse;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.typedef.F;
 
@@ -43,6 +46,15 @@ public class DmlDistributedUpdateRun {
     /** Accumulates error keys. */
     private HashSet<Object> errorKeys;
 
+    /** Nodes that have not updated anything and asked to retry the update of their partitions. */
+    private Set<UUID> retryNodes;
+
+    /** Topology version to retry the update on. */
+    private AffinityTopologyVersion retryTopVer;
+
+    /** Cause of the retry. */
+    private String retryCause;
+
     /** Result future. */
     private final GridFutureAdapter<UpdateResult> fut = new GridFutureAdapter<>();
 
@@ -64,6 +76,27 @@ public class DmlDistributedUpdateRun {
         return fut;
     }
 
+    /**
+     * @return Nodes that asked to retry the update of their partitions or {@code null} if none.
+     */
+    public synchronized Set<UUID> retryNodes() {
+        return retryNodes;
+    }
+
+    /**
+     * @return Topology version to retry the update on.
+     */
+    public synchronized AffinityTopologyVersion retryTopologyVersion() {
+        return retryTopVer;
+    }
+
+    /**
+     * @return Cause of the retry.
+     */
+    public synchronized String retryCause() {
+        return retryCause;
+    }
+
     /**
      * Handle disconnection.
      * @param e Pre-formatted error.
@@ -94,7 +127,20 @@ public class DmlDistributedUpdateRun {
 
             String err = msg.error();
 
-            if (err != null) {
+            if (msg instanceof GridH2DmlRetryResponse) {
+                AffinityTopologyVersion retry = ((GridH2DmlRetryResponse)msg).retry();
+
+                if (retryNodes == null)
+                    retryNodes = new HashSet<>();
+
+                retryNodes.add(id);
+
+                if (retryTopVer == null || retry.compareTo(retryTopVer) > 0)
+                    retryTopVer = retry;
+
+                retryCause = err;
+            }
+            else if (err != null) {
                 fut.onDone(new IgniteCheckedException("Update failed. " + (F.isEmpty(err) ? "" : err) + "[reqId=" +
                     msg.requestId() + ", node=" + id + "]."));
 
@@ -334,7 +334,7 @@ public final class UpdatePlan {
             throw new IgniteSQLException("New value for UPDATE must not be null", IgniteQueryErrorCode.NULL_VALUE);
 
         // Skip key and value - that's why we start off with 3rd column
-        for (int i = 0; i < tbl.getColumns().length - QueryUtils.DEFAULT_COLUMNS_COUNT; i++) {
+        for (int i = 0; i < rowDesc.fieldsCount(); i++) {
             Column c = tbl.getColumn(i + QueryUtils.DEFAULT_COLUMNS_COUNT);
 
             if (rowDesc.isKeyValueOrVersionColumn(c.getColumnId()))
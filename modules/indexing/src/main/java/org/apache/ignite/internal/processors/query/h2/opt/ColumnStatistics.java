@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.opt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.gridgain.internal.h2.value.Value;
+import org.gridgain.internal.h2.value.ValueNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Statistics of a table column calculated from a sample of the rows of the table on all nodes.
+ * Used by query optimizer to estimate selectivity of column conditions.
+ */
+public class ColumnStatistics {
+    /** Column name. */
+    private final String name;
+
+    /** Estimated number of rows. */
+    private final long rowCnt;
+
+    /** Estimated number of rows with {@code NULL} value. */
+    private final long nullCnt;
+
+    /** Estimated number of distinct non-null values. */
+    private final long distinctCnt;
+
+    /** Minimum value in sample. */
+    private final Value min;
+
+    /** Maximum value in sample. */
+    private final Value max;
+
+    /** Upper bounds of equi-height histogram buckets. */
+    private final Value[] histogram;
+
+    /**
+     * @param name Column name.
+     * @param rowCnt Estimated number of rows.
+     * @param nullCnt Estimated number of rows with {@code NULL} value.
+     * @param distinctCnt Estimated number of distinct non-null values.
+     * @param min Minimum value in sample.
+     * @param max Maximum value in sample.
+     * @param histogram Upper bounds of equi-height histogram buckets.
+     */
+    public ColumnStatistics(String name, long rowCnt, long nullCnt, long distinctCnt, @Nullable Value min,
+        @Nullable Value max, Value[] histogram) {
+        this.name = name;
+        this.rowCnt = rowCnt;
+        this.nullCnt = nullCnt;
+        this.distinctCnt = distinctCnt;
+        this.min = min;
+        this.max = max;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Calculates statistics of a column from a sample.
+     * <p>
+     * Number of distinct values is estimated with Haas-Stokes {@code Duj1} estimator:
+     * {@code n * d / (n - f1 + f1 * n / N)}, where {@code n} is sample size, {@code N} is number of rows,
+     * {@code d} is number of distinct values in sample and {@code f1} is number of values which occur in sample
+     * exactly once.
+     *
+     * @param name Column name.
+     * @param sample Sampled values.
+     * @param rowCnt Estimated number of rows.
+     * @param cmp Values comparator.
+     * @param buckets Number of histogram buckets.
+     * @return Column statistics.
+     */
+    public static ColumnStatistics collect(String name, List<Value> sample, long rowCnt, Comparator<Value> cmp,
+        int buckets) {
+        int n = sample.size();
+
+        rowCnt = Math.max(rowCnt, n);
+
+        List<Value> vals = new ArrayList<>(n);
+
+        for (Value v : sample) {
+            if (v != null && v != ValueNull.INSTANCE)
+                vals.add(v);
+        }
+
+        long nullCnt = n == 0 ? 0 : (n - vals.size()) * rowCnt / n;
+
+        if (vals.isEmpty())
+            return new ColumnStatistics(name, rowCnt, nullCnt, 0, null, null, new Value[0]);
+
+        vals.sort(cmp);
+
+        int d = 1;
+        int f1 = 0;
+        int run = 1;
+
+        for (int i = 1; i < vals.size(); i++) {
+            if (cmp.compare(vals.get(i - 1), vals.get(i)) == 0)
+                run++;
+            else {
+                d++;
+
+                if (run == 1)
+                    f1++;
+
+                run = 1;
+            }
+        }
+
+        if (run == 1)
+            f1++;
+
+        int nonNull = vals.size();
+        long nonNullRows = Math.max(rowCnt - nullCnt, nonNull);
+
+        double distinct = (double)nonNull * d / (nonNull - f1 + (double)f1 * nonNull / nonNullRows);
+
+        long distinctCnt = Math.max(d, Math.min(nonNullRows, Math.round(distinct)));
+
+        int bucketsCnt = Math.min(buckets, nonNull);
+
+        Value[] histogram = new Value[bucketsCnt];
+
+        for (int i = 0; i < bucketsCnt; i++)
+            histogram[i] = vals.get((int)((long)(i + 1) * nonNull / bucketsCnt) - 1);
+
+        return new ColumnStatistics(name, rowCnt, nullCnt, distinctCnt, vals.get(0), vals.get(nonNull - 1),
+            histogram);
+    }
+
+    /**
+     * @return Column name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Estimated number of rows.
+     */
+    public long rowCount() {
+        return rowCnt;
+    }
+
+    /**
+     * @return Estimated number of rows with {@code NULL} value.
+     */
+    public long nullCount() {
+        return nullCnt;
+    }
+
+    /**
+     * @return Estimated number of distinct non-null values.
+     */
+    public long distinctCount() {
+        return distinctCnt;
+    }
+
+    /**
+     * @return Minimum value in sample.
+     */
+    public @Nullable Value min() {
+        return min;
+    }
+
+    /**
+     * @return Maximum value in sample.
+     */
+    public @Nullable Value max() {
+        return max;
+    }
+
+    /**
+     * @return Upper bounds of equi-height histogram buckets.
+     */
+    public Value[] histogram() {
+        return histogram;
+    }
+
+    /**
+     * Returns column selectivity in H2 terms: percentage of distinct values among rows, where {@code 100} means
+     * that all values are unique.
+     *
+     * @return Selectivity in range from {@code 1} to {@code 100}.
+     */
+    public int selectivity() {
+        if (rowCnt == 0)
+            return 100;
+
+        // NULL is one more distinct value for equality conditions.
+        long distinct = distinctCnt + (nullCnt > 0 ? 1 : 0);
+
+        return (int)Math.max(1, Math.min(100, distinct * 100 / rowCnt));
+    }
+
+    /**
+     * Estimates the share of rows with values in a range from the histogram. Bounds are treated as inclusive.
+     *
+     * @param from Lower bound or {@code null} if the range is not bounded from below.
+     * @param to Upper bound or {@code null} if the range is not bounded from above.
+     * @param cmp Values comparator.
+     * @return Share of rows in range from {@code 0} to {@code 1}.
+     */
+    public double rangeFraction(@Nullable Value from, @Nullable Value to, Comparator<Value> cmp) {
+        if (rowCnt == 0 || histogram.length == 0)
+            return 0;
+
+        double lo = from == null ? 0 : cumulativeFraction(from, cmp);
+        double hi = to == null ? 1 : cumulativeFraction(to, cmp);
+
+        // Inclusive bounds match at least the rows of one value.
+        double fraction = Math.max(hi - lo, distinctCnt == 0 ? 0 : 1.0 / distinctCnt);
+
+        return fraction * (rowCnt - nullCnt) / rowCnt;
+    }
+
+    /**
+     * @param val Value.
+     * @param cmp Values comparator.
+     * @return Share of non-null values which are less than the given one. Half of the bucket containing the value
+     *      is counted, as values are assumed to be spread evenly inside a bucket.
+     */
+    private double cumulativeFraction(Value val, Comparator<Value> cmp) {
+        if (cmp.compare(val, min) < 0)
+            return 0;
+
+        if (cmp.compare(val, max) > 0)
+            return 1;
+
+        int below = 0;
+
+        while (below < histogram.length && cmp.compare(histogram[below], val) < 0)
+            below++;
+
+        return (below + 0.5) / histogram.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ColumnStatistics.class, this, "histogram", Arrays.toString(histogram));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.opt;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Uniform random sample of column values of a table. Local samples of all nodes are merged into a sample of the
+ * whole table, which is used to calculate {@link ColumnStatistics} on every node.
+ */
+public class ColumnStatisticsSample implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Names of sampled columns. */
+    private final String[] cols;
+
+    /** Number of rows the sample is taken from. */
+    private final long rowCnt;
+
+    /** Sampled rows: values of the sampled columns, {@code null} for {@code NULL}. */
+    private final List<Object[]> rows;
+
+    /**
+     * @param cols Names of sampled columns.
+     * @param rowCnt Number of rows the sample is taken from.
+     * @param rows Sampled rows.
+     */
+    public ColumnStatisticsSample(String[] cols, long rowCnt, List<Object[]> rows) {
+        this.cols = cols;
+        this.rowCnt = rowCnt;
+        this.rows = rows;
+    }
+
+    /**
+     * Merges samples of disjoint row sets into a sample of their union. Every sample contributes a random subset
+     * of its rows proportional to the number of rows it is taken from, so the result is a uniform sample again.
+     *
+     * @param samples Samples.
+     * @param sampleSize Maximum size of the merged sample.
+     * @return Merged sample.
+     */
+    public static ColumnStatisticsSample merge(Collection<ColumnStatisticsSample> samples, int sampleSize) {
+        assert !samples.isEmpty();
+
+        String[] cols = F.first(samples).cols;
+
+        long rowCnt = 0;
+
+        for (ColumnStatisticsSample sample : samples)
+            rowCnt += sample.rowCnt;
+
+        List<Object[]> rows = new ArrayList<>();
+
+        for (ColumnStatisticsSample sample : samples) {
+            if (sample.rowCnt == 0)
+                continue;
+
+            int cnt = (int)Math.min(sample.rows.size(), Math.round((double)sampleSize * sample.rowCnt / rowCnt));
+
+            List<Object[]> sampleRows = new ArrayList<>(sample.rows);
+
+            if (cnt < sampleRows.size())
+                Collections.shuffle(sampleRows, ThreadLocalRandom.current());
+
+            if (Arrays.equals(cols, sample.cols)) {
+                rows.addAll(sampleRows.subList(0, cnt));
+
+                continue;
+            }
+
+            // Columns of a table may be changed concurrently, values are matched by column name.
+            int[] idxs = new int[cols.length];
+
+            for (int i = 0; i < cols.length; i++)
+                idxs[i] = Arrays.asList(sample.cols).indexOf(cols[i]);
+
+            for (Object[] row : sampleRows.subList(0, cnt)) {
+                Object[] row0 = new Object[cols.length];
+
+                for (int i = 0; i < cols.length; i++)
+                    row0[i] = idxs[i] < 0 ? null : row[idxs[i]];
+
+                rows.add(row0);
+            }
+        }
+
+        return new ColumnStatisticsSample(cols, rowCnt, rows);
+    }
+
+    /**
+     * @return Names of sampled columns.
+     */
+    public String[] columns() {
+        return cols;
+    }
+
+    /**
+     * @return Number of rows the sample is taken from.
+     */
+    public long rowCount() {
+        return rowCnt;
+    }
+
+    /**
+     * @return Sampled rows: values of the sampled columns, {@code null} for {@code NULL}.
+     */
+    public List<Object[]> rows() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ColumnStatisticsSample.class, this, "rows", rows.size());
+    }
+}
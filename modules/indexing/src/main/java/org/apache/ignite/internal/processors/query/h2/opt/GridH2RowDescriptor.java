@@ -21,6 +21,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.binary.BinaryObjectImpl;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
@@ -30,6 +31,7 @@ import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.h2.H2TableDescriptor;
 import org.apache.ignite.internal.processors.query.h2.H2Utils;
 import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.property.QueryBinaryProperty;
 import org.gridgain.internal.h2.message.DbException;
 import org.gridgain.internal.h2.result.SearchRow;
 import org.gridgain.internal.h2.value.Value;
@@ -69,6 +71,9 @@ public class GridH2RowDescriptor {
     /** Id of user-defined value column */
     private volatile int valAliasColId;
 
+    /** Hidden columns computing index expressions, located after the field columns. */
+    private volatile H2ComputedColumn[] computedCols = new H2ComputedColumn[0];
+
     /**
      * Constructor.
      *
@@ -211,6 +216,20 @@ public class GridH2RowDescriptor {
         return fields.length;
     }
 
+    /**
+     * @return Hidden columns computing index expressions, located after the field columns.
+     */
+    public H2ComputedColumn[] computedColumns() {
+        return computedCols;
+    }
+
+    /**
+     * @param computedCols Hidden columns computing index expressions.
+     */
+    void computedColumns(H2ComputedColumn[] computedCols) {
+        this.computedCols = computedCols;
+    }
+
     /**
      * Gets value type for column index.
      *
@@ -238,6 +257,37 @@ public class GridH2RowDescriptor {
         }
     }
 
+    /**
+     * Gets serialized key or value holding the column, so the column value can be read without unmarshalling.
+     *
+     * @param key Key.
+     * @param val Value.
+     * @param col Column index.
+     * @return Serialized key or value or {@code null} if the column value can't be read from the serialized form.
+     */
+    @Nullable public BinaryObjectImpl serializedHolder(Object key, Object val, int col) {
+        GridQueryProperty prop = props[col];
+
+        if (!(prop instanceof QueryBinaryProperty))
+            return null;
+
+        Object obj = prop.key() ? key : val;
+
+        return obj instanceof BinaryObjectImpl ? (BinaryObjectImpl)obj : null;
+    }
+
+    /**
+     * Gets position of the serialized column value.
+     *
+     * @param holder Serialized key or value returned by {@link #serializedHolder(Object, Object, int)}.
+     * @param col Column index.
+     * @return Position of the column value header in the holder array or {@code -1} if the column value can't be
+     *      located in the serialized form.
+     */
+    public int serializedPosition(BinaryObjectImpl holder, int col) {
+        return ((QueryBinaryProperty)props[col]).fieldPosition(holder);
+    }
+
     /**
      * Gets column value by column index.
      *
@@ -17,17 +17,21 @@
 package org.apache.ignite.internal.processors.query.h2.opt;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.ignite.IgniteCheckedException;
@@ -40,9 +44,11 @@ import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
 import org.apache.ignite.internal.processors.cache.query.QueryTable;
+import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
 import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.QueryField;
 import org.apache.ignite.internal.processors.query.QueryUtils;
@@ -54,6 +60,8 @@ import org.apache.ignite.internal.processors.query.h2.database.H2IndexType;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndexBase;
 import org.apache.ignite.internal.processors.query.h2.database.IndexInformation;
+import org.apache.ignite.internal.util.StripedCompositeReadWriteLock;
+import org.apache.ignite.internal.util.lang.GridIterator;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
@@ -64,6 +72,7 @@ import org.gridgain.internal.h2.command.ddl.CreateTableData;
 import org.gridgain.internal.h2.engine.DbObject;
 import org.gridgain.internal.h2.engine.Session;
 import org.gridgain.internal.h2.engine.SysProperties;
+import org.gridgain.internal.h2.expression.Expression;
 import org.gridgain.internal.h2.index.Index;
 import org.gridgain.internal.h2.index.IndexType;
 import org.gridgain.internal.h2.index.SpatialIndex;
@@ -75,10 +84,14 @@ import org.gridgain.internal.h2.table.Column;
 import org.gridgain.internal.h2.table.IndexColumn;
 import org.gridgain.internal.h2.table.Table;
 import org.gridgain.internal.h2.table.TableBase;
+import org.gridgain.internal.h2.table.TableFilter;
 import org.gridgain.internal.h2.table.TableType;
+import org.gridgain.internal.h2.value.Value;
+import org.gridgain.internal.h2.value.ValueNull;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.cache.CacheMode.PARTITIONED;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
 import static org.apache.ignite.internal.processors.query.h2.H2TableDescriptor.PK_HASH_IDX_NAME;
 import static org.apache.ignite.internal.processors.query.h2.opt.H2TableScanIndex.SCAN_INDEX_NAME_SUFFIX;
 
@@ -89,6 +102,9 @@ public class GridH2Table extends TableBase {
     /** Exclusive lock constant. */
     private static final long EXCLUSIVE_LOCK = -1;
 
+    /** Name prefix of hidden columns computing index expressions. */
+    private static final String COMPUTED_COL_PREFIX = "_EXPR_";
+
     /** 'rebuildFromHashInProgress' field updater */
     private static final AtomicIntegerFieldUpdater<GridH2Table> rebuildFromHashInProgressFiledUpdater =
         AtomicIntegerFieldUpdater.newUpdater(GridH2Table.class, "rebuildFromHashInProgress");
@@ -105,6 +121,9 @@ public class GridH2Table extends TableBase {
      */
     private static final double STATS_UPDATE_THRESHOLD = 0.1; // 10%.
 
+    /** Number of buckets in column histograms. */
+    private static final int STATS_HISTOGRAM_BUCKETS = 32;
+
     /** Cache context info. */
     private final GridCacheContextInfo cacheInfo;
 
@@ -123,8 +142,8 @@ public class GridH2Table extends TableBase {
     /** */
     private final Map<String, GridH2IndexBase> tmpIdxs = new HashMap<>();
 
-    /** */
-    private final ReentrantReadWriteLock lock;
+    /** Table lock. Striped, so that concurrent readers do not contend on a shared counter. */
+    private final StripedCompositeReadWriteLock lock;
 
     /** */
     private volatile boolean destroyed;
@@ -166,6 +185,15 @@ public class GridH2Table extends TableBase {
     /** Table statistics. */
     private volatile TableStatistics tblStats;
 
+    /** Column statistics. */
+    private volatile Map<String, ColumnStatistics> colStats = Collections.emptyMap();
+
+    /** Last sample of column values of local primary rows. */
+    private ColumnStatisticsSample colSample;
+
+    /** Sum of update counters of local primary partitions when column values were sampled. */
+    private long colSampleUpdCntr = -1;
+
     /** Logger. */
     @GridToStringExclude
     private IgniteLogger log;
@@ -227,7 +255,7 @@ public class GridH2Table extends TableBase {
 
         sysIdxsCnt = idxs.size();
 
-        lock = new ReentrantReadWriteLock();
+        lock = new StripedCompositeReadWriteLock(Runtime.getRuntime().availableProcessors());
 
         if (cacheInfo.affinityNode()) {
             long totalTblSize = cacheSize(CachePeekMode.PRIMARY, CachePeekMode.BACKUP);
@@ -708,6 +736,13 @@ public class GridH2Table extends TableBase {
         this.rmIndex = rmIndex;
     }
 
+    /**
+     * @return {@code True} if indexes are removed when the table is destroyed.
+     */
+    public boolean removeIndexOnDestroy() {
+        return rmIndex;
+    }
+
     /**
      * Gets index by index.
      *
@@ -755,6 +790,8 @@ public class GridH2Table extends TableBase {
             try {
                 ensureNotDestroyed();
 
+                computeIndexExpressions(row0);
+
                 boolean replaced;
 
                 if (prevRowAvailable && rebuildFromHashInProgress == FALSE)
@@ -806,11 +843,15 @@ public class GridH2Table extends TableBase {
     public boolean remove(CacheDataRow row) throws IgniteCheckedException {
         H2CacheRow row0 = desc.createRow(row);
 
+        row0.prepareValuesCache();
+
         lock(false);
 
         try {
             ensureNotDestroyed();
 
+            computeIndexExpressions(row0);
+
             boolean rmv = pk().removex(row0);
 
             if (rmv) {
@@ -833,6 +874,50 @@ public class GridH2Table extends TableBase {
         }
         finally {
             unlock(false);
+
+            row0.clearValuesCache();
+        }
+    }
+
+    /**
+     * Computes values of the index expressions of the row before the indexes are modified, so that B+tree
+     * operations find them in the values cache of the row.
+     *
+     * @param row Row with prepared values cache.
+     */
+    private void computeIndexExpressions(H2CacheRow row) {
+        if (desc.computedColumns().length == 0)
+            return;
+
+        for (int i = pkIndexPos + 1, len = idxs.size(); i < len; i++)
+            computeIndexExpressions(idxs.get(i), row, false);
+
+        for (GridH2IndexBase idx : tmpIdxs.values())
+            computeIndexExpressions(idx, row, false);
+    }
+
+    /**
+     * Computes values of the index expressions of the row.
+     *
+     * @param idx Index.
+     * @param row Row.
+     * @param check Whether to fail if an expression can't be computed for the row rather than to index it with
+     *      {@code NULL}.
+     * @throws IgniteSQLException If {@code check} is set and an expression can't be computed for the row.
+     */
+    public void computeIndexExpressions(Index idx, H2CacheRow row, boolean check) {
+        int firstComputedColId = QueryUtils.DEFAULT_COLUMNS_COUNT + desc.fieldsCount();
+
+        for (IndexColumn idxCol : idx.getIndexColumns()) {
+            int colId = idxCol.column.getColumnId();
+
+            if (colId < firstComputedColId)
+                continue;
+
+            if (check)
+                desc.computedColumns()[colId - firstComputedColId].compute(row);
+            else
+                row.getValue(colId);
         }
     }
 
@@ -1216,6 +1301,23 @@ public class GridH2Table extends TableBase {
         return true;
     }
 
+    /** {@inheritDoc} */
+    @Override public Column getExpressionColumn(Expression expr, TableFilter filter) {
+        H2ComputedColumn[] computedCols = desc.computedColumns();
+
+        if (computedCols.length == 0)
+            return null;
+
+        String sql = H2ComputedColumn.sql(expr);
+
+        for (H2ComputedColumn computed : computedCols) {
+            if (computed.sql().equals(sql))
+                return H2ComputedColumn.refersTo(expr, filter) ? computed.column() : null;
+        }
+
+        return null;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean canDrop() {
         return true;
@@ -1247,6 +1349,170 @@ public class GridH2Table extends TableBase {
         return qctx.local();
     }
 
+    /**
+     * @return Column statistics applied by the last {@link #applyColumnStatistics(ColumnStatisticsSample)} call.
+     */
+    public Collection<ColumnStatistics> columnStatistics() {
+        return colStats.values();
+    }
+
+    /**
+     * @param colName Column name.
+     * @return Column statistics or {@code null} if statistics of the column were not collected.
+     */
+    @Nullable public ColumnStatistics columnStatistics(String colName) {
+        return colStats.get(colName);
+    }
+
+    /**
+     * Samples column values of local primary rows. All local primary rows of the table are scanned, and every row
+     * gets to the sample with the same probability (reservoir sampling). The previous sample is returned if local
+     * primary partitions were not updated since it was taken.
+     *
+     * @param sampleSize Maximum number of sampled rows.
+     * @return Sample.
+     * @throws IgniteCheckedException If failed.
+     */
+    public synchronized ColumnStatisticsSample sampleColumnValues(int sampleSize) throws IgniteCheckedException {
+        List<Column> cols = new ArrayList<>();
+
+        for (Column col : getColumns()) {
+            int type = col.getType().getValueType();
+
+            // Values of these types have no meaningful order.
+            if (type != Value.JAVA_OBJECT && type != Value.GEOMETRY)
+                cols.add(col);
+        }
+
+        String[] colNames = new String[cols.size()];
+
+        for (int i = 0; i < colNames.length; i++)
+            colNames[i] = cols.get(i).getName();
+
+        GridCacheContext cctx = cacheInfo.cacheContext();
+
+        if (cctx == null || !cacheInfo.affinityNode())
+            return new ColumnStatisticsSample(colNames, 0, Collections.emptyList());
+
+        AffinityTopologyVersion topVer = cctx.topology().readyTopologyVersion();
+
+        List<GridDhtLocalPartition> parts = new ArrayList<>();
+
+        long updCntr = 0;
+
+        for (GridDhtLocalPartition part : cctx.topology().localPartitions()) {
+            if (part.state() == OWNING && part.primary(topVer)) {
+                parts.add(part);
+
+                updCntr += part.updateCounter();
+            }
+        }
+
+        if (colSample != null && updCntr == colSampleUpdCntr && Arrays.equals(colNames, colSample.columns()))
+            return colSample;
+
+        GridQueryTypeDescriptor typeDesc = desc.type();
+
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        List<CacheDataRow> rows = new ArrayList<>();
+
+        long rowCnt = 0;
+
+        for (GridDhtLocalPartition part : parts) {
+            if (!part.reserve())
+                continue;
+
+            try {
+                GridIterator<CacheDataRow> it = cctx.offheap().cachePartitionIterator(cctx.cacheId(), part.id(),
+                    null, null);
+
+                while (it.hasNextX()) {
+                    CacheDataRow row = it.nextX();
+
+                    // A single cache can contain values of several indexed types.
+                    if (!typeDesc.matchType(row.value()))
+                        continue;
+
+                    if (rows.size() < sampleSize)
+                        rows.add(row);
+                    else {
+                        long idx = rnd.nextLong(rowCnt + 1);
+
+                        if (idx < sampleSize)
+                            rows.set((int)idx, row);
+                    }
+
+                    rowCnt++;
+                }
+            }
+            finally {
+                part.release();
+            }
+        }
+
+        List<Object[]> vals = new ArrayList<>(rows.size());
+
+        for (CacheDataRow row : rows) {
+            H2CacheRow h2Row = desc.createRow(row);
+
+            Object[] rowVals = new Object[cols.size()];
+
+            for (int i = 0; i < rowVals.length; i++) {
+                Value val = h2Row.getValue(cols.get(i).getColumnId());
+
+                rowVals[i] = val == null ? null : val.getObject();
+            }
+
+            vals.add(rowVals);
+        }
+
+        colSample = new ColumnStatisticsSample(colNames, rowCnt, vals);
+        colSampleUpdCntr = updCntr;
+
+        return colSample;
+    }
+
+    /**
+     * Calculates column statistics from a sample of the whole table and updates selectivity of columns, which is
+     * used by the index cost function for equality conditions. Histograms are used to estimate the number of rows
+     * matching range conditions.
+     *
+     * @param sample Sample of all rows of the table merged from the local samples of all nodes.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void applyColumnStatistics(ColumnStatisticsSample sample) throws IgniteCheckedException {
+        Map<String, ColumnStatistics> stats = new LinkedHashMap<>();
+
+        String[] colNames = sample.columns();
+
+        for (int i = 0; i < colNames.length; i++) {
+            if (!doesColumnExist(colNames[i]))
+                continue;
+
+            Column col = getColumn(colNames[i]);
+
+            int type = col.getType().getValueType();
+
+            List<Value> vals = new ArrayList<>(sample.rows().size());
+
+            for (Object[] row : sample.rows()) {
+                Object val = row[i];
+
+                vals.add(val == null ? ValueNull.INSTANCE : H2Utils.wrap(desc.indexing().objectContext(), val, type));
+            }
+
+            ColumnStatistics colStat = ColumnStatistics.collect(col.getName(), vals, sample.rowCount(),
+                this::compareValues, STATS_HISTOGRAM_BUCKETS);
+
+            col.setSelectivity(colStat.selectivity());
+
+            stats.put(col.getName(), colStat);
+        }
+
+        colStats = stats;
+    }
+
     /**
      * Refreshes table stats if they are outdated.
      */
@@ -1394,12 +1660,15 @@ public class GridH2Table extends TableBase {
         try {
             Column[] safeColumns0 = safeColumns;
 
-            int pos = safeColumns0.length;
+            int computedCnt = desc.computedColumns().length;
+
+            int pos = safeColumns0.length - computedCnt;
 
             Column[] newCols = new Column[safeColumns0.length + cols.size()];
 
-            // First, let's copy existing columns to new array
-            System.arraycopy(safeColumns0, 0, newCols, 0, safeColumns0.length);
+            // First, let's copy existing columns to new array, keeping hidden computed columns at the end.
+            System.arraycopy(safeColumns0, 0, newCols, 0, pos);
+            System.arraycopy(safeColumns0, pos, newCols, pos + cols.size(), computedCnt);
 
             // And now, let's add new columns
             for (QueryField col : cols) {
@@ -1427,7 +1696,61 @@ public class GridH2Table extends TableBase {
 
             desc.refreshMetadataFromTypeDescriptor();
 
+            if (computedCnt > 0)
+                refreshIndexColumnIds();
+
+            incrementModificationCounter();
+        }
+        finally {
+            unlock(true);
+        }
+    }
+
+    /**
+     * Gets hidden column computing the index expression, adding it to the table if there is no such column yet.
+     *
+     * @param exprSql Expression SQL.
+     * @return Column.
+     */
+    public Column computedColumn(String exprSql) {
+        lock(true);
+
+        try {
+            H2ComputedColumn[] computedCols = desc.computedColumns();
+
+            String name = COMPUTED_COL_PREFIX + computedCols.length;
+
+            for (int i = computedCols.length + 1; doesColumnExist(name); i++)
+                name = COMPUTED_COL_PREFIX + i;
+
+            H2ComputedColumn computed = new H2ComputedColumn(this, exprSql, name);
+
+            for (H2ComputedColumn c : computedCols) {
+                if (c.sql().equals(computed.sql()))
+                    return c.column();
+            }
+
+            Column col = computed.column();
+
+            col.setVisible(false);
+
+            Column[] safeColumns0 = safeColumns;
+
+            Column[] newCols = Arrays.copyOf(safeColumns0, safeColumns0.length + 1);
+
+            newCols[safeColumns0.length] = col;
+
+            H2ComputedColumn[] newComputedCols = Arrays.copyOf(computedCols, computedCols.length + 1);
+
+            newComputedCols[computedCols.length] = computed;
+
+            desc.computedColumns(newComputedCols);
+
+            setColumns(newCols);
+
             incrementModificationCounter();
+
+            return col;
         }
         finally {
             unlock(true);
@@ -1463,13 +1786,25 @@ public class GridH2Table extends TableBase {
                 size--;
             }
 
+            H2ComputedColumn[] computedCols0 = desc.computedColumns();
+
+            List<H2ComputedColumn> computedCols = new ArrayList<>(computedCols0.length);
+
+            // Hidden columns computing expressions over the dropped columns are dropped too.
+            for (H2ComputedColumn computed : computedCols0) {
+                if (F.exist(cols, computed::dependsOn))
+                    size--;
+                else
+                    computedCols.add(computed);
+            }
+
             assert size > QueryUtils.DEFAULT_COLUMNS_COUNT;
 
             Column[] newCols = new Column[size];
 
             int dst = 0;
 
-            for (int i = 0; i < safeColumns0.length; i++) {
+            for (int i = 0; i < safeColumns0.length - computedCols0.length; i++) {
                 Column column = safeColumns0[i];
 
                 for (String name : cols) {
@@ -1484,14 +1819,16 @@ public class GridH2Table extends TableBase {
                     newCols[dst++] = column;
             }
 
+            for (H2ComputedColumn computed : computedCols)
+                newCols[dst++] = computed.column();
+
+            desc.computedColumns(computedCols.toArray(new H2ComputedColumn[computedCols.size()]));
+
             setColumns(newCols);
 
             desc.refreshMetadataFromTypeDescriptor();
 
-            for (Index idx : getIndexes()) {
-                if (idx instanceof GridH2IndexBase)
-                    ((GridH2IndexBase)idx).refreshColumnIds();
-            }
+            refreshIndexColumnIds();
 
             incrementModificationCounter();
         }
@@ -1500,6 +1837,16 @@ public class GridH2Table extends TableBase {
         }
     }
 
+    /**
+     * Refreshes column ids cached by indexes after the columns have been moved.
+     */
+    private void refreshIndexColumnIds() {
+        for (Index idx : getIndexes()) {
+            if (idx instanceof GridH2IndexBase)
+                ((GridH2IndexBase)idx).refreshColumnIds();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override protected void setColumns(Column[] columns) {
         this.safeColumns = columns;
@@ -16,13 +16,24 @@
 
 package org.apache.ignite.internal.processors.query.h2.opt;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
 import org.apache.ignite.internal.processors.cache.CacheObject;
 import org.apache.ignite.internal.processors.cache.CacheObjectContext;
+import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.processors.query.GridQueryIndexDescriptor;
 import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
@@ -42,9 +53,9 @@ import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.search.BooleanClause;
@@ -52,11 +63,15 @@ import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.util.BytesRef;
 import org.gridgain.internal.h2.util.JdbcUtils;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_LUCENE_INDEX_ON_DISK;
 import static org.apache.ignite.internal.processors.query.QueryUtils.KEY_FIELD_NAME;
 import static org.apache.ignite.internal.processors.query.QueryUtils.VAL_FIELD_NAME;
 
@@ -73,6 +88,15 @@ public class GridLuceneIndex implements AutoCloseable {
     /** Field name for value expiration time. */
     public static final String EXPIRATION_TIME_FIELD_NAME = "_gg_expires__";
 
+    /** Directory under the work directory where indexes are kept when they are stored on disk. */
+    public static final String LUCENE_DIR = "lucene";
+
+    /** Number of hits fetched from the index at once by query iterator. */
+    private static final int HITS_PAGE_SIZE = 1024;
+
+    /** Commit data key of update counters of local partitions the committed index is consistent with. */
+    private static final String PART_CNTRS_KEY = "ignite.partCntrs";
+
     /** */
     private final String cacheName;
 
@@ -89,7 +113,25 @@ public class GridLuceneIndex implements AutoCloseable {
     private final AtomicLong updateCntr = new GridAtomicLong();
 
     /** */
-    private final GridLuceneDirectory dir;
+    private final Directory dir;
+
+    /** Index files location, or {@code null} if the index is kept in off-heap memory. */
+    private final File dirPath;
+
+    /** Whether the index is kept on disk across restarts, i.e. it is stored on disk for a persistent cache. */
+    private final boolean durable;
+
+    /**
+     * Update counters of local partitions recorded with the last commit, {@code null} if the index has no commit
+     * or was already validated.
+     */
+    private volatile Map<Integer, Long> committedCntrs;
+
+    /** Whether the index is being rebuilt, so its current state must not be committed. */
+    private volatile boolean rebuildInProgress;
+
+    /** Near-real-time searchers over not yet committed index changes. */
+    private final SearcherManager searcherMgr;
 
     /** */
     private final GridKernalContext ctx;
@@ -108,10 +150,44 @@ public class GridLuceneIndex implements AutoCloseable {
         this.cacheName = cacheName;
         this.type = type;
 
-        dir = new GridLuceneDirectory(new GridUnsafeMemory(0));
-
         try {
-            writer = new IndexWriter(dir, new IndexWriterConfig(new StandardAnalyzer()));
+            if (ctx != null && IgniteSystemProperties.getBoolean(IGNITE_LUCENE_INDEX_ON_DISK)) {
+                File cacheWorkDir = persistentCacheWorkDir(ctx, cacheName);
+
+                durable = cacheWorkDir != null;
+
+                if (durable) {
+                    // Index lives and is removed together with the cache data files.
+                    dirPath = new File(new File(cacheWorkDir, LUCENE_DIR), U.maskForFileName(type.name()));
+                }
+                else {
+                    File root = U.resolveWorkDirectory(ctx.config().getWorkDirectory(), LUCENE_DIR, false);
+
+                    dirPath = new File(new File(new File(root, ctx.pdsFolderResolver().resolveFolders().folderName()),
+                        U.maskForFileName(String.valueOf(cacheName))), U.maskForFileName(type.name()));
+
+                    // Data of an in-memory cache doesn't survive restart, so leftovers of the previous run are useless.
+                    U.delete(dirPath);
+                }
+
+                U.ensureDirectory(dirPath, "full-text index directory", ctx.log(GridLuceneIndex.class));
+
+                dir = FSDirectory.open(dirPath.toPath());
+            }
+            else {
+                durable = false;
+
+                dirPath = null;
+
+                dir = new GridLuceneDirectory(new GridUnsafeMemory(0));
+            }
+
+            committedCntrs = durable ? committedCounters(dir) : null;
+
+            // Only a consistent state of the index is committed, see close(GridCacheContext, boolean).
+            writer = new IndexWriter(dir, new IndexWriterConfig(new StandardAnalyzer()).setCommitOnClose(false));
+
+            searcherMgr = new SearcherManager(writer, null);
         }
         catch (IOException e) {
             throw new IgniteCheckedException(e);
@@ -135,6 +211,112 @@ public class GridLuceneIndex implements AutoCloseable {
         idxdFields[idxdFields.length - 1] = VAL_STR_FIELD_NAME;
     }
 
+    /**
+     * @param ctx Kernal context.
+     * @param cacheName Cache name.
+     * @return Work directory of the cache if the cache is persistent, {@code null} otherwise.
+     */
+    @Nullable private static File persistentCacheWorkDir(GridKernalContext ctx, @Nullable String cacheName) {
+        DynamicCacheDescriptor desc = cacheName != null ? ctx.cache().cacheDescriptor(cacheName) : null;
+
+        IgnitePageStoreManager pageStore = ctx.cache().context().pageStore();
+
+        if (desc == null || !desc.groupDescriptor().persistenceEnabled() || !(pageStore instanceof FilePageStoreManager))
+            return null;
+
+        return ((FilePageStoreManager)pageStore).cacheWorkDir(desc.cacheConfiguration());
+    }
+
+    /**
+     * @param dir Directory.
+     * @return Update counters of local partitions recorded with the last commit of the index or {@code null} if
+     *      the index has no commit.
+     * @throws IOException If failed.
+     */
+    @Nullable private static Map<Integer, Long> committedCounters(Directory dir) throws IOException {
+        if (!DirectoryReader.indexExists(dir))
+            return null;
+
+        String cntrs = SegmentInfos.readLatestCommit(dir).getUserData().get(PART_CNTRS_KEY);
+
+        if (cntrs == null)
+            return null;
+
+        Map<Integer, Long> res = new HashMap<>();
+
+        if (!cntrs.isEmpty()) {
+            for (String cntr : cntrs.split(",")) {
+                int idx = cntr.indexOf(':');
+
+                res.put(Integer.parseInt(cntr.substring(0, idx)), Long.parseLong(cntr.substring(idx + 1)));
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * @param cctx Cache context.
+     * @return Update counters of local partitions of the cache which were ever updated.
+     */
+    private static Map<Integer, Long> partitionCounters(GridCacheContext<?, ?> cctx) {
+        Map<Integer, Long> res = new HashMap<>();
+
+        for (GridDhtLocalPartition part : cctx.topology().localPartitions()) {
+            // Partitions without updates may be not created yet.
+            if (part.updateCounter() != 0)
+                res.put(part.id(), part.updateCounter());
+        }
+
+        return res;
+    }
+
+    /**
+     * Checks whether the index is consistent with the recovered cache data: it must have been committed when the
+     * local partitions had exactly the same update counters. Otherwise the index is cleared, so it can be rebuilt
+     * from the cache data. Must be called once after the cache data is recovered and before it is updated.
+     *
+     * @param cctx Cache context.
+     * @return {@code True} if the index was cleared and must be rebuilt.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean prepareRebuild(GridCacheContext<?, ?> cctx) throws IgniteCheckedException {
+        Map<Integer, Long> cntrs = committedCntrs;
+
+        committedCntrs = null;
+
+        if (cntrs != null && cntrs.equals(partitionCounters(cctx)))
+            return false;
+
+        clear();
+
+        return true;
+    }
+
+    /**
+     * Removes all entries from the index.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void clear() throws IgniteCheckedException {
+        try {
+            writer.deleteAll();
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException(e);
+        }
+        finally {
+            updateCntr.incrementAndGet();
+        }
+    }
+
+    /**
+     * @param rebuildInProgress Whether the index is being rebuilt from the cache data.
+     */
+    public void markRebuildFromHashInProgress(boolean rebuildInProgress) {
+        this.rebuildInProgress = rebuildInProgress;
+    }
+
     /**
      * @return Cache object context.
      */
@@ -241,31 +423,29 @@ public class GridLuceneIndex implements AutoCloseable {
      */
     public <K, V> GridCloseableIterator<IgniteBiTuple<K, V>> query(String qry,
         IndexingQueryFilter filters) throws IgniteCheckedException {
-        IndexReader reader;
+        IndexSearcher searcher;
 
         try {
             long updates = updateCntr.get();
 
+            // Changes are visible to a reopened reader without commit.
             if (updates != 0) {
-                writer.commit();
+                searcherMgr.maybeRefreshBlocking();
 
                 updateCntr.addAndGet(-updates);
             }
 
-            //We can cache reader\searcher and change this to 'openIfChanged'
-            reader = DirectoryReader.open(writer);
+            searcher = searcherMgr.acquire();
         }
         catch (IOException e) {
             throw new IgniteCheckedException(e);
         }
 
-        IndexSearcher searcher;
+        BooleanQuery query;
 
         TopDocs docs;
 
         try {
-            searcher = new IndexSearcher(reader);
-
             MultiFieldQueryParser parser = new MultiFieldQueryParser(idxdFields,
                 writer.getAnalyzer());
 
@@ -274,15 +454,15 @@ public class GridLuceneIndex implements AutoCloseable {
             // Filter expired items.
             Query filter = LongPoint.newRangeQuery(EXPIRATION_TIME_FIELD_NAME, U.currentTimeMillis(), Long.MAX_VALUE);
 
-            BooleanQuery query = new BooleanQuery.Builder()
+            query = new BooleanQuery.Builder()
                 .add(parser.parse(qry), BooleanClause.Occur.MUST)
                 .add(filter, BooleanClause.Occur.FILTER)
                 .build();
 
-            docs = searcher.search(query, Integer.MAX_VALUE);
+            docs = searcher.search(query, HITS_PAGE_SIZE);
         }
         catch (Exception e) {
-            U.closeQuiet(reader);
+            release(searcher);
 
             throw new IgniteCheckedException(e);
         }
@@ -292,13 +472,68 @@ public class GridLuceneIndex implements AutoCloseable {
         if (filters != null)
             fltr = filters.forCache(cacheName);
 
-        return new It<>(reader, searcher, docs.scoreDocs, fltr);
+        return new It<>(searcher, query, docs.scoreDocs, fltr);
+    }
+
+    /**
+     * Releases searcher acquired by query.
+     *
+     * @param searcher Searcher.
+     */
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherMgr.release(searcher);
+        }
+        catch (IOException ignore) {
+            // No-op.
+        }
     }
 
     /** {@inheritDoc} */
     @Override public void close() {
+        close(null, true);
+    }
+
+    /**
+     * Closes the index. A durable index which is not removed is committed together with the current update
+     * counters of local partitions, so it can be reused after restart if the cache data is recovered to the same
+     * state.
+     *
+     * @param cctx Cache context, {@code null} if the index must not be committed.
+     * @param rmv Whether to remove the index files.
+     */
+    public void close(@Nullable GridCacheContext<?, ?> cctx, boolean rmv) {
+        IgniteLogger log = ctx.log(GridLuceneIndex.class);
+
+        U.closeQuiet(searcherMgr);
+
+        if (durable && !rmv && cctx != null && !rebuildInProgress) {
+            try {
+                StringBuilder cntrs = new StringBuilder();
+
+                for (Map.Entry<Integer, Long> e : partitionCounters(cctx).entrySet()) {
+                    if (cntrs.length() > 0)
+                        cntrs.append(',');
+
+                    cntrs.append(e.getKey()).append(':').append(e.getValue());
+                }
+
+                writer.setLiveCommitData(Collections.singletonMap(PART_CNTRS_KEY, cntrs.toString()).entrySet());
+
+                writer.commit();
+            }
+            catch (Exception e) {
+                U.warn(log, "Failed to commit full-text index, it will be rebuilt on restart [cache=" + cacheName +
+                    ", type=" + type.name() + ", err=" + e + ']');
+            }
+        }
+
+        // Uncommitted changes are discarded.
         U.closeQuiet(writer);
-        U.close(dir, ctx.log(GridLuceneIndex.class));
+        U.close(dir, log);
+
+        if (dirPath != null && (rmv || !durable))
+            U.delete(dirPath);
     }
 
     /**
@@ -308,14 +543,14 @@ public class GridLuceneIndex implements AutoCloseable {
         /** */
         private static final long serialVersionUID = 0L;
 
-        /** */
-        private final IndexReader reader;
-
         /** */
         private final IndexSearcher searcher;
 
         /** */
-        private final ScoreDoc[] docs;
+        private final Query query;
+
+        /** Current page of hits. */
+        private ScoreDoc[] docs;
 
         /** */
         private final IndexingQueryCacheFilter filters;
@@ -332,16 +567,16 @@ public class GridLuceneIndex implements AutoCloseable {
         /**
          * Constructor.
          *
-         * @param reader Reader.
          * @param searcher Searcher.
-         * @param docs Docs.
+         * @param query Query.
+         * @param docs First page of hits.
          * @param filters Filters over result.
          * @throws IgniteCheckedException if failed.
          */
-        private It(IndexReader reader, IndexSearcher searcher, ScoreDoc[] docs, IndexingQueryCacheFilter filters)
+        private It(IndexSearcher searcher, Query query, ScoreDoc[] docs, IndexingQueryCacheFilter filters)
             throws IgniteCheckedException {
-            this.reader = reader;
             this.searcher = searcher;
+            this.query = query;
             this.docs = docs;
             this.filters = filters;
 
@@ -373,7 +608,7 @@ public class GridLuceneIndex implements AutoCloseable {
         private void findNext() throws IgniteCheckedException {
             curr = null;
 
-            while (idx < docs.length) {
+            while (idx < docs.length || nextPage()) {
                 Document doc;
 
                 try {
@@ -405,6 +640,29 @@ public class GridLuceneIndex implements AutoCloseable {
             }
         }
 
+        /**
+         * Fetches the page of hits following the current one.
+         *
+         * @return {@code True} if the next page is not empty.
+         * @throws IgniteCheckedException If failed.
+         */
+        private boolean nextPage() throws IgniteCheckedException {
+            // Short page is the last one.
+            if (docs.length < HITS_PAGE_SIZE)
+                return false;
+
+            try {
+                docs = searcher.searchAfter(docs[docs.length - 1], query, HITS_PAGE_SIZE).scoreDocs;
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException(e);
+            }
+
+            idx = 0;
+
+            return docs.length > 0;
+        }
+
         /** {@inheritDoc} */
         @Override protected IgniteBiTuple<K, V> onNext() throws IgniteCheckedException {
             IgniteBiTuple<K, V> res = curr;
@@ -421,7 +679,7 @@ public class GridLuceneIndex implements AutoCloseable {
 
         /** {@inheritDoc} */
         @Override protected void onClose() throws IgniteCheckedException {
-            U.closeQuiet(reader);
+            release(searcher);
         }
     }
 }
\ No newline at end of file
@@ -19,6 +19,8 @@ package org.apache.ignite.internal.processors.query.h2.opt;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.binary.BinaryObjectImpl;
+import org.apache.ignite.internal.binary.BinaryPrimitives;
+import org.apache.ignite.internal.binary.GridBinaryMarshaller;
 import org.apache.ignite.internal.processors.cache.CacheObject;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
 import org.apache.ignite.internal.processors.cache.KeyCacheObjectImpl;
@@ -37,7 +39,15 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.gridgain.internal.h2.engine.Constants;
 import org.gridgain.internal.h2.result.Row;
 import org.gridgain.internal.h2.value.Value;
+import org.gridgain.internal.h2.value.ValueBoolean;
+import org.gridgain.internal.h2.value.ValueByte;
+import org.gridgain.internal.h2.value.ValueDouble;
+import org.gridgain.internal.h2.value.ValueFloat;
+import org.gridgain.internal.h2.value.ValueInt;
+import org.gridgain.internal.h2.value.ValueLong;
 import org.gridgain.internal.h2.value.ValueNull;
+import org.gridgain.internal.h2.value.ValueShort;
+import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_TO_STRING_INCLUDE_SENSITIVE;
 
@@ -54,6 +64,9 @@ public class H2CacheRow extends H2Row implements CacheDataRow {
     /** */
     private Value[] valCache;
 
+    /** Serialized key or value holding the column located by the last {@link #serializedPosition(int)} call. */
+    private BinaryObjectImpl serHolder;
+
     /** Row size. */
     int memory = -1;
 
@@ -73,7 +86,7 @@ public class H2CacheRow extends H2Row implements CacheDataRow {
         if (removedRow())
             return 1;
 
-        return QueryUtils.DEFAULT_COLUMNS_COUNT + desc.fieldsCount();
+        return QueryUtils.DEFAULT_COLUMNS_COUNT + desc.fieldsCount() + desc.computedColumns().length;
     }
 
     /** {@inheritDoc} */
@@ -113,20 +126,128 @@ public class H2CacheRow extends H2Row implements CacheDataRow {
         if (v != null)
             return v;
 
-        Object res = desc.columnValue(row.key(), row.value(), col);
+        int computed = col - desc.fieldsCount();
+
+        if (computed >= 0) {
+            v = desc.computedColumns()[computed].value(this);
+
+            setCached(col, v);
+
+            return v;
+        }
+
+        v = serializedValue(col);
 
-        v = res == null ? ValueNull.INSTANCE : wrap(res, desc.fieldType(col));
+        if (v == null) {
+            Object res = desc.columnValue(row.key(), row.value(), col);
+
+            v = res == null ? ValueNull.INSTANCE : wrap(res, desc.fieldType(col));
+        }
 
         setCached(col, v);
 
         return v;
     }
 
+    /**
+     * Reads fixed-size column value straight from the serialized key or value, without unmarshalling the field
+     * into a boxed object first.
+     *
+     * @param col Adjusted column index (without default columns).
+     * @return Value or {@code null} if the column value isn't a fixed-size value of the column type.
+     */
+    @Nullable private Value serializedValue(int col) {
+        int pos = serializedPosition0(col);
+
+        if (pos < 0)
+            return null;
+
+        byte[] arr = serHolder.array();
+
+        int type = desc.fieldType(col);
+
+        switch (arr[pos]) {
+            case GridBinaryMarshaller.NULL:
+                return ValueNull.INSTANCE;
+
+            case GridBinaryMarshaller.INT:
+                return type == Value.INT ? ValueInt.get(BinaryPrimitives.readInt(arr, pos + 1)) : null;
+
+            case GridBinaryMarshaller.LONG:
+                return type == Value.LONG ? ValueLong.get(BinaryPrimitives.readLong(arr, pos + 1)) : null;
+
+            case GridBinaryMarshaller.DOUBLE:
+                return type == Value.DOUBLE ? ValueDouble.get(BinaryPrimitives.readDouble(arr, pos + 1)) : null;
+
+            case GridBinaryMarshaller.BOOLEAN:
+                return type == Value.BOOLEAN ? ValueBoolean.get(BinaryPrimitives.readBoolean(arr, pos + 1)) : null;
+
+            case GridBinaryMarshaller.SHORT:
+                return type == Value.SHORT ? ValueShort.get(BinaryPrimitives.readShort(arr, pos + 1)) : null;
+
+            case GridBinaryMarshaller.BYTE:
+                return type == Value.BYTE ? ValueByte.get(BinaryPrimitives.readByte(arr, pos + 1)) : null;
+
+            case GridBinaryMarshaller.FLOAT:
+                return type == Value.FLOAT ? ValueFloat.get(BinaryPrimitives.readFloat(arr, pos + 1)) : null;
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Locates serialized value of the column, so fixed-size values can be read from {@link #serializedArray()}
+     * without creating objects. Used by predicates which compare column values in the serialized form.
+     *
+     * @param col Column index.
+     * @return Position of the column value header in {@link #serializedArray()} or {@code -1} if the column value
+     *      can't be read from the serialized form.
+     */
+    public int serializedPosition(int col) {
+        if (col < QueryUtils.DEFAULT_COLUMNS_COUNT || desc.isKeyAliasColumn(col) || desc.isValueAliasColumn(col))
+            return -1;
+
+        return serializedPosition0(col - QueryUtils.DEFAULT_COLUMNS_COUNT);
+    }
+
+    /**
+     * @return Array of the serialized key or value holding the column located by the last successful
+     *      {@link #serializedPosition(int)} call.
+     */
+    public byte[] serializedArray() {
+        assert serHolder != null;
+
+        return serHolder.array();
+    }
+
+    /**
+     * @param col Adjusted column index (without default columns).
+     * @return Position of the column value header or {@code -1} if the column value can't be read from the
+     *      serialized form.
+     */
+    private int serializedPosition0(int col) {
+        if (removedRow() || col >= desc.fieldsCount())
+            return -1;
+
+        BinaryObjectImpl holder = desc.serializedHolder(row.key(), row.value(), col);
+
+        if (holder == null)
+            return -1;
+
+        int pos = desc.serializedPosition(holder, col);
+
+        if (pos >= 0)
+            serHolder = holder;
+
+        return pos;
+    }
+
     /**
      * Prepare values cache.
      */
     public void prepareValuesCache() {
-        valCache = new Value[desc.fieldsCount()];
+        valCache = new Value[desc.fieldsCount() + desc.computedColumns().length];
     }
 
     /**
@@ -143,7 +264,7 @@ public class H2CacheRow extends H2Row implements CacheDataRow {
      * @return Value.
      */
     private Value getCached(int colIdx) {
-        return valCache != null ? valCache[colIdx] : null;
+        return valCache != null && colIdx < valCache.length ? valCache[colIdx] : null;
     }
 
     /**
@@ -153,7 +274,7 @@ public class H2CacheRow extends H2Row implements CacheDataRow {
      * @param val Value.
      */
     private void setCached(int colIdx, Value val) {
-        if (valCache != null)
+        if (valCache != null && colIdx < valCache.length)
             valCache[colIdx] = val;
     }
 
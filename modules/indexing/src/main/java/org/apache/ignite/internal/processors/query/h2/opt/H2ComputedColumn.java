@@ -0,0 +1,309 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.opt;
+
+import java.util.HashSet;
+import java.util.regex.Pattern;
+import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.util.typedef.F;
+import org.gridgain.internal.h2.command.Parser;
+import org.gridgain.internal.h2.command.dml.Select;
+import org.gridgain.internal.h2.engine.Database;
+import org.gridgain.internal.h2.engine.DbObject;
+import org.gridgain.internal.h2.engine.Session;
+import org.gridgain.internal.h2.expression.Expression;
+import org.gridgain.internal.h2.expression.ExpressionColumn;
+import org.gridgain.internal.h2.expression.ExpressionVisitor;
+import org.gridgain.internal.h2.message.DbException;
+import org.gridgain.internal.h2.result.Row;
+import org.gridgain.internal.h2.table.Column;
+import org.gridgain.internal.h2.table.ColumnResolver;
+import org.gridgain.internal.h2.table.TableFilter;
+import org.gridgain.internal.h2.value.Value;
+import org.gridgain.internal.h2.value.ValueNull;
+
+/**
+ * Hidden column of {@link GridH2Table} holding values of a deterministic expression over the other columns of the
+ * table. Index on an expression is an index on such a column: the table computes the column values of a row before
+ * it modifies the indexes, and conditions on an equivalent expression are matched to the column by the planner.
+ * Existing rows are checked when an index is created, later rows for which the expression can't be computed are
+ * indexed with {@code NULL}.
+ * <p>
+ * The expression is evaluated in a session of its own for every thread, H2 sessions are not thread-safe.
+ */
+public class H2ComputedColumn implements ColumnResolver {
+    /** Qualifier of a column reference in the expression SQL. */
+    private static final Pattern QUALIFIER = Pattern.compile("\"(?:[^\"]|\"\")*\"\\.");
+
+    /** Table. */
+    private final GridH2Table tbl;
+
+    /** Sessions the expression is evaluated in, one per thread. */
+    private final ThreadLocal<Session> ses;
+
+    /** Expression. */
+    private final Expression expr;
+
+    /** Expression SQL without column qualifiers. */
+    private final String sql;
+
+    /** Column. */
+    private final Column col;
+
+    /** Row the expression is evaluated for. */
+    private final ThreadLocal<Row> curRow = new ThreadLocal<>();
+
+    /**
+     * Constructor.
+     *
+     * @param tbl Table.
+     * @param exprSql Expression SQL.
+     * @param colName Column name.
+     */
+    public H2ComputedColumn(GridH2Table tbl, String exprSql, String colName) {
+        this.tbl = tbl;
+
+        ses = ThreadLocal.withInitial(() -> session(tbl.getDatabase()));
+
+        Expression e;
+
+        try {
+            Session parseSes = session(tbl.getDatabase());
+
+            e = new Parser(parseSes).parseExpression(exprSql);
+
+            e.mapColumns(this, 0, Expression.MAP_INITIAL);
+
+            e = e.optimize(parseSes);
+        }
+        catch (DbException ex) {
+            throw new IgniteSQLException("Failed to parse index expression: " + exprSql,
+                IgniteQueryErrorCode.PARSING, ex);
+        }
+
+        HashSet<DbObject> deps = new HashSet<>();
+
+        e.isEverything(ExpressionVisitor.getDependenciesVisitor(deps));
+
+        deps.remove(tbl);
+
+        if (e.isConstant() || e instanceof ExpressionColumn || !deps.isEmpty() ||
+            !e.isEverything(ExpressionVisitor.DETERMINISTIC_VISITOR)) {
+            throw new IgniteSQLException("Index expression must be a deterministic expression over the columns " +
+                "of the table: " + exprSql, IgniteQueryErrorCode.UNSUPPORTED_OPERATION);
+        }
+
+        expr = e;
+        sql = sql(e);
+        col = new Column(colName, e.getType());
+    }
+
+    /**
+     * @param db Database.
+     * @return New session of the system user, not registered in the database.
+     */
+    private static Session session(Database db) {
+        Session sysSes = db.getSystemSession();
+
+        return new Session(db, sysSes.getUser(), sysSes.getId());
+    }
+
+    /**
+     * Validates the index expression and converts it to the form stored in the index fields.
+     *
+     * @param tbl Table.
+     * @param exprSql Expression SQL.
+     * @return Index field.
+     */
+    public static String indexField(GridH2Table tbl, String exprSql) {
+        return new H2ComputedColumn(tbl, exprSql, exprSql).sql();
+    }
+
+    /**
+     * @param expr Expression.
+     * @return Expression SQL without column qualifiers, so that expressions over different aliases of the same
+     *      table are equal.
+     */
+    public static String sql(Expression expr) {
+        return QUALIFIER.matcher(expr.getSQL(true)).replaceAll("");
+    }
+
+    /**
+     * Checks that the expression over the table filter doesn't refer to other tables of the query, so that it can be
+     * computed from the rows of the filter only.
+     *
+     * @param expr Expression.
+     * @param filter Table filter.
+     * @return {@code True} if the expression refers to the table filter only.
+     */
+    public static boolean refersTo(Expression expr, TableFilter filter) {
+        if (expr.isEverything(ExpressionVisitor.getNotFromResolverVisitor(filter)))
+            return false;
+
+        Select select = filter.getSelect();
+
+        if (select == null)
+            return true;
+
+        for (TableFilter f : select.getTopFilters()) {
+            if (!independent(expr, f, filter))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param expr Expression.
+     * @param f First filter of the join.
+     * @param filter Filter to skip.
+     * @return {@code True} if the expression doesn't refer to the join filters except the given one.
+     */
+    private static boolean independent(Expression expr, TableFilter f, TableFilter filter) {
+        for (; f != null; f = f.getJoin()) {
+            if (f != filter && !expr.isEverything(ExpressionVisitor.getNotFromResolverVisitor(f)))
+                return false;
+
+            if (!independent(expr, f.getNestedJoin(), filter))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return Expression SQL without column qualifiers.
+     */
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * @return Column.
+     */
+    public Column column() {
+        return col;
+    }
+
+    /**
+     * @param colName Column name.
+     * @return {@code True} if the expression refers to the column.
+     */
+    public boolean dependsOn(String colName) {
+        HashSet<Column> cols = new HashSet<>();
+
+        expr.isEverything(ExpressionVisitor.getColumnsVisitor(cols, tbl));
+
+        for (Column c : cols) {
+            if (F.eq(c.getName(), colName))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Computes the column value. An expression that can't be computed for the row, e.g. because of a division by zero
+     * or a failed conversion, gives {@code NULL}: the value is computed inside index operations, which must not fail,
+     * and must be the same every time it's computed for the row.
+     *
+     * @param row Table row.
+     * @return Value.
+     */
+    public Value value(Row row) {
+        try {
+            return compute(row);
+        }
+        catch (IgniteSQLException ignored) {
+            return ValueNull.INSTANCE;
+        }
+    }
+
+    /**
+     * Computes the column value, failing if the expression can't be computed for the row.
+     *
+     * @param row Table row.
+     * @return Value.
+     * @throws IgniteSQLException If the expression can't be computed for the row.
+     */
+    public Value compute(Row row) {
+        Row prev = curRow.get();
+
+        curRow.set(row);
+
+        try {
+            return col.convert(expr.getValue(ses.get()));
+        }
+        catch (DbException e) {
+            throw new IgniteSQLException("Failed to compute index expression " + sql + ": " + e.getMessage(), e);
+        }
+        finally {
+            curRow.set(prev);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String getTableAlias() {
+        return tbl.getName();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Column[] getColumns() {
+        return tbl.getColumns();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String getDerivedColumnName(Column column) {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Column[] getSystemColumns() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Column getRowIdColumn() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String getSchemaName() {
+        return tbl.getSchema().getName();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Value getValue(Column column) {
+        return curRow.get().getValue(column.getColumnId());
+    }
+
+    /** {@inheritDoc} */
+    @Override public TableFilter getTableFilter() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Select getSelect() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Expression optimize(ExpressionColumn exprCol, Column column) {
+        return exprCol;
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.LT;
 import org.gridgain.internal.h2.command.dml.AllColumnsForPlan;
 import org.gridgain.internal.h2.engine.Constants;
+import org.gridgain.internal.h2.expression.Expression;
 import org.gridgain.internal.h2.index.BaseIndex;
 import org.gridgain.internal.h2.index.IndexCondition;
 import org.gridgain.internal.h2.index.IndexType;
@@ -31,6 +32,8 @@ import org.gridgain.internal.h2.result.SortOrder;
 import org.gridgain.internal.h2.table.Column;
 import org.gridgain.internal.h2.table.IndexColumn;
 import org.gridgain.internal.h2.table.TableFilter;
+import org.gridgain.internal.h2.value.Value;
+import org.gridgain.internal.h2.value.ValueNull;
 
 /**
  * Index base.
@@ -137,17 +140,23 @@ public abstract class H2IndexCostedBase extends BaseIndex {
                     rowsCost = Math.min(5 + Math.max(rowsCost / distinctRows, 1), rowsCost - (i > 0 ? 1 : 0));
                 }
                 else if ((mask & IndexCondition.RANGE) == IndexCondition.RANGE) {
-                    rowsCost = Math.min(5 + rowsCost / 4, rowsCost - (i > 0 ? 1 : 0));
+                    long rangeRows = rangeRows(column, filters, filter, rowsCost);
+
+                    rowsCost = Math.min(5 + (rangeRows >= 0 ? rangeRows : rowsCost / 4), rowsCost - (i > 0 ? 1 : 0));
 
                     break;
                 }
                 else if ((mask & IndexCondition.START) == IndexCondition.START) {
-                    rowsCost = Math.min(5 + rowsCost / 3, rowsCost - (i > 0 ? 1 : 0));
+                    long rangeRows = rangeRows(column, filters, filter, rowsCost);
+
+                    rowsCost = Math.min(5 + (rangeRows >= 0 ? rangeRows : rowsCost / 3), rowsCost - (i > 0 ? 1 : 0));
 
                     break;
                 }
                 else if ((mask & IndexCondition.END) == IndexCondition.END) {
-                    rowsCost = Math.min(rowsCost / 3, rowsCost - (i > 0 ? 1 : 0));
+                    long rangeRows = rangeRows(column, filters, filter, rowsCost);
+
+                    rowsCost = Math.min(rangeRows >= 0 ? rangeRows : rowsCost / 3, rowsCost - (i > 0 ? 1 : 0));
 
                     break;
                 }
@@ -289,6 +298,58 @@ public abstract class H2IndexCostedBase extends BaseIndex {
         return rc;
     }
 
+    /**
+     * Estimates the number of rows matching range conditions on a column from the column histogram collected by
+     * ANALYZE.
+     *
+     * @param col Column.
+     * @param filters Table filters.
+     * @param filter Index of the current table filter.
+     * @param rowCnt Number of rows the conditions are applied to.
+     * @return Estimated number of rows or {@code -1} if there are no statistics of the column or the range bounds
+     *      are not constants.
+     */
+    private long rangeRows(Column col, TableFilter[] filters, int filter, long rowCnt) {
+        TableFilter tblFilter = filters == null ? null : filters[filter];
+
+        if (tblFilter == null || !(table instanceof GridH2Table))
+            return -1;
+
+        ColumnStatistics stats = ((GridH2Table)table).columnStatistics(col.getName());
+
+        if (stats == null)
+            return -1;
+
+        Value from = null;
+        Value to = null;
+
+        for (IndexCondition cond : tblFilter.getIndexConditions()) {
+            if (cond.getColumn() != col || !(cond.isStart() || cond.isEnd()))
+                continue;
+
+            Expression expr = cond.getExpression();
+
+            if (expr == null || !expr.isConstant())
+                return -1;
+
+            Value val = expr.getValue(tblFilter.getSession());
+
+            if (val == ValueNull.INSTANCE)
+                return -1;
+
+            if (cond.isStart() && (from == null || table.compareValues(val, from) > 0))
+                from = val;
+
+            if (cond.isEnd() && (to == null || table.compareValues(val, to) < 0))
+                to = val;
+        }
+
+        if (from == null && to == null)
+            return -1;
+
+        return Math.round(rowCnt * stats.rangeFraction(from, to, table::compareValues));
+    }
+
     /** Re-implement {@link BaseIndex#getCostRangeIndex} to support compatibility with versions
      * between 8.7.8 and 8.7.12.
      */
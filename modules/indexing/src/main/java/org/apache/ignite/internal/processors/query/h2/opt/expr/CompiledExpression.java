@@ -0,0 +1,217 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.opt.expr;
+
+import org.apache.ignite.internal.processors.query.h2.opt.expr.H2ExpressionCompiler.InterpreterFallback;
+import org.apache.ignite.internal.processors.query.h2.opt.expr.H2ExpressionCompiler.PredicateEvaluator;
+import org.apache.ignite.internal.processors.query.h2.opt.expr.H2ExpressionCompiler.ValueEvaluator;
+import org.gridgain.internal.h2.engine.Session;
+import org.gridgain.internal.h2.expression.Expression;
+import org.gridgain.internal.h2.expression.ExpressionVisitor;
+import org.gridgain.internal.h2.table.ColumnResolver;
+import org.gridgain.internal.h2.table.TableFilter;
+import org.gridgain.internal.h2.value.TypeInfo;
+import org.gridgain.internal.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.query.h2.opt.expr.H2ExpressionCompiler.TRUE;
+
+/**
+ * Expression evaluated by the compiled evaluators. Everything except the evaluation is delegated to the source
+ * expression, so plans, result metadata and visitors see the source expression.
+ */
+public class CompiledExpression extends Expression {
+    /** Source expression. */
+    private final Expression src;
+
+    /** Value evaluator. */
+    private final ValueEvaluator val;
+
+    /** Predicate evaluator, {@code null} if the expression isn't a predicate. */
+    private final PredicateEvaluator pred;
+
+    /**
+     * @param src Source expression.
+     * @param val Value evaluator.
+     * @param pred Predicate evaluator, {@code null} if the expression isn't a predicate.
+     */
+    CompiledExpression(Expression src, ValueEvaluator val, @Nullable PredicateEvaluator pred) {
+        this.src = src;
+        this.val = val;
+        this.pred = pred;
+    }
+
+    /**
+     * @return Source expression.
+     */
+    public Expression source() {
+        return src;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Value getValue(Session ses) {
+        try {
+            return val.eval(ses);
+        }
+        catch (InterpreterFallback ignored) {
+            return src.getValue(ses);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean getBooleanValue(Session ses) {
+        if (pred == null)
+            return getValue(ses).getBoolean();
+
+        try {
+            return pred.test(ses) == TRUE;
+        }
+        catch (InterpreterFallback ignored) {
+            return src.getBooleanValue(ses);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public TypeInfo getType() {
+        return src.getType();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void mapColumns(ColumnResolver resolver, int level, int state) {
+        src.mapColumns(resolver, level, state);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Expression optimize(Session ses) {
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void setEvaluatable(TableFilter tblFilter, boolean val) {
+        src.setEvaluatable(tblFilter, val);
+    }
+
+    /** {@inheritDoc} */
+    @Override public StringBuilder getSQL(StringBuilder builder, boolean alwaysQuote) {
+        return src.getSQL(builder, alwaysQuote);
+    }
+
+    /** {@inheritDoc} */
+    @Override public StringBuilder getUnenclosedSQL(StringBuilder builder, boolean alwaysQuote) {
+        return src.getUnenclosedSQL(builder, alwaysQuote);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void updateAggregate(Session ses, int stage) {
+        src.updateAggregate(ses, stage);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isEverything(ExpressionVisitor visitor) {
+        return src.isEverything(visitor);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getCost() {
+        return src.getCost();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Expression getNotIfPossible(Session ses) {
+        return src.getNotIfPossible(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isConstant() {
+        return src.isConstant();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isValueSet() {
+        return src.isValueSet();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isAutoIncrement() {
+        return src.isAutoIncrement();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isGeneratedKey() {
+        return src.isGeneratedKey();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void createIndexConditions(Session ses, TableFilter filter) {
+        src.createIndexConditions(ses, filter);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String getColumnName() {
+        return src.getColumnName();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String getSchemaName() {
+        return src.getSchemaName();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String getTableName() {
+        return src.getTableName();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getNullable() {
+        return src.getNullable();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String getTableAlias() {
+        return src.getTableAlias();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String getAlias() {
+        return src.getAlias();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Expression getNonAliasExpression() {
+        return src.getNonAliasExpression();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addFilterConditions(TableFilter filter, boolean outerJoin) {
+        src.addFilterConditions(filter, outerJoin);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Expression[] getExpressionColumns(Session ses) {
+        return src.getExpressionColumns(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getSubexpressionCount() {
+        return src.getSubexpressionCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Expression getSubexpression(int idx) {
+        return src.getSubexpression(idx);
+    }
+}
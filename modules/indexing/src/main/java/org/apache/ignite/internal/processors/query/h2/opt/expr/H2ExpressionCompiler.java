@@ -0,0 +1,1085 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.opt.expr;
+
+import org.apache.ignite.internal.binary.BinaryPrimitives;
+import org.apache.ignite.internal.binary.GridBinaryMarshaller;
+import org.apache.ignite.internal.processors.query.h2.opt.H2CacheRow;
+import org.gridgain.internal.h2.command.Prepared;
+import org.gridgain.internal.h2.command.dml.Select;
+import org.gridgain.internal.h2.engine.Session;
+import org.gridgain.internal.h2.expression.BinaryOperation;
+import org.gridgain.internal.h2.expression.Expression;
+import org.gridgain.internal.h2.expression.ExpressionColumn;
+import org.gridgain.internal.h2.expression.ExpressionVisitor;
+import org.gridgain.internal.h2.expression.UnaryOperation;
+import org.gridgain.internal.h2.expression.ValueExpression;
+import org.gridgain.internal.h2.expression.condition.Comparison;
+import org.gridgain.internal.h2.expression.condition.ConditionAndOr;
+import org.gridgain.internal.h2.expression.condition.ConditionNot;
+import org.gridgain.internal.h2.expression.function.Function;
+import org.gridgain.internal.h2.result.Row;
+import org.gridgain.internal.h2.table.Column;
+import org.gridgain.internal.h2.table.TableFilter;
+import org.gridgain.internal.h2.value.TypeInfo;
+import org.gridgain.internal.h2.value.Value;
+import org.gridgain.internal.h2.value.ValueBoolean;
+import org.gridgain.internal.h2.value.ValueByte;
+import org.gridgain.internal.h2.value.ValueDouble;
+import org.gridgain.internal.h2.value.ValueInt;
+import org.gridgain.internal.h2.value.ValueLong;
+import org.gridgain.internal.h2.value.ValueNull;
+import org.gridgain.internal.h2.value.ValueShort;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser.ANDOR_TYPE;
+import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser.COMPARISON_TYPE;
+import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser.OPERATION_TYPE;
+
+/**
+ * Compiles expressions of prepared queries into trees of specialized evaluators.
+ * <p>
+ * H2 interprets expression trees: every node converts its operands to the operation type, boxes the result into
+ * a {@link Value} and compares values through the generic type-aware comparison. The compiler makes these decisions
+ * once, when the query is prepared: integer and double operands of comparisons, arithmetic and {@code ABS} are
+ * evaluated as primitives, {@code AND}, {@code OR}, {@code NOT} and comparisons return three-valued logic without
+ * creating {@link ValueBoolean}s, numeric columns of cache rows are read straight from the serialized key or value
+ * (other rows are read from their table filters), searched {@code CASE} and
+ * {@code COALESCE} evaluate compiled branches. Unsupported nodes are evaluated by the interpreter.
+ * <p>
+ * When a compiled evaluator meets a value it can't handle (an unexpected runtime type, an arithmetic overflow,
+ * a division by zero or a value which clashes with the {@code NULL} marker), it throws {@link InterpreterFallback}
+ * and the whole expression is evaluated by the interpreter for the current row, so results and errors are exactly
+ * the same as without compilation. Only deterministic expressions are compiled, so the repeated evaluation is safe.
+ */
+public class H2ExpressionCompiler {
+    /** Predicate result: {@code FALSE}. */
+    static final int FALSE = 0;
+
+    /** Predicate result: {@code TRUE}. */
+    static final int TRUE = 1;
+
+    /** Predicate result: {@code UNKNOWN}, i.e. {@code NULL}. */
+    static final int UNKNOWN = 2;
+
+    /** {@code NULL} marker of integer evaluators. Actual {@link Long#MIN_VALUE} values fall back to the interpreter. */
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    /** {@code NULL} marker of double evaluators. Actual {@code NaN} values fall back to the interpreter. */
+    private static final double NULL_DOUBLE = Double.NaN;
+
+    /** Number of compiled nodes. */
+    private int compiled;
+
+    /**
+     * Compiles the condition and the expressions of the select. Only the condition of group and window queries is
+     * compiled, since their expressions are evaluated over the group data.
+     *
+     * @param prepared Prepared query.
+     */
+    public static void compile(Prepared prepared) {
+        if (!(prepared instanceof Select))
+            return;
+
+        Select select = (Select)prepared;
+
+        select.replaceCondition(H2ExpressionCompiler::compile);
+
+        if (!select.isGroupQuery() && !select.isWindowQuery())
+            select.replaceExpressions(H2ExpressionCompiler::compile);
+    }
+
+    /**
+     * @param expr Expression.
+     * @return Compiled expression or the same expression if nothing in the expression can be compiled.
+     */
+    static Expression compile(Expression expr) {
+        if (expr instanceof CompiledExpression || expr.isConstant() ||
+            !expr.isEverything(ExpressionVisitor.DETERMINISTIC_VISITOR))
+            return expr;
+
+        H2ExpressionCompiler compiler = new H2ExpressionCompiler();
+
+        Expression src = expr.getNonAliasExpression();
+
+        PredicateEvaluator pred = compiler.predicate(src);
+
+        ValueEvaluator val = pred != null ? ses -> value(pred.test(ses)) : compiler.value(src);
+
+        return compiler.compiled > 0 ? new CompiledExpression(expr, val, pred) : expr;
+    }
+
+    /**
+     * @param e Expression.
+     * @return Predicate evaluator or {@code null} if the expression isn't a boolean one.
+     */
+    @Nullable private PredicateEvaluator predicate(Expression e) {
+        if (e instanceof Comparison) {
+            PredicateEvaluator res = comparison((Comparison)e);
+
+            if (res != null)
+                return res;
+        }
+        else if (e instanceof ConditionAndOr) {
+            PredicateEvaluator l = predicate(e.getSubexpression(0));
+            PredicateEvaluator r = predicate(e.getSubexpression(1));
+
+            if (l != null && r != null) {
+                compiled++;
+
+                return ANDOR_TYPE.get((ConditionAndOr)e) == ConditionAndOr.AND ? and(l, r) : or(l, r);
+            }
+        }
+        else if (e instanceof ConditionNot) {
+            PredicateEvaluator c = predicate(e.getSubexpression(0));
+
+            if (c != null) {
+                compiled++;
+
+                return ses -> {
+                    int res = c.test(ses);
+
+                    return res == UNKNOWN ? UNKNOWN : res ^ 1;
+                };
+            }
+        }
+
+        if (e.getType().getValueType() != Value.BOOLEAN)
+            return null;
+
+        ValueEvaluator v = e instanceof Function ? value(e) : e::getValue;
+
+        return ses -> {
+            Value res = v.eval(ses);
+
+            return res == ValueNull.INSTANCE ? UNKNOWN : res.getBoolean() ? TRUE : FALSE;
+        };
+    }
+
+    /**
+     * @param cmp Comparison.
+     * @return Predicate evaluator or {@code null} if the comparison isn't supported.
+     */
+    @Nullable private PredicateEvaluator comparison(Comparison cmp) {
+        int cmpType = COMPARISON_TYPE.get(cmp);
+
+        Expression left = cmp.getSubexpression(0);
+
+        if (cmpType == Comparison.IS_NULL || cmpType == Comparison.IS_NOT_NULL) {
+            int isNull = cmpType == Comparison.IS_NULL ? TRUE : FALSE;
+
+            ValueEvaluator l = value(left);
+
+            compiled++;
+
+            return ses -> l.eval(ses) == ValueNull.INSTANCE ? isNull : isNull ^ 1;
+        }
+
+        switch (cmpType) {
+            case Comparison.EQUAL:
+            case Comparison.NOT_EQUAL:
+            case Comparison.BIGGER:
+            case Comparison.BIGGER_EQUAL:
+            case Comparison.SMALLER:
+            case Comparison.SMALLER_EQUAL:
+                break;
+
+            default:
+                return null;
+        }
+
+        Expression right = cmp.getSubexpression(1);
+
+        int lType = left.getType().getValueType();
+        int rType = right.getType().getValueType();
+
+        compiled++;
+
+        if (isInteger(lType) && isInteger(rType)) {
+            LongEvaluator l = longValue(left);
+            LongEvaluator r = longValue(right);
+
+            return ses -> {
+                long a = l.eval(ses);
+
+                if (a == NULL_LONG)
+                    return UNKNOWN;
+
+                long b = r.eval(ses);
+
+                if (b == NULL_LONG)
+                    return UNKNOWN;
+
+                return result(cmpType, Long.compare(a, b));
+            };
+        }
+
+        if (isDouble(lType) && isDouble(rType)) {
+            DoubleEvaluator l = doubleValue(left);
+            DoubleEvaluator r = doubleValue(right);
+
+            return ses -> {
+                double a = l.eval(ses);
+
+                if (Double.isNaN(a))
+                    return UNKNOWN;
+
+                double b = r.eval(ses);
+
+                if (Double.isNaN(b))
+                    return UNKNOWN;
+
+                return result(cmpType, Double.compare(a, b));
+            };
+        }
+
+        ValueEvaluator l = value(left);
+        ValueEvaluator r = value(right);
+
+        boolean forEquality = cmpType == Comparison.EQUAL || cmpType == Comparison.NOT_EQUAL;
+
+        return ses -> {
+            Value a = l.eval(ses);
+
+            if (a == ValueNull.INSTANCE)
+                return UNKNOWN;
+
+            int res = ses.getDatabase().compareWithNull(a, r.eval(ses), forEquality);
+
+            return res == Integer.MIN_VALUE ? UNKNOWN : result(cmpType, res);
+        };
+    }
+
+    /**
+     * @param e Expression.
+     * @return Value evaluator.
+     */
+    private ValueEvaluator value(Expression e) {
+        if (e instanceof Comparison || e instanceof ConditionAndOr || e instanceof ConditionNot) {
+            PredicateEvaluator pred = predicate(e);
+
+            if (pred != null)
+                return ses -> value(pred.test(ses));
+        }
+
+        int type = e.getType().getValueType();
+
+        // Reading of columns and constants gains nothing from the compilation.
+        boolean leaf = e instanceof ExpressionColumn || e instanceof ValueExpression;
+
+        LongEvaluator v = isInteger(type) && !leaf ? compiledLongValue(e) : null;
+
+        if (v != null) {
+            switch (type) {
+                case Value.BYTE:
+                    return ses -> {
+                        long res = v.eval(ses);
+
+                        return res == NULL_LONG ? ValueNull.INSTANCE : ValueByte.get((byte)res);
+                    };
+
+                case Value.SHORT:
+                    return ses -> {
+                        long res = v.eval(ses);
+
+                        return res == NULL_LONG ? ValueNull.INSTANCE : ValueShort.get((short)res);
+                    };
+
+                case Value.INT:
+                    return ses -> {
+                        long res = v.eval(ses);
+
+                        return res == NULL_LONG ? ValueNull.INSTANCE : ValueInt.get((int)res);
+                    };
+
+                default:
+                    return ses -> {
+                        long res = v.eval(ses);
+
+                        return res == NULL_LONG ? ValueNull.INSTANCE : ValueLong.get(res);
+                    };
+            }
+        }
+
+        DoubleEvaluator dv = type == Value.DOUBLE && !leaf ? compiledDoubleValue(e) : null;
+
+        if (dv != null) {
+            return ses -> {
+                double res = dv.eval(ses);
+
+                return Double.isNaN(res) ? ValueNull.INSTANCE : ValueDouble.get(res);
+            };
+        }
+
+        if (isFunction(e, Function.CASE) && ((Function)e).getArgs()[0] == null)
+            return searchedCase((Function)e);
+
+        if (isFunction(e, Function.COALESCE))
+            return coalesce((Function)e);
+
+        return e::getValue;
+    }
+
+    /**
+     * @param e Expression of an integer type.
+     * @return Integer evaluator.
+     */
+    private LongEvaluator longValue(Expression e) {
+        LongEvaluator res = compiledLongValue(e);
+
+        if (res != null)
+            return res;
+
+        ValueEvaluator v = value(e);
+
+        return ses -> longValue(v.eval(ses));
+    }
+
+    /**
+     * @param e Expression of an integer type.
+     * @return Compiled integer evaluator or {@code null} if the expression isn't supported.
+     */
+    @Nullable private LongEvaluator compiledLongValue(Expression e) {
+        TypeInfo type = e.getType();
+
+        assert isInteger(type.getValueType()) : e;
+
+        if (e instanceof ExpressionColumn) {
+            ExpressionColumn col = (ExpressionColumn)e;
+
+            TableFilter filter = col.getTableFilter();
+            Column column = col.getColumn();
+
+            if (filter != null && column.getType().getExtTypeInfo() == null) {
+                compiled++;
+
+                int colId = column.getColumnId();
+                int colType = column.getType().getValueType();
+
+                return ses -> {
+                    H2CacheRow row = cacheRow(filter);
+
+                    if (row != null) {
+                        int pos = row.serializedPosition(colId);
+
+                        if (pos >= 0)
+                            return serializedLong(row.serializedArray(), pos, colType);
+                    }
+
+                    Value v = filter.getValue(column);
+
+                    // Interpreter reports the error.
+                    if (v == null)
+                        throw InterpreterFallback.INSTANCE;
+
+                    return longValue(v);
+                };
+            }
+        }
+        else if (e instanceof ValueExpression) {
+            try {
+                long v = longValue(e.getValue(null));
+
+                return ses -> v;
+            }
+            catch (InterpreterFallback ignored) {
+                // Evaluated by the interpreter.
+            }
+        }
+        else if (e instanceof BinaryOperation) {
+            Expression left = e.getSubexpression(0);
+            Expression right = e.getSubexpression(1);
+
+            BinaryOperation.OpType op = OPERATION_TYPE.get((BinaryOperation)e);
+
+            if (op != BinaryOperation.OpType.CONCAT && isInteger(left.getType().getValueType()) &&
+                isInteger(right.getType().getValueType())) {
+                LongEvaluator l = longValue(left);
+                LongEvaluator r = longValue(right);
+
+                int resType = type.getValueType();
+
+                compiled++;
+
+                return ses -> {
+                    long a = l.eval(ses);
+                    long b = r.eval(ses);
+
+                    if (a == NULL_LONG || b == NULL_LONG)
+                        return NULL_LONG;
+
+                    return checkRange(resType, arithmetic(op, a, b));
+                };
+            }
+        }
+        else if (e instanceof UnaryOperation) {
+            LongEvaluator a = longValue(e.getSubexpression(0));
+
+            int resType = type.getValueType();
+
+            compiled++;
+
+            return ses -> {
+                long v = a.eval(ses);
+
+                return v == NULL_LONG ? NULL_LONG : checkRange(resType, -v);
+            };
+        }
+        else if (isFunction(e, Function.ABS) && isInteger(((Function)e).getArgs()[0].getType().getValueType())) {
+            LongEvaluator a = longValue(((Function)e).getArgs()[0]);
+
+            int resType = type.getValueType();
+
+            compiled++;
+
+            return ses -> {
+                long v = a.eval(ses);
+
+                return v == NULL_LONG || v >= 0 ? v : checkRange(resType, -v);
+            };
+        }
+
+        return null;
+    }
+
+    /**
+     * @param e Expression of an integer or double type.
+     * @return Double evaluator.
+     */
+    private DoubleEvaluator doubleValue(Expression e) {
+        if (isInteger(e.getType().getValueType())) {
+            LongEvaluator v = longValue(e);
+
+            return ses -> {
+                long res = v.eval(ses);
+
+                return res == NULL_LONG ? NULL_DOUBLE : res;
+            };
+        }
+
+        DoubleEvaluator res = compiledDoubleValue(e);
+
+        if (res != null)
+            return res;
+
+        ValueEvaluator v = value(e);
+
+        return ses -> doubleValue(v.eval(ses));
+    }
+
+    /**
+     * @param e Expression of double type.
+     * @return Compiled double evaluator or {@code null} if the expression isn't supported.
+     */
+    @Nullable private DoubleEvaluator compiledDoubleValue(Expression e) {
+        assert e.getType().getValueType() == Value.DOUBLE : e;
+
+        if (e instanceof ExpressionColumn) {
+            ExpressionColumn col = (ExpressionColumn)e;
+
+            TableFilter filter = col.getTableFilter();
+            Column column = col.getColumn();
+
+            if (filter != null) {
+                compiled++;
+
+                int colId = column.getColumnId();
+
+                return ses -> {
+                    H2CacheRow row = cacheRow(filter);
+
+                    if (row != null) {
+                        int pos = row.serializedPosition(colId);
+
+                        if (pos >= 0)
+                            return serializedDouble(row.serializedArray(), pos);
+                    }
+
+                    Value v = filter.getValue(column);
+
+                    // Interpreter reports the error.
+                    if (v == null)
+                        throw InterpreterFallback.INSTANCE;
+
+                    return doubleValue(v);
+                };
+            }
+        }
+        else if (e instanceof ValueExpression) {
+            try {
+                double v = doubleValue(e.getValue(null));
+
+                return ses -> v;
+            }
+            catch (InterpreterFallback ignored) {
+                // Evaluated by the interpreter.
+            }
+        }
+        else if (e instanceof BinaryOperation) {
+            Expression left = e.getSubexpression(0);
+            Expression right = e.getSubexpression(1);
+
+            BinaryOperation.OpType op = OPERATION_TYPE.get((BinaryOperation)e);
+
+            if (op != BinaryOperation.OpType.CONCAT && isDouble(left.getType().getValueType()) &&
+                isDouble(right.getType().getValueType())) {
+                DoubleEvaluator l = doubleValue(left);
+                DoubleEvaluator r = doubleValue(right);
+
+                compiled++;
+
+                return ses -> {
+                    double a = l.eval(ses);
+                    double b = r.eval(ses);
+
+                    if (Double.isNaN(a) || Double.isNaN(b))
+                        return NULL_DOUBLE;
+
+                    return checkNaN(arithmetic(op, a, b));
+                };
+            }
+        }
+        else if (e instanceof UnaryOperation) {
+            DoubleEvaluator a = doubleValue(e.getSubexpression(0));
+
+            compiled++;
+
+            return ses -> -a.eval(ses);
+        }
+        else if (isFunction(e, Function.ABS) && isDouble(((Function)e).getArgs()[0].getType().getValueType())) {
+            DoubleEvaluator a = doubleValue(((Function)e).getArgs()[0]);
+
+            compiled++;
+
+            // Keeps negative zero, the same as the interpreter.
+            return ses -> {
+                double v = a.eval(ses);
+
+                return v >= 0 ? v : -v;
+            };
+        }
+
+        return null;
+    }
+
+    /**
+     * @param f Searched {@code CASE} function: {@code (null, when, then, ..., [else])}.
+     * @return Value evaluator.
+     */
+    private ValueEvaluator searchedCase(Function f) {
+        Expression[] args = f.getArgs();
+
+        int n = (args.length - 1) / 2;
+
+        PredicateEvaluator[] whens = new PredicateEvaluator[n];
+        ValueEvaluator[] thens = new ValueEvaluator[n];
+
+        for (int i = 0; i < n; i++) {
+            PredicateEvaluator when = predicate(args[1 + 2 * i]);
+
+            if (when == null)
+                return f::getValue;
+
+            whens[i] = when;
+            thens[i] = value(args[2 + 2 * i]);
+        }
+
+        ValueEvaluator dflt = args.length % 2 == 0 ? value(args[args.length - 1]) : null;
+
+        TypeInfo type = f.getType();
+
+        compiled++;
+
+        return ses -> {
+            for (int i = 0; i < whens.length; i++) {
+                if (whens[i].test(ses) == TRUE)
+                    return convert(ses, thens[i].eval(ses), type);
+            }
+
+            return dflt != null ? convert(ses, dflt.eval(ses), type) : ValueNull.INSTANCE;
+        };
+    }
+
+    /**
+     * @param f {@code COALESCE} function.
+     * @return Value evaluator.
+     */
+    private ValueEvaluator coalesce(Function f) {
+        Expression[] args = f.getArgs();
+
+        ValueEvaluator[] vals = new ValueEvaluator[args.length];
+
+        for (int i = 0; i < args.length; i++)
+            vals[i] = value(args[i]);
+
+        TypeInfo type = f.getType();
+
+        compiled++;
+
+        return ses -> {
+            for (ValueEvaluator val : vals) {
+                Value v = val.eval(ses);
+
+                if (v != ValueNull.INSTANCE)
+                    return convert(ses, v, type);
+            }
+
+            return ValueNull.INSTANCE;
+        };
+    }
+
+    /**
+     * @param e Expression.
+     * @param funcType Function type.
+     * @return {@code True} if the expression is a built-in function of the given type.
+     */
+    private static boolean isFunction(Expression e, int funcType) {
+        return e instanceof Function && ((Function)e).getFunctionType() == funcType;
+    }
+
+    /**
+     * @param type Value type.
+     * @return {@code True} if values of the type are evaluated as {@code long}.
+     */
+    private static boolean isInteger(int type) {
+        return type == Value.BYTE || type == Value.SHORT || type == Value.INT || type == Value.LONG;
+    }
+
+    /**
+     * @param type Value type.
+     * @return {@code True} if values of the type can be exactly evaluated as {@code double}.
+     */
+    private static boolean isDouble(int type) {
+        return type == Value.DOUBLE || isInteger(type);
+    }
+
+    /**
+     * @param v Value.
+     * @return Integer value or {@link #NULL_LONG}.
+     */
+    private static long longValue(Value v) {
+        switch (v.getValueType()) {
+            case Value.NULL:
+                return NULL_LONG;
+
+            case Value.BYTE:
+            case Value.SHORT:
+            case Value.INT:
+                return v.getInt();
+
+            case Value.LONG:
+                long res = v.getLong();
+
+                if (res == NULL_LONG)
+                    throw InterpreterFallback.INSTANCE;
+
+                return res;
+
+            default:
+                throw InterpreterFallback.INSTANCE;
+        }
+    }
+
+    /**
+     * @param filter Table filter.
+     * @return Current row of the filter if its columns can be read from the serialized form, {@code null} otherwise.
+     */
+    @Nullable private static H2CacheRow cacheRow(TableFilter filter) {
+        if (filter.getJoinBatch() != null)
+            return null;
+
+        Row row = filter.get();
+
+        return row instanceof H2CacheRow ? (H2CacheRow)row : null;
+    }
+
+    /**
+     * Reads integer column value without unmarshalling it.
+     *
+     * @param arr Serialized key or value.
+     * @param pos Position of the column value header.
+     * @param type Column type.
+     * @return Column value or {@link #NULL_LONG}.
+     */
+    private static long serializedLong(byte[] arr, int pos, int type) {
+        switch (arr[pos]) {
+            case GridBinaryMarshaller.NULL:
+                return NULL_LONG;
+
+            case GridBinaryMarshaller.INT:
+                if (type == Value.INT)
+                    return BinaryPrimitives.readInt(arr, pos + 1);
+
+                break;
+
+            case GridBinaryMarshaller.LONG:
+                long res = BinaryPrimitives.readLong(arr, pos + 1);
+
+                if (type == Value.LONG && res != NULL_LONG)
+                    return res;
+
+                break;
+
+            case GridBinaryMarshaller.SHORT:
+                if (type == Value.SHORT)
+                    return BinaryPrimitives.readShort(arr, pos + 1);
+
+                break;
+
+            case GridBinaryMarshaller.BYTE:
+                if (type == Value.BYTE)
+                    return BinaryPrimitives.readByte(arr, pos + 1);
+
+                break;
+        }
+
+        // Interpreter reports type mismatch.
+        throw InterpreterFallback.INSTANCE;
+    }
+
+    /**
+     * Reads double column value without unmarshalling it.
+     *
+     * @param arr Serialized key or value.
+     * @param pos Position of the column value header.
+     * @return Column value or {@link #NULL_DOUBLE}.
+     */
+    private static double serializedDouble(byte[] arr, int pos) {
+        switch (arr[pos]) {
+            case GridBinaryMarshaller.NULL:
+                return NULL_DOUBLE;
+
+            case GridBinaryMarshaller.DOUBLE:
+                return checkNaN(BinaryPrimitives.readDouble(arr, pos + 1));
+
+            default:
+                // Interpreter reports type mismatch.
+                throw InterpreterFallback.INSTANCE;
+        }
+    }
+
+    /**
+     * @param v Value.
+     * @return Double value or {@link #NULL_DOUBLE}.
+     */
+    private static double doubleValue(Value v) {
+        switch (v.getValueType()) {
+            case Value.NULL:
+                return NULL_DOUBLE;
+
+            case Value.DOUBLE:
+                return checkNaN(v.getDouble());
+
+            default:
+                return longValue(v);
+        }
+    }
+
+    /**
+     * @param op Operation.
+     * @param a Left operand.
+     * @param b Right operand.
+     * @return Result.
+     */
+    private static long arithmetic(BinaryOperation.OpType op, long a, long b) {
+        switch (op) {
+            case PLUS:
+                long sum = a + b;
+
+                if (((a ^ sum) & (b ^ sum)) < 0)
+                    throw InterpreterFallback.INSTANCE;
+
+                return sum;
+
+            case MINUS:
+                long diff = a - b;
+
+                if (((a ^ b) & (a ^ diff)) < 0)
+                    throw InterpreterFallback.INSTANCE;
+
+                return diff;
+
+            case MULTIPLY:
+                long prod = a * b;
+
+                if ((Math.abs(a) | Math.abs(b)) >>> 31 != 0 && b != 0 &&
+                    (prod / b != a || a == Long.MIN_VALUE && b == -1))
+                    throw InterpreterFallback.INSTANCE;
+
+                return prod;
+
+            case DIVIDE:
+                if (b == 0 || a == Long.MIN_VALUE && b == -1)
+                    throw InterpreterFallback.INSTANCE;
+
+                return a / b;
+
+            case MODULUS:
+                if (b == 0)
+                    throw InterpreterFallback.INSTANCE;
+
+                return a % b;
+
+            default:
+                throw InterpreterFallback.INSTANCE;
+        }
+    }
+
+    /**
+     * @param op Operation.
+     * @param a Left operand.
+     * @param b Right operand.
+     * @return Result.
+     */
+    private static double arithmetic(BinaryOperation.OpType op, double a, double b) {
+        switch (op) {
+            case PLUS:
+                return a + b;
+
+            case MINUS:
+                return a - b;
+
+            case MULTIPLY:
+                return a * b;
+
+            case DIVIDE:
+                if (b == 0)
+                    throw InterpreterFallback.INSTANCE;
+
+                return a / b;
+
+            case MODULUS:
+                if (b == 0)
+                    throw InterpreterFallback.INSTANCE;
+
+                return a % b;
+
+            default:
+                throw InterpreterFallback.INSTANCE;
+        }
+    }
+
+    /**
+     * @param type Integer value type.
+     * @param v Value.
+     * @return Value if it is in the range of the type and doesn't clash with {@link #NULL_LONG}.
+     */
+    private static long checkRange(int type, long v) {
+        boolean inRange;
+
+        switch (type) {
+            case Value.BYTE:
+                inRange = v >= Byte.MIN_VALUE && v <= Byte.MAX_VALUE;
+
+                break;
+
+            case Value.SHORT:
+                inRange = v >= Short.MIN_VALUE && v <= Short.MAX_VALUE;
+
+                break;
+
+            case Value.INT:
+                inRange = v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE;
+
+                break;
+
+            default:
+                inRange = v != NULL_LONG;
+        }
+
+        if (!inRange)
+            throw InterpreterFallback.INSTANCE;
+
+        return v;
+    }
+
+    /**
+     * @param v Value.
+     * @return Value if it doesn't clash with {@link #NULL_DOUBLE}.
+     */
+    private static double checkNaN(double v) {
+        if (Double.isNaN(v))
+            throw InterpreterFallback.INSTANCE;
+
+        return v;
+    }
+
+    /**
+     * @param cmpType Comparison type.
+     * @param cmp Result of the comparison of the operands.
+     * @return Predicate result.
+     */
+    private static int result(int cmpType, int cmp) {
+        boolean res;
+
+        switch (cmpType) {
+            case Comparison.EQUAL:
+                res = cmp == 0;
+
+                break;
+
+            case Comparison.NOT_EQUAL:
+                res = cmp != 0;
+
+                break;
+
+            case Comparison.BIGGER:
+                res = cmp > 0;
+
+                break;
+
+            case Comparison.BIGGER_EQUAL:
+                res = cmp >= 0;
+
+                break;
+
+            case Comparison.SMALLER:
+                res = cmp < 0;
+
+                break;
+
+            default:
+                res = cmp <= 0;
+        }
+
+        return res ? TRUE : FALSE;
+    }
+
+    /**
+     * @param l Left operand.
+     * @param r Right operand.
+     * @return Predicate evaluator.
+     */
+    private static PredicateEvaluator and(PredicateEvaluator l, PredicateEvaluator r) {
+        return ses -> {
+            int a = l.test(ses);
+
+            if (a == FALSE)
+                return FALSE;
+
+            int b = r.test(ses);
+
+            if (b == FALSE)
+                return FALSE;
+
+            return a == TRUE && b == TRUE ? TRUE : UNKNOWN;
+        };
+    }
+
+    /**
+     * @param l Left operand.
+     * @param r Right operand.
+     * @return Predicate evaluator.
+     */
+    private static PredicateEvaluator or(PredicateEvaluator l, PredicateEvaluator r) {
+        return ses -> {
+            int a = l.test(ses);
+
+            if (a == TRUE)
+                return TRUE;
+
+            int b = r.test(ses);
+
+            if (b == TRUE)
+                return TRUE;
+
+            return a == FALSE && b == FALSE ? FALSE : UNKNOWN;
+        };
+    }
+
+    /**
+     * @param res Predicate result.
+     * @return Value.
+     */
+    private static Value value(int res) {
+        return res == UNKNOWN ? ValueNull.INSTANCE : ValueBoolean.get(res == TRUE);
+    }
+
+    /**
+     * @param ses Session.
+     * @param v Value.
+     * @param type Target type.
+     * @return Converted value.
+     */
+    private static Value convert(Session ses, Value v, TypeInfo type) {
+        return v.convertTo(type, ses.getDatabase().getMode(), null);
+    }
+
+    /**
+     * Evaluator of a value.
+     */
+    @FunctionalInterface
+    interface ValueEvaluator {
+        /**
+         * @param ses Session.
+         * @return Value.
+         */
+        Value eval(Session ses);
+    }
+
+    /**
+     * Evaluator of a predicate.
+     */
+    @FunctionalInterface
+    interface PredicateEvaluator {
+        /**
+         * @param ses Session.
+         * @return {@link #TRUE}, {@link #FALSE} or {@link #UNKNOWN}.
+         */
+        int test(Session ses);
+    }
+
+    /**
+     * Evaluator of an integer value.
+     */
+    @FunctionalInterface
+    private interface LongEvaluator {
+        /**
+         * @param ses Session.
+         * @return Value or {@link #NULL_LONG}.
+         */
+        long eval(Session ses);
+    }
+
+    /**
+     * Evaluator of a double value.
+     */
+    @FunctionalInterface
+    private interface DoubleEvaluator {
+        /**
+         * @param ses Session.
+         * @return Value or {@link #NULL_DOUBLE}.
+         */
+        double eval(Session ses);
+    }
+
+    /**
+     * Thrown by compiled evaluators to evaluate the expression by the interpreter. Has no stack trace.
+     */
+    static class InterpreterFallback extends RuntimeException {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Instance. */
+        static final InterpreterFallback INSTANCE = new InterpreterFallback();
+
+        /** */
+        private InterpreterFallback() {
+            super(null, null, false, false);
+        }
+    }
+}
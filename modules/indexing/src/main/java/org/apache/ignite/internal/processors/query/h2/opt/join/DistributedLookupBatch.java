@@ -16,35 +16,47 @@
 
 package org.apache.ignite.internal.processors.query.h2.opt.join;
 
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.h2.H2Utils;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Cursor;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContext;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContextRegistry;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2IndexRangeRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2RowMessage;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2RowRangeBounds;
+import org.apache.ignite.internal.util.GridBoundedLinkedHashMap;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.gridgain.internal.h2.engine.Session;
 import org.gridgain.internal.h2.index.Cursor;
 import org.gridgain.internal.h2.index.IndexLookupBatch;
+import org.gridgain.internal.h2.result.Row;
 import org.gridgain.internal.h2.result.SearchRow;
+import org.gridgain.internal.h2.table.IndexColumn;
 import org.gridgain.internal.h2.util.DoneFuture;
 import org.gridgain.internal.h2.value.Value;
+import org.gridgain.internal.h2.value.ValueLong;
 import org.gridgain.internal.h2.value.ValueNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.cache.CacheException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Future;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_DISTRIBUTED_JOIN_ADAPTIVE_BATCH;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_DISTRIBUTED_JOIN_LOOKUP_CACHE_SIZE;
 import static org.apache.ignite.internal.processors.query.h2.opt.GridH2RowDescriptor.COL_NOT_EXISTS;
 import static org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2RowRangeBounds.rangeBounds;
 
@@ -55,6 +67,12 @@ public class DistributedLookupBatch implements IndexLookupBatch {
     /** */
     private static final Object EXPLICIT_NULL = new Object();
 
+    /** Maximum number of affinity keys of a range enumerated to send the range only to the owners of the keys. */
+    private static final int MAX_ENUMERATED_AFFINITY_KEYS = 64;
+
+    /** Maximum ratio between the adaptive batch size and the page size and vice versa. */
+    private static final int MAX_BATCH_SIZE_RATIO = 8;
+
     /** Index. */
     private final H2TreeIndex idx;
 
@@ -64,6 +82,16 @@ public class DistributedLookupBatch implements IndexLookupBatch {
     /** Query context registry. */
     private final QueryContextRegistry qryCtxRegistry;
 
+    /** Metrics of remote index lookups. */
+    private final DistributedLookupMetrics metrics;
+
+    /** Whether the batch size is adjusted to the remote response latency. */
+    private final boolean adaptiveBatch =
+        IgniteSystemProperties.getBoolean(IGNITE_SQL_DISTRIBUTED_JOIN_ADAPTIVE_BATCH, true);
+
+    /** Rows of the remote lookups of the current query by their ranges, {@code null} if the cache is disabled. */
+    private final Map<RangeKey, List<Row>> lookupCache;
+
     /** */
     private final boolean ucast;
 
@@ -91,18 +119,39 @@ public class DistributedLookupBatch implements IndexLookupBatch {
     /** */
     private boolean findCalled;
 
+    /** Number of ranges per node which makes the batch full. */
+    private int batchSize;
+
+    /** Number of ranges of the current batch sent to remote nodes. */
+    private int batchRanges;
+
+    /** Whether the previous batch was full. */
+    private boolean prevBatchFull;
+
+    /** Latency per range of the previous full batch in nanoseconds. */
+    private long prevRangeLatency;
+
+    /** Whether the batch size grows or shrinks. */
+    private boolean growBatch = true;
+
     /**
      * @param cctx Cache Cache context.
+     * @param metrics Metrics of remote index lookups.
      * @param ucast Unicast or broadcast query.
      * @param affColId Affinity column ID.
      */
     public DistributedLookupBatch(H2TreeIndex idx, GridCacheContext<?, ?> cctx, QueryContextRegistry qryCtxRegistry,
-        boolean ucast, int affColId) {
+        DistributedLookupMetrics metrics, boolean ucast, int affColId) {
         this.idx = idx;
         this.cctx = cctx;
         this.qryCtxRegistry = qryCtxRegistry;
+        this.metrics = metrics;
         this.ucast = ucast;
         this.affColId = affColId;
+
+        int cacheSize = IgniteSystemProperties.getInteger(IGNITE_SQL_DISTRIBUTED_JOIN_LOOKUP_CACHE_SIZE, 1024);
+
+        lookupCache = cacheSize > 0 ? new GridBoundedLinkedHashMap<>(16, cacheSize, 0.75f, true) : null;
     }
 
     /**
@@ -163,11 +212,16 @@ public class DistributedLookupBatch implements IndexLookupBatch {
                 assert !findCalled;
 
                 joinCtx = qctx.distributedJoinContext();
+
+                batchSize = joinCtx.pageSize();
             }
             else {
                 // Cleanup after the previous lookup phase.
                 assert batchLookupId != 0;
 
+                if (adaptiveBatch)
+                    adjustBatchSize();
+
                 findCalled = false;
                 joinCtx.putStreams(batchLookupId, null);
                 res.clear();
@@ -176,25 +230,51 @@ public class DistributedLookupBatch implements IndexLookupBatch {
             // Reinitialize for the next lookup phase.
             batchLookupId = joinCtx.nextBatchLookupId();
             rangeStreams = new HashMap<>();
+            batchRanges = 0;
         }
 
         Object affKey = getAffinityKey(firstRow, lastRow);
 
+        // Affinity key is explicit null, we will not find anything.
+        if (affKey == EXPLICIT_NULL)
+            return false;
+
+        RangeKey rangeKey = null;
+
+        if (lookupCache != null) {
+            rangeKey = new RangeKey(indexValues(firstRow), indexValues(lastRow));
+
+            List<Row> rows = lookupCache.get(rangeKey);
+
+            if (rows != null) {
+                // The same range has already been looked up by this query.
+                metrics.onCacheHit();
+
+                res.add(new DoneFuture<>(new GridH2Cursor(rows.iterator())));
+
+                return true;
+            }
+        }
+
         List<SegmentKey> segmentKeys;
 
         if (affKey != null) {
             // Affinity key is provided.
-            if (affKey == EXPLICIT_NULL) // Affinity key is explicit null, we will not find anything.
-                return false;
-
             segmentKeys = F.asList(rangeSegment(affKey));
         }
         else {
-            // Affinity key is not provided or is not the same in upper and lower bounds, we have to broadcast.
+            // Affinity key is not provided or is not the same in upper and lower bounds, we have to broadcast
+            // unless the range contains a few affinity keys owned by a part of the nodes.
             if (broadcastSegments == null)
                 broadcastSegments = broadcastSegments();
 
-            segmentKeys = broadcastSegments;
+            segmentKeys = affinityRangeSegments(firstRow, lastRow);
+
+            if (segmentKeys == null) {
+                segmentKeys = broadcastSegments;
+
+                metrics.onBroadcast();
+            }
         }
 
         assert !F.isEmpty(segmentKeys) : segmentKeys;
@@ -218,7 +298,7 @@ public class DistributedLookupBatch implements IndexLookupBatch {
             List<GridH2RowRangeBounds> bounds;
 
             if (stream == null) {
-                stream = new RangeStream(cctx.kernalContext(), idx, joinCtx, segmentKey.node());
+                stream = new RangeStream(cctx.kernalContext(), idx, joinCtx, segmentKey.node(), metrics);
 
                 stream.request(createRequest(joinCtx, batchLookupId, segmentKey.segmentId()));
                 stream.request().bounds(bounds = new ArrayList<>());
@@ -231,10 +311,12 @@ public class DistributedLookupBatch implements IndexLookupBatch {
             bounds.add(rangeBounds);
 
             // If at least one node will have a full batch then we are ok.
-            if (bounds.size() >= joinCtx.pageSize())
+            if (bounds.size() >= batchSize)
                 batchFull = true;
         }
 
+        batchRanges++;
+
         Cursor cur;
 
         if (segmentKeys.size() == 1)
@@ -242,6 +324,9 @@ public class DistributedLookupBatch implements IndexLookupBatch {
         else
             cur = new BroadcastCursor(idx, rangeId, segmentKeys, rangeStreams);
 
+        if (rangeKey != null)
+            cur = new CachingCursor(cur, rangeKey, joinCtx.pageSize());
+
         res.add(new DoneFuture<>(cur));
 
         return true;
@@ -267,11 +352,9 @@ public class DistributedLookupBatch implements IndexLookupBatch {
      *
      */
     private void startStreams() {
-        if (rangeStreams.isEmpty()) {
-            assert res.isEmpty();
-
+        // All the ranges may be served by the lookup cache.
+        if (rangeStreams.isEmpty())
             return;
-        }
 
         joinCtx.putStreams(batchLookupId, rangeStreams);
 
@@ -284,6 +367,7 @@ public class DistributedLookupBatch implements IndexLookupBatch {
     /** {@inheritDoc} */
     @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
     @Override public List<Future<Cursor>> find() {
+        prevBatchFull = batchFull;
         batchFull = false;
         findCalled = true;
 
@@ -311,6 +395,114 @@ public class DistributedLookupBatch implements IndexLookupBatch {
         batchFull = false;
         findCalled = false;
         res = Collections.emptyList();
+
+        batchRanges = 0;
+        prevBatchFull = false;
+        prevRangeLatency = 0;
+        growBatch = true;
+
+        if (lookupCache != null)
+            lookupCache.clear();
+    }
+
+    /**
+     * Adjusts the batch size to the response latency of the previous batch. The size keeps changing in the same
+     * direction while the latency per range doesn't grow and changes the direction otherwise.
+     */
+    private void adjustBatchSize() {
+        if (!prevBatchFull || batchRanges == 0)
+            return;
+
+        long latency = -1;
+
+        for (RangeStream stream : rangeStreams.values())
+            latency = Math.max(latency, stream.latency());
+
+        // The batch was not read.
+        if (latency < 0)
+            return;
+
+        long rangeLatency = latency / batchRanges;
+
+        if (prevRangeLatency > 0 && rangeLatency > prevRangeLatency + prevRangeLatency / 10)
+            growBatch = !growBatch;
+
+        prevRangeLatency = rangeLatency;
+
+        int pageSize = joinCtx.pageSize();
+
+        if (growBatch)
+            batchSize = Math.min(batchSize * 2, pageSize * MAX_BATCH_SIZE_RATIO);
+        else
+            batchSize = Math.max(batchSize / 2, Math.max(pageSize / MAX_BATCH_SIZE_RATIO, 1));
+    }
+
+    /**
+     * @param row Search row.
+     * @return Values of the index columns sent to remote nodes for the search row.
+     */
+    @Nullable private Value[] indexValues(@Nullable SearchRow row) {
+        if (row == null)
+            return null;
+
+        IndexColumn[] cols = idx.getIndexColumns();
+
+        List<Value> vals = new ArrayList<>(cols.length);
+
+        for (IndexColumn col : cols) {
+            Value val = row.getValue(col.column.getColumnId());
+
+            if (val == null)
+                break;
+
+            vals.add(val);
+        }
+
+        return vals.toArray(new Value[vals.size()]);
+    }
+
+    /**
+     * Collects segments owning the affinity keys of the range if the affinity keys are integers and the range
+     * contains a few of them, so the range is sent only to the owners instead of all the nodes.
+     *
+     * @param firstRow First row.
+     * @param lastRow Last row.
+     * @return Segments or {@code null} if the range has to be broadcast.
+     */
+    @Nullable private List<SegmentKey> affinityRangeSegments(SearchRow firstRow, SearchRow lastRow) {
+        if (affColId == COL_NOT_EXISTS || firstRow == null || lastRow == null)
+            return null;
+
+        Value first = firstRow.getValue(affColId);
+        Value last = lastRow.getValue(affColId);
+
+        if (first == null || last == null)
+            return null;
+
+        int type = first.getValueType();
+
+        if (type != last.getValueType() || !(type == Value.INT || type == Value.LONG || type == Value.SHORT ||
+            type == Value.BYTE))
+            return null;
+
+        long from = first.getLong();
+        long cnt = last.getLong() - from + 1;
+
+        // Estimated number of keys is too big or the difference overflows.
+        if (cnt <= 0 || cnt > MAX_ENUMERATED_AFFINITY_KEYS)
+            return null;
+
+        Set<SegmentKey> segments = new LinkedHashSet<>();
+
+        for (long i = 0; i < cnt; i++) {
+            segments.add(rangeSegment(ValueLong.get(from + i).convertTo(type).getObject()));
+
+            // Owners are all the nodes anyway.
+            if (segments.size() >= broadcastSegments.size())
+                return null;
+        }
+
+        return new ArrayList<>(segments);
     }
 
     /** {@inheritDoc} */
@@ -402,4 +594,104 @@ public class DistributedLookupBatch implements IndexLookupBatch {
 
         return req;
     }
+
+    /**
+     * Lookup key of the range in the lookup cache.
+     */
+    private static class RangeKey {
+        /** Values of the lower bound. */
+        private final Value[] first;
+
+        /** Values of the upper bound. */
+        private final Value[] last;
+
+        /**
+         * @param first Values of the lower bound.
+         * @param last Values of the upper bound.
+         */
+        private RangeKey(@Nullable Value[] first, @Nullable Value[] last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            RangeKey key = (RangeKey)o;
+
+            return Arrays.equals(first, key.first) && Arrays.equals(last, key.last);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return 31 * Arrays.hashCode(first) + Arrays.hashCode(last);
+        }
+    }
+
+    /**
+     * Cursor which puts rows of the range into the lookup cache once the range is read till the end.
+     */
+    private class CachingCursor implements Cursor {
+        /** Cursor. */
+        private final Cursor cur;
+
+        /** Range key. */
+        private final RangeKey key;
+
+        /** Maximum number of cached rows. */
+        private final int maxRows;
+
+        /** Read rows or {@code null} if the rows aren't cached. */
+        private List<Row> rows = new ArrayList<>();
+
+        /**
+         * @param cur Cursor.
+         * @param key Range key.
+         * @param maxRows Maximum number of cached rows.
+         */
+        private CachingCursor(Cursor cur, RangeKey key, int maxRows) {
+            this.cur = cur;
+            this.key = key;
+            this.maxRows = maxRows;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean next() {
+            boolean hasNext = cur.next();
+
+            if (rows != null) {
+                if (!hasNext) {
+                    lookupCache.put(key, rows);
+
+                    rows = null;
+                }
+                else if (rows.size() < maxRows)
+                    rows.add(cur.get());
+                else
+                    rows = null;
+            }
+
+            return hasNext;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Row get() {
+            return cur.get();
+        }
+
+        /** {@inheritDoc} */
+        @Override public SearchRow getSearchRow() {
+            return cur.getSearchRow();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean previous() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.opt.join;
+
+import org.apache.ignite.internal.processors.metric.GridMetricManager;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+
+/**
+ * Metric holder for remote index lookups of non-collocated joins.
+ */
+public class DistributedLookupMetrics {
+    /** Distributed join lookup metric group name. */
+    public static final String DISTRIBUTED_JOIN_METRIC_GROUP_NAME = "sql.distributed.join";
+
+    /** Requests sent to remote nodes. */
+    private final LongAdderMetric requests;
+
+    /** Index ranges looked up on remote nodes. */
+    private final LongAdderMetric ranges;
+
+    /** Index ranges sent to all nodes. */
+    private final LongAdderMetric broadcastRanges;
+
+    /** Rows received from remote nodes. */
+    private final LongAdderMetric rows;
+
+    /** Index ranges served by the per-query lookup cache. */
+    private final LongAdderMetric cacheHits;
+
+    /**
+     * @param metricMgr Metric manager.
+     */
+    public DistributedLookupMetrics(GridMetricManager metricMgr) {
+        MetricRegistry registry = metricMgr.registry(DISTRIBUTED_JOIN_METRIC_GROUP_NAME);
+
+        requests = registry.longAdderMetric("requests", "Count of index lookup requests sent to remote nodes");
+        ranges = registry.longAdderMetric("ranges", "Count of index ranges looked up on remote nodes");
+        broadcastRanges = registry.longAdderMetric("broadcastRanges",
+            "Count of index ranges sent to all nodes since their affinity keys are unknown");
+        rows = registry.longAdderMetric("rows", "Count of rows received from remote index lookups");
+        cacheHits = registry.longAdderMetric("cacheHits",
+            "Count of index ranges served by the per-query lookup cache instead of remote nodes");
+    }
+
+    /**
+     * Should be called when a lookup request is sent to a remote node.
+     *
+     * @param ranges Number of index ranges in the request.
+     */
+    public void onRequest(int ranges) {
+        requests.increment();
+
+        this.ranges.add(ranges);
+    }
+
+    /**
+     * Should be called when an index range is sent to all nodes.
+     */
+    public void onBroadcast() {
+        broadcastRanges.increment();
+    }
+
+    /**
+     * Should be called when rows of a remote lookup are received.
+     *
+     * @param cnt Number of rows.
+     */
+    public void onRows(int cnt) {
+        rows.add(cnt);
+    }
+
+    /**
+     * Should be called when an index range is served by the lookup cache.
+     */
+    public void onCacheHit() {
+        cacheHits.increment();
+    }
+}
@@ -65,6 +65,9 @@ public class RangeStream {
     /** */
     private final ClusterNode node;
 
+    /** Metrics of remote index lookups. */
+    private final DistributedLookupMetrics metrics;
+
     /** */
     private GridH2IndexRangeRequest req;
 
@@ -83,15 +86,24 @@ public class RangeStream {
     /** */
     private int cursorRangeId = -1;
 
+    /** Time when the stream was started. */
+    private long startNanos;
+
+    /** Time till the first response, {@code -1} if it hasn't been received yet. */
+    private long latency = -1;
+
     /**
      * @param joinCtx Join context.
      * @param node Node.
+     * @param metrics Metrics of remote index lookups.
      */
-    public RangeStream(GridKernalContext ctx, H2TreeIndex idx, DistributedJoinContext joinCtx, ClusterNode node) {
+    public RangeStream(GridKernalContext ctx, H2TreeIndex idx, DistributedJoinContext joinCtx, ClusterNode node,
+        DistributedLookupMetrics metrics) {
         this.ctx = ctx;
         this.idx = idx;
         this.node = node;
         this.joinCtx = joinCtx;
+        this.metrics = metrics;
     }
 
     /**
@@ -102,9 +114,21 @@ public class RangeStream {
 
         assert remainingRanges > 0;
 
+        startNanos = System.nanoTime();
+
+        metrics.onRequest(remainingRanges);
+
         idx.send(singletonList(node), req);
     }
 
+    /**
+     * @return Time in nanoseconds from the stream start till the first response or {@code -1} if the first response
+     *      hasn't been received yet.
+     */
+    public long latency() {
+        return latency;
+    }
+
     /**
      * @param msg Response.
      */
@@ -153,8 +177,14 @@ public class RangeStream {
             if (res != null) {
                 switch (res.status()) {
                     case STATUS_OK:
+                        if (latency < 0)
+                            latency = System.nanoTime() - startNanos;
+
                         List<GridH2RowRange> ranges0 = res.ranges();
 
+                        for (GridH2RowRange range : ranges0)
+                            metrics.onRows(range.rowsSize());
+
                         remainingRanges -= ranges0.size();
 
                         if (ranges0.get(ranges0.size() - 1).isPartial())
@@ -165,6 +195,8 @@ public class RangeStream {
                                 req = DistributedLookupBatch.createRequest(joinCtx, req.batchLookupId(), req.segment());
 
                             // Prefetch next page.
+                            metrics.onRequest(0);
+
                             idx.send(singletonList(node), req);
                         }
                         else
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import org.gridgain.internal.h2.api.AggregateFunction;
+
+/**
+ * SQL aggregate function to estimate number of distinct values with {@link GridHyperLogLog}.
+ * <p>
+ * A distributed query computes {@link Sketch} on map nodes and merges sketches on the reduce node with
+ * {@link Merge}, so only a bounded sketch per group is sent instead of all distinct values.
+ */
+public class GridApproxCountDistinctFunction implements AggregateFunction {
+    /** */
+    public static final String NAME = "APPROX_COUNT_DISTINCT";
+
+    /** */
+    protected final GridHyperLogLog hll = new GridHyperLogLog();
+
+    /** {@inheritDoc} */
+    @Override public void init(Connection conn) throws SQLException {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getType(int[] inputTypes) throws SQLException {
+        if (inputTypes.length != 1)
+            throw new SQLException("Aggregation function " + NAME + " should have one argument.");
+
+        return Types.BIGINT;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void add(Object val) throws SQLException {
+        hll.add(val);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Object getResult() throws SQLException {
+        return hll.estimate();
+    }
+
+    /**
+     * Map phase of {@link GridApproxCountDistinctFunction}: builds serialized sketch of the values.
+     */
+    public static class Sketch extends GridApproxCountDistinctFunction {
+        /** */
+        public static final String NAME = "APPROX_COUNT_DISTINCT_SKETCH";
+
+        /** {@inheritDoc} */
+        @Override public int getType(int[] inputTypes) throws SQLException {
+            super.getType(inputTypes);
+
+            return Types.VARBINARY;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object getResult() throws SQLException {
+            return hll.toBytes();
+        }
+    }
+
+    /**
+     * Reduce phase of {@link GridApproxCountDistinctFunction}: merges sketches and estimates number of values.
+     */
+    public static class Merge extends GridApproxCountDistinctFunction {
+        /** */
+        public static final String NAME = "APPROX_COUNT_DISTINCT_MERGE";
+
+        /** {@inheritDoc} */
+        @Override public void add(Object val) throws SQLException {
+            if (val != null)
+                hll.merge(GridHyperLogLog.fromBytes((byte[])val));
+        }
+    }
+}
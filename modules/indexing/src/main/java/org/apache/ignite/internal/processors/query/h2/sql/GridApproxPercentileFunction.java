@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import org.gridgain.internal.h2.api.AggregateFunction;
+
+/**
+ * SQL aggregate function {@code APPROX_PERCENTILE(x, p)} to estimate percentile {@code p} (a constant from
+ * {@code 0} to {@code 1}) of numeric values with {@link GridQuantileSketch}.
+ * <p>
+ * A distributed query computes {@link Sketch} on map nodes and merges sketches on the reduce node with
+ * {@link Merge}, so only a bounded sketch per group is sent instead of all values.
+ */
+public class GridApproxPercentileFunction implements AggregateFunction {
+    /** */
+    public static final String NAME = "APPROX_PERCENTILE";
+
+    /** */
+    protected final GridQuantileSketch sketch = new GridQuantileSketch();
+
+    /** Percentile. */
+    private Double p;
+
+    /** {@inheritDoc} */
+    @Override public void init(Connection conn) throws SQLException {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getType(int[] inputTypes) throws SQLException {
+        if (inputTypes.length != 2)
+            throw new SQLException("Aggregation function " + NAME + " should have two arguments.");
+
+        return Types.DOUBLE;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void add(Object val) throws SQLException {
+        Object[] args = (Object[])val;
+
+        if (p == null && args[1] != null)
+            p = ((Number)args[1]).doubleValue();
+
+        addValue(args[0]);
+    }
+
+    /**
+     * @param val Value.
+     * @throws SQLException If failed.
+     */
+    protected void addValue(Object val) throws SQLException {
+        if (val == null)
+            return;
+
+        if (!(val instanceof Number))
+            throw new SQLException("Aggregation function " + NAME + " accepts only numeric values.");
+
+        sketch.add(((Number)val).doubleValue());
+    }
+
+    /** {@inheritDoc} */
+    @Override public Object getResult() throws SQLException {
+        if (p == null || sketch.isEmpty())
+            return null;
+
+        try {
+            return sketch.quantile(p);
+        }
+        catch (RuntimeException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Map phase of {@link GridApproxPercentileFunction}: builds serialized sketch of the values.
+     */
+    public static class Sketch extends GridApproxPercentileFunction {
+        /** */
+        public static final String NAME = "APPROX_PERCENTILE_SKETCH";
+
+        /** {@inheritDoc} */
+        @Override public int getType(int[] inputTypes) throws SQLException {
+            if (inputTypes.length != 1)
+                throw new SQLException("Aggregation function " + NAME + " should have one argument.");
+
+            return Types.VARBINARY;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void add(Object val) throws SQLException {
+            addValue(val);
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object getResult() throws SQLException {
+            return sketch.isEmpty() ? null : sketch.toBytes();
+        }
+    }
+
+    /**
+     * Reduce phase of {@link GridApproxPercentileFunction}: merges sketches and estimates the percentile.
+     */
+    public static class Merge extends GridApproxPercentileFunction {
+        /** */
+        public static final String NAME = "APPROX_PERCENTILE_MERGE";
+
+        /** {@inheritDoc} */
+        @Override protected void addValue(Object val) throws SQLException {
+            if (val != null)
+                sketch.merge(GridQuantileSketch.fromBytes((byte[])val));
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.sql;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import org.apache.ignite.IgniteException;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * HyperLogLog sketch to estimate number of distinct values.
+ * <p>
+ * Small sets are kept as exact sets of hashes and switch to {@code 2^12} registers (standard error is about
+ * {@code 1.6%}) when they grow, so both memory and serialized size of the sketch are bounded. Sketches are
+ * mergeable: a sketch of the union of two sets is the merge of their sketches.
+ */
+public class GridHyperLogLog {
+    /** Number of bits of the hash used to choose a register. */
+    private static final int P = 12;
+
+    /** Number of registers. */
+    private static final int M = 1 << P;
+
+    /** Maximum number of hashes in a sparse sketch. */
+    private static final int MAX_SPARSE = 128;
+
+    /** Serialized sparse sketch marker. */
+    private static final byte SPARSE = 0;
+
+    /** Serialized dense sketch marker. */
+    private static final byte DENSE = 1;
+
+    /** Distinct hashes of a sparse sketch, {@code null} if the sketch is dense. */
+    private long[] hashes = new long[8];
+
+    /** Number of hashes of a sparse sketch. */
+    private int hashesCnt;
+
+    /** Registers of a dense sketch, {@code null} if the sketch is sparse. */
+    private byte[] regs;
+
+    /**
+     * Adds value to the sketch.
+     *
+     * @param val Value, {@code null} is ignored.
+     */
+    public void add(@Nullable Object val) {
+        if (val != null)
+            addHash(hash(val));
+    }
+
+    /**
+     * Merges other sketch into this one.
+     *
+     * @param other Other sketch.
+     */
+    public void merge(GridHyperLogLog other) {
+        if (other.regs == null) {
+            for (int i = 0; i < other.hashesCnt; i++)
+                addHash(other.hashes[i]);
+
+            return;
+        }
+
+        toDense();
+
+        for (int i = 0; i < M; i++)
+            regs[i] = (byte)Math.max(regs[i], other.regs[i]);
+    }
+
+    /**
+     * @return Estimated number of distinct values.
+     */
+    public long estimate() {
+        if (regs == null)
+            return hashesCnt;
+
+        double sum = 0;
+        int zeros = 0;
+
+        for (byte reg : regs) {
+            sum += 1.0 / (1L << reg);
+
+            if (reg == 0)
+                zeros++;
+        }
+
+        double alpha = 0.7213 / (1 + 1.079 / M);
+
+        double est = alpha * M * M / sum;
+
+        // Linear counting is more precise for small cardinalities.
+        if (est <= 2.5 * M && zeros > 0)
+            est = M * Math.log((double)M / zeros);
+
+        return Math.round(est);
+    }
+
+    /**
+     * @return Serialized sketch.
+     */
+    public byte[] toBytes() {
+        if (regs == null) {
+            ByteBuffer buf = ByteBuffer.allocate(1 + 4 + hashesCnt * 8);
+
+            buf.put(SPARSE);
+            buf.putInt(hashesCnt);
+
+            for (int i = 0; i < hashesCnt; i++)
+                buf.putLong(hashes[i]);
+
+            return buf.array();
+        }
+
+        byte[] res = new byte[1 + M];
+
+        res[0] = DENSE;
+
+        System.arraycopy(regs, 0, res, 1, M);
+
+        return res;
+    }
+
+    /**
+     * @param bytes Serialized sketch.
+     * @return Sketch.
+     */
+    public static GridHyperLogLog fromBytes(byte[] bytes) {
+        GridHyperLogLog res = new GridHyperLogLog();
+
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+
+        byte mode = buf.get();
+
+        if (mode == SPARSE) {
+            int cnt = buf.getInt();
+
+            for (int i = 0; i < cnt; i++)
+                res.addHash(buf.getLong());
+        }
+        else if (mode == DENSE && bytes.length == M + 1) {
+            res.hashes = null;
+            res.regs = Arrays.copyOfRange(bytes, 1, M + 1);
+        }
+        else
+            throw new IgniteException("Invalid HyperLogLog sketch.");
+
+        return res;
+    }
+
+    /**
+     * @param hash Hash of a value.
+     */
+    private void addHash(long hash) {
+        if (regs != null) {
+            addToRegisters(hash);
+
+            return;
+        }
+
+        for (int i = 0; i < hashesCnt; i++) {
+            if (hashes[i] == hash)
+                return;
+        }
+
+        if (hashesCnt == MAX_SPARSE) {
+            toDense();
+
+            addToRegisters(hash);
+
+            return;
+        }
+
+        if (hashesCnt == hashes.length)
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+
+        hashes[hashesCnt++] = hash;
+    }
+
+    /**
+     * @param hash Hash of a value.
+     */
+    private void addToRegisters(long hash) {
+        int idx = (int)(hash >>> (64 - P));
+
+        // Rank is the position of the leftmost 1-bit in the rest of the hash.
+        byte rank = (byte)(Long.numberOfLeadingZeros((hash << P) | (1L << (P - 1))) + 1);
+
+        if (regs[idx] < rank)
+            regs[idx] = rank;
+    }
+
+    /**
+     * Switches sketch to registers.
+     */
+    private void toDense() {
+        if (regs != null)
+            return;
+
+        regs = new byte[M];
+
+        for (int i = 0; i < hashesCnt; i++)
+            addToRegisters(hashes[i]);
+
+        hashes = null;
+        hashesCnt = 0;
+    }
+
+    /**
+     * Calculates hash of a value which is the same on all nodes, and for all integer types.
+     *
+     * @param val Value.
+     * @return 64-bit hash.
+     */
+    static long hash(Object val) {
+        if (val instanceof Long || val instanceof Integer || val instanceof Short || val instanceof Byte)
+            return mix(((Number)val).longValue());
+
+        if (val instanceof String)
+            return hash(((String)val).getBytes(StandardCharsets.UTF_8));
+
+        if (val instanceof byte[])
+            return hash((byte[])val);
+
+        if (val instanceof UUID) {
+            UUID uuid = (UUID)val;
+
+            return mix(uuid.getMostSignificantBits() ^ mix(uuid.getLeastSignificantBits()));
+        }
+
+        return mix(val.hashCode());
+    }
+
+    /**
+     * FNV-1a hash of bytes.
+     *
+     * @param bytes Bytes.
+     * @return Hash.
+     */
+    private static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+
+        for (byte b : bytes) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+
+        return mix(h);
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreads bits of the value over the whole hash.
+     *
+     * @param h Value.
+     * @return Hash.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.sql;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.ignite.IgniteException;
+
+/**
+ * Mergeable sketch to estimate quantiles of a stream of numbers.
+ * <p>
+ * The sketch is a stack of compactors: level {@code h} keeps up to {@link #K} items of weight {@code 2^h}. When a
+ * level is full it is sorted and every second item is promoted to the next level, so the sketch keeps
+ * {@code O(K * log(n / K))} items for {@code n} added values, and the rank error is about {@code 1%}.
+ */
+public class GridQuantileSketch {
+    /** Capacity of a level. */
+    private static final int K = 256;
+
+    /** Levels. */
+    private final List<double[]> levels = new ArrayList<>();
+
+    /** Number of items on every level. */
+    private int[] sizes = new int[0];
+
+    /** Compaction counter, chooses whether odd or even items are promoted. */
+    private int compactions;
+
+    /** Number of added values. */
+    private long cnt;
+
+    /**
+     * @param val Value.
+     */
+    public void add(double val) {
+        add(0, val);
+
+        cnt++;
+    }
+
+    /**
+     * Merges other sketch into this one.
+     *
+     * @param other Other sketch.
+     */
+    public void merge(GridQuantileSketch other) {
+        for (int h = 0; h < other.levels.size(); h++) {
+            double[] items = other.levels.get(h);
+
+            for (int i = 0; i < other.sizes[h]; i++)
+                add(h, items[i]);
+        }
+
+        cnt += other.cnt;
+    }
+
+    /**
+     * @return {@code True} if no values were added.
+     */
+    public boolean isEmpty() {
+        return cnt == 0;
+    }
+
+    /**
+     * @param q Quantile in range {@code [0, 1]}.
+     * @return Estimated value of the quantile or {@code null} if the sketch is empty.
+     */
+    public Double quantile(double q) {
+        if (q < 0 || q > 1)
+            throw new IgniteException("Percentile must be in range [0, 1]: " + q);
+
+        int total = 0;
+
+        for (int size : sizes)
+            total += size;
+
+        if (total == 0)
+            return null;
+
+        double[] vals = new double[total];
+        long[] weights = new long[total];
+
+        int n = 0;
+
+        for (int h = 0; h < levels.size(); h++) {
+            double[] items = levels.get(h);
+
+            for (int i = 0; i < sizes[h]; i++) {
+                vals[n] = items[i];
+                weights[n] = 1L << h;
+
+                n++;
+            }
+        }
+
+        Integer[] order = new Integer[total];
+
+        for (int i = 0; i < total; i++)
+            order[i] = i;
+
+        Arrays.sort(order, (i1, i2) -> Double.compare(vals[i1], vals[i2]));
+
+        long totalWeight = 0;
+
+        for (long w : weights)
+            totalWeight += w;
+
+        double rank = q * totalWeight;
+
+        long cum = 0;
+
+        for (Integer i : order) {
+            cum += weights[i];
+
+            if (cum >= rank)
+                return vals[i];
+        }
+
+        return vals[order[total - 1]];
+    }
+
+    /**
+     * @return Serialized sketch.
+     */
+    public byte[] toBytes() {
+        int total = 0;
+
+        for (int size : sizes)
+            total += size;
+
+        ByteBuffer buf = ByteBuffer.allocate(8 + 4 + 4 + 4 * levels.size() + 8 * total);
+
+        buf.putLong(cnt);
+        buf.putInt(compactions);
+        buf.putInt(levels.size());
+
+        for (int h = 0; h < levels.size(); h++) {
+            buf.putInt(sizes[h]);
+
+            double[] items = levels.get(h);
+
+            for (int i = 0; i < sizes[h]; i++)
+                buf.putDouble(items[i]);
+        }
+
+        return buf.array();
+    }
+
+    /**
+     * @param bytes Serialized sketch.
+     * @return Sketch.
+     */
+    public static GridQuantileSketch fromBytes(byte[] bytes) {
+        GridQuantileSketch res = new GridQuantileSketch();
+
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+
+            res.cnt = buf.getLong();
+            res.compactions = buf.getInt();
+
+            int lvls = buf.getInt();
+
+            for (int h = 0; h < lvls; h++) {
+                int size = buf.getInt();
+
+                for (int i = 0; i < size; i++)
+                    res.add(h, buf.getDouble());
+            }
+        }
+        catch (RuntimeException e) {
+            throw new IgniteException("Invalid quantile sketch.", e);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param h Level.
+     * @param val Item.
+     */
+    private void add(int h, double val) {
+        ensureLevel(h);
+
+        double[] items = levels.get(h);
+
+        if (sizes[h] == items.length)
+            levels.set(h, items = Arrays.copyOf(items, Math.min(K, items.length * 2)));
+
+        items[sizes[h]++] = val;
+
+        if (sizes[h] == K)
+            compact(h);
+    }
+
+    /**
+     * Promotes every second item of the full level to the next level.
+     *
+     * @param h Level.
+     */
+    private void compact(int h) {
+        double[] items = levels.get(h);
+
+        Arrays.sort(items, 0, sizes[h]);
+
+        sizes[h] = 0;
+
+        // Alternate the promoted half to avoid a systematic bias.
+        for (int i = compactions++ & 1; i < K; i += 2)
+            add(h + 1, items[i]);
+    }
+
+    /**
+     * @param h Level.
+     */
+    private void ensureLevel(int h) {
+        while (levels.size() <= h)
+            levels.add(new double[8]);
+
+        if (sizes.length < levels.size())
+            sizes = Arrays.copyOf(sizes, levels.size());
+    }
+}
@@ -162,7 +162,7 @@ public class GridSqlQueryParser {
     private static final Getter<SelectUnion, Boolean> UNION_IS_FOR_UPDATE = getter(SelectUnion.class, "isForUpdate");
 
     /** */
-    private static final Getter<BinaryOperation, BinaryOperation.OpType> OPERATION_TYPE = getter(BinaryOperation.class, "opType");
+    public static final Getter<BinaryOperation, BinaryOperation.OpType> OPERATION_TYPE = getter(BinaryOperation.class, "opType");
 
     /** */
     private static final Getter<BinaryOperation, Expression> OPERATION_LEFT = getter(BinaryOperation.class, "left");
@@ -171,7 +171,7 @@ public class GridSqlQueryParser {
     private static final Getter<BinaryOperation, Expression> OPERATION_RIGHT = getter(BinaryOperation.class, "right");
 
     /** */
-    private static final Getter<Comparison, Integer> COMPARISON_TYPE = getter(Comparison.class, "compareType");
+    public static final Getter<Comparison, Integer> COMPARISON_TYPE = getter(Comparison.class, "compareType");
 
     /** */
     private static final Getter<Comparison, Expression> COMPARISON_LEFT = getter(Comparison.class, "left");
@@ -180,7 +180,7 @@ public class GridSqlQueryParser {
     private static final Getter<Comparison, Expression> COMPARISON_RIGHT = getter(Comparison.class, "right");
 
     /** */
-    private static final Getter<ConditionAndOr, Integer> ANDOR_TYPE = getter(ConditionAndOr.class, "andOrType");
+    public static final Getter<ConditionAndOr, Integer> ANDOR_TYPE = getter(ConditionAndOr.class, "andOrType");
 
     /** */
     private static final Getter<ConditionAndOr, Expression> ANDOR_LEFT = getter(ConditionAndOr.class, "left");
@@ -1885,6 +1885,22 @@ public class GridSqlQueryParser {
         return res;
     }
 
+    /**
+     * @return {@code True} if the query refers to cache tables only, i.e. doesn't read system views or other
+     *      non-cache tables.
+     */
+    public boolean cacheTablesOnly() {
+        for (Object o : h2ObjToGridObj.values()) {
+            if (o instanceof GridSqlAlias)
+                o = GridSqlAlias.unwrap((GridSqlAst)o);
+
+            if (o instanceof GridSqlTable && ((GridSqlTable)o).dataTable() == null)
+                return false;
+        }
+
+        return true;
+    }
+
     /**
      * Extract all tables participating in DML statement.
      *
@@ -32,6 +32,7 @@ import javax.cache.CacheException;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.processors.cache.query.GridCacheSqlQuery;
 import org.apache.ignite.internal.processors.cache.query.GridCacheTwoStepQuery;
 import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
@@ -49,8 +50,14 @@ import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.gridgain.internal.h2.command.Prepared;
 import org.gridgain.internal.h2.command.dml.Query;
+import org.gridgain.internal.h2.command.dml.Select;
+import org.gridgain.internal.h2.expression.Expression;
+import org.gridgain.internal.h2.expression.ExpressionColumn;
+import org.gridgain.internal.h2.result.SortOrder;
 import org.gridgain.internal.h2.table.Column;
+import org.gridgain.internal.h2.table.IndexColumn;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_STREAMING_GROUP_BY;
 import static org.apache.ignite.internal.processors.query.h2.opt.join.CollocationModel.isCollocated;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlConst.TRUE;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunctionType.AVG;
@@ -58,6 +65,7 @@ import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunction
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunctionType.COUNT;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunctionType.GROUP_CONCAT;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunctionType.SUM;
+import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunctionType.UNKNOWN_FUNCTION;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlJoin.LEFT_TABLE_CHILD;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlJoin.ON_CHILD;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlJoin.RIGHT_TABLE_CHILD;
@@ -130,12 +138,23 @@ public class GridSqlQuerySplitter {
     /** Partition extractor. */
     private final PartitionExtractor extractor;
 
+    /** Connection to plan map queries with. */
+    private final H2PooledConnection conn;
+
+    /** Enforce join order. */
+    private final boolean enforceJoinOrder;
+
+    /** Whether grouping map queries are sorted by the index their groups are read from. */
+    private final boolean streamingGrpBy;
+
     /**
      * @param paramsCnt Parameters count.
      * @param collocatedGrpBy If it is a collocated GROUP BY query.
      * @param distributedJoins Distributed joins flag.
      * @param locSplit Local split flag.
      * @param extractor Partition extractor.
+     * @param conn Connection to plan map queries with.
+     * @param enforceJoinOrder Enforce join order.
      */
     @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
     public GridSqlQuerySplitter(
@@ -143,11 +162,18 @@ public class GridSqlQuerySplitter {
         boolean collocatedGrpBy,
         boolean distributedJoins,
         boolean locSplit,
-        PartitionExtractor extractor
+        PartitionExtractor extractor,
+        H2PooledConnection conn,
+        boolean enforceJoinOrder
     ) {
         this.paramsCnt = paramsCnt;
         this.collocatedGrpBy = collocatedGrpBy;
         this.extractor = extractor;
+        this.conn = conn;
+        this.enforceJoinOrder = enforceJoinOrder;
+
+        // Map queries of distributed joins are planned with batched lookups, so they can't be planned in advance.
+        streamingGrpBy = !distributedJoins && IgniteSystemProperties.getBoolean(IGNITE_SQL_STREAMING_GROUP_BY, true);
 
         // Partitions *CANNOT* be extracted if:
         // 1) Distributed joins are enabled (https://issues.apache.org/jira/browse/IGNITE-10971)
@@ -262,7 +288,9 @@ public class GridSqlQuerySplitter {
             collocatedGrpBy,
             distributedJoins,
             locSplit,
-            idx.partitionExtractor()
+            idx.partitionExtractor(),
+            conn,
+            enforceJoinOrder
         );
 
         // Normalization will generate unique aliases for all the table filters in FROM.
@@ -1246,6 +1274,9 @@ public class GridSqlQuerySplitter {
             rdcQry.distinct(true);
         }
 
+        if (streamingGrpBy && !collocatedGrpBy)
+            sortByGroupIndex(mapQry, rdcQry);
+
         // Replace the given select with generated result query in the parent.
         parent.child(childIdx, rdcQry);
 
@@ -1265,6 +1296,82 @@ public class GridSqlQuerySplitter {
         mapSqlQrys.add(map);
     }
 
+    /**
+     * Sorts the grouping map query by the index its groups are read from, if any. Such map query aggregates
+     * the groups one by one as they come from the index, and the reduce query merges the sorted map results
+     * and aggregates them the same way, so no node collects all the groups in memory. A map DISTINCT over
+     * plain columns is turned into the grouping by all of them for the same reason.
+     *
+     * @param mapQry Query that should be executed on map nodes.
+     * @param rdcQry Query that should be executed on reduce node.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void sortByGroupIndex(GridSqlSelect mapQry, GridSqlSelect rdcQry) throws IgniteCheckedException {
+        if (!mapQry.sort().isEmpty() || mapQry.havingColumn() >= 0)
+            return;
+
+        boolean distinct = mapQry.groupColumns() == null;
+
+        if (distinct) {
+            if (!mapQry.distinct() || mapQry.visibleColumns() != mapQry.allColumns())
+                return;
+
+            int[] grpCols = new int[mapQry.allColumns()];
+
+            for (int i = 0; i < grpCols.length; i++)
+                grpCols[i] = i;
+
+            mapQry.distinct(false);
+            mapQry.groupColumns(grpCols);
+        }
+
+        Prepared prepared;
+
+        try {
+            prepared = prepare(conn, H2Utils.context(conn.connection()), mapQry.getSQL(), false, enforceJoinOrder);
+        }
+        catch (SQLException e) {
+            throw new IgniteCheckedException(e);
+        }
+
+        if (prepared instanceof Select && ((Select)prepared).isGroupSortedQuery()) {
+            Select select = (Select)prepared;
+
+            List<Expression> exprs = select.getExpressions();
+
+            // The grouping columns are the leading columns of the index, so sort by them in the index order.
+            for (IndexColumn idxCol : select.getTopTableFilter().getIndex().getIndexColumns()) {
+                int col = -1;
+
+                for (int grpCol : mapQry.groupColumns()) {
+                    Expression expr = exprs.get(grpCol).getNonAliasExpression();
+
+                    if (expr instanceof ExpressionColumn && ((ExpressionColumn)expr).getColumn() == idxCol.column) {
+                        col = grpCol;
+
+                        break;
+                    }
+                }
+
+                if (col < 0)
+                    break;
+
+                mapQry.addSort(new GridSqlSortColumn(col, (idxCol.sortType & SortOrder.DESCENDING) == 0, false, false));
+            }
+        }
+
+        if (mapQry.sort().isEmpty()) {
+            if (distinct) {
+                mapQry.groupColumns(null);
+                mapQry.distinct(true);
+            }
+        }
+        else if (distinct) {
+            rdcQry.distinct(false);
+            rdcQry.groupColumns(mapQry.groupColumns());
+        }
+    }
+
     /**
      * Copy all sorting columns to reduce query. If any sorting expression can be computed on the reduce node
      * then it is substituted by the computing one.
@@ -1865,7 +1972,40 @@ public class GridSqlQuerySplitter {
                 break;
 
             case UNKNOWN_FUNCTION:
-                throw new IgniteSQLException("Custom aggregation function is not supported for not collocated data.", IgniteQueryErrorCode.UNSUPPORTED_OPERATION);
+                String sketchName;
+                String mergeName;
+
+                if (GridApproxCountDistinctFunction.NAME.equals(agg.name())) {
+                    sketchName = GridApproxCountDistinctFunction.Sketch.NAME;
+                    mergeName = GridApproxCountDistinctFunction.Merge.NAME;
+                }
+                else if (GridApproxPercentileFunction.NAME.equals(agg.name())) {
+                    sketchName = GridApproxPercentileFunction.Sketch.NAME;
+                    mergeName = GridApproxPercentileFunction.Merge.NAME;
+                }
+                else
+                    throw new IgniteSQLException("Custom aggregation function is not supported for not collocated data.", IgniteQueryErrorCode.UNSUPPORTED_OPERATION);
+
+                // APPROX_X_MERGE( APPROX_X_SKETCH(x), args ) or APPROX_X(x, args)
+                if (hasDistinctAggregate) /* and has no collocated group by */ {
+                    mapAgg = agg.child();
+
+                    rdcAgg = new GridSqlAggregateFunction(UNKNOWN_FUNCTION, agg.name(), agg.distinct());
+                }
+                else {
+                    mapAgg = new GridSqlAggregateFunction(UNKNOWN_FUNCTION, sketchName, false)
+                        .resultType(GridSqlType.BYTES).addChild(agg.child());
+
+                    rdcAgg = new GridSqlAggregateFunction(UNKNOWN_FUNCTION, mergeName, false);
+                }
+
+                rdcAgg.resultType(agg.resultType()).addChild(SplitterUtils.column(mapAggAlias.alias()));
+
+                // Percentile argument is evaluated on the reduce node.
+                for (int i = 1; i < agg.size(); i++)
+                    rdcAgg.addChild(agg.child(i));
+
+                break;
 
             default:
                 throw new IgniteException("Unsupported aggregate: " + agg.type());
@@ -35,6 +35,7 @@ import javax.cache.CacheException;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.query.QueryCancelledException;
 import org.apache.ignite.cache.query.QueryRetryException;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
@@ -43,12 +44,14 @@ import org.apache.ignite.events.CacheQueryExecutedEvent;
 import org.apache.ignite.events.DiscoveryEvent;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.GridTopic;
+import org.apache.ignite.internal.IgniteFeatures;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
 import org.apache.ignite.internal.processors.cache.query.CacheQueryType;
 import org.apache.ignite.internal.processors.cache.query.GridCacheSqlQuery;
 import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.QueryCpuTimer;
 import org.apache.ignite.internal.processors.query.h2.H2PooledConnection;
 import org.apache.ignite.internal.processors.query.h2.H2StatementCache;
 import org.apache.ignite.internal.processors.query.h2.H2Utils;
@@ -59,13 +62,17 @@ import org.apache.ignite.internal.processors.query.h2.UpdateResult;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2RetryException;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContext;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContextRegistry;
+import org.apache.ignite.internal.processors.query.h2.opt.expr.H2ExpressionCompiler;
 import org.apache.ignite.internal.processors.query.h2.opt.join.DistributedJoinContext;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryCancelRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryFailResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageRequest;
+import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageCpuTimeResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlResponse;
+import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlRetryResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2QueryRequest;
 import org.apache.ignite.internal.processors.tracing.MTC;
 import org.apache.ignite.internal.processors.tracing.MTC.TraceSurroundings;
@@ -75,6 +82,7 @@ import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.plugin.extensions.communication.Message;
 import org.apache.ignite.spi.indexing.IndexingQueryFilter;
 import org.gridgain.internal.h2.api.ErrorCode;
 import org.gridgain.internal.h2.jdbc.JdbcResultSet;
@@ -82,7 +90,10 @@ import org.gridgain.internal.h2.value.Value;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_COMPILE_MAP_EXPRESSIONS;
 import static org.apache.ignite.events.EventType.EVT_CACHE_QUERY_EXECUTED;
+import static org.apache.ignite.internal.IgniteFeatures.SQL_DML_RETRY;
+import static org.apache.ignite.internal.IgniteFeatures.SQL_QUERY_CPU_TIME;
 import static org.apache.ignite.internal.managers.communication.GridIoPolicy.QUERY_POOL;
 import static org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2QueryRequest.isDataPageScanEnabled;
 import static org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2ValueMessageFactory.toMessages;
@@ -114,6 +125,9 @@ public class GridMapQueryExecutor {
     /** */
     private ConcurrentMap<UUID, MapNodeResults> qryRess = new ConcurrentHashMap<>();
 
+    /** Whether to compile expressions of map queries. */
+    private final boolean compileExprs = IgniteSystemProperties.getBoolean(IGNITE_SQL_COMPILE_MAP_EXPRESSIONS);
+
     /**
      * @param ctx Context.
      * @param h2 H2 Indexing.
@@ -413,6 +427,8 @@ public class GridMapQueryExecutor {
             boolean evt = mainCctx != null && mainCctx.events().isRecordable(EVT_CACHE_QUERY_EXECUTED);
 
             for (GridCacheSqlQuery qry : qrys) {
+                QueryCpuTimer cpuTimer = new QueryCpuTimer();
+
                 H2PooledConnection conn = h2.connections().connection(schemaName);
 
                 H2Utils.setupConnection(
@@ -441,6 +457,10 @@ public class GridMapQueryExecutor {
 
                         H2Utils.bindParameters(stmt, params0);
 
+                        // Statement is cached, so expressions are compiled once per its prepared query.
+                        if (compileExprs)
+                            H2ExpressionCompiler.compile(GridSqlQueryParser.prepared(stmt));
+
                         MapH2QueryInfo qryInfo = new MapH2QueryInfo(stmt, qry.query(), node, reqId, segmentId, runningQryId);
 
                         ResultSet rs = h2.executeSqlQueryWithTimer(
@@ -487,7 +507,8 @@ public class GridMapQueryExecutor {
                             qryIdx,
                             segmentId,
                             pageSize,
-                            dataPageScanEnabled
+                            dataPageScanEnabled,
+                            cpuTimer
                         );
 
                         if (msg != null)
@@ -624,12 +645,15 @@ public class GridMapQueryExecutor {
             );
 
             if (reserved.failed()) {
-                U.error(log, "Failed to reserve partitions for DML request. [localNodeId=" + ctx.localNodeId() +
-                    ", nodeId=" + node.id() + ", reqId=" + req.requestId() + ", cacheIds=" + cacheIds +
-                    ", topVer=" + topVer + ", parts=" + Arrays.toString(parts) + ']');
+                if (log.isDebugEnabled()) {
+                    log.debug("Failed to reserve partitions for DML request, will ask the initiator to retry " +
+                        "[localNodeId=" + ctx.localNodeId() + ", nodeId=" + node.id() + ", reqId=" + reqId +
+                        ", cacheIds=" + cacheIds + ", topVer=" + topVer + ", parts=" + Arrays.toString(parts) + ']');
+                }
 
+                // Nothing is updated yet, so the initiator can safely retry the partitions of this node.
                 sendUpdateResponse(node, reqId, null,
-                    "Failed to reserve partitions for DML request. " + reserved.error());
+                    "Failed to reserve partitions for DML request. " + reserved.error(), h2.readyTopologyVersion());
 
                 return;
             }
@@ -684,7 +708,7 @@ public class GridMapQueryExecutor {
                     null));
             }
 
-            sendUpdateResponse(node, reqId, updRes, null);
+            sendUpdateResponse(node, reqId, updRes, null, null);
         }
         catch (Exception e) {
             MTC.span().addTag(ERROR, e::getMessage);
@@ -692,7 +716,7 @@ public class GridMapQueryExecutor {
             U.error(log, "Error processing dml request. [localNodeId=" + ctx.localNodeId() +
                 ", nodeId=" + node.id() + ", req=" + req + ']', e);
 
-            sendUpdateResponse(node, reqId, null, e.getMessage());
+            sendUpdateResponse(node, reqId, null, e.getMessage(), null);
         }
         finally {
             if (reserved != null)
@@ -756,12 +780,21 @@ public class GridMapQueryExecutor {
      * @param reqId Request id.
      * @param updResult Update result.
      * @param error Error message.
+     * @param retry Topology version to retry the update on or {@code null}, ignored if the initiator doesn't
+     *      support {@link IgniteFeatures#SQL_DML_RETRY}.
      */
     @SuppressWarnings("deprecation")
-    private void sendUpdateResponse(ClusterNode node, long reqId, UpdateResult updResult, String error) {
+    private void sendUpdateResponse(ClusterNode node, long reqId, UpdateResult updResult, String error,
+        @Nullable AffinityTopologyVersion retry) {
         try {
-            GridH2DmlResponse rsp = new GridH2DmlResponse(reqId, updResult == null ? 0 : updResult.counter(),
-                updResult == null ? null : updResult.errorKeys(), error);
+            GridH2DmlResponse rsp;
+
+            if (retry != null && IgniteFeatures.nodeSupports(ctx, node, SQL_DML_RETRY))
+                rsp = new GridH2DmlRetryResponse(reqId, error, retry);
+            else {
+                rsp = new GridH2DmlResponse(reqId, updResult == null ? 0 : updResult.counter(),
+                    updResult == null ? null : updResult.errorKeys(), error);
+            }
 
             if (log.isDebugEnabled())
                 log.debug("Sending: [localNodeId=" + ctx.localNodeId() + ", node=" + node.id() + ", msg=" + rsp + "]");
@@ -812,6 +845,8 @@ public class GridMapQueryExecutor {
 
                     assert res != null;
 
+                    QueryCpuTimer cpuTimer = new QueryCpuTimer();
+
                     try {
                         // Session isn't set for lazy=false queries.
                         // Also session == null when result already closed.
@@ -828,7 +863,8 @@ public class GridMapQueryExecutor {
                             req.query(),
                             req.segmentId(),
                             req.pageSize(),
-                            dataPageScanEnabled);
+                            dataPageScanEnabled,
+                            cpuTimer);
 
                         if (msg != null)
                             sendNextPage(node, msg);
@@ -870,6 +906,7 @@ public class GridMapQueryExecutor {
      * @param segmentId Index segment ID.
      * @param pageSize Page size.
      * @param dataPageScanEnabled If data page scan is enabled.
+     * @param cpuTimer Timer started when processing of the request began.
      * @return Next page.
      * @throws IgniteCheckedException If failed.
      */
@@ -880,7 +917,8 @@ public class GridMapQueryExecutor {
         int qry,
         int segmentId,
         int pageSize,
-        Boolean dataPageScanEnabled) throws IgniteCheckedException {
+        Boolean dataPageScanEnabled,
+        QueryCpuTimer cpuTimer) throws IgniteCheckedException {
         try (TraceSurroundings ignored = MTC.support(ctx.tracing().create(SQL_PAGE_PREPARE, MTC.span()))) {
             MapQueryResult res = qr.result(qry);
 
@@ -909,12 +947,16 @@ public class GridMapQueryExecutor {
 
             boolean loc = node.isLocal();
 
-            GridQueryNextPageResponse msg = new GridQueryNextPageResponse(qr.queryRequestId(), segmentId, qry, page,
-                page == 0 ? res.rowCount() : -1,
-                res.columnCount(),
-                loc ? null : toMessages(rows, new ArrayList<>(res.columnCount()), res.columnCount()),
-                loc ? rows : null,
-                last);
+            int allRows = page == 0 ? res.rowCount() : -1;
+            int cols = res.columnCount();
+            Collection<Message> vals = loc ? null : toMessages(rows, new ArrayList<>(cols), cols);
+            List<Value[]> plainRows = loc ? rows : null;
+
+            GridQueryNextPageResponse msg = IgniteFeatures.nodeSupports(ctx, node, SQL_QUERY_CPU_TIME) ?
+                new GridQueryNextPageCpuTimeResponse(qr.queryRequestId(), segmentId, qry, page, allRows, cols, vals,
+                    plainRows, last, cpuTimer.stop()) :
+                new GridQueryNextPageResponse(qr.queryRequestId(), segmentId, qry, page, allRows, cols, vals,
+                    plainRows, last);
 
             MTC.span().addTag(SQL_PAGE_ROWS, () -> String.valueOf(rows.size()));
 
@@ -22,10 +22,13 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -58,6 +61,7 @@ import org.apache.ignite.internal.processors.cache.query.GridCacheTwoStepQuery;
 import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
 import org.apache.ignite.internal.processors.query.GridQueryCacheObjectsIterator;
 import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.GridRunningQueryInfo;
 import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.IgniteSQLMapStepException;
 import org.apache.ignite.internal.processors.query.QueryUtils;
@@ -74,6 +78,7 @@ import org.apache.ignite.internal.processors.query.h2.sql.GridSqlType;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryCancelRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryFailResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageRequest;
+import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageCpuTimeResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2DmlResponse;
@@ -89,6 +94,7 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteBiClosure;
 import org.apache.ignite.lang.IgniteFuture;
 import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.thread.IgniteThread;
 import org.apache.ignite.transactions.TransactionAlreadyCompletedException;
 import org.apache.ignite.transactions.TransactionException;
 import org.gridgain.internal.h2.command.ddl.CreateTableData;
@@ -101,6 +107,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import static java.util.Collections.singletonList;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_REDUCE_DECODE_PAGES_ON_RECEIVE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_RETRY_TIMEOUT;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.checkActive;
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.tx;
@@ -162,6 +169,10 @@ public class GridReduceQueryExecutor {
     /** Default query timeout. */
     private final long dfltQryTimeout = IgniteSystemProperties.getLong(IGNITE_SQL_RETRY_TIMEOUT, DFLT_RETRY_TIMEOUT);
 
+    /** Whether to decode result pages in the threads receiving them. */
+    private final boolean decodePagesOnReceive =
+        IgniteSystemProperties.getBoolean(IGNITE_SQL_REDUCE_DECODE_PAGES_ON_RECEIVE, true);
+
     /** Partition mapper. */
     private ReducePartitionMapper mapper;
 
@@ -253,6 +264,15 @@ public class GridReduceQueryExecutor {
         }
     }
 
+    /**
+     * @return {@code True} if the current thread belongs to the query pool.
+     */
+    private static boolean queryPoolThread() {
+        IgniteThread thread = IgniteThread.current();
+
+        return thread != null && thread.policy() == GridIoPolicy.QUERY_POOL;
+    }
+
     /**
      * @param node Node.
      * @param msg Message.
@@ -268,6 +288,9 @@ public class GridReduceQueryExecutor {
             if (r == null) // Already finished with error or canceled.
                 return;
 
+            if (msg instanceof GridQueryNextPageCpuTimeResponse)
+                r.addCpuTime(((GridQueryNextPageCpuTimeResponse)msg).cpuTime());
+
             final int pageSize = r.pageSize();
 
             Reducer idx = r.reducers().get(msg.query());
@@ -300,6 +323,13 @@ public class GridReduceQueryExecutor {
                         }
                     }
                 };
+
+                // Pages from different nodes are received by different query pool threads, so they are decoded in
+                // parallel. Other threads (e.g. the reducer fetching a page of the local node) leave decoding to the
+                // merge. The number of decoded pages is bounded: a source sends the next page only on request, after
+                // the reducer started to consume the previous one.
+                if (decodePagesOnReceive && queryPoolThread())
+                    page.decodeRows();
             }
             catch (Exception e) {
                 U.error(log, "Error in message.", e);
@@ -417,6 +447,8 @@ public class GridReduceQueryExecutor {
         final long retryTimeout = retryTimeout(timeoutMillis);
         final long qryStartTime = U.currentTimeMillis();
 
+        GridRunningQueryInfo runningQryInfo = qryId == null ? null : h2.runningQueryManager().runningQueryInfo(qryId);
+
         ReduceQueryRun lastRun = null;
 
         for (int attempt = 0;; attempt++) {
@@ -456,6 +488,8 @@ public class GridReduceQueryExecutor {
                 final ReduceQueryRun r = createReduceQueryRun(conn, mapQueries, nodes,
                     pageSize, segmentsPerIdx, skipMergeTbl, qry.explain(), dataPageScanEnabled);
 
+                r.runningQueryInfo(runningQryInfo);
+
                 runs.put(qryReqId, r);
 
                 try {
@@ -848,6 +882,9 @@ public class GridReduceQueryExecutor {
     }
 
     /**
+     * Runs the update on the map nodes, each of them updates its primary partitions and returns the number of
+     * updated rows. A node, which fails to reserve its partitions because of a topology change, does not update
+     * anything, so the update of its partitions is retried on a newer topology.
      *
      * @param schemaName Schema name.
      * @param cacheIds Cache ids.
@@ -861,7 +898,6 @@ public class GridReduceQueryExecutor {
      * @param cancel Cancel state.
      * @return Update result, or {@code null} when some map node doesn't support distributed DML.
      */
-    @SuppressWarnings("IfMayBeConditional")
     public UpdateResult update(
         String schemaName,
         List<Integer> cacheIds,
@@ -874,35 +910,116 @@ public class GridReduceQueryExecutor {
         boolean isReplicatedOnly,
         GridQueryCancel cancel
     ) {
-        AffinityTopologyVersion topVer = h2.readyTopologyVersion();
+        final long retryTimeout = retryTimeout(timeoutMillis);
+        final long startTime = U.currentTimeMillis();
 
-        ReducePartitionMapResult nodesParts =
-            mapper.nodesForPartitions(cacheIds, topVer, parts, isReplicatedOnly);
+        int[] updParts = parts;
 
-        Collection<ClusterNode> nodes = nodesParts.nodes();
+        long updCnt = 0;
 
-        if (F.isEmpty(nodes))
-            throw new CacheException("Failed to determine nodes participating in the update. " +
-                "Explanation (Retry update once topology recovers).");
+        Set<Object> errKeys = null;
 
-        if (isReplicatedOnly) {
-            ClusterNode locNode = ctx.discovery().localNode();
+        DmlDistributedUpdateRun lastRun = null;
 
-            if (nodes.contains(locNode))
-                nodes = singletonList(locNode);
-            else
-                nodes = singletonList(F.rand(nodes));
-        }
+        for (int attempt = 0;; attempt++) {
+            if (attempt > 0)
+                throttleOnUpdateRetry(lastRun, startTime, retryTimeout, attempt, cancel);
 
-        for (ClusterNode n : nodes) {
-            if (!n.version().greaterThanEqual(2, 3, 0)) {
-                log.warning("Server-side DML optimization is skipped because map node does not support it. " +
-                    "Falling back to normal DML. [node=" + n.id() + ", v=" + n.version() + "].");
+            AffinityTopologyVersion topVer = h2.readyTopologyVersion();
 
-                return null;
+            ReducePartitionMapResult nodesParts =
+                mapper.nodesForPartitions(cacheIds, topVer, updParts, isReplicatedOnly);
+
+            Collection<ClusterNode> nodes = nodesParts.nodes();
+
+            if (F.isEmpty(nodes))
+                throw new CacheException("Failed to determine nodes participating in the update. " +
+                    "Explanation (Retry update once topology recovers).");
+
+            if (isReplicatedOnly) {
+                ClusterNode locNode = ctx.discovery().localNode();
+
+                if (nodes.contains(locNode))
+                    nodes = singletonList(locNode);
+                else
+                    nodes = singletonList(F.rand(nodes));
+            }
+
+            if (attempt == 0) {
+                for (ClusterNode n : nodes) {
+                    if (!n.version().greaterThanEqual(2, 3, 0)) {
+                        log.warning("Server-side DML optimization is skipped because map node does not support it. " +
+                            "Falling back to normal DML. [node=" + n.id() + ", v=" + n.version() + "].");
+
+                        return null;
+                    }
+                }
             }
+
+            // Partitions are sent explicitly when they are requested or when the primary partitions are not
+            // owned yet, so each partition is updated exactly once by its current owner.
+            Map<ClusterNode, IntArray> partsMap = (nodesParts.queryPartitionsMap() != null) ?
+                nodesParts.queryPartitionsMap() : nodesParts.partitionsMap();
+
+            if (isReplicatedOnly && updParts == null)
+                partsMap = null;
+
+            DmlDistributedUpdateRun r = update0(schemaName, cacheIds, selectQry, params, enforceJoinOrder, pageSize,
+                timeoutMillis, topVer, nodes, partsMap, isReplicatedOnly, cancel);
+
+            UpdateResult res = r.future().result();
+
+            updCnt += res.counter();
+
+            if (!F.isEmpty(res.errorKeys())) {
+                if (errKeys == null)
+                    errKeys = new HashSet<>();
+
+                Collections.addAll(errKeys, res.errorKeys());
+            }
+
+            if (F.isEmpty(r.retryNodes()))
+                return new UpdateResult(updCnt, errKeys == null ? null : errKeys.toArray());
+
+            // Replicated update is run by a single node, which has not updated anything.
+            if (!isReplicatedOnly)
+                updParts = retryPartitions(cacheIds, topVer, nodes, partsMap, r.retryNodes());
+
+            lastRun = r;
         }
+    }
 
+    /**
+     * Sends the update request to the map nodes and awaits the responses.
+     *
+     * @param schemaName Schema name.
+     * @param cacheIds Cache ids.
+     * @param selectQry Select query.
+     * @param params SQL parameters.
+     * @param enforceJoinOrder Enforce join order of tables.
+     * @param pageSize Page size.
+     * @param timeoutMillis Timeout.
+     * @param topVer Topology version.
+     * @param nodes Map nodes.
+     * @param partsMap Partitions of the map nodes or {@code null} if each node updates its primary partitions.
+     * @param isReplicatedOnly Whether query uses only replicated caches.
+     * @param cancel Cancel state.
+     * @return Completed update run.
+     */
+    private DmlDistributedUpdateRun update0(
+        String schemaName,
+        List<Integer> cacheIds,
+        String selectQry,
+        Object[] params,
+        boolean enforceJoinOrder,
+        int pageSize,
+        int timeoutMillis,
+        AffinityTopologyVersion topVer,
+        Collection<ClusterNode> nodes,
+        @Nullable Map<ClusterNode, IntArray> partsMap,
+        boolean isReplicatedOnly,
+        GridQueryCancel cancel
+    ) {
         final long reqId = qryReqIdGen.incrementAndGet();
 
         final DmlDistributedUpdateRun r = new DmlDistributedUpdateRun(nodes.size());
@@ -929,10 +1046,7 @@ public class GridReduceQueryExecutor {
         boolean release = false;
 
         try {
-            Map<ClusterNode, IntArray> partsMap = (nodesParts.queryPartitionsMap() != null) ?
-                nodesParts.queryPartitionsMap() : nodesParts.partitionsMap();
-
-            ReducePartitionsSpecializer partsSpec = (parts == null) ? null :
+            ReducePartitionsSpecializer partsSpec = (partsMap == null) ? null :
                 new ReducePartitionsSpecializer(partsMap);
 
             final Collection<ClusterNode> finalNodes = nodes;
@@ -944,8 +1058,11 @@ public class GridReduceQueryExecutor {
             });
 
             // send() logs the debug message
-            if (send(nodes, req, partsSpec, false))
-                return r.future().get();
+            if (send(nodes, req, partsSpec, false)) {
+                r.future().get();
+
+                return r;
+            }
 
             throw new CacheException("Failed to send update request to participating nodes.");
         }
@@ -965,6 +1082,82 @@ public class GridReduceQueryExecutor {
         }
     }
 
+    /**
+     * Collects the partitions of the nodes, which have not updated anything and asked to retry.
+     *
+     * @param cacheIds Cache ids.
+     * @param topVer Topology version the update was mapped on.
+     * @param nodes Map nodes.
+     * @param partsMap Partitions of the map nodes or {@code null} if each node updated its primary partitions.
+     * @param retryNodes Nodes asked to retry.
+     * @return Sorted partitions to retry the update on.
+     */
+    private int[] retryPartitions(
+        List<Integer> cacheIds,
+        AffinityTopologyVersion topVer,
+        Collection<ClusterNode> nodes,
+        @Nullable Map<ClusterNode, IntArray> partsMap,
+        Set<UUID> retryNodes
+    ) {
+        Set<Integer> res = new TreeSet<>();
+
+        GridCacheContext<?, ?> cctx = partsMap == null ? mapper.findFirstPartitioned(cacheIds) : null;
+
+        for (ClusterNode node : nodes) {
+            if (!retryNodes.contains(node.id()))
+                continue;
+
+            if (partsMap == null)
+                res.addAll(cctx.affinity().primaryPartitions(node.id(), topVer));
+            else {
+                IntArray nodeParts = partsMap.get(node);
+
+                for (int i = 0; i < nodeParts.size(); i++)
+                    res.add(nodeParts.get(i));
+            }
+        }
+
+        return U.toIntArray(res);
+    }
+
+    /**
+     * Waits for the topology the map nodes asked to retry the update on.
+     *
+     * @param lastRun Previous update run.
+     * @param startTime Update start time.
+     * @param retryTimeout Retry timeout.
+     * @param attempt Attempt number.
+     * @param cancel Cancel state.
+     */
+    private void throttleOnUpdateRetry(
+        DmlDistributedUpdateRun lastRun,
+        long startTime,
+        long retryTimeout,
+        int attempt,
+        GridQueryCancel cancel
+    ) {
+        if (retryTimeout > 0 && (U.currentTimeMillis() - startTime > retryTimeout)) {
+            throw new CacheException("Failed to map SQL update to topology during timeout [timeout=" + retryTimeout +
+                "ms, dataNodeIds=" + lastRun.retryNodes() + ", msg=" + lastRun.retryCause() + ']');
+        }
+
+        try {
+            h2.awaitForReadyTopologyVersion(lastRun.retryTopologyVersion());
+
+            Thread.sleep(Math.min(10_000, attempt * 10)); // Wait for exchange.
+        }
+        catch (IgniteCheckedException e) {
+            throw new CacheException("Failed to await topology to retry SQL update. " + e.getMessage(), e);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new CacheException("Query was interrupted.", e);
+        }
+
+        ensureQueryNotCancelled(cancel);
+    }
+
     /**
      * Process response for DML request.
      *
@@ -25,6 +25,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import javax.cache.CacheException;
 import org.apache.ignite.internal.IgniteInterruptedCheckedException;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.query.GridRunningQueryInfo;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
@@ -48,6 +49,9 @@ public class ReduceQueryRun {
     /** */
     private final AtomicReference<State> state = new AtomicReference<>();
 
+    /** Running query, {@code null} if the query is not registered. */
+    @Nullable private GridRunningQueryInfo runningQryInfo;
+
     /**
      * Constructor.
      * @param idxsCnt Number of indexes.
@@ -130,6 +134,21 @@ public class ReduceQueryRun {
         setStateOnException(null, e);
     }
 
+    /**
+     * @param runningQryInfo Running query, {@code null} if the query is not registered.
+     */
+    void runningQueryInfo(@Nullable GridRunningQueryInfo runningQryInfo) {
+        this.runningQryInfo = runningQryInfo;
+    }
+
+    /**
+     * @param cpuTime CPU time in nanoseconds consumed by a map node.
+     */
+    void addCpuTime(long cpuTime) {
+        if (runningQryInfo != null)
+            runningQryInfo.addCpuTime(cpuTime);
+    }
+
     /**
      * @return Page size.
      */
@@ -16,9 +16,11 @@
 
 package org.apache.ignite.internal.processors.query.h2.twostep;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.RandomAccess;
 import java.util.UUID;
@@ -116,6 +118,20 @@ public class ReduceResultPage {
         }
     }
 
+    /**
+     * Decodes all rows of the page at once, so the reducer thread only merges already decoded rows.
+     */
+    public void decodeRows() {
+        if (res == null || res.plainRows() != null)
+            return;
+
+        List<Value[]> decoded = new ArrayList<>(rowsInPage);
+
+        rows.forEachRemaining(decoded::add);
+
+        rows = decoded.iterator();
+    }
+
     /**
      * @return {@code true} If this is a dummy fail page.
      */
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep.msg;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.internal.IgniteFeatures;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+
+/**
+ * Response to remote DML request of a node which failed to reserve its partitions and did not update anything.
+ * Sent only to initiators supporting {@link IgniteFeatures#SQL_DML_RETRY}, others get a plain error response.
+ */
+public class GridH2DmlRetryResponse extends GridH2DmlResponse {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Topology version to retry the update on. */
+    @GridToStringInclude
+    private AffinityTopologyVersion retry;
+
+    /**
+     * Default constructor.
+     */
+    public GridH2DmlRetryResponse() {
+        // No-op.
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param reqId Request id.
+     * @param error Error message.
+     * @param retry Topology version to retry the update on.
+     */
+    public GridH2DmlRetryResponse(long reqId, String error, AffinityTopologyVersion retry) {
+        super(reqId, 0, null, error);
+
+        this.retry = retry;
+    }
+
+    /**
+     * @return Topology version to retry the update of the node partitions on.
+     */
+    public AffinityTopologyVersion retry() {
+        return retry;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridH2DmlRetryResponse.class, this, "super", super.toString());
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!super.writeTo(buf, writer))
+            return false;
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 4:
+                if (!writer.writeAffinityTopologyVersion("retry", retry))
+                    return false;
+
+                writer.incrementState();
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        if (!super.readFrom(buf, reader))
+            return false;
+
+        switch (reader.state()) {
+            case 4:
+                retry = reader.readAffinityTopologyVersion("retry");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+        }
+
+        return reader.afterMessageRead(GridH2DmlRetryResponse.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return -58;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 5;
+    }
+}
@@ -63,6 +63,7 @@ public class GridH2ValueMessageFactory implements MessageFactoryProvider {
         factory.register((short)-55, GridH2DmlRequest::new);
         factory.register((short)-56, GridH2DmlResponse::new);
         factory.register((short)-57, GridH2SelectForUpdateTxDetails::new);
+        factory.register((short)-58, GridH2DmlRetryResponse::new);
     }
 
     /** {@inheritDoc} */
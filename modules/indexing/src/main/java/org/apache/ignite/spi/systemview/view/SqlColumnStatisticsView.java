@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.systemview.view;
+
+import org.apache.ignite.internal.managers.systemview.walker.Order;
+import org.apache.ignite.internal.processors.query.h2.opt.ColumnStatistics;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.gridgain.internal.h2.value.Value;
+
+/**
+ * Sql column statistics representation for a {@link SystemView}.
+ */
+public class SqlColumnStatisticsView {
+    /** Table. */
+    private final GridH2Table tbl;
+
+    /** Column statistics. */
+    private final ColumnStatistics stat;
+
+    /**
+     * @param tbl Table.
+     * @param stat Column statistics.
+     */
+    public SqlColumnStatisticsView(GridH2Table tbl, ColumnStatistics stat) {
+        this.tbl = tbl;
+        this.stat = stat;
+    }
+
+    /** @return Schema name. */
+    @Order
+    public String schemaName() {
+        return tbl.getSchema().getName();
+    }
+
+    /** @return Table name. */
+    @Order(1)
+    public String tableName() {
+        return tbl.identifier().table();
+    }
+
+    /** @return Column name. */
+    @Order(2)
+    public String columnName() {
+        return stat.name();
+    }
+
+    /** @return Estimated number of local primary rows. */
+    @Order(3)
+    public long rowCount() {
+        return stat.rowCount();
+    }
+
+    /** @return Estimated number of rows with {@code NULL} value. */
+    @Order(4)
+    public long nullCount() {
+        return stat.nullCount();
+    }
+
+    /** @return Estimated number of distinct non-null values. */
+    @Order(5)
+    public long distinctCount() {
+        return stat.distinctCount();
+    }
+
+    /** @return Column selectivity used by query optimizer. */
+    @Order(6)
+    public int selectivity() {
+        return stat.selectivity();
+    }
+
+    /** @return Minimum value in sample. */
+    @Order(7)
+    public String min() {
+        return toString(stat.min());
+    }
+
+    /** @return Maximum value in sample. */
+    @Order(8)
+    public String max() {
+        return toString(stat.max());
+    }
+
+    /** @return Comma separated upper bounds of equi-height histogram buckets. */
+    @Order(9)
+    public String histogram() {
+        StringBuilder sb = new StringBuilder();
+
+        for (Value bound : stat.histogram()) {
+            if (sb.length() > 0)
+                sb.append(", ");
+
+            sb.append(toString(bound));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * @param val Value.
+     * @return String representation of value.
+     */
+    private static String toString(Value val) {
+        return val == null ? null : val.getString();
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.TextQuery;
+import org.apache.ignite.cache.query.annotations.QueryTextField;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.query.h2.opt.GridLuceneIndex;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.ListeningTestLogger;
+import org.apache.ignite.testframework.LogListener;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_LUCENE_INDEX_ON_DISK;
+
+/**
+ * Full-text indexes of a persistent cache stored on disk: reuse after restart and rebuild of a stale index.
+ */
+@WithSystemProperty(key = IGNITE_LUCENE_INDEX_ON_DISK, value = "true")
+public class GridCacheFullTextQueryPersistenceSelfTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE_NAME = "docs";
+
+    /** */
+    private static final int DOCS = 100;
+
+    /** */
+    private static final String REBUILD_MSG = "Started indexes rebuilding for cache";
+
+    /** */
+    private final ListeningTestLogger testLog = new ListeningTestLogger(log);
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setGridLogger(testLog)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true)))
+            .setCacheConfiguration(new CacheConfiguration<Integer, Doc>(CACHE_NAME)
+                .setIndexedTypes(Integer.class, Doc.class));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        testLog.clearListeners();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testIndexReusedAfterRestart() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().active(true);
+
+        Set<Integer> exp = populate(ignite.cache(CACHE_NAME), 0, DOCS);
+
+        stopGrid(0);
+
+        LogListener rebuildLsnr = LogListener.matches(REBUILD_MSG).build();
+
+        testLog.registerListener(rebuildLsnr);
+
+        ignite = restart();
+
+        assertEquals(exp, query(ignite));
+        assertFalse(rebuildLsnr.check());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMissingIndexRebuilt() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().active(true);
+
+        Set<Integer> exp = populate(ignite.cache(CACHE_NAME), 0, DOCS);
+
+        File luceneDir = luceneDir(ignite);
+
+        stopGrid(0);
+
+        assertTrue(U.delete(luceneDir));
+
+        LogListener rebuildLsnr = LogListener.matches(REBUILD_MSG).build();
+
+        testLog.registerListener(rebuildLsnr);
+
+        ignite = restart();
+
+        assertEquals(exp, query(ignite));
+        assertTrue(rebuildLsnr.check());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStaleIndexRebuilt() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().active(true);
+
+        Set<Integer> exp = populate(ignite.cache(CACHE_NAME), 0, DOCS);
+
+        File luceneDir = luceneDir(ignite);
+
+        stopGrid(0);
+
+        File staleDir = new File(luceneDir.getParentFile(), "stale");
+
+        U.copy(luceneDir, staleDir, true);
+
+        ignite = restart();
+
+        IgniteCache<Integer, Doc> cache = ignite.cache(CACHE_NAME);
+
+        exp.addAll(populate(cache, DOCS, DOCS * 2));
+
+        cache.remove(0);
+
+        exp.remove(0);
+
+        stopGrid(0);
+
+        // Index of the first run doesn't match the data updated in the second one.
+        assertTrue(U.delete(luceneDir));
+        assertTrue(staleDir.renameTo(luceneDir));
+
+        LogListener rebuildLsnr = LogListener.matches(REBUILD_MSG).build();
+
+        testLog.registerListener(rebuildLsnr);
+
+        ignite = restart();
+
+        assertEquals(exp, query(ignite));
+        assertTrue(rebuildLsnr.check());
+    }
+
+    /**
+     * @return Restarted node with rebuilt indexes.
+     * @throws Exception If failed.
+     */
+    private IgniteEx restart() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().active(true);
+
+        ignite.cache(CACHE_NAME).indexReadyFuture().get(getTestTimeout());
+
+        return ignite;
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Directory of full-text indexes of the cache.
+     */
+    private static File luceneDir(IgniteEx ignite) {
+        FilePageStoreManager pageStore = (FilePageStoreManager)ignite.context().cache().context().pageStore();
+
+        return new File(pageStore.cacheWorkDir(ignite.cachex(CACHE_NAME).configuration()),
+            GridLuceneIndex.LUCENE_DIR);
+    }
+
+    /**
+     * @param cache Cache.
+     * @param from First key.
+     * @param to Key after the last one.
+     * @return Keys of documents matching the query.
+     */
+    private static Set<Integer> populate(IgniteCache<Integer, Doc> cache, int from, int to) {
+        Set<Integer> exp = new HashSet<>();
+
+        for (int i = from; i < to; i++) {
+            cache.put(i, new Doc(i % 2 == 0 ? "even doc " + i : "odd doc " + i));
+
+            if (i % 2 == 0)
+                exp.add(i);
+        }
+
+        return exp;
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Keys of documents matching the query.
+     */
+    private static Set<Integer> query(IgniteEx ignite) {
+        Set<Integer> res = new HashSet<>();
+
+        try (QueryCursor<Cache.Entry<Integer, Doc>> cur =
+                 ignite.cache(CACHE_NAME).query(new TextQuery<Integer, Doc>(Doc.class, "even"))) {
+            for (Cache.Entry<Integer, Doc> e : cur)
+                res.add(e.getKey());
+        }
+
+        return res;
+    }
+
+    /**
+     * Document.
+     */
+    private static class Doc {
+        /** Text. */
+        @QueryTextField
+        private final String text;
+
+        /**
+         * @param text Text.
+         */
+        private Doc(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -21,8 +21,10 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import javax.cache.Cache;
@@ -158,6 +160,42 @@ public class GridCacheFullTextQuerySelfTest extends GridCommonAbstractTest {
         checkTextQuery(false, true);
     }
 
+    /**
+     * Checks that all hits are returned when there are more of them than fetched from the index at once.
+     *
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void testTextQueryManyHits() throws Exception {
+        IgniteCache<Integer, Person> cache = grid(0).cache(PERSON_CACHE);
+
+        int cnt = 5000;
+
+        Map<Integer, Person> batch = new HashMap<>();
+
+        for (int i = 0; i < cnt; i++) {
+            batch.put(i, new Person(String.valueOf(i), i));
+
+            if (batch.size() == 500) {
+                cache.putAll(batch);
+
+                batch.clear();
+            }
+        }
+
+        Set<Integer> keys = new HashSet<>();
+
+        try (QueryCursor<Cache.Entry<Integer, Person>> cursor =
+                 cache.query(new TextQuery<Integer, Person>(Person.class, "name:[0 TO 9999]"))) {
+            for (Cache.Entry<Integer, Person> entry : cursor)
+                assertTrue("Duplicate key: " + entry.getKey(), keys.add(entry.getKey()));
+        }
+
+        assertEquals(cnt, keys.size());
+
+        clearCache(grid(0));
+    }
+
     /**
      * @param loc local query flag.
      * @param keepBinary keep binary flag.
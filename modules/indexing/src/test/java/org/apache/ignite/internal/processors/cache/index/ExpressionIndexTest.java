@@ -0,0 +1,238 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.index;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Tests indexes on expressions over table columns.
+ */
+public class ExpressionIndexTest extends AbstractIndexingCommonTest {
+    /** Number of rows in the test table. */
+    private static final int ROWS = 200;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE PERSON (ID INT PRIMARY KEY, EMAIL VARCHAR, NAME VARCHAR, AGE INT)");
+
+        for (int i = 0; i < ROWS; i++)
+            sql("INSERT INTO PERSON VALUES (?, ?, ?, ?)", i, "User" + i + "@Mail.com", "Name" + i, i % 100);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        sql("DROP TABLE IF EXISTS PERSON");
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that a condition on an equivalent expression uses the index on a function call and that the index is
+     * maintained by updates.
+     */
+    @Test
+    public void testFunctionIndex() {
+        sql("CREATE INDEX IDX_EMAIL ON PERSON (LOWER(EMAIL))");
+
+        assertUsesIndex("IDX_EMAIL", "SELECT ID FROM PERSON WHERE LOWER(EMAIL) = 'user42@mail.com'");
+        assertUsesIndex("IDX_EMAIL", "SELECT P.ID FROM PERSON P WHERE lower(p.email) = ?", "user42@mail.com");
+
+        assertEquals(42, sql("SELECT ID FROM PERSON WHERE LOWER(EMAIL) = ?", "user42@mail.com").get(0).get(0));
+
+        sql("UPDATE PERSON SET EMAIL = 'Another@Mail.com' WHERE ID = 42");
+
+        assertTrue(sql("SELECT ID FROM PERSON WHERE LOWER(EMAIL) = ?", "user42@mail.com").isEmpty());
+        assertEquals(42, sql("SELECT ID FROM PERSON WHERE LOWER(EMAIL) = ?", "another@mail.com").get(0).get(0));
+
+        sql("DELETE FROM PERSON WHERE ID = 42");
+
+        assertTrue(sql("SELECT ID FROM PERSON WHERE LOWER(EMAIL) = ?", "another@mail.com").isEmpty());
+
+        sql("CREATE INDEX IDX_EMAIL_NAME ON PERSON (LOWER(EMAIL || NAME))");
+
+        assertUsesIndex("IDX_EMAIL_NAME", "SELECT ID FROM PERSON WHERE LOWER(EMAIL || NAME) = ?", "x");
+
+        // Index is not used for an expression over both tables of the join.
+        String plan = explain("SELECT P1.ID FROM PERSON P1, PERSON P2 WHERE LOWER(P1.EMAIL || P2.NAME) = ?", "x");
+
+        assertFalse(plan, plan.contains("IDX_EMAIL_NAME"));
+    }
+
+    /**
+     * Checks range conditions on an indexed arithmetic expression.
+     */
+    @Test
+    public void testArithmeticExpressionIndex() {
+        sql("CREATE INDEX IDX_AGE ON PERSON ((AGE * 2) DESC)");
+
+        assertUsesIndex("IDX_AGE", "SELECT ID FROM PERSON WHERE AGE * 2 > 190");
+
+        assertEquals(8L, sql("SELECT COUNT(*) FROM PERSON WHERE AGE * 2 > 190").get(0).get(0));
+
+        sql("ALTER TABLE PERSON ADD COLUMN CITY VARCHAR");
+
+        sql("INSERT INTO PERSON (ID, EMAIL, NAME, AGE, CITY) VALUES (?, ?, ?, ?, ?)", ROWS, "e", "n", 99, "c");
+
+        assertEquals(9L, sql("SELECT COUNT(*) FROM PERSON WHERE AGE * 2 > 190").get(0).get(0));
+        assertEquals("c", sql("SELECT CITY FROM PERSON WHERE ID = ?", ROWS).get(0).get(0));
+    }
+
+    /**
+     * Checks that invalid expressions are rejected and that columns used by an expression index can't be dropped.
+     */
+    @Test
+    public void testInvalidExpressions() {
+        GridTestUtils.assertThrowsAnyCause(log, () -> sql("CREATE INDEX IDX_RAND ON PERSON (RAND())"),
+            IgniteSQLException.class, "Index expression must be a deterministic expression");
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> sql("CREATE INDEX IDX_UNKNOWN ON PERSON (LOWER(UNKNOWN))"),
+            IgniteSQLException.class, "Failed to parse index expression");
+
+        sql("CREATE INDEX IDX_NAME ON PERSON (UPPER(NAME))");
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> sql("ALTER TABLE PERSON DROP COLUMN NAME"),
+            IgniteSQLException.class, "because an index exists (\"IDX_NAME\") that uses the column");
+
+        sql("DROP INDEX IDX_NAME");
+
+        sql("ALTER TABLE PERSON DROP COLUMN NAME");
+
+        assertEquals((long)ROWS, sql("SELECT COUNT(*) FROM PERSON").get(0).get(0));
+    }
+
+    /**
+     * Checks that an index can't be created if the expression fails for an existing row, and that later rows for
+     * which the expression fails are indexed with {@code NULL} rather than breaking the index.
+     */
+    @Test
+    public void testFailingExpression() {
+        GridTestUtils.assertThrowsAnyCause(log, () -> sql("CREATE INDEX IDX_DIV ON PERSON ((100 / (AGE % 10)))"),
+            IgniteSQLException.class, "Failed to compute index expression");
+
+        sql("UPDATE PERSON SET AGE = AGE + 1 WHERE AGE % 10 = 0");
+
+        sql("CREATE INDEX IDX_DIV ON PERSON ((100 / (AGE % 10)))");
+
+        String qry = "SELECT COUNT(*) FROM PERSON WHERE 100 / (AGE % 10) = 50";
+
+        assertUsesIndex("IDX_DIV", qry);
+
+        long cnt = (Long)sql(qry).get(0).get(0);
+
+        assertTrue(cnt > 0);
+
+        sql("INSERT INTO PERSON VALUES (?, ?, ?, ?)", ROWS, "e", "n", 10);
+
+        sql("UPDATE PERSON SET AGE = 20 WHERE ID = ?", ROWS);
+
+        assertEquals(cnt, sql(qry).get(0).get(0));
+
+        sql("UPDATE PERSON SET AGE = 2 WHERE ID = ?", ROWS);
+
+        assertEquals(cnt + 1, sql(qry).get(0).get(0));
+
+        sql("UPDATE PERSON SET AGE = 30 WHERE ID = ?", ROWS);
+
+        sql("DELETE FROM PERSON WHERE ID = ?", ROWS);
+
+        assertEquals(cnt, sql(qry).get(0).get(0));
+        assertEquals((long)ROWS, sql("SELECT COUNT(*) FROM PERSON").get(0).get(0));
+    }
+
+    /**
+     * Checks that the expression index stays consistent under concurrent updates and queries.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        sql("CREATE INDEX IDX_EMAIL ON PERSON (LOWER(EMAIL))");
+
+        int threads = 8;
+
+        AtomicInteger idx = new AtomicInteger();
+
+        GridTestUtils.runMultiThreaded(() -> {
+            int threadIdx = idx.getAndIncrement();
+
+            for (int i = 0; i < 200; i++) {
+                int id = threadIdx + threads * ThreadLocalRandom.current().nextInt(ROWS / threads);
+
+                String email = "Thread" + threadIdx + "-" + i + "@Mail.com";
+
+                sql("UPDATE PERSON SET EMAIL = ? WHERE ID = ?", email, id);
+
+                List<List<?>> res = sql("SELECT ID FROM PERSON WHERE LOWER(EMAIL) = ?", email.toLowerCase());
+
+                assertEquals(1, res.size());
+                assertEquals(id, res.get(0).get(0));
+            }
+
+            return null;
+        }, threads, "update");
+
+        for (int id = 0; id < ROWS; id++) {
+            String email = (String)sql("SELECT EMAIL FROM PERSON WHERE ID = ?", id).get(0).get(0);
+
+            assertEquals(id, sql("SELECT ID FROM PERSON WHERE LOWER(EMAIL) = ?", email.toLowerCase()).get(0).get(0));
+        }
+    }
+
+    /**
+     * @param idxName Index name.
+     * @param qry Query.
+     * @param args Query arguments.
+     */
+    private void assertUsesIndex(String idxName, String qry, Object... args) {
+        String plan = explain(qry, args);
+
+        assertTrue("Invalid plan: " + plan, plan.contains("PUBLIC." + idxName));
+    }
+
+    /**
+     * @param qry Query.
+     * @param args Query arguments.
+     * @return Query plan.
+     */
+    private String explain(String qry, Object... args) {
+        return (String)sql("EXPLAIN " + qry, args).get(0).get(0);
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query arguments.
+     * @return Results.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
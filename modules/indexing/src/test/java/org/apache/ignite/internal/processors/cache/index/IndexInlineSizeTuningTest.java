@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.index;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.commandline.cache.check_indexes_inline_size.IndexInlineStatistics;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.DoubleMetric;
+import org.apache.ignite.spi.metric.IntMetric;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.metric.IoStatisticsType.SORTED_INDEX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.apache.ignite.internal.processors.query.GridQueryProcessor.TMP_INLINE_SIZE_IDX_SUFFIX;
+import static org.apache.ignite.internal.processors.query.h2.database.H2Tree.IGNITE_THROTTLE_INLINE_SIZE_CALCULATION;
+import static org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex.COMPARISONS;
+import static org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex.INLINE_SIZE;
+import static org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex.RECOMMENDED_INLINE_SIZE;
+import static org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex.ROW_LOOKUP_COMPARISONS;
+import static org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex.ROW_LOOKUP_COMPARISONS_PERCENT;
+
+/**
+ * Tests inlining statistics of secondary indexes and index recreation with the recommended inline size.
+ */
+@WithSystemProperty(key = IGNITE_THROTTLE_INLINE_SIZE_CALCULATION, value = "1")
+public class IndexInlineSizeTuningTest extends AbstractIndexingCommonTest {
+    /** Number of rows in the test table. */
+    private static final int ROWS = 500;
+
+    /** Index name. */
+    private static final String IDX_NAME = "IDX_VAL";
+
+    /** Prefix of the indexed values, longer than the initial inline size. */
+    private static final String PREFIX = "value-with-a-long-common-prefix-";
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrid(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE TEST (ID INT PRIMARY KEY, VAL VARCHAR)");
+
+        sql("CREATE INDEX " + IDX_NAME + " ON TEST (VAL) INLINE_SIZE 10");
+
+        for (int i = 0; i < ROWS; i++)
+            sql("INSERT INTO TEST VALUES (?, ?)", i, PREFIX + i);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        sql("DROP TABLE IF EXISTS TEST");
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that comparisons which required a row lookup are counted and that the recommended inline size covers
+     * the sampled keys.
+     */
+    @Test
+    public void testInlineMetrics() {
+        MetricRegistry mreg = indexMetrics();
+
+        assertEquals(10, mreg.<IntMetric>findMetric(INLINE_SIZE).value());
+
+        long cmps = mreg.<LongMetric>findMetric(COMPARISONS).value();
+        long rowLookups = mreg.<LongMetric>findMetric(ROW_LOOKUP_COMPARISONS).value();
+
+        assertTrue(cmps > 0);
+        assertTrue(rowLookups > 0);
+        assertTrue(rowLookups <= cmps);
+
+        assertEquals(100.0 * rowLookups / cmps, mreg.<DoubleMetric>findMetric(ROW_LOOKUP_COMPARISONS_PERCENT).value(),
+            0.001);
+
+        int recommended = mreg.<IntMetric>findMetric(RECOMMENDED_INLINE_SIZE).value();
+
+        assertTrue("Recommended inline size: " + recommended, recommended > PREFIX.length());
+
+        IndexInlineStatistics stats = grid(0).context().query().secondaryIndexesInlineStatistics()
+            .get("PUBLIC#TEST#" + IDX_NAME);
+
+        assertNotNull(stats);
+        assertEquals(10, stats.inlineSize());
+        assertEquals(recommended, stats.recommendedInlineSize());
+    }
+
+    /**
+     * Checks that the index recreated with the recommended inline size doesn't require row lookups.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testChangeInlineSize() throws Exception {
+        int recommended = indexMetrics().<IntMetric>findMetric(RECOMMENDED_INLINE_SIZE).value();
+
+        grid(0).context().query().changeIndexInlineSize("PUBLIC", "TEST", IDX_NAME, recommended);
+
+        MetricRegistry mreg = indexMetrics();
+
+        assertEquals(recommended, mreg.<IntMetric>findMetric(INLINE_SIZE).value());
+        assertEquals(recommended, mreg.<IntMetric>findMetric(RECOMMENDED_INLINE_SIZE).value());
+
+        long rowLookups = mreg.<LongMetric>findMetric(ROW_LOOKUP_COMPARISONS).value();
+
+        for (int i = 0; i < ROWS; i += 50) {
+            List<List<?>> res = sql("SELECT ID FROM TEST USE INDEX(" + IDX_NAME + ") WHERE VAL = ?", PREFIX + i);
+
+            assertEquals(1, res.size());
+            assertEquals(i, res.get(0).get(0));
+        }
+
+        assertTrue(mreg.<LongMetric>findMetric(COMPARISONS).value() > 0);
+        assertEquals(rowLookups, mreg.<LongMetric>findMetric(ROW_LOOKUP_COMPARISONS).value());
+    }
+
+    /**
+     * Checks that queries by the indexed field keep working while the index is recreated and that the temporary
+     * index is dropped afterwards.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testQueriesDuringInlineSizeChange() throws Exception {
+        int recommended = indexMetrics().<IntMetric>findMetric(RECOMMENDED_INLINE_SIZE).value();
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> qryFut = GridTestUtils.runAsync(() -> {
+            for (int i = 0; !stop.get(); i = (i + 1) % ROWS) {
+                List<List<?>> res = sql("SELECT ID FROM TEST WHERE VAL = ?", PREFIX + i);
+
+                assertEquals(1, res.size());
+                assertEquals(i, res.get(0).get(0));
+            }
+        });
+
+        try {
+            grid(0).context().query().changeIndexInlineSize("PUBLIC", "TEST", IDX_NAME, recommended);
+        }
+        finally {
+            stop.set(true);
+        }
+
+        qryFut.get();
+
+        assertEquals(recommended, indexMetrics().<IntMetric>findMetric(INLINE_SIZE).value());
+
+        assertFalse(grid(0).context().query().secondaryIndexesInlineStatistics()
+            .containsKey("PUBLIC#TEST#" + IDX_NAME + TMP_INLINE_SIZE_IDX_SUFFIX));
+    }
+
+    /**
+     * @return Metric registry of the test index.
+     */
+    private MetricRegistry indexMetrics() {
+        return grid(0).context().metric().registry(metricName(SORTED_INDEX.metricGroupName(), "SQL_PUBLIC_TEST",
+            IDX_NAME));
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query arguments.
+     * @return Results.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
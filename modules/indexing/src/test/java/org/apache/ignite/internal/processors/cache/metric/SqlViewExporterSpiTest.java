@@ -393,6 +393,7 @@ public class SqlViewExporterSpiTest extends AbstractExporterSpiTest {
             "VIEWS",
             "TABLE_COLUMNS",
             "VIEW_COLUMNS",
+            "COLUMN_STATISTICS",
             "TRANSACTIONS",
             "CONTINUOUS_QUERIES",
             "STRIPED_THREADPOOL_QUEUE",
@@ -190,7 +190,7 @@ public class HashJoinQueryTest extends AbstractIndexingCommonTest {
 
             GridTestUtils.setFieldValue(H2Utils.class, "hashJoinMaxTableSize",
                 H2Utils.DFLT_HASH_JOIN_MAX_TABLE_SIZE);
-            GridTestUtils.setFieldValue(H2Utils.class, "enableHashJoin", false);
+            GridTestUtils.setFieldValue(H2Utils.class, "enableHashJoin", H2Utils.DFLT_ENABLE_HASH_JOIN);
         }
     }
 
@@ -282,23 +282,45 @@ public class HashJoinQueryTest extends AbstractIndexingCommonTest {
         }
     }
 
+    /**
+     * Test: optimizer chooses hash join without hint when there is no index on the join column.
+     */
+    @Test
+    public void testHashJoinEnabledByDefault() {
+        assertPlanContains("HASH_JOIN_IDX [fillFromIndex=",
+            true,
+            "SELECT * FROM A, B " +
+                "WHERE A.JID = B.A_JID");
+
+        assertEquals(LEFT_CNT, sql(true,
+            "SELECT * FROM A, B " +
+                "WHERE A.JID = B.A_JID").getAll().size());
+    }
+
     /**
      *
      */
     @Test
     @Ignore("https://ggsystems.atlassian.net/browse/GG-20800")
     public void testDisableHashJoin() {
-        // Optimizer doesn't use HASH_JOIN_IDX.
-        assertPlanDoesntContain("HASH_JOIN_IDX [fillFromIndex=_key_PK_hash__SCAN_, hashedCols=[A_JID]]",
-            false,
-            "SELECT * FROM A, B " +
-                "WHERE A.JID = B.A_JID");
+        GridTestUtils.setFieldValue(H2Utils.class, "enableHashJoin", false);
 
-        // HASH_JOIN_IDX may be switch on by hint .
-        assertPlanContains("HASH_JOIN_IDX [fillFromIndex=_key_PK_hash__SCAN_, hashedCols=[A_JID]]",
-            false,
-            "SELECT * FROM A, B USE INDEX (HASH_JOIN_IDX) " +
-                "WHERE A.JID = B.A_JID");
+        try {
+            // Optimizer doesn't use HASH_JOIN_IDX.
+            assertPlanDoesntContain("HASH_JOIN_IDX [fillFromIndex=_key_PK_hash__SCAN_, hashedCols=[A_JID]]",
+                false,
+                "SELECT * FROM A, B " +
+                    "WHERE A.JID = B.A_JID");
+
+            // HASH_JOIN_IDX may be switch on by hint .
+            assertPlanContains("HASH_JOIN_IDX [fillFromIndex=_key_PK_hash__SCAN_, hashedCols=[A_JID]]",
+                false,
+                "SELECT * FROM A, B USE INDEX (HASH_JOIN_IDX) " +
+                    "WHERE A.JID = B.A_JID");
+        }
+        finally {
+            GridTestUtils.setFieldValue(H2Utils.class, "enableHashJoin", H2Utils.DFLT_ENABLE_HASH_JOIN);
+        }
     }
 
     /**
@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.cache.CacheException;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
@@ -362,6 +363,78 @@ public class IgniteSqlSkipReducerOnUpdateDmlSelfTest extends AbstractIndexingCom
         }
     }
 
+    /**
+     * Checks that the update is sent only to the owner of the partition derived from the condition.
+     *
+     * @throws Exception if failed.
+     */
+    @Test
+    public void testPartitionPrunedUpdate() throws Exception {
+        IgniteCache<Integer, Organization> cache = grid(NODE_CLIENT).cache(CACHE_ORG);
+
+        for (int i = 0; i < 1024; i++)
+            cache.put(i, new Organization("Acme Inc #" + i, 0));
+
+        final AtomicInteger execs = new AtomicInteger();
+
+        final IgnitePredicate<Event> pred = new IgnitePredicate<Event>() {
+            @Override public boolean apply(Event evt) {
+                execs.incrementAndGet();
+
+                return true;
+            }
+        };
+
+        for (int idx = 0; idx < NODE_COUNT; idx++)
+            grid(idx).events().localListen(pred, EVT_CACHE_QUERY_EXECUTED);
+
+        try {
+            List<List<?>> r = cache.query(new SqlFieldsQuery("UPDATE Organization SET rate = rate + 1 WHERE _key = ?")
+                .setArgs(5)
+                .setSkipReducerOnUpdate(true)).getAll();
+
+            assertEquals(1L, r.get(0).get(0));
+            assertEquals(1, execs.get());
+            assertEquals(1, cache.get(5).rate);
+            assertEquals(0, cache.get(6).rate);
+        }
+        finally {
+            for (int idx = 0; idx < NODE_COUNT; idx++)
+                grid(idx).events().stopLocalListen(pred);
+        }
+    }
+
+    /**
+     * Checks that the updates running while a node joins update every row exactly once.
+     *
+     * @throws Exception if failed.
+     */
+    @Test
+    public void testUpdateDuringTopologyChange() throws Exception {
+        final IgniteCache<Integer, Organization> cache = grid(NODE_CLIENT).cache(CACHE_ORG);
+
+        for (int i = 0; i < 1024; i++)
+            cache.put(i, new Organization("Acme Inc #" + i, 0));
+
+        IgniteInternalFuture<?> startFut = GridTestUtils.runAsync(() -> startGrid(NODE_COUNT + 1));
+
+        int updates = 0;
+
+        while (!startFut.isDone() || updates < 10) {
+            List<List<?>> r = cache.query(new SqlFieldsQuery("UPDATE Organization SET rate = rate + 1")
+                .setSkipReducerOnUpdate(true)).getAll();
+
+            assertEquals(1024L, r.get(0).get(0));
+
+            updates++;
+        }
+
+        startFut.get();
+
+        for (int i = 0; i < 1024; i++)
+            assertEquals(updates, cache.get(i).rate);
+    }
+
     /**
      *
      * @throws Exception if failed.
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.QueryEntity;
+import org.apache.ignite.cache.QueryIndex;
+import org.apache.ignite.cache.query.IndexQuery;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.IgniteClient;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.query.IndexQueryCriteriaBuilder.between;
+import static org.apache.ignite.cache.query.IndexQueryCriteriaBuilder.eq;
+import static org.apache.ignite.cache.query.IndexQueryCriteriaBuilder.gt;
+import static org.apache.ignite.cache.query.IndexQueryCriteriaBuilder.gte;
+import static org.apache.ignite.cache.query.IndexQueryCriteriaBuilder.lt;
+
+/**
+ * Tests {@link IndexQuery}.
+ */
+public class IndexQueryTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE_NAME = "PERSON_CACHE";
+
+    /** */
+    private static final String IDX_NAME = "AGE_NAME_IDX";
+
+    /** */
+    private static final int CNT = 1000;
+
+    /** */
+    private static final int AGES = 50;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(3);
+
+        LinkedHashMap<String, String> fields = new LinkedHashMap<>();
+
+        fields.put("age", Integer.class.getName());
+        fields.put("name", String.class.getName());
+
+        QueryIndex idx = new QueryIndex(Arrays.asList("age", "name"), QueryIndex.DFLT_INDEX_TYPE).setName(IDX_NAME);
+
+        QueryEntity entity = new QueryEntity(Integer.class, Person.class)
+            .setFields(fields)
+            .setIndexes(Arrays.asList(idx));
+
+        IgniteCache<Integer, Person> cache = grid(0).createCache(new CacheConfiguration<Integer, Person>(CACHE_NAME)
+            .setBackups(1)
+            .setQueryEntities(Arrays.asList(entity)));
+
+        for (int i = 0; i < CNT; i++)
+            cache.put(i, new Person(i % AGES, "name" + i));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** */
+    @Test
+    public void testRange() {
+        List<Cache.Entry<Integer, Person>> res = cache().query(new IndexQuery<Integer, Person>(Person.class)
+            .setCriteria(gte("age", 10), lt("age", 20))
+            .setPageSize(7)).getAll();
+
+        assertEquals(10 * CNT / AGES, res.size());
+
+        checkSorted(res);
+
+        for (Cache.Entry<Integer, Person> e : res) {
+            assertTrue(e.getValue().age >= 10 && e.getValue().age < 20);
+            assertEquals(e.getKey() % AGES, e.getValue().age);
+        }
+    }
+
+    /** */
+    @Test
+    public void testNamedIndexAndSecondField() {
+        List<Cache.Entry<Integer, Person>> res = cache().query(new IndexQuery<Integer, Person>(Person.class, IDX_NAME)
+            .setCriteria(eq("age", 5), gt("name", "name500"))).getAll();
+
+        List<String> names = res.stream().map(e -> e.getValue().name).collect(Collectors.toList());
+
+        List<String> exp = new ArrayList<>();
+
+        for (int i = 5; i < CNT; i += AGES) {
+            if ("name".concat(String.valueOf(i)).compareTo("name500") > 0)
+                exp.add("name" + i);
+        }
+
+        exp.sort(String::compareTo);
+
+        assertEquals(exp, names);
+    }
+
+    /** */
+    @Test
+    public void testPrimaryKey() {
+        List<Cache.Entry<Integer, Person>> res = cache().query(new IndexQuery<Integer, Person>(Person.class)
+            .setCriteria(between("_KEY", 100, 199))).getAll();
+
+        assertEquals(100, res.size());
+
+        for (int i = 0; i < res.size(); i++)
+            assertEquals(100 + i, (int)res.get(i).getKey());
+    }
+
+    /** */
+    @Test
+    public void testFilter() {
+        List<Cache.Entry<Integer, Person>> res = cache().query(new IndexQuery<Integer, Person>(Person.class)
+            .setCriteria(lt("age", 10))
+            .setFilter((k, v) -> k % 2 == 0)).getAll();
+
+        assertEquals(5 * CNT / AGES, res.size());
+
+        checkSorted(res);
+
+        for (Cache.Entry<Integer, Person> e : res)
+            assertEquals(0, e.getKey() % 2);
+    }
+
+    /** */
+    @Test
+    public void testLocal() throws Exception {
+        int total = 0;
+
+        for (int i = 0; i < 3; i++) {
+            IgniteCache<Integer, Person> cache = grid(i).cache(CACHE_NAME);
+
+            List<Cache.Entry<Integer, Person>> res = cache.query(new IndexQuery<Integer, Person>(Person.class)
+                .setCriteria(lt("age", 10))
+                .setLocal(true)).getAll();
+
+            checkSorted(res);
+
+            for (Cache.Entry<Integer, Person> e : res)
+                assertTrue(grid(i).affinity(CACHE_NAME).isPrimary(grid(i).localNode(), e.getKey()));
+
+            total += res.size();
+        }
+
+        assertEquals(10 * CNT / AGES, total);
+    }
+
+    /** */
+    @Test
+    public void testCriteriaNotMatchingIndex() {
+        GridTestUtils.assertThrowsAnyCause(log, () -> cache().query(new IndexQuery<Integer, Person>(Person.class)
+            .setCriteria(eq("name", "name1"))).getAll(), IgniteCheckedException.class, "No index found");
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> cache().query(new IndexQuery<Integer, Person>(Person.class,
+            "UNKNOWN_IDX").setCriteria(eq("age", 1))).getAll(), IgniteCheckedException.class, "Index not found");
+    }
+
+    /** */
+    @Test
+    public void testThinClient() throws Exception {
+        try (IgniteClient client = Ignition.startClient(new ClientConfiguration().setAddresses("127.0.0.1:10800"))) {
+            ClientCache<Integer, Person> cache = client.cache(CACHE_NAME);
+
+            List<Cache.Entry<Integer, Person>> res = cache.query(new IndexQuery<Integer, Person>(Person.class)
+                .setCriteria(gte("age", 10), lt("age", 20))
+                .setPageSize(5)).getAll();
+
+            assertEquals(10 * CNT / AGES, res.size());
+
+            checkSorted(res);
+        }
+    }
+
+    /**
+     * @param res Query result.
+     */
+    private static void checkSorted(List<Cache.Entry<Integer, Person>> res) {
+        for (int i = 1; i < res.size(); i++) {
+            Person prev = res.get(i - 1).getValue();
+            Person cur = res.get(i).getValue();
+
+            assertTrue(prev.age < cur.age || (prev.age == cur.age && prev.name.compareTo(cur.name) <= 0));
+        }
+    }
+
+    /**
+     * @return Cache.
+     */
+    private IgniteCache<Integer, Person> cache() {
+        return grid(0).cache(CACHE_NAME);
+    }
+
+    /** */
+    private static class Person {
+        /** */
+        private final int age;
+
+        /** */
+        private final String name;
+
+        /**
+         * @param age Age.
+         * @param name Name.
+         */
+        private Person(int age, String name) {
+            this.age = age;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_REDUCE_DECODE_PAGES_ON_RECEIVE;
+
+/**
+ * Checks that decoding of result pages in the threads receiving them gives the same results as decoding in the
+ * reducer thread.
+ */
+public class ReducePageDecodeTest extends GridCommonAbstractTest {
+    /** */
+    private static final int CNT = 2000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        System.setProperty(IGNITE_SQL_REDUCE_DECODE_PAGES_ON_RECEIVE, "false");
+
+        try {
+            startGrid(2);
+        }
+        finally {
+            System.clearProperty(IGNITE_SQL_REDUCE_DECODE_PAGES_ON_RECEIVE);
+        }
+
+        execute(grid(0), "CREATE TABLE PERSON (ID INT PRIMARY KEY, AGE INT, NAME VARCHAR, SALARY DECIMAL)");
+
+        for (int i = 0; i < CNT; i++) {
+            execute(grid(0), "INSERT INTO PERSON (ID, AGE, NAME, SALARY) VALUES (?, ?, ?, ?)", i, i % 70,
+                "name" + i, i * 1.5);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** */
+    @Test
+    public void testUnsorted() {
+        List<List<?>> res = check("SELECT ID, NAME, SALARY FROM PERSON", true);
+
+        assertEquals(CNT, res.size());
+    }
+
+    /** */
+    @Test
+    public void testSorted() {
+        List<List<?>> res = check("SELECT ID, AGE, NAME FROM PERSON ORDER BY AGE, ID", false);
+
+        assertEquals(CNT, res.size());
+    }
+
+    /** */
+    @Test
+    public void testLimitOffset() {
+        List<List<?>> res = check("SELECT ID, NAME FROM PERSON ORDER BY NAME DESC LIMIT 100 OFFSET 250", false);
+
+        assertEquals(100, res.size());
+    }
+
+    /** */
+    @Test
+    public void testGroupBy() {
+        List<List<?>> res = check("SELECT AGE, COUNT(*), SUM(SALARY) FROM PERSON GROUP BY AGE ORDER BY AGE", false);
+
+        assertEquals(70, res.size());
+    }
+
+    /**
+     * Executes query on the nodes with and without decoding of pages on receive and compares results.
+     *
+     * @param sql Query.
+     * @param unsorted Whether the order of the result is not defined.
+     * @return Result.
+     */
+    private List<List<?>> check(String sql, boolean unsorted) {
+        List<List<?>> exp = execute(grid(2), sql);
+        List<List<?>> res = execute(grid(0), sql);
+
+        if (unsorted) {
+            exp = sorted(exp);
+            res = sorted(res);
+        }
+
+        assertEquals(exp, res);
+
+        return res;
+    }
+
+    /**
+     * @param rows Rows.
+     * @return Rows sorted by the first column.
+     */
+    private static List<List<?>> sorted(List<List<?>> rows) {
+        List<List<?>> res = new ArrayList<>(rows);
+
+        res.sort((r1, r2) -> Integer.compare((Integer)r1.get(0), (Integer)r2.get(0)));
+
+        return res;
+    }
+
+    /**
+     * @param node Node.
+     * @param sql Query.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private static List<List<?>> execute(IgniteEx node, String sql, Object... args) {
+        return node.context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args).setPageSize(16), false)
+            .getAll();
+    }
+}
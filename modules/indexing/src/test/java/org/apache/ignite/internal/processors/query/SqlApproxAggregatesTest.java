@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests APPROX_COUNT_DISTINCT and APPROX_PERCENTILE aggregate functions.
+ */
+public class SqlApproxAggregatesTest extends GridCommonAbstractTest {
+    /** */
+    private static final int CNT = 20_000;
+
+    /** */
+    private static final int USERS = 5000;
+
+    /** */
+    private static final int GROUPS = 4;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(3);
+
+        execute("CREATE TABLE EVENT (ID INT PRIMARY KEY, GRP INT, USER_ID INT, USER_NAME VARCHAR, LATENCY DOUBLE)");
+
+        for (int i = 0; i < CNT; i++) {
+            int user = i % USERS;
+
+            execute("INSERT INTO EVENT (ID, GRP, USER_ID, USER_NAME, LATENCY) VALUES (?, ?, ?, ?, ?)",
+                i, user % GROUPS, user, "user" + user, (double)i);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** */
+    @Test
+    public void testApproxCountDistinct() {
+        List<?> row = execute("SELECT APPROX_COUNT_DISTINCT(USER_ID), APPROX_COUNT_DISTINCT(USER_NAME), " +
+            "COUNT(*) FROM EVENT").get(0);
+
+        assertApprox(USERS, (Long)row.get(0), 0.05);
+        assertApprox(USERS, (Long)row.get(1), 0.05);
+        assertEquals((long)CNT, row.get(2));
+    }
+
+    /** */
+    @Test
+    public void testSmallCardinalityIsExact() {
+        List<?> row = execute("SELECT APPROX_COUNT_DISTINCT(GRP) FROM EVENT").get(0);
+
+        assertEquals((long)GROUPS, row.get(0));
+
+        row = execute("SELECT APPROX_COUNT_DISTINCT(GRP) FROM EVENT WHERE ID < 0").get(0);
+
+        assertEquals(0L, row.get(0));
+    }
+
+    /** */
+    @Test
+    public void testGroupBy() {
+        List<List<?>> rows = execute("SELECT GRP, APPROX_COUNT_DISTINCT(USER_ID), APPROX_PERCENTILE(LATENCY, 0.5) " +
+            "FROM EVENT GROUP BY GRP ORDER BY GRP");
+
+        assertEquals(GROUPS, rows.size());
+
+        for (List<?> row : rows) {
+            assertApprox(USERS / GROUPS, (Long)row.get(1), 0.05);
+            assertApprox(CNT / 2, (Double)row.get(2), 0.05);
+        }
+    }
+
+    /** */
+    @Test
+    public void testApproxPercentile() {
+        for (double p : new double[] {0.01, 0.25, 0.5, 0.9, 0.99}) {
+            Double res = (Double)execute("SELECT APPROX_PERCENTILE(LATENCY, " + p + ") FROM EVENT").get(0).get(0);
+
+            assertEquals(p * CNT, res, CNT * 0.02);
+        }
+
+        assertEquals(CNT - 1, (Double)execute("SELECT APPROX_PERCENTILE(LATENCY, 1) FROM EVENT").get(0).get(0),
+            CNT * 0.02);
+
+        assertNull(execute("SELECT APPROX_PERCENTILE(LATENCY, 0.5) FROM EVENT WHERE ID < 0").get(0).get(0));
+    }
+
+    /** */
+    @Test
+    public void testWithDistinctAggregate() {
+        List<?> row = execute("SELECT COUNT(DISTINCT USER_ID), APPROX_COUNT_DISTINCT(USER_ID), " +
+            "APPROX_PERCENTILE(LATENCY, 0.5) FROM EVENT").get(0);
+
+        assertEquals((long)USERS, row.get(0));
+        assertApprox(USERS, (Long)row.get(1), 0.05);
+        assertApprox(CNT / 2, (Double)row.get(2), 0.05);
+    }
+
+    /** */
+    @Test
+    public void testMapQueryShipsSketches() {
+        String plan = (String)execute("EXPLAIN SELECT GRP, APPROX_COUNT_DISTINCT(USER_ID), " +
+            "APPROX_PERCENTILE(LATENCY, 0.5) FROM EVENT GROUP BY GRP").get(0).get(0);
+
+        assertTrue(plan, plan.contains("APPROX_COUNT_DISTINCT_SKETCH"));
+        assertTrue(plan, plan.contains("APPROX_PERCENTILE_SKETCH"));
+    }
+
+    /**
+     * @param exp Expected value.
+     * @param actual Actual value.
+     * @param err Allowed relative error.
+     */
+    private static void assertApprox(double exp, double actual, double err) {
+        assertTrue("exp=" + exp + ", actual=" + actual, Math.abs(exp - actual) <= exp * err);
+    }
+
+    /**
+     * @param sql SQL.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> execute(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.cache.query.annotations.QuerySqlField;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.opt.ColumnStatistics;
+import org.apache.ignite.internal.processors.query.h2.opt.ColumnStatisticsSample;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.gridgain.internal.h2.value.ValueInt;
+import org.junit.Test;
+
+/**
+ * Tests ANALYZE command and column statistics system view.
+ */
+public class SqlColumnStatisticsTest extends GridCommonAbstractTest {
+    /** */
+    private static final int ROWS = 1000;
+
+    /** */
+    private static final int CITIES = 5;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        execute("CREATE TABLE PERSON (ID INT PRIMARY KEY, CITY INT, NAME VARCHAR)");
+
+        for (int i = 0; i < ROWS; i++)
+            execute("INSERT INTO PERSON (ID, CITY, NAME) VALUES (?, ?, ?)", i, i % CITIES, i % 2 == 0 ? null : "n" + i);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAnalyze() throws Exception {
+        execute("ANALYZE PERSON");
+
+        for (int i = 0; i < 2; i++) {
+            IgniteEx ignite = grid(i);
+
+            Map<String, List<?>> stats = new HashMap<>();
+
+            for (List<?> row : ignite.context().query().querySqlFields(new SqlFieldsQuery(
+                "SELECT COLUMN_NAME, ROW_COUNT, NULL_COUNT, DISTINCT_COUNT, SELECTIVITY, MIN, MAX " +
+                    "FROM " + QueryUtils.sysSchemaName() + ".COLUMN_STATISTICS WHERE TABLE_NAME = 'PERSON'"), false)
+                .getAll())
+                stats.put((String)row.get(0), row);
+
+            // Statistics are merged from all nodes, the sample includes all rows of the table.
+            assertEquals((long)ROWS, stats.get("ID").get(1));
+
+            assertEquals(0L, stats.get("ID").get(2));
+            assertEquals((long)ROWS, stats.get("ID").get(3));
+            assertEquals(100, stats.get("ID").get(4));
+
+            assertEquals(0L, stats.get("CITY").get(2));
+            assertEquals((long)CITIES, stats.get("CITY").get(3));
+            assertEquals("0", stats.get("CITY").get(5));
+            assertEquals(String.valueOf(CITIES - 1), stats.get("CITY").get(6));
+
+            assertEquals((long)ROWS / 2, stats.get("NAME").get(2));
+
+            GridH2Table tbl = table(ignite);
+
+            assertEquals(1, tbl.getColumn("CITY").getSelectivity());
+            assertEquals(100, tbl.getColumn("ID").getSelectivity());
+
+            double fraction = tbl.columnStatistics("ID").rangeFraction(ValueInt.get(0), ValueInt.get(ROWS / 10 - 1),
+                tbl::compareValues);
+
+            assertTrue("Unexpected fraction: " + fraction, fraction > 0.05 && fraction < 0.15);
+        }
+    }
+
+    /**
+     * Checks that range conditions are costed with column histograms.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRangeConditionCost() throws Exception {
+        execute("CREATE TABLE RANGE_TEST (ID INT PRIMARY KEY, A INT, B INT)");
+
+        try {
+            execute("CREATE INDEX RANGE_TEST_B_IDX ON RANGE_TEST (B)");
+            execute("CREATE INDEX RANGE_TEST_A_IDX ON RANGE_TEST (A)");
+
+            for (int i = 0; i < ROWS; i++)
+                execute("INSERT INTO RANGE_TEST (ID, A, B) VALUES (?, ?, ?)", i, i, i);
+
+            execute("ANALYZE RANGE_TEST");
+
+            // Both conditions are costed the same without statistics, while A is much more selective.
+            String plan = (String)execute("EXPLAIN SELECT * FROM RANGE_TEST WHERE A > 990 AND B > 10").get(0).get(0);
+
+            assertTrue(plan, plan.contains("RANGE_TEST_A_IDX"));
+
+            plan = (String)execute("EXPLAIN SELECT * FROM RANGE_TEST WHERE A > 10 AND B > 990").get(0).get(0);
+
+            assertTrue(plan, plan.contains("RANGE_TEST_B_IDX"));
+        }
+        finally {
+            execute("DROP TABLE RANGE_TEST");
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testNoRecollectionWithoutUpdates() throws Exception {
+        execute("ANALYZE PUBLIC.PERSON");
+
+        GridH2Table tbl = table(grid(0));
+
+        ColumnStatisticsSample sample = tbl.sampleColumnValues(10_000);
+
+        assertSame(sample, tbl.sampleColumnValues(10_000));
+
+        // Same values are written, but update counters are changed anyway.
+        for (int i = 0; i < 100; i++)
+            execute("UPDATE PERSON SET CITY = ? WHERE ID = ?", i % CITIES, i);
+
+        assertNotSame(sample, tbl.sampleColumnValues(10_000));
+    }
+
+    /**
+     * Checks that rows of other value types stored in the same cache don't get to the table statistics.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMultipleTypesInCache() throws Exception {
+        IgniteEx ignite = grid(0);
+
+        ignite.createCache(new CacheConfiguration<Integer, Object>("multi")
+            .setIndexedTypes(Integer.class, TypeA.class, Integer.class, TypeB.class));
+
+        try {
+            for (int i = 0; i < 100; i++)
+                ignite.cache("multi").put(i, new TypeA(i));
+
+            for (int i = 100; i < 400; i++)
+                ignite.cache("multi").put(i, new TypeB("b" + i));
+
+            long rowCnt = 0;
+
+            for (int i = 0; i < 2; i++) {
+                GridH2Table tbl = ((IgniteH2Indexing)grid(i).context().query().getIndexing()).schemaManager()
+                    .dataTable("multi", "TYPEA");
+
+                ColumnStatisticsSample sample = tbl.sampleColumnValues(10_000);
+
+                int valIdx = Arrays.asList(sample.columns()).indexOf("VAL");
+
+                for (Object[] row : sample.rows())
+                    assertNotNull(row[valIdx]);
+
+                rowCnt += sample.rowCount();
+            }
+
+            assertEquals(100, rowCnt);
+
+            execute("ANALYZE \"multi\".TYPEA");
+
+            ColumnStatistics stat = ((IgniteH2Indexing)grid(1).context().query().getIndexing()).schemaManager()
+                .dataTable("multi", "TYPEA").columnStatistics("VAL");
+
+            assertEquals(100, stat.rowCount());
+            assertEquals(0, stat.nullCount());
+        }
+        finally {
+            ignite.destroyCache("multi");
+        }
+    }
+
+    /** */
+    @Test
+    public void testUnknownTable() {
+        GridTestUtils.assertThrowsAnyCause(log, () -> execute("ANALYZE PERSON, UNKNOWN"), IgniteSQLException.class,
+            "Table doesn't exist: UNKNOWN");
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Table.
+     */
+    private GridH2Table table(IgniteEx ignite) {
+        return ((IgniteH2Indexing)ignite.context().query().getIndexing()).schemaManager().dataTable("PUBLIC", "PERSON");
+    }
+
+    /**
+     * @param sql SQL.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> execute(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+
+    /** */
+    private static class TypeA {
+        /** */
+        @QuerySqlField
+        private final int val;
+
+        /**
+         * @param val Value.
+         */
+        private TypeA(int val) {
+            this.val = val;
+        }
+    }
+
+    /** */
+    private static class TypeB {
+        /** */
+        @QuerySqlField
+        private final String name;
+
+        /**
+         * @param name Name.
+         */
+        private TypeB(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.query.h2.H2PooledConnection;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.opt.expr.CompiledExpression;
+import org.apache.ignite.internal.processors.query.h2.opt.expr.H2ExpressionCompiler;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.gridgain.internal.h2.command.dml.Select;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_COMPILE_MAP_EXPRESSIONS;
+
+/**
+ * Checks that compiled expressions of map queries give the same results as the interpreter.
+ */
+@WithSystemProperty(key = IGNITE_SQL_COMPILE_MAP_EXPRESSIONS, value = "true")
+public class SqlCompiledExpressionsTest extends GridCommonAbstractTest {
+    /** */
+    private static final int CNT = 1000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        execute(grid(0), false,
+            "CREATE TABLE PERSON (ID INT PRIMARY KEY, AGE INT, BIG BIGINT, NAME VARCHAR, SALARY DOUBLE, SMALL TINYINT)");
+
+        for (int i = 0; i < CNT; i++) {
+            execute(grid(0), false, "INSERT INTO PERSON (ID, AGE, BIG, NAME, SALARY, SMALL) VALUES (?, ?, ?, ?, ?, ?)",
+                i,
+                i % 13 == 0 ? null : i % 70,
+                i % 17 == 0 ? null : i * 1_000_000_007L,
+                "name" + i,
+                i % 11 == 0 ? null : i * 1.5 - 300,
+                (byte)(i % 256 - 128));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** */
+    @Test
+    public void testComparisons() {
+        check("SELECT ID FROM PERSON WHERE AGE > 30 AND SALARY < 500.0E0");
+        check("SELECT ID FROM PERSON WHERE AGE = 10 OR BIG <= 3000000021 OR SALARY >= 1200");
+        check("SELECT ID FROM PERSON WHERE NOT (AGE <> 10 OR SALARY IS NULL)");
+        check("SELECT ID FROM PERSON WHERE AGE IS NULL OR BIG IS NOT NULL AND NAME = 'name5'");
+        check("SELECT ID FROM PERSON WHERE AGE < SALARY AND SMALL > -100");
+        check("SELECT ID FROM PERSON WHERE AGE >= ? AND SALARY < ?", 20, 900.5);
+        check("SELECT ID FROM PERSON WHERE AGE = ?", 33L);
+        check("SELECT ID FROM PERSON WHERE AGE = ? OR NAME LIKE 'name1%'", "33");
+    }
+
+    /** */
+    @Test
+    public void testArithmetic() {
+        check("SELECT ID FROM PERSON WHERE AGE * 2 + 1 >= 71");
+        check("SELECT ID FROM PERSON WHERE SALARY / 2 - AGE > 100 OR -AGE < -60");
+        check("SELECT ID FROM PERSON WHERE AGE / 7 = 3 AND AGE % 7 <> 0");
+        check("SELECT ID, AGE + BIG, BIG * 3, SALARY * AGE, -SALARY, AGE / 4, SMALL + SMALL / 2 FROM PERSON " +
+            "WHERE SMALL > -64 AND SMALL < 63");
+        check("SELECT ID, ABS(AGE - 35), ABS(SALARY - 100), ABS(SMALL) FROM PERSON WHERE SMALL <> -128");
+    }
+
+    /** */
+    @Test
+    public void testCaseAndCoalesce() {
+        check("SELECT ID, CASE WHEN AGE < 20 THEN 'young' WHEN AGE < 50 THEN 'mid' ELSE 'old' END FROM PERSON");
+        check("SELECT ID, CASE WHEN SALARY > 1000 THEN SALARY * 1.1E0 END, COALESCE(AGE, BIG, -1) FROM PERSON");
+        check("SELECT ID FROM PERSON WHERE CASE WHEN AGE IS NULL THEN SALARY > 0 ELSE AGE > 60 END");
+        check("SELECT ID, AGE > 30, SALARY IS NULL, COALESCE(SALARY, 0.0E0) + 1 FROM PERSON");
+    }
+
+    /** */
+    @Test
+    public void testGroupCondition() {
+        List<List<?>> res = execute(grid(0), false,
+            "SELECT AGE, COUNT(*), SUM(SALARY) FROM PERSON WHERE AGE * 2 > 40 AND SALARY > 100 GROUP BY AGE ORDER BY AGE");
+
+        assertEquals(execute(grid(0), false,
+            "SELECT AGE, COUNT(*), SUM(SALARY) FROM PERSON WHERE AGE > 20 AND SALARY > 100.0 GROUP BY AGE ORDER BY AGE"),
+            res);
+    }
+
+    /** */
+    @Test
+    public void testErrors() {
+        checkError("SELECT ID, SMALL * SMALL FROM PERSON WHERE SMALL = 100", "out of range");
+        checkError("SELECT ID FROM PERSON WHERE SALARY / (AGE - 5) > 1", "Division by zero");
+        checkError("SELECT ID FROM PERSON WHERE BIG * BIG > 0", "out of range");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCompilation() throws Exception {
+        IgniteH2Indexing idx = (IgniteH2Indexing)grid(0).context().query().getIndexing();
+
+        try (H2PooledConnection conn = idx.connections().connection("PUBLIC")) {
+            Select select = compile(conn,
+                "SELECT ID, AGE * 2, NAME, NAME || 'x' FROM PERSON WHERE AGE > 10 AND SALARY < 100");
+
+            assertTrue(select.getCondition() instanceof CompiledExpression);
+            assertFalse(select.getExpressions().get(0) instanceof CompiledExpression);
+            assertTrue(select.getExpressions().get(1) instanceof CompiledExpression);
+            assertFalse(select.getExpressions().get(2) instanceof CompiledExpression);
+            assertFalse(select.getExpressions().get(3) instanceof CompiledExpression);
+
+            select = compile(conn, "SELECT ID FROM PERSON WHERE AGE > RAND() * 10");
+
+            assertFalse(select.getCondition() instanceof CompiledExpression);
+
+            select = compile(conn, "SELECT AGE, COUNT(*) FROM PERSON WHERE AGE > 10 GROUP BY AGE");
+
+            assertTrue(select.getCondition() instanceof CompiledExpression);
+            assertFalse(select.getExpressions().get(1) instanceof CompiledExpression);
+        }
+    }
+
+    /**
+     * @param conn Connection.
+     * @param sql Query.
+     * @return Compiled select.
+     * @throws Exception If failed.
+     */
+    private static Select compile(H2PooledConnection conn, String sql) throws Exception {
+        PreparedStatement stmt = conn.prepareStatementNoCache(sql);
+
+        Select select = (Select)GridSqlQueryParser.prepared(stmt);
+
+        H2ExpressionCompiler.compile(select);
+
+        return select;
+    }
+
+    /**
+     * Executes distributed query, which map queries have compiled expressions, and compares its result with the
+     * result of the local queries, which expressions are interpreted.
+     *
+     * @param sql Query.
+     * @param args Arguments.
+     */
+    private void check(String sql, Object... args) {
+        List<List<?>> exp = new ArrayList<>();
+
+        for (int i = 0; i < 2; i++)
+            exp.addAll(execute(grid(i), true, sql, args));
+
+        List<List<?>> res = execute(grid(0), false, sql, args);
+
+        assertFalse(res.isEmpty());
+        assertEquals(sorted(exp), sorted(res));
+    }
+
+    /**
+     * Checks that the distributed query fails with the same error as the interpreter reports.
+     *
+     * @param sql Query.
+     * @param msg Expected error message.
+     */
+    private void checkError(String sql, String msg) {
+        try {
+            execute(grid(0), false, sql);
+
+            fail("Exception has not been thrown.");
+        }
+        catch (Exception e) {
+            assertTrue(X.getFullStackTrace(e), X.getFullStackTrace(e).contains(msg));
+        }
+    }
+
+    /**
+     * @param rows Rows.
+     * @return Rows sorted by the first column.
+     */
+    private static List<List<?>> sorted(List<List<?>> rows) {
+        List<List<?>> res = new ArrayList<>(rows);
+
+        res.sort((r1, r2) -> Integer.compare((Integer)r1.get(0), (Integer)r2.get(0)));
+
+        return res;
+    }
+
+    /**
+     * @param node Node.
+     * @param loc Local flag.
+     * @param sql Query.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private static List<List<?>> execute(IgniteEx node, boolean loc, String sql, Object... args) {
+        return node.context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args).setLocal(loc), false)
+            .getAll();
+    }
+}
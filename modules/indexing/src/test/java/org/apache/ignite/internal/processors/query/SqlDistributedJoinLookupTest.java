@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.query.h2.opt.join.DistributedLookupMetrics.DISTRIBUTED_JOIN_METRIC_GROUP_NAME;
+
+/**
+ * Checks remote index lookups of non-collocated joins: the per-query lookup cache and sending ranges of a few
+ * affinity keys only to their owners.
+ */
+public class SqlDistributedJoinLookupTest extends GridCommonAbstractTest {
+    /** Nodes count. */
+    private static final int NODES_CNT = 3;
+
+    /** Persons count. */
+    private static final int PERSONS_CNT = 300;
+
+    /** Organizations count. */
+    private static final int ORGS_CNT = 30;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES_CNT);
+
+        execute("CREATE TABLE ORG (ID INT PRIMARY KEY, NAME VARCHAR)");
+        execute("CREATE TABLE PERSON (ID INT PRIMARY KEY, ORG_ID INT)");
+
+        for (int i = 0; i < ORGS_CNT; i++)
+            execute("INSERT INTO ORG (ID, NAME) VALUES (?, ?)", i, "org" + i);
+
+        // Skewed: most of the persons belong to a few organizations.
+        for (int i = 0; i < PERSONS_CNT; i++)
+            execute("INSERT INTO PERSON (ID, ORG_ID) VALUES (?, ?)", i, i % 3 == 0 ? i % ORGS_CNT : i % 4);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** */
+    @Test
+    public void testRepeatedLookups() {
+        long hits = metric("cacheHits");
+
+        List<List<?>> res = execute("SELECT P.ID, O.NAME FROM PERSON P, ORG O WHERE P.ORG_ID = O.ID");
+
+        assertEquals(PERSONS_CNT, res.size());
+
+        for (List<?> row : res) {
+            int id = (Integer)row.get(0);
+
+            assertEquals("org" + (id % 3 == 0 ? id % ORGS_CNT : id % 4), row.get(1));
+        }
+
+        assertTrue(metric("cacheHits") > hits);
+        assertTrue(metric("requests") > 0);
+        assertTrue(metric("rows") > 0);
+    }
+
+    /** */
+    @Test
+    public void testAffinityKeysRange() {
+        long broadcasts = metric("broadcastRanges");
+
+        List<List<?>> res = execute(
+            "SELECT P.ID, O.ID FROM PERSON P, ORG O WHERE O.ID BETWEEN P.ORG_ID AND P.ORG_ID + 1 AND P.ID < 100");
+
+        // Every person matches its organization and the next one, except the persons of the last organization.
+        int exp = 0;
+
+        for (int i = 0; i < 100; i++)
+            exp += (i % 3 == 0 ? i % ORGS_CNT : i % 4) == ORGS_CNT - 1 ? 1 : 2;
+
+        assertEquals(exp, res.size());
+
+        for (List<?> row : res) {
+            int id = (Integer)row.get(0);
+            int orgId = id % 3 == 0 ? id % ORGS_CNT : id % 4;
+
+            assertTrue(row.toString(), (Integer)row.get(1) == orgId || (Integer)row.get(1) == orgId + 1);
+        }
+
+        assertEquals(broadcasts, metric("broadcastRanges"));
+    }
+
+    /**
+     * @param name Metric name.
+     * @return Sum of the metric values of all nodes.
+     */
+    private long metric(String name) {
+        long res = 0;
+
+        for (int i = 0; i < NODES_CNT; i++) {
+            LongAdderMetric m = grid(i).context().metric().registry(DISTRIBUTED_JOIN_METRIC_GROUP_NAME)
+                .findMetric(name);
+
+            res += m.value();
+        }
+
+        return res;
+    }
+
+    /**
+     * Executes the query with distributed joins and small pages, so lookups are sent in many batches.
+     *
+     * @param sql Query.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> execute(String sql, Object... args) {
+        SqlFieldsQuery qry = new SqlFieldsQuery(sql)
+            .setArgs(args)
+            .setDistributedJoins(true)
+            .setEnforceJoinOrder(true)
+            .setPageSize(10);
+
+        return grid(0).context().query().querySqlFields(qry, false).getAll();
+    }
+}
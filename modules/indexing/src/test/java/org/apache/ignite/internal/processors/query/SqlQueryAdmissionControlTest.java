@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.index.AbstractIndexingCommonTest;
+import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.odbc.SqlStateCode;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_MAX_CONCURRENT_QUERIES;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_QUERY_QUEUE_TIMEOUT;
+import static org.apache.ignite.internal.processors.query.RunningQueryManager.SQL_USER_QUERIES_REG_NAME;
+
+/**
+ * Tests admission control and CPU time accounting of user SQL queries.
+ */
+@WithSystemProperty(key = IGNITE_SQL_MAX_CONCURRENT_QUERIES, value = "1")
+@WithSystemProperty(key = IGNITE_SQL_QUERY_QUEUE_TIMEOUT, value = "200")
+public class SqlQueryAdmissionControlTest extends AbstractIndexingCommonTest {
+    /** Number of rows in the test table. */
+    private static final int ROWS = 1000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        sql("CREATE TABLE TEST (ID INT PRIMARY KEY, VAL VARCHAR)");
+
+        for (int i = 0; i < ROWS; i++)
+            sql("INSERT INTO TEST VALUES (?, ?)", i, "val" + i);
+    }
+
+    /**
+     * Checks that a query of another session over the limit is rejected after the queue timeout, while queries of
+     * the session holding the slot and commands are not queued.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testQueryRejectedWhenLimitReached() throws Exception {
+        long rejected = metric("rejected");
+
+        FieldsQueryCursor<List<?>> cur = grid(0).context().query().querySqlFields(
+            new SqlFieldsQuery("SELECT * FROM TEST").setLazy(true).setPageSize(10), false);
+
+        try {
+            Iterator<List<?>> it = cur.iterator();
+
+            assertTrue(it.hasNext());
+
+            // The session holding the slot isn't blocked by its own open cursor.
+            assertEquals((long)ROWS, sql("SELECT COUNT(*) FROM TEST").get(0).get(0));
+
+            Throwable t = GridTestUtils.assertThrowsWithCause(
+                () -> GridTestUtils.runAsync(() -> sql("SELECT COUNT(*) FROM TEST")).get(), IgniteSQLException.class);
+
+            assertEquals(IgniteQueryErrorCode.QUERY_REJECTED, X.cause(t, IgniteSQLException.class).statusCode());
+
+            assertEquals(rejected + 1, metric("rejected"));
+
+            sql("CREATE INDEX IDX_VAL ON TEST (VAL)");
+
+            sql("DROP INDEX IDX_VAL");
+        }
+        finally {
+            cur.close();
+        }
+
+        assertEquals((long)ROWS, GridTestUtils.runAsync(() -> sql("SELECT COUNT(*) FROM TEST")).get().get(0).get(0));
+    }
+
+    /**
+     * Checks that a query of a client connection over the limit is rejected.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testJdbcQueryRejectedWhenLimitReached() throws Exception {
+        FieldsQueryCursor<List<?>> cur = grid(0).context().query().querySqlFields(
+            new SqlFieldsQuery("SELECT * FROM TEST").setLazy(true).setPageSize(10), false);
+
+        try (Connection conn = DriverManager.getConnection("jdbc:ignite:thin://127.0.0.1")) {
+            assertTrue(cur.iterator().hasNext());
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeQuery("SELECT COUNT(*) FROM TEST");
+
+                fail("Query must be rejected");
+            }
+            catch (SQLException e) {
+                assertEquals(SqlStateCode.QUERY_REJECTED, e.getSQLState());
+            }
+        }
+        finally {
+            cur.close();
+        }
+    }
+
+    /**
+     * Checks that CPU time consumed by the map and reduce nodes is accounted to the query.
+     */
+    @Test
+    public void testCpuTimeAccounted() {
+        long cpuTime = metric("cpuTime");
+
+        sql("SELECT VAL, COUNT(*) FROM TEST GROUP BY VAL ORDER BY VAL");
+
+        assertTrue(metric("cpuTime") > cpuTime);
+    }
+
+    /**
+     * @param name Metric name.
+     * @return Value of the user queries metric of the first node.
+     */
+    private long metric(String name) {
+        MetricRegistry reg = grid(0).context().metric().registry(SQL_USER_QUERIES_REG_NAME);
+
+        return reg.<LongMetric>findMetric(name).value();
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query arguments.
+     * @return Results.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        IgniteEx ignite = grid(0);
+
+        return ignite.context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
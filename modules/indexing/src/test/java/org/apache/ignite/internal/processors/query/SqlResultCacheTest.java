@@ -0,0 +1,291 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_RESULT_CACHE_MAX_ROWS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_RESULT_CACHE_SIZE;
+
+/**
+ * Tests SQL query result cache.
+ */
+@WithSystemProperty(key = IGNITE_SQL_RESULT_CACHE_SIZE, value = "16")
+@WithSystemProperty(key = IGNITE_SQL_RESULT_CACHE_MAX_ROWS, value = "100")
+public class SqlResultCacheTest extends GridCommonAbstractTest {
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        execute("CREATE TABLE CITY (ID INT PRIMARY KEY, NAME VARCHAR) WITH \"TEMPLATE=REPLICATED\"");
+        execute("CREATE TABLE PERSON (ID INT PRIMARY KEY, CITY_ID INT, NAME VARCHAR)");
+
+        for (int i = 0; i < 10; i++)
+            execute("INSERT INTO CITY (ID, NAME) VALUES (?, ?)", i, "city" + i);
+
+        for (int i = 0; i < 50; i++)
+            execute("INSERT INTO PERSON (ID, CITY_ID, NAME) VALUES (?, ?, ?)", i, i % 10, "person" + i);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** */
+    @Test
+    public void testCachedUntilModified() {
+        String sql = "SELECT NAME FROM CITY WHERE ID < ? ORDER BY ID";
+
+        long hits = hits();
+
+        List<List<?>> res = execute(sql, 5);
+
+        assertEquals(5, res.size());
+        assertEquals(hits, hits());
+
+        assertEquals(res, execute(sql, 5));
+        assertEquals(hits + 1, hits());
+
+        // Other arguments.
+        assertEquals(3, execute(sql, 3).size());
+        assertEquals(hits + 1, hits());
+
+        execute("UPDATE CITY SET NAME = ? WHERE ID = ?", "updated", 0);
+
+        res = execute(sql, 5);
+
+        assertEquals("updated", res.get(0).get(0));
+        assertEquals(hits + 1, hits());
+
+        assertEquals(res, execute(sql, 5));
+        assertEquals(hits + 2, hits());
+    }
+
+    /** */
+    @Test
+    public void testInvalidatedOnCacheClear() {
+        execute("CREATE TABLE COUNTRY (ID INT PRIMARY KEY, NAME VARCHAR) WITH \"TEMPLATE=REPLICATED\"");
+
+        try {
+            for (int i = 0; i < 5; i++)
+                execute("INSERT INTO COUNTRY (ID, NAME) VALUES (?, ?)", i, "country" + i);
+
+            String sql = "SELECT NAME FROM COUNTRY ORDER BY ID";
+
+            long hits = hits();
+
+            assertEquals(5, execute(sql).size());
+            assertEquals(5, execute(sql).size());
+            assertEquals(hits + 1, hits());
+
+            // Clear doesn't update partition counters.
+            grid(0).cache("SQL_PUBLIC_COUNTRY").clear();
+
+            assertTrue(execute(sql).isEmpty());
+            assertEquals(hits + 1, hits());
+        }
+        finally {
+            execute("DROP TABLE COUNTRY");
+        }
+    }
+
+    /** */
+    @Test
+    public void testLocalQueryOverPartitionedCache() {
+        String sql = "SELECT COUNT(*) FROM PERSON WHERE NAME LIKE 'person%'";
+
+        long hits = hits();
+
+        long cnt = (Long)execute(true, sql).get(0).get(0);
+
+        assertTrue(cnt > 0);
+
+        assertEquals(cnt, execute(true, sql).get(0).get(0));
+        assertEquals(hits + 1, hits());
+
+        try {
+            execute("UPDATE PERSON SET NAME = 'renamed'");
+
+            assertEquals(0L, execute(true, sql).get(0).get(0));
+            assertEquals(hits + 1, hits());
+        }
+        finally {
+            execute("UPDATE PERSON SET NAME = CONCAT('person', ID)");
+        }
+    }
+
+    /** */
+    @Test
+    public void testDistributedQueryInvalidatedByRemoteUpdate() {
+        String sql = "SELECT P.NAME, C.NAME FROM PERSON P JOIN CITY C ON P.CITY_ID = C.ID WHERE P.ID < ? ORDER BY P.ID";
+
+        long hits = hits();
+
+        List<List<?>> res = execute(sql, 20);
+
+        assertEquals(20, res.size());
+
+        assertEquals(res, execute(sql, 20));
+        assertEquals(hits + 1, hits());
+
+        // Update a row which is stored on the other node only.
+        int key = 0;
+
+        while (!grid(1).affinity("SQL_PUBLIC_PERSON").isPrimary(grid(1).localNode(), key))
+            key++;
+
+        assertTrue(key < 20);
+
+        try {
+            grid(1).context().query().querySqlFields(
+                new SqlFieldsQuery("UPDATE PERSON SET NAME = 'renamed' WHERE ID = ?").setArgs(key), false).getAll();
+
+            res = execute(sql, 20);
+
+            assertEquals("renamed", res.get(key).get(0));
+            assertEquals(hits + 1, hits());
+
+            assertEquals(res, execute(sql, 20));
+            assertEquals(hits + 2, hits());
+        }
+        finally {
+            execute("UPDATE PERSON SET NAME = CONCAT('person', ID)");
+        }
+    }
+
+    /** */
+    @Test
+    public void testMutableValuesCopied() {
+        String sql = "SELECT CAST(? AS TIMESTAMP), CAST('ff' AS BINARY) FROM CITY WHERE ID = 0";
+
+        Timestamp ts = new Timestamp(0);
+
+        long hits = hits();
+
+        List<List<?>> res = execute(sql, ts);
+
+        // Modification of a returned value doesn't affect the cached result.
+        ((Timestamp)res.get(0).get(0)).setTime(1000);
+        ((byte[])res.get(0).get(1))[0] = 0;
+
+        List<List<?>> cached = execute(sql, ts);
+
+        assertEquals(hits + 1, hits());
+        assertEquals(ts, cached.get(0).get(0));
+        assertEquals((byte)0xff, ((byte[])cached.get(0).get(1))[0]);
+    }
+
+    /** */
+    @Test
+    public void testCachedResultRegisteredAsRunningQuery() {
+        String sql = "SELECT NAME FROM CITY WHERE ID > ?";
+
+        AtomicInteger started = new AtomicInteger();
+
+        Consumer<GridQueryStartedInfo> lsnr = info -> {
+            if (sql.equals(info.query()))
+                started.incrementAndGet();
+        };
+
+        IgniteH2Indexing idx = (IgniteH2Indexing)grid(0).context().query().getIndexing();
+
+        idx.registerQueryStartedListener(lsnr);
+
+        try {
+            long hits = hits();
+
+            execute(sql, 5);
+            execute(sql, 5);
+
+            assertEquals(hits + 1, hits());
+            assertEquals(2, started.get());
+        }
+        finally {
+            idx.unregisterQueryStartedListener(lsnr);
+        }
+    }
+
+    /** */
+    @Test
+    public void testNonDeterministicQueryNotCached() {
+        String sql = "SELECT NAME, RAND() FROM CITY";
+
+        long hits = hits();
+
+        execute(sql);
+        execute(sql);
+
+        assertEquals(hits, hits());
+    }
+
+    /** */
+    @Test
+    public void testLargeResultNotCached() {
+        String sql = "SELECT C1.ID, C2.ID, C3.ID FROM CITY C1, CITY C2, CITY C3";
+
+        long hits = hits();
+
+        assertEquals(1000, execute(sql).size());
+        assertEquals(1000, execute(sql).size());
+
+        assertEquals(hits, hits());
+    }
+
+    /**
+     * @return Number of result cache hits on the first node.
+     */
+    private long hits() {
+        MetricRegistry reg = grid(0).context().metric().registry("sql.result.cache");
+
+        return reg.<LongMetric>findMetric("hits").value();
+    }
+
+    /**
+     * @param sql SQL.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> execute(String sql, Object... args) {
+        return execute(false, sql, args);
+    }
+
+    /**
+     * @param loc Local flag.
+     * @param sql SQL.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> execute(boolean loc, String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setLocal(loc).setArgs(args), false)
+            .getAll();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_COMPILE_MAP_EXPRESSIONS;
+
+/**
+ * Checks column values read straight from serialized keys and values.
+ */
+@WithSystemProperty(key = IGNITE_SQL_COMPILE_MAP_EXPRESSIONS, value = "true")
+public class SqlSerializedColumnsTest extends GridCommonAbstractTest {
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        execute("CREATE TABLE T (ID INT, ID2 BIGINT, B TINYINT, S SMALLINT, I INT, L BIGINT, F REAL, D DOUBLE, " +
+            "BOOL BOOLEAN, STR VARCHAR, PRIMARY KEY (ID, ID2))");
+
+        for (int i = 0; i < 100; i++) {
+            boolean nulls = i % 10 == 0;
+
+            execute("INSERT INTO T (ID, ID2, B, S, I, L, F, D, BOOL, STR) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                i,
+                i * 10L,
+                nulls ? null : (byte)i,
+                nulls ? null : (short)(i * 100),
+                nulls ? null : i * 1000,
+                nulls ? null : i * 1_000_000_000L,
+                nulls ? null : i / 4f,
+                nulls ? null : i / 8d,
+                nulls ? null : i % 2 == 0,
+                nulls ? null : "str" + i);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** */
+    @Test
+    public void testValues() {
+        assertEquals(
+            Arrays.asList(
+                Arrays.asList(7, 70L, (byte)7, (short)700, 7000, 7_000_000_000L, 1.75f, 0.875d, false, "str7")),
+            execute("SELECT ID, ID2, B, S, I, L, F, D, BOOL, STR FROM T WHERE ID = 7"));
+
+        assertEquals(
+            Arrays.asList(Arrays.asList(20, 200L, null, null, null, null, null, null, null, null)),
+            execute("SELECT ID, ID2, B, S, I, L, F, D, BOOL, STR FROM T WHERE ID = 20"));
+    }
+
+    /** */
+    @Test
+    public void testPredicates() {
+        assertEquals(Arrays.asList(Arrays.asList(54L)), execute("SELECT COUNT(*) FROM T WHERE I > 40000"));
+        assertEquals(Arrays.asList(Arrays.asList(10L)), execute("SELECT COUNT(*) FROM T WHERE I IS NULL"));
+        assertEquals(Arrays.asList(Arrays.asList(4L)), execute("SELECT COUNT(*) FROM T WHERE B < 5 AND S >= 0"));
+        assertEquals(Arrays.asList(Arrays.asList(9L)),
+            execute("SELECT COUNT(*) FROM T WHERE L >= 90000000000 AND D > 11.0E0"));
+        assertEquals(Arrays.asList(Arrays.asList(5L)), execute("SELECT COUNT(*) FROM T WHERE ID2 < 50 AND ID2 >= 0"));
+        assertEquals(Arrays.asList(Arrays.asList(40L)), execute("SELECT COUNT(*) FROM T WHERE BOOL = TRUE"));
+        assertEquals(Arrays.asList(Arrays.asList(1L)), execute("SELECT COUNT(*) FROM T WHERE F = 2.75"));
+    }
+
+    /**
+     * @param sql Query.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> execute(String sql, Object... args) {
+        IgniteEx node = grid(0);
+
+        return node.context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Checks non-collocated GROUP BY and DISTINCT queries, which groups are read from an index sorted by
+ * the grouping columns.
+ */
+public class SqlStreamingGroupByTest extends GridCommonAbstractTest {
+    /** Rows count. */
+    private static final int CNT = 1000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        execute("CREATE TABLE T (ID INT PRIMARY KEY, A INT, B INT, V INT)");
+        execute("CREATE INDEX T_A_B ON T (A, B)");
+
+        for (int i = 0; i < CNT; i++)
+            execute("INSERT INTO T (ID, A, B, V) VALUES (?, ?, ?, ?)", i, i % 20, i % 7, i);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** */
+    @Test
+    public void testGroupBy() {
+        Map<List<Integer>, long[]> exp = new TreeMap<>((k1, k2) -> k1.get(0).equals(k2.get(0)) ?
+            Integer.compare(k1.get(1), k2.get(1)) : Integer.compare(k1.get(0), k2.get(0)));
+
+        for (int i = 0; i < CNT; i++) {
+            long[] grp = exp.computeIfAbsent(Arrays.asList(i % 20, i % 7), k -> new long[2]);
+
+            grp[0]++;
+            grp[1] += i;
+        }
+
+        List<List<?>> expRows = new ArrayList<>();
+
+        for (Map.Entry<List<Integer>, long[]> e : exp.entrySet())
+            expRows.add(Arrays.asList(e.getKey().get(0), e.getKey().get(1), e.getValue()[0], e.getValue()[1]));
+
+        assertEquals(expRows, execute("SELECT A, B, COUNT(*), SUM(V) FROM T GROUP BY B, A ORDER BY A, B"));
+
+        String plan = (String)execute("EXPLAIN SELECT A, B, COUNT(*), SUM(V) FROM T GROUP BY B, A").get(0).get(0);
+
+        assertTrue(plan, plan.contains("/* group sorted */"));
+        assertTrue(plan, plan.contains("ORDER BY"));
+        assertTrue(plan, plan.contains("/* index sorted */"));
+    }
+
+    /** */
+    @Test
+    public void testGroupByPrefix() {
+        List<List<?>> res = execute("SELECT A, COUNT(*), MAX(B) FROM T WHERE V > 100 GROUP BY A ORDER BY A");
+
+        assertEquals(20, res.size());
+
+        for (int i = 0; i < res.size(); i++) {
+            assertEquals(i, res.get(i).get(0));
+            assertEquals(i == 0 ? 44L : 45L, res.get(i).get(1));
+            assertEquals(6, res.get(i).get(2));
+        }
+    }
+
+    /** */
+    @Test
+    public void testDistinct() {
+        List<List<?>> res = execute("SELECT DISTINCT A, B FROM T");
+
+        assertEquals(140, res.size());
+
+        res.sort((r1, r2) -> r1.get(0).equals(r2.get(0)) ? Integer.compare((Integer)r1.get(1), (Integer)r2.get(1)) :
+            Integer.compare((Integer)r1.get(0), (Integer)r2.get(0)));
+
+        for (int i = 0; i < 140; i++)
+            assertEquals(Arrays.asList(i % 20, i % 7), res.get(i % 20 * 7 + i % 7));
+
+        String plan = (String)execute("EXPLAIN SELECT DISTINCT A FROM T").get(0).get(0);
+
+        assertTrue(plan, plan.contains("/* group sorted */"));
+    }
+
+    /** */
+    @Test
+    public void testNoSortedIndex() {
+        List<List<?>> res = execute("SELECT V % 3, COUNT(*) FROM T GROUP BY V % 3 ORDER BY V % 3");
+
+        assertEquals(Arrays.asList(Arrays.asList(0, 334L), Arrays.asList(1, 333L), Arrays.asList(2, 333L)), res);
+
+        String plan = (String)execute("EXPLAIN SELECT V, COUNT(*) FROM T GROUP BY V").get(0).get(0);
+
+        assertFalse(plan, plan.contains("ORDER BY"));
+    }
+
+    /**
+     * @param sql Query.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> execute(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
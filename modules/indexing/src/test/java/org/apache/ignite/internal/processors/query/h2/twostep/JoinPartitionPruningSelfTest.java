@@ -718,6 +718,76 @@ public class JoinPartitionPruningSelfTest extends AbstractPartitionPruningBaseTe
         );
     }
 
+    /**
+     * Test IN conditions with subqueries.
+     */
+    @Test
+    public void testInSubquery() {
+        createPartitionedTable("t1",
+            pkColumn("k1"),
+            "v2");
+
+        createPartitionedTable("t2",
+            pkColumn("k1"),
+            affinityColumn("ak2"),
+            "v3");
+
+        executeSql("INSERT INTO t1 VALUES ('1', '1')");
+        executeSql("INSERT INTO t2 VALUES ('1', '1', '1')");
+
+        executeSql("INSERT INTO t1 VALUES ('2', '2')");
+        executeSql("INSERT INTO t2 VALUES ('2', '2', '2')");
+
+        // Affinity column of co-located table.
+        execute("SELECT * FROM t1 WHERE t1.k1 IN (SELECT t2.ak2 FROM t2 WHERE t2.ak2 = ?)",
+            (res) -> {
+                assertPartitions(
+                    partition("t1", "1")
+                );
+                assertEquals(1, res.size());
+                assertEquals("1", res.get(0).get(0));
+            },
+            "1"
+        );
+
+        execute("SELECT * FROM t1 WHERE t1.k1 IN (SELECT t2.ak2 FROM t2 WHERE t2.ak2 IN (?, ?))",
+            (res) -> {
+                assertPartitions(
+                    partition("t1", "1"),
+                    partition("t1", "2")
+                );
+                assertEquals(2, res.size());
+            },
+            "1", "2"
+        );
+
+        // Combined with condition on outer table.
+        execute("SELECT * FROM t1 WHERE t1.k1 = ? AND t1.k1 IN (SELECT t2.ak2 FROM t2 WHERE t2.ak2 = ?)",
+            (res) -> assertNoRequests(),
+            "1", "2"
+        );
+
+        // Non-affinity column in subquery condition.
+        execute("SELECT * FROM t1 WHERE t1.k1 IN (SELECT t2.ak2 FROM t2 WHERE t2.v3 = ?)",
+            (res) -> {
+                assertNoPartitions();
+                assertEquals(1, res.size());
+                assertEquals("1", res.get(0).get(0));
+            },
+            "1"
+        );
+
+        // Non-affinity column in subquery projection.
+        execute("SELECT * FROM t1 WHERE t1.k1 IN (SELECT t2.v3 FROM t2 WHERE t2.ak2 = ?)",
+            (res) -> {
+                assertNoPartitions();
+                assertEquals(1, res.size());
+                assertEquals("1", res.get(0).get(0));
+            },
+            "1"
+        );
+    }
+
     /**
      * Test joins when explicit partitions are set.
      */
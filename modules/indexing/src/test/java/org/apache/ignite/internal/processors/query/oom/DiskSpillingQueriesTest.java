@@ -18,6 +18,7 @@ package org.apache.ignite.internal.processors.query.oom;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -65,6 +66,42 @@ public class DiskSpillingQueriesTest extends DiskSpillingAbstractTest {
         assertInMemoryAndOnDiskSameResults(false, "SELECT * FROM person");
     }
 
+    /** */
+    @Test
+    public void simpleHashJoin() {
+        String sql = "SELECT d.title, p.id, p.name, p.salary " +
+            "FROM department d, person p USE INDEX(HASH_JOIN_IDX) WHERE p.depId = d.id";
+
+        assertPlanContains("HASH_JOIN_IDX", sql);
+
+        // Lazy results are not materialized, so only the join partitions are spilled.
+        assertInMemoryAndOnDiskSameResults(true, sql);
+    }
+
+    /** */
+    @Test
+    public void simpleHashLeftJoin() {
+        String sql = "SELECT d.title, p.id, p.name, p.salary " +
+            "FROM department d LEFT JOIN person p USE INDEX(HASH_JOIN_IDX) ON p.depId = d.id AND p.age > 50";
+
+        assertPlanContains("HASH_JOIN_IDX", sql);
+
+        assertInMemoryAndOnDiskSameResults(true, sql);
+    }
+
+    /**
+     * @param exp Expected plan part.
+     * @param sql Query.
+     */
+    private void assertPlanContains(String exp, String sql) {
+        StringBuilder plan = new StringBuilder();
+
+        for (List<?> row : runSql("EXPLAIN " + sql, false, HUGE_MEM_LIMIT))
+            plan.append(row.get(0));
+
+        assertTrue(plan.toString(), plan.toString().contains(exp));
+    }
+
     /** */
     @Test
     public void simpleSelectWithSort() {
@@ -45,6 +45,8 @@ import org.apache.ignite.internal.processors.cache.GridCacheCrossCacheQuerySelfT
 import org.apache.ignite.internal.processors.cache.GridCacheDynamicLoadOnClientPersistentTest;
 import org.apache.ignite.internal.processors.cache.GridCacheDynamicLoadOnClientTest;
 import org.apache.ignite.internal.processors.cache.GridCacheFullTextQueryMultithreadedSelfTest;
+import org.apache.ignite.internal.processors.cache.GridCacheFullTextQueryOnDiskSelfTest;
+import org.apache.ignite.internal.processors.cache.GridCacheFullTextQueryPersistenceSelfTest;
 import org.apache.ignite.internal.processors.cache.GridCacheFullTextQuerySelfTest;
 import org.apache.ignite.internal.processors.cache.GridCacheLazyQueryPartitionsReleaseTest;
 import org.apache.ignite.internal.processors.cache.GridCacheQueryIndexDisabledSelfTest;
@@ -215,6 +217,7 @@ import org.apache.ignite.internal.processors.query.IgniteSqlSegmentedIndexSelfTe
 import org.apache.ignite.internal.processors.query.IgniteSqlSkipReducerOnUpdateDmlFlagSelfTest;
 import org.apache.ignite.internal.processors.query.IgniteSqlSkipReducerOnUpdateDmlSelfTest;
 import org.apache.ignite.internal.processors.query.IgniteSqlSplitterSelfTest;
+import org.apache.ignite.internal.processors.query.IndexQueryTest;
 import org.apache.ignite.internal.processors.query.JdbcSqlCustomSchemaTest;
 import org.apache.ignite.internal.processors.query.JdbcSqlDefaultSchemaTest;
 import org.apache.ignite.internal.processors.query.KillQueryErrorOnCancelTest;
@@ -224,7 +227,14 @@ import org.apache.ignite.internal.processors.query.KillQueryOnClientDisconnectTe
 import org.apache.ignite.internal.processors.query.KillQueryTest;
 import org.apache.ignite.internal.processors.query.MultipleStatementsSqlQuerySelfTest;
 import org.apache.ignite.internal.processors.query.QueryJmxMetricsTest;
+import org.apache.ignite.internal.processors.query.ReducePageDecodeTest;
+import org.apache.ignite.internal.processors.query.SqlApproxAggregatesTest;
+import org.apache.ignite.internal.processors.query.SqlCompiledExpressionsTest;
+import org.apache.ignite.internal.processors.query.SqlDistributedJoinLookupTest;
+import org.apache.ignite.internal.processors.query.SqlSerializedColumnsTest;
+import org.apache.ignite.internal.processors.query.SqlStreamingGroupByTest;
 import org.apache.ignite.internal.processors.query.RunningQueriesTest;
+import org.apache.ignite.internal.processors.query.SqlColumnStatisticsTest;
 import org.apache.ignite.internal.processors.query.SqlIllegalSchemaSelfTest;
 import org.apache.ignite.internal.processors.query.SqlIncompatibleDataTypeExceptionTest;
 import org.apache.ignite.internal.processors.query.SqlIndexesSystemViewStaticCfgTest;
@@ -235,7 +245,9 @@ import org.apache.ignite.internal.processors.query.SqlPushDownFunctionTest;
 import org.apache.ignite.internal.processors.query.SqlQueryHistoryFromClientSelfTest;
 import org.apache.ignite.internal.processors.query.SqlQueryHistorySelfTest;
 import org.apache.ignite.internal.processors.query.SqlQuerySystemViewsIntegrationTest;
+import org.apache.ignite.internal.processors.query.SqlQueryAdmissionControlTest;
 import org.apache.ignite.internal.processors.query.SqlQuerySystemViewsSelfTest;
+import org.apache.ignite.internal.processors.query.SqlResultCacheTest;
 import org.apache.ignite.internal.processors.query.SqlResultSetMetaSelfTest;
 import org.apache.ignite.internal.processors.query.SqlSchemaSelfTest;
 import org.apache.ignite.internal.processors.query.SqlSystemViewsSelfTest;
@@ -274,6 +286,7 @@ import org.apache.ignite.internal.processors.sql.IgniteSQLColumnConstraintsTest;
 import org.apache.ignite.internal.processors.sql.IgniteTransactionSQLColumnConstraintTest;
 import org.apache.ignite.internal.processors.sql.SqlConnectorConfigurationValidationSelfTest;
 import org.apache.ignite.internal.product.IndexingFeatureIsAvailableTest;
+import org.apache.ignite.internal.sql.SqlParserAnalyzeSelfTest;
 import org.apache.ignite.internal.sql.SqlParserBulkLoadSelfTest;
 import org.apache.ignite.internal.sql.SqlParserCreateIndexSelfTest;
 import org.apache.ignite.internal.sql.SqlParserDropIndexSelfTest;
@@ -309,6 +322,7 @@ import org.junit.runners.Suite;
     SqlParserBulkLoadSelfTest.class,
     SqlParserSetStreamingSelfTest.class,
     SqlParserKillQuerySelfTest.class,
+    SqlParserAnalyzeSelfTest.class,
     SqlParserMultiStatementSelfTest.class,
 
     SqlConnectorConfigurationValidationSelfTest.class,
@@ -486,6 +500,8 @@ import org.junit.runners.Suite;
 
     // Full text queries.
     GridCacheFullTextQuerySelfTest.class,
+    GridCacheFullTextQueryOnDiskSelfTest.class,
+    GridCacheFullTextQueryPersistenceSelfTest.class,
     GridCacheFullTextQueryMultithreadedSelfTest.class,
     IgniteCacheFullTextQueryNodeJoiningSelfTest.class,
 
@@ -553,8 +569,18 @@ import org.junit.runners.Suite;
     OptimizedMarshallerIndexNameTest.class,
     SqlSystemViewsSelfTest.class,
     SqlQuerySystemViewsSelfTest.class,
+    SqlQueryAdmissionControlTest.class,
     SqlQuerySystemViewsIntegrationTest.class,
     SqlIndexesSystemViewTest.class,
+    SqlColumnStatisticsTest.class,
+    SqlResultCacheTest.class,
+    IndexQueryTest.class,
+    ReducePageDecodeTest.class,
+    SqlApproxAggregatesTest.class,
+    SqlCompiledExpressionsTest.class,
+    SqlSerializedColumnsTest.class,
+    SqlDistributedJoinLookupTest.class,
+    SqlStreamingGroupByTest.class,
     SqlIndexesSystemViewStaticCfgTest.class,
     SqlMetricsOnWebConsoleSelfTest.class,
     ScanQueryConcurrentUpdatesTest.class,
@@ -51,6 +51,8 @@ import org.apache.ignite.internal.processors.cache.index.DynamicIndexPartitioned
 import org.apache.ignite.internal.processors.cache.index.DynamicIndexPartitionedTransactionalConcurrentSelfTest;
 import org.apache.ignite.internal.processors.cache.index.DynamicIndexReplicatedAtomicConcurrentSelfTest;
 import org.apache.ignite.internal.processors.cache.index.DynamicIndexReplicatedTransactionalConcurrentSelfTest;
+import org.apache.ignite.internal.processors.cache.index.ExpressionIndexTest;
+import org.apache.ignite.internal.processors.cache.index.IndexInlineSizeTuningTest;
 import org.apache.ignite.internal.processors.cache.local.IgniteCacheLocalQueryDefaultTimeoutSelfTest;
 import org.apache.ignite.internal.processors.cache.query.ScanQueryOffheapExpiryPolicySelfTest;
 import org.apache.ignite.internal.processors.database.baseline.IgniteChangingBaselineCacheQueryNodeRestartSelfTest;
@@ -133,6 +135,8 @@ import org.junit.runners.Suite;
 
     StatementCacheTest.class,
     ChooseIndexTest.class,
+    ExpressionIndexTest.class,
+    IndexInlineSizeTuningTest.class,
     LazyOnDmlTest.class,
 
     SqlInsertMergeImplicitColumnsTest.class,